@@ -0,0 +1,186 @@
+package no.unit.nva.doi.requests.benchmarks;
+
+import static java.util.Objects.nonNull;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import no.unit.nva.doi.requests.service.impl.PublicationItemCodec;
+import no.unit.nva.doi.requests.util.PublicationGenerator;
+import no.unit.nva.model.DoiRequest;
+import no.unit.nva.model.DoiRequestStatus;
+import no.unit.nva.model.Publication;
+import no.unit.nva.model.PublicationStatus;
+import nva.commons.utils.JsonUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the steps the find requests of {@code DynamoDBDoiRequestsService} take in memory, over version histories of
+ * 1k, 10k and 100k versions.
+ *
+ * <p>The service reads the current version of each matching publication from the DOI requests indexes, and the
+ * publications that are not published are left out by the filter expression of the query, so what is left for it is
+ * to read the publications from the attribute values of the query results ({@link #extractPublications}).
+ * {@link #filterNotPublishedPublications} shows what the filter expression saves in memory. Keeping the most
+ * recent version of each publication and filtering on the DOI request status and the owner was done in memory over
+ * the whole version history of the publisher before the indexes were added. Those steps are kept here as they were,
+ * so that {@link #scanPipeline} and {@link #indexPipeline} show what the indexes save and what remains.
+ */
+@State(Scope.Benchmark)
+public class FindPipelineBenchmark {
+
+    public static final Instant FIRST_VERSION_DATE = Instant.parse("2020-01-01T00:00:00Z");
+    public static final DoiRequestStatus STATUS = DoiRequestStatus.REQUESTED;
+    public static final String OWNER = String.format(PublicationGenerator.OWNER_TEMPLATE, 0);
+
+    @Param({"1000", "10000", "100000"})
+    public int versions;
+
+    @Param({"1", "10"})
+    public int versionsPerPublication;
+
+    private PublicationItemCodec codec;
+    private List<Map<String, AttributeValue>> versionAttributes;
+    private List<Map<String, AttributeValue>> indexedAttributes;
+    private List<Publication> publications;
+    private List<Publication> mostRecentPublications;
+
+    /**
+     * Generates the version history and the attribute values the table and the DOI requests index return for it.
+     *
+     * @throws IOException when a publication cannot be serialized.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        codec = new PublicationItemCodec(JsonUtils.objectMapper);
+        publications = PublicationGenerator.getPublicationVersions(versions / versionsPerPublication,
+            versionsPerPublication, Clock.fixed(FIRST_VERSION_DATE, ZoneId.systemDefault()));
+        mostRecentPublications = keepMostRecentPublications(publications);
+        versionAttributes = encode(publications);
+        indexedAttributes = encode(mostRecentPublications.stream()
+            .filter(publication -> hasDoiRequestStatus(publication, STATUS))
+            .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<Publication> extractPublications() throws IOException {
+        return decode(versionAttributes);
+    }
+
+    @Benchmark
+    public List<Publication> filterNotPublishedPublications() {
+        return filterNotPublishedPublications(publications);
+    }
+
+    @Benchmark
+    public List<Publication> keepMostRecentPublications() {
+        return keepMostRecentPublications(publications);
+    }
+
+    @Benchmark
+    public List<Publication> doiRequestStatusFilter() {
+        return mostRecentPublications.stream()
+            .filter(publication -> hasDoiRequestStatus(publication, STATUS))
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Publication> ownerFilter() {
+        return mostRecentPublications.stream()
+            .parallel()
+            .filter(publication -> belongsToUser(OWNER, publication))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * The find of the DOI requests of an owner as it was before the indexes: every version of the publisher is read,
+     * and the current versions with the status and the owner are picked out in memory.
+     *
+     * @return the published publications of the owner with a DOI request with the status.
+     * @throws IOException when the attribute values do not describe a publication.
+     */
+    @Benchmark
+    public List<Publication> scanPipeline() throws IOException {
+        return keepMostRecentPublications(filterNotPublishedPublications(decode(versionAttributes))).stream()
+            .parallel()
+            .filter(publication -> hasDoiRequestStatus(publication, STATUS))
+            .filter(publication -> belongsToUser(OWNER, publication))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * The find of the DOI requests with a status as it is now: the index returns the current versions with the status
+     * only.
+     *
+     * @return the published publications with a DOI request with the status.
+     * @throws IOException when the attribute values do not describe a publication.
+     */
+    @Benchmark
+    public List<Publication> indexPipeline() throws IOException {
+        return filterNotPublishedPublications(decode(indexedAttributes));
+    }
+
+    private List<Map<String, AttributeValue>> encode(List<Publication> publications) throws IOException {
+        List<Map<String, AttributeValue>> attributes = new ArrayList<>(publications.size());
+        for (Publication publication : publications) {
+            attributes.add(codec.encode(publication));
+        }
+        return attributes;
+    }
+
+    private List<Publication> decode(List<Map<String, AttributeValue>> attributes) throws IOException {
+        List<Publication> decoded = new ArrayList<>(attributes.size());
+        for (Map<String, AttributeValue> item : attributes) {
+            decoded.add(codec.decode(item));
+        }
+        return decoded;
+    }
+
+    private static List<Publication> filterNotPublishedPublications(List<Publication> list) {
+        return list
+            .stream()
+            .filter(pub -> PublicationStatus.PUBLISHED.equals(pub.getStatus()))
+            .collect(Collectors.toList());
+    }
+
+    private static List<Publication> keepMostRecentPublications(List<Publication> publications) {
+        return publications.stream()
+            .parallel()
+            .collect(Collectors.groupingBy(Publication::getIdentifier))
+            .values()
+            .stream()
+            .flatMap(FindPipelineBenchmark::mostRecentPublication)
+            .collect(Collectors.toList());
+    }
+
+    private static Stream<Publication> mostRecentPublication(List<Publication> publicationList) {
+        return publicationList
+            .stream()
+            .max(Comparator.comparing(Publication::getModifiedDate))
+            .stream();
+    }
+
+    private static boolean hasDoiRequestStatus(Publication publication, DoiRequestStatus status) {
+        return Optional.of(publication)
+            .map(Publication::getDoiRequest)
+            .map(DoiRequest::getStatus)
+            .filter(status::equals)
+            .isPresent();
+    }
+
+    private static boolean belongsToUser(String owner, Publication publication) {
+        return nonNull(publication.getOwner()) && publication.getOwner().equals(owner);
+    }
+}
@@ -0,0 +1,93 @@
+package no.unit.nva.doi.requests.benchmarks;
+
+import static no.unit.nva.doi.requests.service.impl.PublicationItemCodec.VERSION_FIELD_NAME;
+
+import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.ItemUtils;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import no.unit.nva.doi.requests.service.impl.PublicationItemCodec;
+import no.unit.nva.doi.requests.util.PublicationGenerator;
+import no.unit.nva.model.DoiRequest;
+import no.unit.nva.model.DoiRequestMessage;
+import no.unit.nva.model.Publication;
+import nva.commons.utils.JsonUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the mapping of publications to and from DynamoDB items through JSON, which the service used before, with
+ * the mapping through {@link PublicationItemCodec}. Each pair of benchmarks starts from what the service has at hand:
+ * the document item or the low-level attribute values of a query result when reading, and the publication when
+ * writing.
+ */
+@State(Scope.Benchmark)
+public class PublicationItemCodecBenchmark {
+
+    @Param({"0", "10"})
+    public int messages;
+
+    private ObjectMapper objectMapper;
+    private PublicationItemCodec codec;
+    private Publication publication;
+    private Item item;
+    private Map<String, AttributeValue> attributes;
+
+    /**
+     * Creates a publication with a DOI request carrying the given number of messages, and the item it is stored as.
+     *
+     * @throws JsonProcessingException when the publication cannot be serialized.
+     */
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = JsonUtils.objectMapper;
+        codec = new PublicationItemCodec(objectMapper);
+        publication = publicationWithMessages(messages);
+        item = Item.fromJSON(objectMapper.writeValueAsString(publication));
+        attributes = ItemUtils.toAttributeValues(item);
+    }
+
+    @Benchmark
+    public Publication decodeThroughConvertValue() {
+        var itemAttributes = new HashMap<>(item.asMap());
+        itemAttributes.remove(VERSION_FIELD_NAME);
+        return objectMapper.convertValue(itemAttributes, Publication.class);
+    }
+
+    @Benchmark
+    public Publication decodeThroughCodec() throws IOException {
+        return codec.decode(attributes);
+    }
+
+    @Benchmark
+    public Item encodeThroughJsonString() throws JsonProcessingException {
+        return Item.fromJSON(objectMapper.writeValueAsString(publication));
+    }
+
+    @Benchmark
+    public Item encodeThroughCodec() throws IOException {
+        return ItemUtils.toItem(codec.encode(publication));
+    }
+
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    private static Publication publicationWithMessages(int numberOfMessages) {
+        Publication publication = PublicationGenerator.getPublicationWithDoiRequest();
+        DoiRequest.Builder doiRequest = publication.getDoiRequest().copy();
+        for (int i = 0; i < numberOfMessages; i++) {
+            doiRequest.addMessage(new DoiRequestMessage.Builder()
+                .withAuthor(publication.getOwner())
+                .withText("Message number " + i)
+                .withTimestamp(Instant.now())
+                .build());
+        }
+        return publication.copy().withDoiRequest(doiRequest.build()).build();
+    }
+}
@@ -0,0 +1,107 @@
+package no.unit.nva.doi.requests.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The latencies and failures of the requests of one worker, or of all workers once they are merged. Each worker keeps
+ * its own recorder, so recording is not synchronized.
+ */
+@SuppressWarnings("PMD.UseConcurrentHashMap")
+public class LatencyRecorder {
+
+    public static final int INITIAL_CAPACITY = 256;
+    public static final double NANOS_PER_MILLI = 1_000_000d;
+    public static final double NANOS_PER_SECOND = 1_000_000_000d;
+    public static final String REPORT_HEADER = String.format("%-14s %8s %8s %10s %9s %9s %9s %9s",
+        "operation", "requests", "failures", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+    public static final String REPORT_LINE = "%-14s %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f";
+
+    private final Map<Operation, long[]> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+    private final Map<Operation, Integer> failures = new EnumMap<>(Operation.class);
+
+    /**
+     * Records a request.
+     *
+     * @param operation    the operation of the request.
+     * @param latencyNanos the time from sending the request to having the response.
+     * @param successful   whether the response had a success status code.
+     */
+    public void record(Operation operation, long latencyNanos, boolean successful) {
+        int count = counts.getOrDefault(operation, 0);
+        long[] operationLatencies = latencies.computeIfAbsent(operation, key -> new long[INITIAL_CAPACITY]);
+        if (count == operationLatencies.length) {
+            operationLatencies = Arrays.copyOf(operationLatencies, count * 2);
+            latencies.put(operation, operationLatencies);
+        }
+        operationLatencies[count] = latencyNanos;
+        counts.put(operation, count + 1);
+        if (!successful) {
+            failures.merge(operation, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Adds the requests of another recorder to this one.
+     *
+     * @param other the other recorder.
+     */
+    public void merge(LatencyRecorder other) {
+        for (Operation operation : other.counts.keySet()) {
+            long[] otherLatencies = other.latencies.get(operation);
+            for (int i = 0; i < other.counts.get(operation); i++) {
+                record(operation, otherLatencies[i], true);
+            }
+        }
+        other.failures.forEach((operation, count) -> failures.merge(operation, count, Integer::sum));
+    }
+
+    /**
+     * Formats the number of requests, the throughput and the latency percentiles of each operation.
+     *
+     * @param elapsedNanos the time the measured requests took, from the first one being sent to the last response.
+     * @return the report, one line per operation and one for all of them.
+     */
+    public String report(long elapsedNanos) {
+        double elapsedSeconds = elapsedNanos / NANOS_PER_SECOND;
+        StringBuilder report = new StringBuilder(REPORT_HEADER).append(System.lineSeparator());
+        long[] all = new long[counts.values().stream().mapToInt(Integer::intValue).sum()];
+        int allCount = 0;
+        int allFailures = 0;
+        for (Operation operation : counts.keySet()) {
+            long[] sorted = sortedLatencies(operation);
+            int operationFailures = failures.getOrDefault(operation, 0);
+            report.append(reportLine(operation.name(), sorted, operationFailures, elapsedSeconds))
+                .append(System.lineSeparator());
+            System.arraycopy(sorted, 0, all, allCount, sorted.length);
+            allCount += sorted.length;
+            allFailures += operationFailures;
+        }
+        Arrays.sort(all);
+        return report.append(reportLine("ALL", all, allFailures, elapsedSeconds)).toString();
+    }
+
+    private long[] sortedLatencies(Operation operation) {
+        long[] sorted = Arrays.copyOf(latencies.get(operation), counts.get(operation));
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static String reportLine(String name, long[] sorted, int failures, double elapsedSeconds) {
+        return String.format(REPORT_LINE, name, sorted.length, failures, sorted.length / elapsedSeconds,
+            percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99), percentile(sorted, 100));
+    }
+
+    /*
+     * Nearest-rank percentile: the smallest latency that at least the given share of the requests did not exceed.
+     */
+    private static double percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int rank = (int) Math.ceil(percentile / 100d * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,158 @@
+package no.unit.nva.doi.requests.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The size of the seeded data and of the load, read from {@code loadtest.*} system properties. Every run with the same
+ * configuration seeds the same data and sends the same requests in the same order from each worker.
+ */
+public class LoadTestConfig {
+
+    public static final String PREFIX = "loadtest.";
+    public static final String MIX_SEPARATOR = ",";
+    public static final String WEIGHT_SEPARATOR = ":";
+    public static final String DEFAULT_MIX = "FIND:50,UPDATE_STATUS:20,MESSAGE:20,CREATE:10";
+    public static final String INVALID_MIX_ERROR = "Operation mix must look like " + DEFAULT_MIX + ", was: ";
+
+    private final int publishers;
+    private final int publications;
+    private final int versionsPerPublication;
+    private final int ownersPerPublisher;
+    private final double skew;
+    private final int threads;
+    private final int warmupRequestsPerThread;
+    private final int requestsPerThread;
+    private final long seed;
+    private final Map<Operation, Integer> mix;
+
+    /**
+     * Creates the configuration of a run.
+     *
+     * @param publishers              the number of publishers.
+     * @param publications            the number of publications of all publishers together.
+     * @param versionsPerPublication  the number of versions stored for each publication.
+     * @param ownersPerPublisher      the number of users owning the publications of each publisher.
+     * @param skew                    the exponent of the Zipf distribution of publications and requests on publishers.
+     * @param threads                 the number of workers sending requests at the same time.
+     * @param warmupRequestsPerThread the number of requests each worker sends before the measurements start.
+     * @param requestsPerThread       the number of measured requests each worker sends.
+     * @param seed                    the seed of the data and of the requests.
+     * @param mix                     the relative weight of each operation among the requests.
+     */
+    public LoadTestConfig(int publishers, int publications, int versionsPerPublication, int ownersPerPublisher,
+                          double skew, int threads, int warmupRequestsPerThread, int requestsPerThread, long seed,
+                          Map<Operation, Integer> mix) {
+        this.publishers = publishers;
+        this.publications = publications;
+        this.versionsPerPublication = versionsPerPublication;
+        this.ownersPerPublisher = ownersPerPublisher;
+        this.skew = skew;
+        this.threads = threads;
+        this.warmupRequestsPerThread = warmupRequestsPerThread;
+        this.requestsPerThread = requestsPerThread;
+        this.seed = seed;
+        this.mix = mix;
+    }
+
+    /**
+     * Reads the configuration from the system properties, using the defaults for the ones that are not set.
+     *
+     * @return the configuration.
+     */
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+            Integer.getInteger(PREFIX + "publishers", 20),
+            Integer.getInteger(PREFIX + "publications", 2000),
+            Integer.getInteger(PREFIX + "versions", 3),
+            Integer.getInteger(PREFIX + "owners", 5),
+            Double.parseDouble(System.getProperty(PREFIX + "skew", "1.1")),
+            Integer.getInteger(PREFIX + "threads", 8),
+            Integer.getInteger(PREFIX + "warmup", 25),
+            Integer.getInteger(PREFIX + "requests", 250),
+            Long.getLong(PREFIX + "seed", 42L),
+            parseMix(System.getProperty(PREFIX + "mix", DEFAULT_MIX)));
+    }
+
+    /**
+     * Parses an operation mix like {@value #DEFAULT_MIX}.
+     *
+     * @param mix the operations and their weights.
+     * @return the weight of each operation.
+     */
+    @SuppressWarnings("PMD.UseConcurrentHashMap")
+    public static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        Arrays.stream(mix.split(MIX_SEPARATOR))
+            .map(entry -> entry.trim().split(WEIGHT_SEPARATOR))
+            .forEach(entry -> weights.put(parseOperation(entry, mix), parseWeight(entry, mix)));
+        return weights;
+    }
+
+    public int getPublishers() {
+        return publishers;
+    }
+
+    public int getPublications() {
+        return publications;
+    }
+
+    public int getVersionsPerPublication() {
+        return versionsPerPublication;
+    }
+
+    public int getOwnersPerPublisher() {
+        return ownersPerPublisher;
+    }
+
+    public double getSkew() {
+        return skew;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getWarmupRequestsPerThread() {
+        return warmupRequestsPerThread;
+    }
+
+    public int getRequestsPerThread() {
+        return requestsPerThread;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Map<Operation, Integer> getMix() {
+        return mix;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("publishers=%d publications=%d versions=%d owners=%d skew=%.2f threads=%d warmup=%d "
+                + "requests=%d seed=%d mix=%s", publishers, publications, versionsPerPublication, ownersPerPublisher,
+            skew, threads, warmupRequestsPerThread, requestsPerThread, seed, mix);
+    }
+
+    private static Operation parseOperation(String[] entry, String mix) {
+        try {
+            return Operation.valueOf(entry[0].trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(INVALID_MIX_ERROR + mix, e);
+        }
+    }
+
+    private static Integer parseWeight(String[] entry, String mix) {
+        if (entry.length != 2) {
+            throw new IllegalArgumentException(INVALID_MIX_ERROR + mix);
+        }
+        try {
+            return Integer.valueOf(entry[1].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(INVALID_MIX_ERROR + mix, e);
+        }
+    }
+}
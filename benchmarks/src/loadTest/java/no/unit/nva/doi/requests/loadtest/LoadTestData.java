@@ -0,0 +1,185 @@
+package no.unit.nva.doi.requests.loadtest;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import no.unit.nva.doi.requests.util.PublicationGenerator;
+import no.unit.nva.model.DoiRequestStatus;
+import no.unit.nva.model.Organization;
+import no.unit.nva.model.Publication;
+import no.unit.nva.model.PublicationStatus;
+
+/**
+ * The publications the load test seeds the table with. The publications are spread over the publishers following a
+ * Zipf distribution, so a few publishers have most of the DOI requests, and every publication is stored with several
+ * versions. Requests pick publishers from the same distribution.
+ *
+ * <p>Most DOI requests are waiting for a curator, and one in ten publications is still a draft, so the find requests
+ * read some items they leave out of the response.
+ */
+public class LoadTestData {
+
+    public static final String PUBLISHER_TEMPLATE = "https://example.org/publisher/%d";
+    public static final String OWNER_TEMPLATE = "owner%d@publisher%d.example.org";
+    public static final Instant FIRST_CREATED_DATE = Instant.parse("2020-01-01T00:00:00Z");
+    public static final long SECONDS_BETWEEN_PUBLICATIONS = 60;
+    public static final double REQUESTED_SHARE = 0.7;
+    public static final double APPROVED_SHARE = 0.85;
+    public static final double DRAFT_SHARE = 0.1;
+
+    private final int versionsPerPublication;
+    private final Random random;
+    private final List<URI> publishers = new ArrayList<>();
+    private final List<List<String>> ownersByPublisher = new ArrayList<>();
+    private final List<List<Publication>> doiRequestsByPublisher = new ArrayList<>();
+    private final List<Publication> versions = new ArrayList<>();
+    private final double[] cumulativeWeights;
+    private int createdPublications;
+
+    /**
+     * Generates the publications of the configured publishers.
+     *
+     * @param config the configuration of the run.
+     */
+    public LoadTestData(LoadTestConfig config) {
+        this.versionsPerPublication = config.getVersionsPerPublication();
+        this.random = new Random(config.getSeed());
+        this.cumulativeWeights = cumulativeZipfWeights(config.getPublishers(), config.getSkew());
+        for (int publisher = 0; publisher < config.getPublishers(); publisher++) {
+            addPublisher(publisher, config.getOwnersPerPublisher());
+        }
+        for (int i = 0; i < config.getPublications(); i++) {
+            addPublicationWithDoiRequest(pickPublisher(random));
+        }
+    }
+
+    /**
+     * Picks a publisher, with the publishers that have the most publications being picked the most.
+     *
+     * @param random the random generator of the caller.
+     * @return the index of the publisher.
+     */
+    public int pickPublisher(Random random) {
+        int index = Arrays.binarySearch(cumulativeWeights, random.nextDouble());
+        return index >= 0 ? index : Math.min(-index - 1, cumulativeWeights.length - 1);
+    }
+
+    public URI getPublisher(int publisher) {
+        return publishers.get(publisher);
+    }
+
+    public String pickOwner(int publisher, Random random) {
+        List<String> owners = ownersByPublisher.get(publisher);
+        return owners.get(random.nextInt(owners.size()));
+    }
+
+    /**
+     * Picks a publication of the publisher that has a DOI request, or any publication with a DOI request when the
+     * publisher has none.
+     *
+     * @param publisher the index of the publisher.
+     * @param random    the random generator of the caller.
+     * @return the current version of the publication.
+     */
+    public Publication pickDoiRequest(int publisher, Random random) {
+        List<Publication> doiRequests = doiRequestsByPublisher.get(publisher);
+        if (doiRequests.isEmpty()) {
+            return pickDoiRequest(pickPublisher(random), random);
+        }
+        return doiRequests.get(random.nextInt(doiRequests.size()));
+    }
+
+    /**
+     * Adds a publication without a DOI request, for a create request to be sent for. Each create request needs a
+     * publication of its own, as a publication can only get one DOI request.
+     *
+     * @param publisher the index of the publisher.
+     * @param owner     the owner of the publication.
+     * @return the publication.
+     */
+    public Publication addPublicationWithoutDoiRequest(int publisher, String owner) {
+        Publication publication = PublicationGenerator.getPublicationWithoutDoiRequest(nextCreationClock()).copy()
+            .withIdentifier(nextIdentifier())
+            .withOwner(owner)
+            .withPublisher(organization(publishers.get(publisher)))
+            .build();
+        versions.add(publication);
+        return publication;
+    }
+
+    /**
+     * Returns every version of every publication, to be written to the table.
+     *
+     * @return the versions.
+     */
+    public List<Publication> getVersions() {
+        return versions;
+    }
+
+    private void addPublisher(int publisher, int numberOfOwners) {
+        publishers.add(URI.create(String.format(PUBLISHER_TEMPLATE, publisher)));
+        List<String> owners = new ArrayList<>(numberOfOwners);
+        for (int owner = 0; owner < numberOfOwners; owner++) {
+            owners.add(String.format(OWNER_TEMPLATE, owner, publisher));
+        }
+        ownersByPublisher.add(owners);
+        doiRequestsByPublisher.add(new ArrayList<>());
+    }
+
+    private void addPublicationWithDoiRequest(int publisher) {
+        Publication publication = PublicationGenerator.getPublicationWithDoiRequest(nextCreationClock());
+        publication = publication.copy()
+            .withIdentifier(nextIdentifier())
+            .withOwner(pickOwner(publisher, random))
+            .withPublisher(organization(publishers.get(publisher)))
+            .withStatus(random.nextDouble() < DRAFT_SHARE ? PublicationStatus.DRAFT : PublicationStatus.PUBLISHED)
+            .withDoiRequest(publication.getDoiRequest().copy()
+                .withStatus(randomDoiRequestStatus())
+                .build())
+            .build();
+        List<Publication> publicationVersions = PublicationGenerator.getVersions(publication, versionsPerPublication);
+        versions.addAll(publicationVersions);
+        doiRequestsByPublisher.get(publisher).add(publicationVersions.get(publicationVersions.size() - 1));
+    }
+
+    private DoiRequestStatus randomDoiRequestStatus() {
+        double draw = random.nextDouble();
+        if (draw < REQUESTED_SHARE) {
+            return DoiRequestStatus.REQUESTED;
+        }
+        return draw < APPROVED_SHARE ? DoiRequestStatus.APPROVED : DoiRequestStatus.REJECTED;
+    }
+
+    private UUID nextIdentifier() {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+
+    private Clock nextCreationClock() {
+        Instant created = FIRST_CREATED_DATE.plusSeconds(SECONDS_BETWEEN_PUBLICATIONS * createdPublications);
+        createdPublications++;
+        return Clock.fixed(created, ZoneOffset.UTC);
+    }
+
+    private static Organization organization(URI publisher) {
+        return new Organization.Builder().withId(publisher).build();
+    }
+
+    private static double[] cumulativeZipfWeights(int numberOfPublishers, double skew) {
+        double[] weights = new double[numberOfPublishers];
+        double total = 0;
+        for (int rank = 1; rank <= numberOfPublishers; rank++) {
+            total += 1 / Math.pow(rank, skew);
+            weights[rank - 1] = total;
+        }
+        for (int i = 0; i < numberOfPublishers; i++) {
+            weights[i] /= total;
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,50 @@
+package no.unit.nva.doi.requests.loadtest;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import no.unit.nva.doi.requests.service.impl.CurrentVersionBackfill;
+import no.unit.nva.doi.requests.service.impl.SegmentedScanSettings;
+import no.unit.nva.doi.requests.util.DoiRequestsDynamoDBLocal;
+import no.unit.nva.model.Publication;
+
+/**
+ * The embedded DynamoDB the load test runs against, with the same table and indexes as the handler tests.
+ */
+public class LoadTestDatabase extends DoiRequestsDynamoDBLocal {
+
+    public static final double SEED_CAPACITY_UNITS_PER_SECOND = 1_000_000;
+
+    /**
+     * Starts the embedded database and creates the publications table.
+     */
+    public void start() {
+        initializeDatabase();
+    }
+
+    /**
+     * Writes the versions to the table and removes the superseded ones from the DOI requests indexes, the way the
+     * table looks after the current versions have been backfilled.
+     *
+     * @param versions the versions of the publications.
+     * @throws JsonProcessingException when a version cannot be serialized.
+     */
+    public void seed(List<Publication> versions) throws JsonProcessingException {
+        for (Publication version : versions) {
+            insertPublication(NVA_RESOURCES_TABLE_NAME, version);
+        }
+        SegmentedScanSettings settings = new SegmentedScanSettings();
+        settings.setCapacityUnitsPerSecond(SEED_CAPACITY_UNITS_PER_SECOND);
+        new CurrentVersionBackfill(getTable(NVA_RESOURCES_TABLE_NAME), settings, Clock.systemUTC()).run(Instant.MAX);
+    }
+
+    public AmazonDynamoDB getClient() {
+        return client;
+    }
+
+    public void shutdown() {
+        after();
+    }
+}
@@ -0,0 +1,130 @@
+package no.unit.nva.doi.requests.loadtest;
+
+import static no.unit.nva.doi.requests.service.impl.DynamoDbDoiRequestsServiceFactory.EMPTY_CREDENTIALS;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.amazonaws.services.securitytoken.AWSSecurityTokenService;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import no.unit.nva.doi.requests.FindDoiRequestsHandler;
+import no.unit.nva.doi.requests.handlers.CachingStsClient;
+import no.unit.nva.doi.requests.handlers.CreateDoiRequestHandler;
+import no.unit.nva.doi.requests.handlers.DoiRequestMessageHandler;
+import no.unit.nva.doi.requests.handlers.UpdateDoiRequestStatusHandler;
+import no.unit.nva.doi.requests.service.impl.DoiRequestsServiceCache;
+import no.unit.nva.doi.requests.service.impl.DynamoDbDoiRequestsServiceFactory;
+import no.unit.nva.doi.requests.util.LocalStsClient;
+import no.unit.nva.doi.requests.util.MockEnvironment;
+import nva.commons.utils.Environment;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the handlers against an embedded DynamoDB under concurrent load, and reports the latency percentiles and the
+ * throughput of each operation.
+ *
+ * <p>The table is seeded with the publications of {@link LoadTestData}, the workers send the requests drawn by
+ * {@link RequestScheduler}, and the session credentials come from a {@link LocalStsClient} behind the same
+ * {@link CachingStsClient} the handlers use in Lambda. Each worker stands for a warm Lambda container: it has its own
+ * handlers, service cache and STS cache, and handles one request at a time. Run it with
+ * {@code ./gradlew :benchmarks:loadTest}, setting the size of the run with {@code -Ploadtest.<name>=<value>}, see
+ * {@link LoadTestConfig}.
+ */
+@SuppressWarnings({"PMD.DoNotUseThreads", "PMD.UseConcurrentHashMap", "PMD.AvoidInstantiatingObjectsInLoops"})
+public final class LoadTestRunner {
+
+    public static final String SEEDING_MESSAGE = "Seeded %d versions of publications in %d ms";
+    public static final String RUN_MESSAGE = "Sent %d requests from %d workers in %d ms, after %d warm-up requests";
+    public static final String STS_MESSAGE = "Roles assumed: %d";
+    public static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private LoadTestRunner() {
+    }
+
+    /**
+     * Seeds the table, runs the load and prints the report.
+     *
+     * @param args not used, the run is configured with system properties.
+     * @throws Exception when seeding or a worker fails.
+     */
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        System.out.println(config);
+
+        LoadTestData data = new LoadTestData(config);
+        RequestScheduler scheduler = new RequestScheduler(data, config.getMix());
+        List<List<ScheduledRequest>> schedules = new ArrayList<>();
+        for (int worker = 0; worker < config.getThreads(); worker++) {
+            schedules.add(scheduler.schedule(worker, config.getSeed(),
+                config.getWarmupRequestsPerThread() + config.getRequestsPerThread()));
+        }
+
+        LoadTestDatabase database = new LoadTestDatabase();
+        database.start();
+        try {
+            long seedingStart = System.nanoTime();
+            database.seed(data.getVersions());
+            System.out.println(String.format(SEEDING_MESSAGE, data.getVersions().size(),
+                (System.nanoTime() - seedingStart) / NANOS_PER_MILLI));
+            run(config, database.getClient(), schedules);
+        } finally {
+            database.shutdown();
+        }
+    }
+
+    private static void run(LoadTestConfig config, AmazonDynamoDB client, List<List<ScheduledRequest>> schedules)
+        throws Exception {
+        LocalStsClient stsClient = new LocalStsClient();
+        long[] measurementsStart = new long[1];
+        CyclicBarrier startOfMeasurements = new CyclicBarrier(config.getThreads(),
+            () -> measurementsStart[0] = System.nanoTime());
+        List<Worker> workers = new ArrayList<>();
+        for (List<ScheduledRequest> schedule : schedules) {
+            int warmup = config.getWarmupRequestsPerThread();
+            workers.add(new Worker(handlers(client, stsClient), schedule.subList(0, warmup),
+                schedule.subList(warmup, schedule.size()), startOfMeasurements));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(config.getThreads());
+        LatencyRecorder recorder = new LatencyRecorder();
+        try {
+            for (Future<LatencyRecorder> result : executor.invokeAll(workers)) {
+                recorder.merge(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long elapsed = System.nanoTime() - measurementsStart[0];
+
+        System.out.println(String.format(RUN_MESSAGE, config.getThreads() * config.getRequestsPerThread(),
+            config.getThreads(), elapsed / NANOS_PER_MILLI,
+            config.getThreads() * config.getWarmupRequestsPerThread()));
+        System.out.println(String.format(STS_MESSAGE, stsClient.getAssumeRoleCalls()));
+        System.out.println(recorder.report(elapsed));
+    }
+
+    private static Map<Operation, RequestStreamHandler> handlers(AmazonDynamoDB client,
+                                                                 AWSSecurityTokenService sharedStsClient) {
+        Environment environment = MockEnvironment.mockEnvironment();
+        DynamoDbDoiRequestsServiceFactory uncachedFactory =
+            DynamoDbDoiRequestsServiceFactory.serviceWithCustomClientWithoutCredentials(client, environment);
+        DynamoDbDoiRequestsServiceFactory serviceFactory =
+            new DynamoDbDoiRequestsServiceFactory(new DoiRequestsServiceCache(uncachedFactory::getService));
+        AWSSecurityTokenService stsClient = new CachingStsClient(sharedStsClient);
+
+        Map<Operation, RequestStreamHandler> handlers = new EnumMap<>(Operation.class);
+        handlers.put(Operation.FIND, new FindDoiRequestsHandler(environment, serviceFactory, stsClient));
+        handlers.put(Operation.UPDATE_STATUS, new UpdateDoiRequestStatusHandler(environment, stsClient,
+            serviceFactory));
+        handlers.put(Operation.MESSAGE, new DoiRequestMessageHandler(environment, stsClient, serviceFactory,
+            LoggerFactory.getLogger(DoiRequestMessageHandler.class)));
+        handlers.put(Operation.CREATE, new CreateDoiRequestHandler(environment,
+            uncachedFactory.getService(EMPTY_CREDENTIALS)));
+        return handlers;
+    }
+}
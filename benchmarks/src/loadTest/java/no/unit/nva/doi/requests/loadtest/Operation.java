@@ -0,0 +1,11 @@
+package no.unit.nva.doi.requests.loadtest;
+
+/**
+ * The operations of the API the load test sends requests to, one for each handler.
+ */
+public enum Operation {
+    FIND,
+    UPDATE_STATUS,
+    MESSAGE,
+    CREATE
+}
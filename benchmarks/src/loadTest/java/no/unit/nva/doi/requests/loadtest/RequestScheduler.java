@@ -0,0 +1,149 @@
+package no.unit.nva.doi.requests.loadtest;
+
+import static nva.commons.utils.JsonUtils.objectMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import no.unit.nva.doi.requests.FindDoiRequestsHandler;
+import no.unit.nva.doi.requests.api.model.requests.CreateDoiRequest;
+import no.unit.nva.doi.requests.handlers.DoiRequestMessageDto;
+import no.unit.nva.doi.requests.handlers.UpdateDoiRequestHandler;
+import no.unit.nva.doi.requests.model.ApiUpdateDoiRequest;
+import no.unit.nva.doi.requests.userdetails.UserDetails;
+import no.unit.nva.doi.requests.util.RequestContextUtils;
+import no.unit.nva.model.DoiRequestStatus;
+import no.unit.nva.model.Publication;
+import no.unit.nva.testutils.HandlerRequestBuilder;
+import no.unit.nva.testutils.TestHeaders;
+import no.unit.nva.useraccessmanagement.dao.AccessRight;
+
+/**
+ * Draws the requests of each worker from the operation mix. Curators find the DOI requests of their publisher and
+ * approve or reject them, owners find their own DOI requests, send messages on them and create new ones.
+ */
+public class RequestScheduler {
+
+    public static final String MESSAGE_TEMPLATE = "Message %d from worker %d";
+    public static final String UNKNOWN_OPERATION_ERROR = "Unknown operation: ";
+
+    private final LoadTestData data;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    /**
+     * Creates a scheduler for the seeded data and the operation mix.
+     *
+     * @param data the seeded data.
+     * @param mix  the relative weight of each operation.
+     */
+    public RequestScheduler(LoadTestData data, Map<Operation, Integer> mix) {
+        this.data = data;
+        this.operations = mix.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Draws the requests of a worker, from a generator seeded with the seed of the run and the index of the worker.
+     * Every create request gets a new publication, which has to be seeded with the rest of the data.
+     *
+     * @param worker           the index of the worker.
+     * @param seed             the seed of the run.
+     * @param numberOfRequests the number of requests to draw.
+     * @return the requests, in the order they are to be sent.
+     * @throws IOException when a request cannot be serialized.
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    public List<ScheduledRequest> schedule(int worker, long seed, int numberOfRequests) throws IOException {
+        Random random = new Random(seed + worker);
+        List<ScheduledRequest> requests = new ArrayList<>(numberOfRequests);
+        for (int i = 0; i < numberOfRequests; i++) {
+            Operation operation = pickOperation(random);
+            requests.add(new ScheduledRequest(operation, request(operation, random, worker, i).readAllBytes()));
+        }
+        return requests;
+    }
+
+    private Operation pickOperation(Random random) {
+        int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int operation = 0;
+        while (draw >= cumulativeWeights[operation]) {
+            operation++;
+        }
+        return operations[operation];
+    }
+
+    private InputStream request(Operation operation, Random random, int worker, int index)
+        throws JsonProcessingException {
+        int publisher = data.pickPublisher(random);
+        switch (operation) {
+            case FIND:
+                String role = random.nextBoolean() ? FindDoiRequestsHandler.CREATOR : FindDoiRequestsHandler.CURATOR;
+                return findRequest(data.pickOwner(publisher, random), publisher, role);
+            case UPDATE_STATUS:
+                return updateStatusRequest(data.pickDoiRequest(publisher, random), publisher, random);
+            case MESSAGE:
+                return messageRequest(data.pickDoiRequest(publisher, random), String.format(MESSAGE_TEMPLATE,
+                    index, worker));
+            case CREATE:
+                return createRequest(data.addPublicationWithoutDoiRequest(publisher,
+                    data.pickOwner(publisher, random)));
+            default:
+                throw new IllegalArgumentException(UNKNOWN_OPERATION_ERROR + operation);
+        }
+    }
+
+    private InputStream findRequest(String user, int publisher, String role) throws JsonProcessingException {
+        return new HandlerRequestBuilder<Void>(objectMapper)
+            .withHeaders(TestHeaders.getRequestHeaders())
+            .withQueryParameters(Map.of(UserDetails.ROLE, role))
+            .withRequestContext(
+                RequestContextUtils.userRequestContext(user, data.getPublisher(publisher).toString(), role))
+            .build();
+    }
+
+    private InputStream updateStatusRequest(Publication publication, int publisher, Random random)
+        throws JsonProcessingException {
+        ApiUpdateDoiRequest updateDoiRequest = new ApiUpdateDoiRequest();
+        updateDoiRequest.setDoiRequestStatus(random.nextBoolean() ? DoiRequestStatus.APPROVED
+            : DoiRequestStatus.REJECTED);
+        return new HandlerRequestBuilder<ApiUpdateDoiRequest>(objectMapper)
+            .withBody(updateDoiRequest)
+            .withFeideId(data.pickOwner(publisher, random))
+            .withCustomerId(data.getPublisher(publisher).toString())
+            .withAccessRight(AccessRight.APPROVE_DOI_REQUEST.toString())
+            .withAccessRight(AccessRight.REJECT_DOI_REQUEST.toString())
+            .withPathParameters(publicationPath(publication))
+            .build();
+    }
+
+    private InputStream messageRequest(Publication publication, String message) throws JsonProcessingException {
+        return new HandlerRequestBuilder<DoiRequestMessageDto>(objectMapper)
+            .withBody(new DoiRequestMessageDto(message))
+            .withFeideId(publication.getOwner())
+            .withAccessRight(AccessRight.READ_DOI_REQUEST.toString())
+            .withPathParameters(publicationPath(publication))
+            .build();
+    }
+
+    private InputStream createRequest(Publication publication) throws JsonProcessingException {
+        CreateDoiRequest createDoiRequest = new CreateDoiRequest();
+        createDoiRequest.setPublicationId(publication.getIdentifier().toString());
+        return new HandlerRequestBuilder<CreateDoiRequest>(objectMapper)
+            .withBody(createDoiRequest)
+            .withFeideId(publication.getOwner())
+            .build();
+    }
+
+    private static Map<String, String> publicationPath(Publication publication) {
+        return Map.of(UpdateDoiRequestHandler.API_PUBLICATION_PATH_IDENTIFIER, publication.getIdentifier().toString());
+    }
+}
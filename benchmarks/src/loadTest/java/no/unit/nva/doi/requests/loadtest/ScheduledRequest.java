@@ -0,0 +1,26 @@
+package no.unit.nva.doi.requests.loadtest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * A request a worker sends, serialized before the run so that building it is not part of the measured latency.
+ */
+public class ScheduledRequest {
+
+    private final Operation operation;
+    private final byte[] body;
+
+    public ScheduledRequest(Operation operation, byte[] body) {
+        this.operation = operation;
+        this.body = body.clone();
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public InputStream toInputStream() {
+        return new ByteArrayInputStream(body);
+    }
+}
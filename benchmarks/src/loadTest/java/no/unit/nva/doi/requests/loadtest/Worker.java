@@ -0,0 +1,72 @@
+package no.unit.nva.doi.requests.loadtest;
+
+import static nva.commons.utils.JsonUtils.objectMapper;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import no.unit.nva.stubs.FakeContext;
+
+/**
+ * Sends the requests of one worker to the handlers, one at a time, like a Lambda container does. The worker has
+ * handlers of its own, since a handler keeps state about the request it is handling. All workers wait for each other
+ * between the warm-up requests and the measured ones.
+ */
+public class Worker implements Callable<LatencyRecorder> {
+
+    public static final String STATUS_CODE_FIELD = "statusCode";
+    public static final int FIRST_ERROR_STATUS_CODE = 400;
+
+    private final Map<Operation, RequestStreamHandler> handlers;
+    private final List<ScheduledRequest> warmupRequests;
+    private final List<ScheduledRequest> measuredRequests;
+    private final CyclicBarrier startOfMeasurements;
+    private final Context context = new FakeContext();
+
+    /**
+     * Creates a worker.
+     *
+     * @param handlers            the handler of each operation.
+     * @param warmupRequests      the requests sent before the measurements start.
+     * @param measuredRequests    the requests that are measured.
+     * @param startOfMeasurements the barrier all workers wait at after their warm-up requests.
+     */
+    public Worker(Map<Operation, RequestStreamHandler> handlers, List<ScheduledRequest> warmupRequests,
+                  List<ScheduledRequest> measuredRequests, CyclicBarrier startOfMeasurements) {
+        this.handlers = handlers;
+        this.warmupRequests = warmupRequests;
+        this.measuredRequests = measuredRequests;
+        this.startOfMeasurements = startOfMeasurements;
+    }
+
+    @Override
+    public LatencyRecorder call() throws Exception {
+        for (ScheduledRequest request : warmupRequests) {
+            send(request);
+        }
+        startOfMeasurements.await();
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (ScheduledRequest request : measuredRequests) {
+            long start = System.nanoTime();
+            ByteArrayOutputStream response = send(request);
+            long latency = System.nanoTime() - start;
+            recorder.record(request.getOperation(), latency, isSuccessful(response));
+        }
+        return recorder;
+    }
+
+    private ByteArrayOutputStream send(ScheduledRequest request) throws IOException {
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        handlers.get(request.getOperation()).handleRequest(request.toInputStream(), response, context);
+        return response;
+    }
+
+    private static boolean isSuccessful(ByteArrayOutputStream response) throws IOException {
+        return objectMapper.readTree(response.toByteArray()).path(STATUS_CODE_FIELD).asInt(FIRST_ERROR_STATUS_CODE)
+            < FIRST_ERROR_STATUS_CODE;
+    }
+}
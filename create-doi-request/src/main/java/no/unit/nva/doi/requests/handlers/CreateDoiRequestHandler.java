@@ -3,6 +3,7 @@ package no.unit.nva.doi.requests.handlers;
 import static no.unit.nva.doi.requests.service.impl.DynamoDbDoiRequestsServiceFactory.serviceWithDefaultClientWithoutCredentials;
 import com.amazonaws.services.lambda.runtime.Context;
 import no.unit.nva.doi.requests.api.model.requests.CreateDoiRequest;
+import no.unit.nva.doi.requests.metrics.EmbeddedMetrics;
 import no.unit.nva.doi.requests.service.DoiRequestsService;
 import nva.commons.exceptions.ApiGatewayException;
 import nva.commons.handlers.ApiGatewayHandler;
@@ -34,6 +35,15 @@ public class CreateDoiRequestHandler extends ApiGatewayHandler<CreateDoiRequest,
 
     @Override
     protected Void processInput(CreateDoiRequest input, RequestInfo requestInfo, Context context)
+        throws ApiGatewayException {
+        try {
+            return createDoiRequest(input, requestInfo);
+        } finally {
+            EmbeddedMetrics.current().flush(getClass().getSimpleName());
+        }
+    }
+
+    private Void createDoiRequest(CreateDoiRequest input, RequestInfo requestInfo)
         throws ApiGatewayException {
         input.validate();
         String username = requestInfo.getFeideId().orElseThrow();
@@ -7,7 +7,32 @@ public final class DatabaseConstants {
     public static final String TABLE_SORT_KEY = "modifiedDate";
     public static final String DOI_REQUEST_INDEX_HASH_KEY = "publisherId";
     public static final String DOI_REQUEST_INDEX_SORT_KEY = "doiRequestStatusDate";
+    public static final String DOI_REQUEST_OWNER_INDEX_HASH_KEY = "owner";
+    public static final String DOI_REQUEST_OWNER_INDEX_SORT_KEY = DOI_REQUEST_INDEX_SORT_KEY;
 
 
     public static final String DOI_REQUEST_FIELD_NAME = "doiRequest";
+
+    public static final String CHANGES_TABLE_HASH_KEY = DOI_REQUEST_INDEX_HASH_KEY;
+    public static final String CHANGES_SEQUENCE_NUMBER_FIELD_NAME = "sequenceNumber";
+
+    public static final String STATUS_FIELD_NAME = "status";
+    public static final String CREATED_DATE_FIELD_NAME = "createdDate";
+    public static final String PUBLISHER_FIELD_NAME = "publisher";
+    public static final String MESSAGE_COUNT_FIELD_NAME = "messageCount";
+    public static final String LAST_MESSAGE_DATE_FIELD_NAME = "lastMessageDate";
+    public static final String EXPIRES_AT_FIELD_NAME = "expiresAt";
+
+    public static final String IDENTIFIER_PLACEHOLDER = "#identifier";
+    public static final String MODIFIED_DATE_PLACEHOLDER = "#modifiedDate";
+    public static final String STATUS_DATE_PLACEHOLDER = "#doiRequestStatusDate";
+    public static final String OWNER_PLACEHOLDER = "#owner";
+    public static final String DOI_REQUEST_PLACEHOLDER = "#doiRequest";
+    public static final String STATUS_PLACEHOLDER = "#status";
+    public static final String CREATED_DATE_PLACEHOLDER = "#createdDate";
+    public static final String MESSAGE_COUNT_PLACEHOLDER = "#messageCount";
+    public static final String LAST_MESSAGE_DATE_PLACEHOLDER = "#lastMessageDate";
+    public static final String IDENTIFIER_VALUE = ":identifier";
+    public static final String IDENTIFIER_KEY_CONDITION = IDENTIFIER_PLACEHOLDER + " = " + IDENTIFIER_VALUE;
+    public static final String VERSION_EXISTS_CONDITION = "attribute_exists(" + IDENTIFIER_PLACEHOLDER + ")";
 }
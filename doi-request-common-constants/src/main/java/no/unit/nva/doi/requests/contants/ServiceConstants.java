@@ -4,7 +4,12 @@ public final class ServiceConstants {
 
     public static final String PUBLICATIONS_TABLE_NAME_ENV_VARIABLE = "TABLE_NAME";
     public static final String DOI_REQUESTS_INDEX_ENV_VARIABLE = "INDEX_NAME";
+    public static final String DOI_REQUESTS_BY_OWNER_INDEX_ENV_VARIABLE = "OWNER_INDEX_NAME";
     public static final String API_SCHEME_ENV_VARIABLE = "API_SCHEME";
     public static final String API_HOST_ENV_VARIABLE = "API_HOST";
+    public static final String PAGINATION_CURSOR_SECRET_ENV_VARIABLE = "CURSOR_SECRET";
+    public static final String PUBLICATION_CACHE_SIZE_ENV_VARIABLE = "PUBLICATION_CACHE_SIZE";
+    public static final String PUBLICATION_CACHE_TTL_SECONDS_ENV_VARIABLE = "PUBLICATION_CACHE_TTL_SECONDS";
+    public static final String PUBLICATION_CHANGES_TABLE_NAME_ENV_VARIABLE = "CHANGES_TABLE_NAME";
 
 }
@@ -0,0 +1,147 @@
+package no.unit.nva.doi.requests.handlers;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import com.amazonaws.services.securitytoken.AWSSecurityTokenService;
+import com.amazonaws.services.securitytoken.AbstractAWSSecurityTokenService;
+import com.amazonaws.services.securitytoken.model.AssumeRoleRequest;
+import com.amazonaws.services.securitytoken.model.AssumeRoleResult;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import no.unit.nva.doi.requests.metrics.EmbeddedMetrics;
+import no.unit.nva.doi.requests.metrics.Phase;
+import no.unit.nva.doi.requests.service.impl.SessionTags;
+import nva.commons.utils.JacocoGenerated;
+
+/**
+ * STS client that keeps the assumed-role sessions of recently seen session-tag sets, so that requests of the same
+ * user and customer reuse one session instead of calling AssumeRole for every request. Sessions are keyed by the role
+ * and the tags, see {@link SessionTags}. A session is refreshed ahead of its expiry, and the least recently used
+ * session is evicted when the cache is full.
+ */
+public class CachingStsClient extends AbstractAWSSecurityTokenService {
+
+    /*
+     * Must be longer than the margin STSAssumeRoleSessionCredentialsProvider uses to refresh its own credentials,
+     * otherwise the provider would be handed the same soon-to-expire session over and over.
+     */
+    public static final Duration DEFAULT_REFRESH_MARGIN = Duration.ofMinutes(5);
+    public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+    private final AWSSecurityTokenService stsClient;
+    private final Duration refreshMargin;
+    private final int maximumSize;
+    private final Clock clock;
+    private final Map<List<Object>, AssumeRoleResult> sessions;
+    private final Object lock = new Object();
+
+    public CachingStsClient(AWSSecurityTokenService stsClient) {
+        this(stsClient, DEFAULT_REFRESH_MARGIN, DEFAULT_MAXIMUM_SIZE, Clock.systemUTC());
+    }
+
+    /**
+     * Constructor for CachingStsClient.
+     *
+     * @param stsClient     the client that assumes the role when no fresh session is cached.
+     * @param refreshMargin how long before its expiry a cached session is replaced.
+     * @param maximumSize   the maximum number of cached sessions.
+     * @param clock         clock used for the expiry of sessions.
+     */
+    public CachingStsClient(AWSSecurityTokenService stsClient, Duration refreshMargin, int maximumSize, Clock clock) {
+        super();
+        this.stsClient = stsClient;
+        this.refreshMargin = refreshMargin;
+        this.maximumSize = maximumSize;
+        this.clock = clock;
+        this.sessions = new LinkedHashMap<>(maximumSize, 0.75f, true);
+    }
+
+    /**
+     * Returns the cached session of the role and session tags of the request, or assumes the role and caches the new
+     * session. The session name of the request is not part of the key, since it only labels the session.
+     *
+     * @param request the AssumeRole request.
+     * @return a session that is valid for at least the refresh margin.
+     */
+    @Override
+    public AssumeRoleResult assumeRole(AssumeRoleRequest request) {
+        long assumeStart = System.nanoTime();
+        List<Object> key = sessionKey(request);
+        AssumeRoleResult session = freshSession(key).orElseGet(() -> assumeAndCache(key, request));
+        EmbeddedMetrics.current().recordLatencySince(Phase.STS_ASSUME, assumeStart);
+        return session;
+    }
+
+    private AssumeRoleResult assumeAndCache(List<Object> key, AssumeRoleRequest request) {
+        AssumeRoleResult session = stsClient.assumeRole(request);
+        cache(key, session);
+        return session;
+    }
+
+    @Override
+    @JacocoGenerated
+    public void shutdown() {
+        stsClient.shutdown();
+    }
+
+    private static List<Object> sessionKey(AssumeRoleRequest request) {
+        return Arrays.asList(
+            request.getRoleArn(),
+            request.getDurationSeconds(),
+            request.getPolicy(),
+            request.getExternalId(),
+            SessionTags.canonical(request.getTags()),
+            sorted(request.getTransitiveTagKeys()));
+    }
+
+    private static List<String> sorted(Collection<String> values) {
+        if (isNull(values)) {
+            return Collections.emptyList();
+        }
+        return values.stream().sorted().collect(Collectors.toList());
+    }
+
+    private Optional<AssumeRoleResult> freshSession(List<Object> key) {
+        Instant now = clock.instant();
+        synchronized (lock) {
+            AssumeRoleResult session = sessions.get(key);
+            if (nonNull(session) && !isFresh(session, now)) {
+                sessions.remove(key);
+                return Optional.empty();
+            }
+            return Optional.ofNullable(session);
+        }
+    }
+
+    private void cache(List<Object> key, AssumeRoleResult session) {
+        Instant now = clock.instant();
+        if (!isFresh(session, now)) {
+            return;
+        }
+        synchronized (lock) {
+            sessions.values().removeIf(cachedSession -> !isFresh(cachedSession, now));
+            sessions.put(key, session);
+            if (sessions.size() > maximumSize) {
+                List<Object> leastRecentlyUsed = sessions.keySet().iterator().next();
+                sessions.remove(leastRecentlyUsed);
+            }
+        }
+    }
+
+    private boolean isFresh(AssumeRoleResult session, Instant now) {
+        if (isNull(session.getCredentials()) || isNull(session.getCredentials().getExpiration())) {
+            return false;
+        }
+        Instant refreshTime = session.getCredentials().getExpiration().toInstant().minus(refreshMargin);
+        return now.isBefore(refreshTime);
+    }
+}
@@ -4,12 +4,19 @@ import static nva.commons.utils.attempt.Try.attempt;
 import com.amazonaws.services.securitytoken.AWSSecurityTokenService;
 import com.amazonaws.services.securitytoken.AWSSecurityTokenServiceClientBuilder;
 import com.amazonaws.services.securitytoken.model.Tag;
+import java.net.URI;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import no.unit.nva.doi.requests.exception.BadRequestException;
 import no.unit.nva.doi.requests.service.impl.DynamoDbDoiRequestsServiceFactory;
+import no.unit.nva.doi.requests.service.impl.UserInstance;
+import no.unit.nva.doi.requests.userdetails.UserDetails;
+import no.unit.nva.useraccessmanagement.dao.AccessRight;
+import nva.commons.exceptions.ForbiddenException;
 import nva.commons.handlers.AuthorizedApiGatewayHandler;
 import nva.commons.handlers.RequestInfo;
 import nva.commons.utils.Environment;
@@ -20,6 +27,11 @@ import org.slf4j.Logger;
 public abstract class DoiRequestAuthorizedHandlerTemplate<I, O> extends AuthorizedApiGatewayHandler<I, O> {
 
     public static final String PUBLISHER_IDENTIFIER = "publisherIdentifier";
+    public static final String OWNER = "owner";
+    public static final String LIMIT = "limit";
+    public static final String CURSOR = "cursor";
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final String INVALID_LIMIT_ERROR = "limit must be a number between 1 and " + MAX_PAGE_SIZE;
     protected static final DynamoDbDoiRequestsServiceFactory DEFAULT_SERVICE_FACTORY = defaultServiceFactory();
 
     @JacocoGenerated
@@ -36,7 +48,7 @@ public abstract class DoiRequestAuthorizedHandlerTemplate<I, O> extends Authoriz
 
     @JacocoGenerated
     protected static AWSSecurityTokenService defaultStsClient() {
-        return AWSSecurityTokenServiceClientBuilder.defaultClient();
+        return new CachingStsClient(AWSSecurityTokenServiceClientBuilder.defaultClient());
     }
 
     @Override
@@ -50,9 +62,65 @@ public abstract class DoiRequestAuthorizedHandlerTemplate<I, O> extends Authoriz
 
         publisherIdentifierTag.ifPresent(assumedRoleTags::add);
 
+        Optional<Tag> ownerTag = attempt(() -> UserDetails.getUsername(requestInfo))
+            .toOptional()
+            .flatMap(this::createOwnerTag);
+
+        ownerTag.ifPresent(assumedRoleTags::add);
+
         return assumedRoleTags;
     }
 
+    /**
+     * Reads the page size from the limit query parameter.
+     *
+     * @param requestInfo     the request.
+     * @param defaultPageSize the page size when the request has no limit.
+     * @return the page size.
+     * @throws BadRequestException when the limit is not a number between 1 and {@link #MAX_PAGE_SIZE}.
+     */
+    protected static int getPageSize(RequestInfo requestInfo, int defaultPageSize) throws BadRequestException {
+        Optional<String> limit = getOptionalQueryParameter(requestInfo, LIMIT);
+        if (limit.isEmpty()) {
+            return defaultPageSize;
+        }
+        int pageSize = attempt(() -> Integer.parseInt(limit.get()))
+            .orElseThrow(fail -> new BadRequestException(INVALID_LIMIT_ERROR));
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BadRequestException(INVALID_LIMIT_ERROR);
+        }
+        return pageSize;
+    }
+
+    protected static Optional<String> getOptionalQueryParameter(RequestInfo requestInfo, String parameter) {
+        return Optional.ofNullable(requestInfo.getQueryParameters())
+            .map(queryParameters -> queryParameters.get(parameter));
+    }
+
+    /**
+     * Creates the user the service authorizes reads and changes for, from the authorizer claims of the request.
+     *
+     * @param requestInfo the request.
+     * @return the user.
+     * @throws ForbiddenException when the request has no Feide id.
+     */
+    protected static UserInstance userInstance(RequestInfo requestInfo) throws ForbiddenException {
+        String userId = requestInfo.getFeideId().orElseThrow(ForbiddenException::new);
+        URI publisherId = requestInfo.getCustomerId().map(URI::create).orElse(null);
+        Set<AccessRight> accessRights = requestInfo.getAccessRights()
+            .stream()
+            .map(AccessRight::fromString)
+            .collect(Collectors.toSet());
+        return new UserInstance(userId, publisherId, accessRights);
+    }
+
+    private Optional<Tag> createOwnerTag(String username) {
+        if (StringUtils.isBlank(username)) {
+            return Optional.empty();
+        }
+        return Optional.of(createTag(OWNER, username));
+    }
+
     private Optional<Tag> createPublisherTag(String publisherTagValue) {
         if (StringUtils.isBlank(publisherTagValue)) {
             return Optional.empty();
@@ -0,0 +1,79 @@
+package no.unit.nva.doi.requests.handlers;
+
+import static nva.commons.utils.attempt.Try.attempt;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import nva.commons.handlers.RequestInfo;
+import org.apache.http.HttpHeaders;
+
+/**
+ * Entity tags for conditional GET requests. A tag is a digest of the values a response is made of, so two responses
+ * get the same tag exactly when they carry the same values, whichever container made them.
+ */
+public final class EntityTags {
+
+    public static final String DIGEST_ALGORITHM = "SHA-256";
+    public static final int TAG_LENGTH_IN_BYTES = 16;
+    public static final String ANY_TAG = "*";
+    public static final String WEAK_TAG_PREFIX = "W/";
+    public static final String TAG_LIST_SEPARATOR = ",";
+    public static final char VALUE_SEPARATOR = '\u0000';
+    public static final String QUOTE = "\"";
+
+    private EntityTags() {
+    }
+
+    /**
+     * Creates the tag of a response from the values it is made of, in order. The values are written with their
+     * string representation, so they must have one that does not vary between processes.
+     *
+     * @param values the values of the response. Null values are allowed.
+     * @return a quoted, strong entity tag.
+     */
+    public static String of(List<?> values) {
+        MessageDigest digest = attempt(() -> MessageDigest.getInstance(DIGEST_ALGORITHM)).orElseThrow();
+        for (Object value : values) {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) VALUE_SEPARATOR);
+        }
+        byte[] tag = Arrays.copyOf(digest.digest(), TAG_LENGTH_IN_BYTES);
+        return QUOTE + Base64.getUrlEncoder().withoutPadding().encodeToString(tag) + QUOTE;
+    }
+
+    /**
+     * Tells whether the client already has the response with the given tag, by the If-None-Match header of the
+     * request. The comparison is weak, as it is for If-None-Match, so a weak tag of the client also matches.
+     *
+     * @param requestInfo the request.
+     * @param entityTag   the tag of the response.
+     * @return true when the client can be answered with 304 Not Modified.
+     */
+    public static boolean isNotModified(RequestInfo requestInfo, String entityTag) {
+        return ifNoneMatch(requestInfo)
+            .map(tags -> Arrays.stream(tags.split(TAG_LIST_SEPARATOR))
+                .map(String::trim)
+                .anyMatch(tag -> ANY_TAG.equals(tag) || entityTag.equals(withoutWeakPrefix(tag))))
+            .orElse(false);
+    }
+
+    /*
+     * Header names are case-insensitive, and arrive in lower case over HTTP/2.
+     */
+    private static Optional<String> ifNoneMatch(RequestInfo requestInfo) {
+        return Optional.ofNullable(requestInfo.getHeaders())
+            .flatMap(headers -> headers.entrySet()
+                .stream()
+                .filter(header -> HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(header.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst());
+    }
+
+    private static String withoutWeakPrefix(String tag) {
+        return tag.startsWith(WEAK_TAG_PREFIX) ? tag.substring(WEAK_TAG_PREFIX.length()) : tag;
+    }
+}
@@ -0,0 +1,25 @@
+package no.unit.nva.doi.requests.metrics;
+
+/**
+ * The amounts that are summed over the handling of a request.
+ */
+public enum Counter {
+    SCANNED_ITEMS("ScannedItems"),
+    RETURNED_ITEMS("ReturnedItems"),
+    CONSUMED_READ_CAPACITY("ConsumedReadCapacityUnits"),
+    CONSUMED_WRITE_CAPACITY("ConsumedWriteCapacityUnits"),
+    PUBLICATION_CACHE_HITS("PublicationCacheHits"),
+    PUBLICATION_CACHE_MISSES("PublicationCacheMisses"),
+    FIND_RESULTS_CACHE_HITS("FindResultsCacheHits"),
+    FIND_RESULTS_CACHE_MISSES("FindResultsCacheMisses");
+
+    private final String metricName;
+
+    Counter(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+}
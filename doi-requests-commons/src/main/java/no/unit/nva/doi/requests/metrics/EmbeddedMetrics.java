@@ -0,0 +1,189 @@
+package no.unit.nva.doi.requests.metrics;
+
+import static java.util.Objects.nonNull;
+import com.amazonaws.services.dynamodbv2.model.ConsumedCapacity;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.PrintStream;
+import java.time.Clock;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import nva.commons.utils.JsonUtils;
+
+/**
+ * Collects the metrics of the request the current thread is handling, and writes them as one line in the CloudWatch
+ * Embedded Metric Format when the request is handled. CloudWatch extracts the metrics from the log line, so recording
+ * them needs no calls to CloudWatch.
+ *
+ * <p>The latencies of each {@link Phase} are kept in a {@link LatencyHistogram} in microseconds and written in
+ * milliseconds, the {@link Counter}s are summed, and the ratio of scanned to returned items and the hit rate of the
+ * publication cache are derived from them. The only dimension is the operation, so the number of metrics does not grow
+ * with the number of publishers; the publisher is written as a property instead, and can be found with CloudWatch Logs
+ * Insights.
+ */
+public class EmbeddedMetrics {
+
+    public static final String NAMESPACE = "NVA/DoiRequests";
+    public static final String OPERATION_DIMENSION = "Operation";
+    public static final String PUBLISHER_PROPERTY = "publisherId";
+    public static final String SCANNED_TO_RETURNED_RATIO = "ScannedToReturnedRatio";
+    public static final String PUBLICATION_CACHE_HIT_RATE = "PublicationCacheHitRate";
+    public static final String MILLISECONDS = "Milliseconds";
+    public static final String COUNT = "Count";
+    public static final String NONE = "None";
+    public static final int MAX_VALUES_PER_METRIC = 100;
+    public static final long NANOS_PER_MICRO = 1_000L;
+    public static final double MICROS_PER_MILLI = 1_000d;
+
+    public static final String AWS_FIELD = "_aws";
+    public static final String TIMESTAMP_FIELD = "Timestamp";
+    public static final String CLOUDWATCH_METRICS_FIELD = "CloudWatchMetrics";
+    public static final String NAMESPACE_FIELD = "Namespace";
+    public static final String DIMENSIONS_FIELD = "Dimensions";
+    public static final String METRICS_FIELD = "Metrics";
+    public static final String NAME_FIELD = "Name";
+    public static final String UNIT_FIELD = "Unit";
+
+    private static final ThreadLocal<EmbeddedMetrics> CURRENT =
+        ThreadLocal.withInitial(() -> new EmbeddedMetrics(Clock.systemUTC(), System.out));
+
+    private final Clock clock;
+    private final PrintStream output;
+    private final Map<Phase, LatencyHistogram> latencies = new EnumMap<>(Phase.class);
+    private final Map<Counter, Double> counters = new EnumMap<>(Counter.class);
+    private final Map<String, String> properties = new TreeMap<>();
+
+    /**
+     * Creates a collector that writes to the given stream.
+     *
+     * @param clock  the clock of the timestamps of the log lines.
+     * @param output the stream the log lines are written to.
+     */
+    public EmbeddedMetrics(Clock clock, PrintStream output) {
+        this.clock = clock;
+        this.output = output;
+    }
+
+    /**
+     * Returns the collector of the current thread. A Lambda container handles one request at a time, so the collector
+     * holds the metrics of the request being handled.
+     *
+     * @return the collector of the current thread.
+     */
+    public static EmbeddedMetrics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Records the latency of a phase.
+     *
+     * @param phase        the phase.
+     * @param elapsedNanos the time the phase took, from {@link System#nanoTime()}.
+     */
+    public void recordLatency(Phase phase, long elapsedNanos) {
+        latencies.computeIfAbsent(phase, key -> new LatencyHistogram()).record(elapsedNanos / NANOS_PER_MICRO);
+    }
+
+    /**
+     * Records the latency of a phase that started at the given time.
+     *
+     * @param phase     the phase.
+     * @param startNano the start of the phase, from {@link System#nanoTime()}.
+     */
+    public void recordLatencySince(Phase phase, long startNano) {
+        recordLatency(phase, System.nanoTime() - startNano);
+    }
+
+    public void addCount(Counter counter, double amount) {
+        counters.merge(counter, amount, Double::sum);
+    }
+
+    /**
+     * Adds the capacity units of a response to a counter. DynamoDB leaves the consumed capacity out of the responses
+     * of requests that did not ask for it.
+     *
+     * @param counter          the read or the write capacity counter.
+     * @param consumedCapacity the consumed capacity of a response, or null.
+     */
+    public void addConsumedCapacity(Counter counter, ConsumedCapacity consumedCapacity) {
+        if (nonNull(consumedCapacity) && nonNull(consumedCapacity.getCapacityUnits())) {
+            addCount(counter, consumedCapacity.getCapacityUnits());
+        }
+    }
+
+    public void putProperty(String name, String value) {
+        properties.put(name, value);
+    }
+
+    /**
+     * Writes the metrics recorded since the last flush as one log line, and starts over. Nothing is written when
+     * nothing is recorded.
+     *
+     * @param operation the operation the metrics belong to.
+     * @return the log line, or an empty string when nothing is recorded.
+     */
+    public String flush(String operation) {
+        if (latencies.isEmpty() && counters.isEmpty()) {
+            properties.clear();
+            return "";
+        }
+        String logLine = toLogLine(operation).toString();
+        output.println(logLine);
+        latencies.clear();
+        counters.clear();
+        properties.clear();
+        return logLine;
+    }
+
+    private ObjectNode toLogLine(String operation) {
+        ObjectNode logLine = JsonUtils.objectMapper.createObjectNode();
+        ObjectNode metadata = logLine.putObject(AWS_FIELD);
+        metadata.put(TIMESTAMP_FIELD, clock.millis());
+        ObjectNode directive = metadata.putArray(CLOUDWATCH_METRICS_FIELD).addObject();
+        directive.put(NAMESPACE_FIELD, NAMESPACE);
+        directive.putArray(DIMENSIONS_FIELD).addArray().add(OPERATION_DIMENSION);
+        ArrayNode metrics = directive.putArray(METRICS_FIELD);
+
+        logLine.put(OPERATION_DIMENSION, operation);
+        properties.forEach(logLine::put);
+        latencies.forEach((phase, histogram) -> {
+            addMetric(metrics, phase.getMetricName(), MILLISECONDS);
+            ArrayNode values = logLine.putArray(phase.getMetricName());
+            histogram.values(MAX_VALUES_PER_METRIC).forEach(micros -> values.add(micros / MICROS_PER_MILLI));
+        });
+        counters.forEach((counter, amount) -> {
+            addMetric(metrics, counter.getMetricName(), COUNT);
+            logLine.put(counter.getMetricName(), amount);
+        });
+        if (counters.containsKey(Counter.SCANNED_ITEMS)) {
+            addMetric(metrics, SCANNED_TO_RETURNED_RATIO, NONE);
+            logLine.put(SCANNED_TO_RETURNED_RATIO, scannedToReturnedRatio());
+        }
+        if (counters.containsKey(Counter.PUBLICATION_CACHE_HITS)
+            || counters.containsKey(Counter.PUBLICATION_CACHE_MISSES)) {
+            addMetric(metrics, PUBLICATION_CACHE_HIT_RATE, NONE);
+            logLine.put(PUBLICATION_CACHE_HIT_RATE, publicationCacheHitRate());
+        }
+        return logLine;
+    }
+
+    /*
+     * A query that returns nothing counts as returning one item, so the ratio stays finite and still grows with the
+     * number of items the query had to read.
+     */
+    private double scannedToReturnedRatio() {
+        double returned = counters.getOrDefault(Counter.RETURNED_ITEMS, 0d);
+        return counters.get(Counter.SCANNED_ITEMS) / Math.max(returned, 1d);
+    }
+
+    private double publicationCacheHitRate() {
+        double hits = counters.getOrDefault(Counter.PUBLICATION_CACHE_HITS, 0d);
+        double misses = counters.getOrDefault(Counter.PUBLICATION_CACHE_MISSES, 0d);
+        return hits / (hits + misses);
+    }
+
+    private static void addMetric(ArrayNode metrics, String name, String unit) {
+        metrics.addObject().put(NAME_FIELD, name).put(UNIT_FIELD, unit);
+    }
+}
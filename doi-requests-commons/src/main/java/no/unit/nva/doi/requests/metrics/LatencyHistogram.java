@@ -0,0 +1,99 @@
+package no.unit.nva.doi.requests.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A histogram of latencies in the style of HdrHistogram: values below {@link #SUB_BUCKETS} are counted exactly, and
+ * every larger power of two is split into {@link #SUB_BUCKETS} buckets of equal width, so a recorded value is kept
+ * within 1/16 of its size while the histogram has a fixed size and recording does not allocate.
+ */
+public class LatencyHistogram {
+
+    public static final int SUB_BUCKET_BITS = 4;
+    public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    public static final int NUMBER_OF_BUCKETS = SUB_BUCKETS + (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    public static final double MAX_PERCENTILE = 100d;
+
+    private final long[] counts = new long[NUMBER_OF_BUCKETS];
+    private long totalCount;
+
+    /**
+     * Records a value. Negative values are recorded as zero.
+     *
+     * @param value the value, e.g. a latency in microseconds.
+     */
+    public void record(long value) {
+        counts[bucketIndex(Math.max(value, 0))]++;
+        totalCount++;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public boolean isEmpty() {
+        return totalCount == 0;
+    }
+
+    /**
+     * Returns the value that at least the given share of the recorded values do not exceed, as the middle of the
+     * bucket the value is counted in.
+     *
+     * @param percentile the percentile, from 0 to 100.
+     * @return the value at the percentile, or 0 when nothing is recorded.
+     */
+    public long valueAtPercentile(double percentile) {
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, MAX_PERCENTILE) / MAX_PERCENTILE * totalCount));
+        long seen = 0;
+        for (int index = 0; index < NUMBER_OF_BUCKETS; index++) {
+            seen += counts[index];
+            if (seen >= rank) {
+                return bucketValue(index);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the recorded values, as the middle of their buckets and in increasing order. When more values are
+     * recorded than wanted, the values at evenly spread percentiles are returned instead, so the distribution is kept
+     * while the number of values stays within the limit.
+     *
+     * @param maximumNumberOfValues the largest number of values to return.
+     * @return the values.
+     */
+    public List<Long> values(int maximumNumberOfValues) {
+        List<Long> values = new ArrayList<>();
+        if (totalCount <= maximumNumberOfValues) {
+            for (int index = 0; index < NUMBER_OF_BUCKETS; index++) {
+                for (long i = 0; i < counts[index]; i++) {
+                    values.add(bucketValue(index));
+                }
+            }
+            return values;
+        }
+        for (int i = 0; i < maximumNumberOfValues; i++) {
+            values.add(valueAtPercentile((i + 0.5) * MAX_PERCENTILE / maximumNumberOfValues));
+        }
+        return values;
+    }
+
+    protected static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    protected static long bucketValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        long lowestValue = (long) (SUB_BUCKETS + (index - SUB_BUCKETS) % SUB_BUCKETS) << shift;
+        return lowestValue + ((1L << shift) >>> 1);
+    }
+}
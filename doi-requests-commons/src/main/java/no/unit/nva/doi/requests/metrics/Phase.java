@@ -0,0 +1,22 @@
+package no.unit.nva.doi.requests.metrics;
+
+/**
+ * The phases of handling a request whose latencies are recorded.
+ */
+public enum Phase {
+    STS_ASSUME("StsAssumeLatency"),
+    QUERY("QueryLatency"),
+    DESERIALIZE("DeserializeLatency"),
+    SERIALIZE("SerializeLatency"),
+    WRITE("WriteLatency");
+
+    private final String metricName;
+
+    Phase(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+}
@@ -0,0 +1,55 @@
+package no.unit.nva.doi.requests.model;
+
+import java.util.List;
+import java.util.UUID;
+import no.unit.nva.doi.requests.exception.BadRequestException;
+import no.unit.nva.model.DoiRequestStatus;
+import nva.commons.utils.JacocoGenerated;
+
+public class ApiBulkUpdateDoiRequest {
+
+    public static final int MAX_PUBLICATIONS = 100;
+    public static final String NO_CHANGE_REQUESTED_ERROR = ApiUpdateDoiRequest.NO_CHANGE_REQUESTED_ERROR;
+    public static final String NO_PUBLICATIONS_ERROR = "You must list the publications to change";
+    public static final String TOO_MANY_PUBLICATIONS_ERROR =
+        "At most " + MAX_PUBLICATIONS + " publications can be changed at a time";
+    private List<UUID> publicationIdentifiers;
+    private DoiRequestStatus doiRequestStatus;
+
+    @JacocoGenerated
+    public List<UUID> getPublicationIdentifiers() {
+        return publicationIdentifiers;
+    }
+
+    @JacocoGenerated
+    public void setPublicationIdentifiers(List<UUID> publicationIdentifiers) {
+        this.publicationIdentifiers = publicationIdentifiers;
+    }
+
+    @JacocoGenerated
+    public DoiRequestStatus getDoiRequestStatus() {
+        return doiRequestStatus;
+    }
+
+    @JacocoGenerated
+    public void setDoiRequestStatus(DoiRequestStatus doiRequestStatus) {
+        this.doiRequestStatus = doiRequestStatus;
+    }
+
+    /**
+     * Checks that a status is requested for at least one, and at most {@link #MAX_PUBLICATIONS}, publications.
+     *
+     * @throws BadRequestException when the request is not valid.
+     */
+    public void validate() throws BadRequestException {
+        if (doiRequestStatus == null) {
+            throw new BadRequestException(NO_CHANGE_REQUESTED_ERROR);
+        }
+        if (publicationIdentifiers == null || publicationIdentifiers.isEmpty()) {
+            throw new BadRequestException(NO_PUBLICATIONS_ERROR);
+        }
+        if (publicationIdentifiers.size() > MAX_PUBLICATIONS) {
+            throw new BadRequestException(TOO_MANY_PUBLICATIONS_ERROR);
+        }
+    }
+}
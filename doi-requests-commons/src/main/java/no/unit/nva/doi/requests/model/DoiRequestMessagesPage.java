@@ -0,0 +1,51 @@
+package no.unit.nva.doi.requests.model;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import no.unit.nva.model.DoiRequestMessage;
+import nva.commons.utils.JacocoGenerated;
+
+public class DoiRequestMessagesPage {
+
+    private final List<DoiRequestMessage> messages;
+    private final String nextCursor;
+
+    public DoiRequestMessagesPage(List<DoiRequestMessage> messages, String nextCursor) {
+        this.messages = messages;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<DoiRequestMessage> getMessages() {
+        return messages;
+    }
+
+    /**
+     * The cursor for the next page. Empty when this is the last page.
+     *
+     * @return the cursor for the next page, if there is one.
+     */
+    public Optional<String> getNextCursor() {
+        return Optional.ofNullable(nextCursor);
+    }
+
+    @Override
+    @JacocoGenerated
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DoiRequestMessagesPage that = (DoiRequestMessagesPage) o;
+        return Objects.equals(getMessages(), that.getMessages())
+            && Objects.equals(getNextCursor(), that.getNextCursor());
+    }
+
+    @Override
+    @JacocoGenerated
+    public int hashCode() {
+        return Objects.hash(getMessages(), getNextCursor());
+    }
+}
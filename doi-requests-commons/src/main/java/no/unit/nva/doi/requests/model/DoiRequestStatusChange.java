@@ -0,0 +1,84 @@
+package no.unit.nva.doi.requests.model;
+
+import java.util.Objects;
+import java.util.UUID;
+import nva.commons.utils.JacocoGenerated;
+
+/**
+ * The result of changing the status of the DOI request of one publication in a bulk status change.
+ */
+public class DoiRequestStatusChange {
+
+    private UUID publicationIdentifier;
+    private Result result;
+
+    @JacocoGenerated
+    public DoiRequestStatusChange() {
+    }
+
+    public DoiRequestStatusChange(UUID publicationIdentifier, Result result) {
+        this.publicationIdentifier = publicationIdentifier;
+        this.result = result;
+    }
+
+    public UUID getPublicationIdentifier() {
+        return publicationIdentifier;
+    }
+
+    @JacocoGenerated
+    public void setPublicationIdentifier(UUID publicationIdentifier) {
+        this.publicationIdentifier = publicationIdentifier;
+    }
+
+    public Result getResult() {
+        return result;
+    }
+
+    @JacocoGenerated
+    public void setResult(Result result) {
+        this.result = result;
+    }
+
+    @Override
+    @JacocoGenerated
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DoiRequestStatusChange that = (DoiRequestStatusChange) o;
+        return Objects.equals(getPublicationIdentifier(), that.getPublicationIdentifier())
+            && getResult() == that.getResult();
+    }
+
+    @Override
+    @JacocoGenerated
+    public int hashCode() {
+        return Objects.hash(getPublicationIdentifier(), getResult());
+    }
+
+    public enum Result {
+        /**
+         * The status was changed.
+         */
+        UPDATED,
+        /**
+         * The publication does not exist.
+         */
+        NOT_FOUND,
+        /**
+         * The publication has no DOI request.
+         */
+        NO_DOI_REQUEST,
+        /**
+         * The publication was changed by someone else while the status was changed. The change can be retried.
+         */
+        CONFLICT,
+        /**
+         * The status could not be written, for instance because the request was throttled. The change can be retried.
+         */
+        FAILED
+    }
+}
@@ -0,0 +1,142 @@
+package no.unit.nva.doi.requests.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+import no.unit.nva.model.DoiRequestStatus;
+import nva.commons.utils.JacocoGenerated;
+
+/**
+ * The part of a publication that is shown in lists of DOI requests. It is read with a projection, so the rest of the
+ * publication is neither read from the table nor deserialized. Of the messages, only their number and the date of the
+ * last one are shown, and the messages themselves are read from the message thread of the DOI request.
+ */
+public class DoiRequestSummary {
+
+    private DoiRequestStatus doiRequestStatus;
+    private Instant doiRequestDate;
+    private UUID publicationIdentifier;
+    private String publicationTitle;
+    private String publicationCreator;
+    private int messageCount;
+    @JsonInclude(Include.NON_NULL)
+    private Instant lastMessageDate;
+
+    @JacocoGenerated
+    public DoiRequestSummary() {
+    }
+
+    /**
+     * Constructor for DoiRequestSummary.
+     *
+     * @param doiRequestStatus      the status of the DOI request.
+     * @param doiRequestDate        the date the DOI request was created.
+     * @param publicationIdentifier the identifier of the publication.
+     * @param publicationTitle      the main title of the publication.
+     * @param publicationCreator    the owner of the publication.
+     * @param messageCount          the number of messages sent on the DOI request.
+     * @param lastMessageDate       the date of the last message, or null when no message is sent.
+     */
+    public DoiRequestSummary(DoiRequestStatus doiRequestStatus, Instant doiRequestDate, UUID publicationIdentifier,
+                             String publicationTitle, String publicationCreator, int messageCount,
+                             Instant lastMessageDate) {
+        this.doiRequestStatus = doiRequestStatus;
+        this.doiRequestDate = doiRequestDate;
+        this.publicationIdentifier = publicationIdentifier;
+        this.publicationTitle = publicationTitle;
+        this.publicationCreator = publicationCreator;
+        this.messageCount = messageCount;
+        this.lastMessageDate = lastMessageDate;
+    }
+
+    public DoiRequestStatus getDoiRequestStatus() {
+        return doiRequestStatus;
+    }
+
+    @JacocoGenerated
+    public void setDoiRequestStatus(DoiRequestStatus doiRequestStatus) {
+        this.doiRequestStatus = doiRequestStatus;
+    }
+
+    public Instant getDoiRequestDate() {
+        return doiRequestDate;
+    }
+
+    @JacocoGenerated
+    public void setDoiRequestDate(Instant doiRequestDate) {
+        this.doiRequestDate = doiRequestDate;
+    }
+
+    public UUID getPublicationIdentifier() {
+        return publicationIdentifier;
+    }
+
+    @JacocoGenerated
+    public void setPublicationIdentifier(UUID publicationIdentifier) {
+        this.publicationIdentifier = publicationIdentifier;
+    }
+
+    public String getPublicationTitle() {
+        return publicationTitle;
+    }
+
+    @JacocoGenerated
+    public void setPublicationTitle(String publicationTitle) {
+        this.publicationTitle = publicationTitle;
+    }
+
+    public String getPublicationCreator() {
+        return publicationCreator;
+    }
+
+    @JacocoGenerated
+    public void setPublicationCreator(String publicationCreator) {
+        this.publicationCreator = publicationCreator;
+    }
+
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    @JacocoGenerated
+    public void setMessageCount(int messageCount) {
+        this.messageCount = messageCount;
+    }
+
+    public Instant getLastMessageDate() {
+        return lastMessageDate;
+    }
+
+    @JacocoGenerated
+    public void setLastMessageDate(Instant lastMessageDate) {
+        this.lastMessageDate = lastMessageDate;
+    }
+
+    @Override
+    @JacocoGenerated
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DoiRequestSummary that = (DoiRequestSummary) o;
+        return getDoiRequestStatus() == that.getDoiRequestStatus()
+            && Objects.equals(getDoiRequestDate(), that.getDoiRequestDate())
+            && Objects.equals(getPublicationIdentifier(), that.getPublicationIdentifier())
+            && Objects.equals(getPublicationTitle(), that.getPublicationTitle())
+            && Objects.equals(getPublicationCreator(), that.getPublicationCreator())
+            && getMessageCount() == that.getMessageCount()
+            && Objects.equals(getLastMessageDate(), that.getLastMessageDate());
+    }
+
+    @Override
+    @JacocoGenerated
+    public int hashCode() {
+        return Objects.hash(getDoiRequestStatus(), getDoiRequestDate(), getPublicationIdentifier(),
+            getPublicationTitle(), getPublicationCreator(), getMessageCount(), getLastMessageDate());
+    }
+}
@@ -0,0 +1,55 @@
+package no.unit.nva.doi.requests.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import nva.commons.utils.JacocoGenerated;
+
+public class DoiRequestsPage {
+
+    private final List<DoiRequestSummary> doiRequests;
+    private final String nextCursor;
+
+    public DoiRequestsPage(List<DoiRequestSummary> doiRequests, String nextCursor) {
+        this.doiRequests = doiRequests;
+        this.nextCursor = nextCursor;
+    }
+
+    public static DoiRequestsPage empty() {
+        return new DoiRequestsPage(Collections.emptyList(), null);
+    }
+
+    public List<DoiRequestSummary> getDoiRequests() {
+        return doiRequests;
+    }
+
+    /**
+     * The cursor for the next page. Empty when this is the last page.
+     *
+     * @return the cursor for the next page, if there is one.
+     */
+    public Optional<String> getNextCursor() {
+        return Optional.ofNullable(nextCursor);
+    }
+
+    @Override
+    @JacocoGenerated
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DoiRequestsPage that = (DoiRequestsPage) o;
+        return Objects.equals(getDoiRequests(), that.getDoiRequests())
+            && Objects.equals(getNextCursor(), that.getNextCursor());
+    }
+
+    @Override
+    @JacocoGenerated
+    public int hashCode() {
+        return Objects.hash(getDoiRequests(), getNextCursor());
+    }
+}
@@ -0,0 +1,114 @@
+package no.unit.nva.doi.requests.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import nva.commons.utils.JacocoGenerated;
+
+/**
+ * The order of a list of DOI requests. The DOI requests indexes are sorted by the modified date within each status, so
+ * a list of one status sorted by the modified date is read in index order, and any other list is selected from the
+ * index items.
+ */
+public class DoiRequestsSort {
+
+    public static final DoiRequestsSort INDEX_ORDER = new DoiRequestsSort(Field.MODIFIED_DATE, Order.ASC);
+
+    private final Field field;
+    private final Order order;
+
+    public DoiRequestsSort(Field field, Order order) {
+        this.field = field;
+        this.order = order;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    public boolean isAscending() {
+        return Order.ASC.equals(order);
+    }
+
+    @Override
+    @JacocoGenerated
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DoiRequestsSort)) {
+            return false;
+        }
+        DoiRequestsSort that = (DoiRequestsSort) o;
+        return field == that.field && order == that.order;
+    }
+
+    @Override
+    @JacocoGenerated
+    public int hashCode() {
+        return Objects.hash(field, order);
+    }
+
+    @Override
+    public String toString() {
+        return field.getParameterValue() + " " + order.getParameterValue();
+    }
+
+    public enum Field {
+        CREATED_DATE("createdDate"),
+        MODIFIED_DATE("modifiedDate");
+
+        private final String parameterValue;
+
+        Field(String parameterValue) {
+            this.parameterValue = parameterValue;
+        }
+
+        public String getParameterValue() {
+            return parameterValue;
+        }
+
+        /**
+         * Finds the field with the given name, as it is given in the sort parameter of the find request.
+         *
+         * @param parameterValue the name of the field.
+         * @return the field, or empty when there is no field with the name.
+         */
+        public static Optional<Field> fromParameterValue(String parameterValue) {
+            return Arrays.stream(values())
+                .filter(field -> field.parameterValue.equals(parameterValue))
+                .findAny();
+        }
+    }
+
+    public enum Order {
+        ASC("asc"),
+        DESC("desc");
+
+        private final String parameterValue;
+
+        Order(String parameterValue) {
+            this.parameterValue = parameterValue;
+        }
+
+        public String getParameterValue() {
+            return parameterValue;
+        }
+
+        /**
+         * Finds the order with the given name, as it is given in the order parameter of the find request.
+         *
+         * @param parameterValue the name of the order, in any case.
+         * @return the order, or empty when there is no order with the name.
+         */
+        public static Optional<Order> fromParameterValue(String parameterValue) {
+            return Arrays.stream(values())
+                .filter(order -> order.parameterValue.equalsIgnoreCase(parameterValue))
+                .findAny();
+        }
+    }
+}
@@ -3,10 +3,15 @@ package no.unit.nva.doi.requests.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import no.unit.nva.doi.requests.api.model.requests.CreateDoiRequest;
 import no.unit.nva.doi.requests.model.ApiUpdateDoiRequest;
+import no.unit.nva.doi.requests.model.DoiRequestMessagesPage;
+import no.unit.nva.doi.requests.model.DoiRequestStatusChange;
+import no.unit.nva.doi.requests.model.DoiRequestsPage;
+import no.unit.nva.doi.requests.model.DoiRequestsSort;
 import no.unit.nva.doi.requests.service.impl.UserInstance;
 import no.unit.nva.model.DoiRequestStatus;
 import no.unit.nva.model.Publication;
@@ -21,9 +26,63 @@ public interface DoiRequestsService {
     List<Publication> findDoiRequestsByStatusAndOwner(URI publisher, DoiRequestStatus status, String owner)
         throws ApiGatewayException;
 
+    /**
+     * Returns one page of DOI requests with the given status.
+     *
+     * @param publisher the publisher id.
+     * @param status    the DOI request status.
+     * @param pageSize  the maximum number of index items to read for the page.
+     * @param cursor    the cursor returned with the previous page, or null for the first page.
+     * @return the page, with a cursor for the next page if there are more results.
+     * @throws ApiGatewayException when the cursor is invalid or the query fails.
+     */
+    DoiRequestsPage findDoiRequestsByStatus(URI publisher, DoiRequestStatus status, int pageSize, String cursor)
+        throws ApiGatewayException;
+
+    DoiRequestsPage findDoiRequestsByStatusAndOwner(URI publisher, DoiRequestStatus status, String owner,
+                                                    int pageSize, String cursor)
+        throws ApiGatewayException;
+
+    /**
+     * Returns one page of DOI requests with any of the given statuses, in the given order.
+     *
+     * @param publisher the publisher id.
+     * @param statuses  the DOI request statuses.
+     * @param owner     the owner of the publications, or null for the DOI requests of all owners.
+     * @param sort      the order of the DOI requests.
+     * @param pageSize  the maximum number of DOI requests in the page.
+     * @param cursor    the cursor returned with the previous page, or null for the first page.
+     * @return the page, with a cursor for the next page if there are more results.
+     * @throws ApiGatewayException when the cursor is invalid or the query fails.
+     */
+    DoiRequestsPage findDoiRequests(URI publisher, List<DoiRequestStatus> statuses, String owner,
+                                    DoiRequestsSort sort, int pageSize, String cursor)
+        throws ApiGatewayException;
+
+    /**
+     * Reads the sequence number of the changes to the publications of a publisher, see the PublicationChangeFeed. The
+     * DOI requests of the publisher are the same as long as it has not moved, so it is a validator of their pages that
+     * can be read before the pages are queried.
+     *
+     * @param publisher the publisher id.
+     * @return the sequence number, or empty when the service has no change feed or the feed cannot be read.
+     */
+    Optional<Long> findDoiRequestsSequenceNumber(URI publisher);
+
     Optional<Publication> fetchDoiRequestByPublicationIdentifier(UUID publicationIdentifier)
         throws JsonProcessingException, NotFoundException;
 
+    /**
+     * Finds the status of the DOI requests of several publications at once.
+     *
+     * @param publicationIdentifiers the publication identifiers.
+     * @param user                   the user details.
+     * @return the status of each DOI request the user may read, keyed by publication identifier.
+     * @throws ApiGatewayException when a predictable exception happens
+     */
+    Map<UUID, DoiRequestStatus> findDoiRequestStatuses(List<UUID> publicationIdentifiers, UserInstance user)
+        throws ApiGatewayException;
+
     void createDoiRequest(CreateDoiRequest createDoiRequest, String username)
         throws ApiGatewayException;
 
@@ -31,6 +90,20 @@ public interface DoiRequestsService {
                           String requestedByUsername, List<AccessRight> userAccessRights)
         throws ApiGatewayException;
 
+    /**
+     * Changes the status of the DOI requests of several publications at once.
+     *
+     * @param publicationIdentifiers the publication identifiers.
+     * @param status                 the new status.
+     * @param requestedByUsername    the user changing the status.
+     * @param userAccessRights       the access rights of the user.
+     * @return the result of the change for each publication.
+     * @throws ApiGatewayException when a predictable exception happens
+     */
+    List<DoiRequestStatusChange> updateDoiRequests(List<UUID> publicationIdentifiers, DoiRequestStatus status,
+                                                   String requestedByUsername, List<AccessRight> userAccessRights)
+        throws ApiGatewayException;
+
     /**
      * Adds a message.
      *
@@ -41,4 +114,28 @@ public interface DoiRequestsService {
      */
     void addMessage(UUID publicationIdentifier, String message, UserInstance user)
         throws ApiGatewayException;
+
+    /**
+     * Returns one page of the message thread of a DOI request, oldest message first.
+     *
+     * @param publicationIdentifier the publication identifier.
+     * @param user                  the user details.
+     * @param pageSize              the maximum number of messages in the page.
+     * @param cursor                the cursor returned with the previous page, or null for the first page.
+     * @return the page, with a cursor for the next page if there are more messages.
+     * @throws ApiGatewayException when a predictable exception happens
+     */
+    DoiRequestMessagesPage findMessages(UUID publicationIdentifier, UserInstance user, int pageSize, String cursor)
+        throws ApiGatewayException;
+
+    /**
+     * Reads what the message thread of a DOI request is made of without reading the messages, so that a validator of
+     * its pages can be had before the pages are queried.
+     *
+     * @param publicationIdentifier the publication identifier.
+     * @param user                  the user details.
+     * @return values that change whenever a message is added to the thread.
+     * @throws ApiGatewayException when a predictable exception happens
+     */
+    List<Object> findMessageThreadVersion(UUID publicationIdentifier, UserInstance user) throws ApiGatewayException;
 }
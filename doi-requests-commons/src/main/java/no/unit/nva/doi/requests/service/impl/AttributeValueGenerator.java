@@ -0,0 +1,241 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static java.util.Objects.isNull;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.base.GeneratorBase;
+import com.fasterxml.jackson.core.json.JsonWriteContext;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import nva.commons.utils.JacocoGenerated;
+
+/**
+ * Jackson generator that writes the serialized value directly into DynamoDB attribute values, in the same shape as
+ * {@code Item.fromJSON} would give the JSON text of the value: objects become maps, arrays become lists, and numbers,
+ * strings, booleans and nulls become the corresponding scalar types.
+ */
+@SuppressWarnings("PMD.MethodNamingConventions")
+class AttributeValueGenerator extends GeneratorBase {
+
+    public static final String NOT_AN_OBJECT_ERROR = "Only objects can be written as DynamoDB items";
+    public static final String RAW_CONTENT_ERROR = "Raw content cannot be written as DynamoDB attribute values";
+    public static final String EXPECTING_FIELD_NAME_ERROR = "Can not %s, expecting field name";
+    public static final String EXPECTING_VALUE_ERROR = "Can not write a field name, expecting a value";
+
+    private final Deque<AttributeValue> containers = new ArrayDeque<>();
+    private AttributeValue root;
+
+    protected AttributeValueGenerator(ObjectCodec codec) {
+        super(Feature.collectDefaults(), codec);
+    }
+
+    /**
+     * Returns the attributes of the written object.
+     *
+     * @return the attributes of the root object.
+     * @throws IOException when nothing, or something else than an object, has been written.
+     */
+    public Map<String, AttributeValue> getAttributes() throws IOException {
+        if (isNull(root) || isNull(root.getM())) {
+            _reportError(NOT_AN_OBJECT_ERROR);
+        }
+        return root.getM();
+    }
+
+    @Override
+    public void writeStartArray() throws IOException {
+        _verifyValueWrite("start an array");
+        AttributeValue list = new AttributeValue().withL(Collections.emptyList());
+        addValue(list);
+        containers.push(list);
+        _writeContext = _writeContext.createChildArrayContext();
+    }
+
+    @Override
+    public void writeEndArray() throws IOException {
+        if (!_writeContext.inArray()) {
+            _reportError("Current context not Array but " + _writeContext.typeDesc());
+        }
+        _writeContext = _writeContext.clearAndGetParent();
+        containers.pop();
+    }
+
+    @Override
+    public void writeStartObject() throws IOException {
+        _verifyValueWrite("start an object");
+        AttributeValue map = new AttributeValue().withM(new LinkedHashMap<>());
+        addValue(map);
+        containers.push(map);
+        _writeContext = _writeContext.createChildObjectContext();
+    }
+
+    @Override
+    public void writeEndObject() throws IOException {
+        if (!_writeContext.inObject()) {
+            _reportError("Current context not Object but " + _writeContext.typeDesc());
+        }
+        _writeContext = _writeContext.clearAndGetParent();
+        containers.pop();
+    }
+
+    @Override
+    public void writeFieldName(String name) throws IOException {
+        if (_writeContext.writeFieldName(name) == JsonWriteContext.STATUS_EXPECT_VALUE) {
+            _reportError(EXPECTING_VALUE_ERROR);
+        }
+    }
+
+    @Override
+    public void writeString(String text) throws IOException {
+        if (isNull(text)) {
+            writeNull();
+            return;
+        }
+        _verifyValueWrite(WRITE_STRING);
+        addValue(new AttributeValue().withS(text));
+    }
+
+    @Override
+    public void writeString(char[] text, int offset, int len) throws IOException {
+        writeString(new String(text, offset, len));
+    }
+
+    @Override
+    public void writeRawUTF8String(byte[] text, int offset, int length) throws IOException {
+        writeString(new String(text, offset, length, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void writeUTF8String(byte[] text, int offset, int length) throws IOException {
+        writeString(new String(text, offset, length, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void writeRaw(String text) throws IOException {
+        _reportError(RAW_CONTENT_ERROR);
+    }
+
+    @Override
+    public void writeRaw(String text, int offset, int len) throws IOException {
+        _reportError(RAW_CONTENT_ERROR);
+    }
+
+    @Override
+    public void writeRaw(char[] text, int offset, int len) throws IOException {
+        _reportError(RAW_CONTENT_ERROR);
+    }
+
+    @Override
+    public void writeRaw(char c) throws IOException {
+        _reportError(RAW_CONTENT_ERROR);
+    }
+
+    @Override
+    public void writeBinary(Base64Variant bv, byte[] data, int offset, int len) throws IOException {
+        _verifyValueWrite(WRITE_BINARY);
+        addValue(new AttributeValue().withB(ByteBuffer.wrap(Arrays.copyOfRange(data, offset, offset + len))));
+    }
+
+    @Override
+    public void writeNumber(int v) throws IOException {
+        writeNumberValue(Integer.toString(v));
+    }
+
+    @Override
+    public void writeNumber(long v) throws IOException {
+        writeNumberValue(Long.toString(v));
+    }
+
+    @Override
+    public void writeNumber(BigInteger v) throws IOException {
+        if (isNull(v)) {
+            writeNull();
+            return;
+        }
+        writeNumberValue(v.toString());
+    }
+
+    @Override
+    public void writeNumber(double v) throws IOException {
+        writeNumberValue(Double.toString(v));
+    }
+
+    @Override
+    public void writeNumber(float v) throws IOException {
+        writeNumberValue(Float.toString(v));
+    }
+
+    @Override
+    public void writeNumber(BigDecimal v) throws IOException {
+        if (isNull(v)) {
+            writeNull();
+            return;
+        }
+        writeNumberValue(v.toString());
+    }
+
+    @Override
+    public void writeNumber(String encodedValue) throws IOException {
+        if (isNull(encodedValue)) {
+            writeNull();
+            return;
+        }
+        writeNumberValue(encodedValue);
+    }
+
+    @Override
+    public void writeBoolean(boolean state) throws IOException {
+        _verifyValueWrite(WRITE_BOOLEAN);
+        addValue(new AttributeValue().withBOOL(state));
+    }
+
+    @Override
+    public void writeNull() throws IOException {
+        _verifyValueWrite(WRITE_NULL);
+        addValue(new AttributeValue().withNULL(true));
+    }
+
+    @Override
+    public void flush() {
+        // Nothing is buffered, the attribute values are complete as soon as they are written.
+    }
+
+    @Override
+    @JacocoGenerated
+    protected void _releaseBuffers() {
+        // No buffers are used.
+    }
+
+    @Override
+    protected void _verifyValueWrite(String typeMsg) throws IOException {
+        if (_writeContext.writeValue() == JsonWriteContext.STATUS_EXPECT_NAME) {
+            _reportError(String.format(EXPECTING_FIELD_NAME_ERROR, typeMsg));
+        }
+    }
+
+    private void writeNumberValue(String number) throws IOException {
+        _verifyValueWrite(WRITE_NUMBER);
+        addValue(new AttributeValue().withN(number));
+    }
+
+    private void addValue(AttributeValue value) {
+        AttributeValue container = containers.peek();
+        if (isNull(container)) {
+            root = value;
+        } else if (isNull(container.getM())) {
+            container.getL().add(value);
+        } else {
+            container.getM().put(_writeContext.getCurrentName(), value);
+        }
+    }
+}
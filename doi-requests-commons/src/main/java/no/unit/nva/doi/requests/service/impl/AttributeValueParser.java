@@ -0,0 +1,391 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.core.base.ParserMinimalBase;
+import com.fasterxml.jackson.core.json.JsonReadContext;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import nva.commons.utils.JacocoGenerated;
+
+/**
+ * Jackson parser that reads DynamoDB attribute values as a stream of JSON tokens, so that an item can be bound to a
+ * class without first being converted to JSON text or to a buffer of tokens. Maps are read as objects, lists and sets
+ * as arrays, and binary values as embedded objects. Top-level attributes that are not part of the bound class can be
+ * skipped.
+ */
+@SuppressWarnings("PMD.MethodNamingConventions")
+class AttributeValueParser extends ParserMinimalBase {
+
+    public static final String NOT_A_NUMBER_ERROR = "Current token is not a number: ";
+    public static final String NOT_BINARY_ERROR = "Current token is not binary: ";
+    /*
+     * Longest numbers, sign included, that always fit in an int and in a long.
+     */
+    public static final int MAX_INT_DIGITS = 9;
+    public static final int MAX_LONG_DIGITS = 18;
+
+    private final Deque<Iterator<?>> containers = new ArrayDeque<>();
+    private final Map<String, AttributeValue> attributes;
+    private final Set<String> skippedAttributes;
+    private ObjectCodec codec;
+    private JsonReadContext parsingContext;
+    private AttributeValue pendingValue;
+    private AttributeValue currentValue;
+    private boolean closed;
+
+    protected AttributeValueParser(Map<String, AttributeValue> attributes, Set<String> skippedAttributes,
+                                   ObjectCodec codec) {
+        super();
+        this.attributes = attributes;
+        this.skippedAttributes = skippedAttributes;
+        this.codec = codec;
+        this.parsingContext = JsonReadContext.createRootContext(null);
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        if (closed) {
+            return null;
+        }
+        if (nonNull(pendingValue)) {
+            AttributeValue value = pendingValue;
+            pendingValue = null;
+            return advanceTo(valueToken(value));
+        }
+        if (isNull(_currToken) && containers.isEmpty()) {
+            return advanceTo(startRootObject());
+        }
+        if (containers.isEmpty()) {
+            return advanceTo(null);
+        }
+        return advanceTo(nextTokenInContainer());
+    }
+
+    @Override
+    public String getCurrentName() {
+        if (_currToken == JsonToken.START_OBJECT || _currToken == JsonToken.START_ARRAY) {
+            JsonReadContext parent = parsingContext.getParent();
+            return nonNull(parent) ? parent.getCurrentName() : null;
+        }
+        return parsingContext.getCurrentName();
+    }
+
+    @Override
+    public void overrideCurrentName(String name) {
+        JsonReadContext context = parsingContext;
+        if (_currToken == JsonToken.START_OBJECT || _currToken == JsonToken.START_ARRAY) {
+            context = context.getParent();
+        }
+        try {
+            context.setCurrentName(name);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public JsonStreamContext getParsingContext() {
+        return parsingContext;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        containers.clear();
+        pendingValue = null;
+        currentValue = null;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public String getText() {
+        if (isNull(_currToken)) {
+            return null;
+        }
+        switch (_currToken) {
+            case FIELD_NAME:
+                return parsingContext.getCurrentName();
+            case VALUE_STRING:
+                return currentValue.getS();
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return currentValue.getN();
+            default:
+                return _currToken.asString();
+        }
+    }
+
+    @Override
+    public char[] getTextCharacters() {
+        String text = getText();
+        return nonNull(text) ? text.toCharArray() : null;
+    }
+
+    @Override
+    public boolean hasTextCharacters() {
+        return false;
+    }
+
+    @Override
+    public int getTextLength() {
+        String text = getText();
+        return nonNull(text) ? text.length() : 0;
+    }
+
+    @Override
+    public int getTextOffset() {
+        return 0;
+    }
+
+    @Override
+    public byte[] getBinaryValue(Base64Variant b64variant) throws IOException {
+        if (_currToken == JsonToken.VALUE_EMBEDDED_OBJECT) {
+            return toBytes(currentValue.getB());
+        }
+        if (_currToken == JsonToken.VALUE_STRING) {
+            return b64variant.decode(currentValue.getS());
+        }
+        throw new JsonParseException(this, NOT_BINARY_ERROR + _currToken);
+    }
+
+    @Override
+    public Object getEmbeddedObject() {
+        return _currToken == JsonToken.VALUE_EMBEDDED_OBJECT ? toBytes(currentValue.getB()) : null;
+    }
+
+    @Override
+    public ObjectCodec getCodec() {
+        return codec;
+    }
+
+    @Override
+    public void setCodec(ObjectCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    @JacocoGenerated
+    public Version version() {
+        return Version.unknownVersion();
+    }
+
+    @Override
+    public Number getNumberValue() throws IOException {
+        String number = numberText();
+        if (_currToken == JsonToken.VALUE_NUMBER_FLOAT) {
+            return Double.parseDouble(number);
+        }
+        if (number.length() <= MAX_INT_DIGITS) {
+            return Integer.parseInt(number);
+        }
+        if (number.length() <= MAX_LONG_DIGITS) {
+            return Long.parseLong(number);
+        }
+        return new BigInteger(number);
+    }
+
+    @Override
+    public NumberType getNumberType() throws IOException {
+        Number number = getNumberValue();
+        if (number instanceof Integer) {
+            return NumberType.INT;
+        }
+        if (number instanceof Long) {
+            return NumberType.LONG;
+        }
+        return number instanceof BigInteger ? NumberType.BIG_INTEGER : NumberType.DOUBLE;
+    }
+
+    @Override
+    public int getIntValue() throws IOException {
+        return getNumberValue().intValue();
+    }
+
+    @Override
+    public long getLongValue() throws IOException {
+        return getNumberValue().longValue();
+    }
+
+    @Override
+    public BigInteger getBigIntegerValue() throws IOException {
+        return new BigDecimal(numberText()).toBigInteger();
+    }
+
+    @Override
+    public float getFloatValue() throws IOException {
+        return Float.parseFloat(numberText());
+    }
+
+    @Override
+    public double getDoubleValue() throws IOException {
+        return Double.parseDouble(numberText());
+    }
+
+    @Override
+    public BigDecimal getDecimalValue() throws IOException {
+        return new BigDecimal(numberText());
+    }
+
+    @Override
+    public JsonLocation getTokenLocation() {
+        return JsonLocation.NA;
+    }
+
+    @Override
+    public JsonLocation getCurrentLocation() {
+        return JsonLocation.NA;
+    }
+
+    @Override
+    @JacocoGenerated
+    protected void _handleEOF() throws JsonParseException {
+        if (!parsingContext.inRoot()) {
+            _reportInvalidEOF();
+        }
+    }
+
+    private JsonToken advanceTo(JsonToken token) {
+        _currToken = token;
+        return token;
+    }
+
+    private JsonToken startRootObject() {
+        parsingContext = parsingContext.createChildObjectContext(0, 0);
+        containers.push(attributes.entrySet().iterator());
+        return JsonToken.START_OBJECT;
+    }
+
+    private JsonToken nextTokenInContainer() throws IOException {
+        Iterator<?> container = containers.peek();
+        if (parsingContext.inObject()) {
+            Entry<String, AttributeValue> attribute = nextAttribute(container);
+            if (nonNull(attribute)) {
+                parsingContext.setCurrentName(attribute.getKey());
+                pendingValue = attribute.getValue();
+                return JsonToken.FIELD_NAME;
+            }
+            return endContainer(JsonToken.END_OBJECT);
+        }
+        if (container.hasNext()) {
+            parsingContext.expectComma();
+            return valueToken((AttributeValue) container.next());
+        }
+        return endContainer(JsonToken.END_ARRAY);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Entry<String, AttributeValue> nextAttribute(Iterator<?> container) {
+        boolean topLevel = containers.size() == 1;
+        while (container.hasNext()) {
+            Entry<String, AttributeValue> attribute = (Entry<String, AttributeValue>) container.next();
+            if (!topLevel || !skippedAttributes.contains(attribute.getKey())) {
+                return attribute;
+            }
+        }
+        return null;
+    }
+
+    private JsonToken endContainer(JsonToken endToken) {
+        containers.pop();
+        parsingContext = parsingContext.clearAndGetParent();
+        currentValue = null;
+        return endToken;
+    }
+
+    private JsonToken valueToken(AttributeValue value) {
+        currentValue = value;
+        if (nonNull(value.getM())) {
+            return startContainer(value.getM().entrySet(), true);
+        }
+        if (nonNull(value.getL())) {
+            return startContainer(value.getL(), false);
+        }
+        if (nonNull(value.getSS())) {
+            return startContainer(toAttributeValues(value.getSS(), element -> new AttributeValue().withS(element)),
+                false);
+        }
+        if (nonNull(value.getNS())) {
+            return startContainer(toAttributeValues(value.getNS(), element -> new AttributeValue().withN(element)),
+                false);
+        }
+        if (nonNull(value.getBS())) {
+            return startContainer(toAttributeValues(value.getBS(), element -> new AttributeValue().withB(element)),
+                false);
+        }
+        return scalarToken(value);
+    }
+
+    private static JsonToken scalarToken(AttributeValue value) {
+        if (nonNull(value.getS())) {
+            return JsonToken.VALUE_STRING;
+        }
+        if (nonNull(value.getN())) {
+            return isIntegral(value.getN()) ? JsonToken.VALUE_NUMBER_INT : JsonToken.VALUE_NUMBER_FLOAT;
+        }
+        if (nonNull(value.getBOOL())) {
+            return value.getBOOL() ? JsonToken.VALUE_TRUE : JsonToken.VALUE_FALSE;
+        }
+        if (nonNull(value.getB())) {
+            return JsonToken.VALUE_EMBEDDED_OBJECT;
+        }
+        return JsonToken.VALUE_NULL;
+    }
+
+    private JsonToken startContainer(Collection<?> elements, boolean object) {
+        containers.push(elements.iterator());
+        if (object) {
+            parsingContext = parsingContext.createChildObjectContext(0, 0);
+            return JsonToken.START_OBJECT;
+        }
+        parsingContext = parsingContext.createChildArrayContext(0, 0);
+        return JsonToken.START_ARRAY;
+    }
+
+    private static <T> Collection<AttributeValue> toAttributeValues(Collection<T> elements,
+                                                                    Function<T, AttributeValue> toAttributeValue) {
+        return elements.stream().map(toAttributeValue).collect(Collectors.toList());
+    }
+
+    private static boolean isIntegral(String number) {
+        return number.indexOf('.') < 0 && number.indexOf('e') < 0 && number.indexOf('E') < 0;
+    }
+
+    private String numberText() throws IOException {
+        if (_currToken != JsonToken.VALUE_NUMBER_INT && _currToken != JsonToken.VALUE_NUMBER_FLOAT) {
+            throw new JsonParseException(this, NOT_A_NUMBER_ERROR + _currToken);
+        }
+        return currentValue.getN();
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        ByteBuffer readOnly = buffer.asReadOnlyBuffer();
+        readOnly.rewind();
+        byte[] bytes = new byte[readOnly.remaining()];
+        readOnly.get(bytes);
+        return bytes;
+    }
+}
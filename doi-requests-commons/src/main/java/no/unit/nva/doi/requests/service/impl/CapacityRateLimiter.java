@@ -0,0 +1,69 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static java.util.Objects.nonNull;
+import com.amazonaws.services.dynamodbv2.model.ConsumedCapacity;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the capacity units a job consumes under a rate that is shared by all of its threads. Each request reports the
+ * units it consumed after the fact, and waits until the units reported before it are paid for at the given rate, so
+ * the requests of all threads are spread out and the job does not take capacity from the API.
+ */
+public class CapacityRateLimiter {
+
+    public static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final double nanosPerUnit;
+    private long nextFreeNanos;
+
+    /**
+     * Creates a limiter.
+     *
+     * @param unitsPerSecond the capacity units that may be consumed per second.
+     */
+    public CapacityRateLimiter(double unitsPerSecond) {
+        if (unitsPerSecond <= 0) {
+            throw new IllegalArgumentException("The rate must be positive: " + unitsPerSecond);
+        }
+        this.nanosPerUnit = NANOS_PER_SECOND / unitsPerSecond;
+        this.nextFreeNanos = System.nanoTime();
+    }
+
+    /**
+     * Reports the consumed capacity of a response. Responses without consumed capacity cost nothing.
+     *
+     * @param consumedCapacity the consumed capacity of a response, or null.
+     */
+    public void consume(ConsumedCapacity consumedCapacity) {
+        if (nonNull(consumedCapacity) && nonNull(consumedCapacity.getCapacityUnits())) {
+            consume(consumedCapacity.getCapacityUnits());
+        }
+    }
+
+    /**
+     * Reports consumed capacity units, and waits until the units reported before them are paid for.
+     *
+     * @param units the capacity units that were consumed.
+     */
+    public void consume(double units) {
+        long waitNanos = reserve(units);
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /*
+     * The units are paid for from the time the units reported before them are paid for, or from now when those are
+     * paid for already. Returns how long the caller has to wait for that time.
+     */
+    protected synchronized long reserve(double units) {
+        long now = System.nanoTime();
+        long paymentStart = Math.max(nextFreeNanos, now);
+        nextFreeNanos = paymentStart + (long) (units * nanosPerUnit);
+        return paymentStart - now;
+    }
+}
@@ -0,0 +1,58 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import nva.commons.utils.JacocoGenerated;
+
+/**
+ * The progress of each scan segment of a compaction. A run returns its checkpoint, and a run given that checkpoint
+ * resumes where the other one stopped.
+ */
+@JsonIgnoreProperties(value = {"complete", "scannedVersions", "compactedVersions"}, allowGetters = true)
+public class CompactionCheckpoint {
+
+    private List<SegmentProgress> segments;
+
+    @JacocoGenerated
+    public CompactionCheckpoint() {
+    }
+
+    public CompactionCheckpoint(List<SegmentProgress> segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * Creates the checkpoint of a compaction that has not started.
+     *
+     * @param totalSegments the number of segments the table is scanned in.
+     * @return a checkpoint with no progress in any segment.
+     */
+    public static CompactionCheckpoint start(int totalSegments) {
+        return new CompactionCheckpoint(IntStream.range(0, totalSegments)
+            .mapToObj(SegmentProgress::new)
+            .collect(Collectors.toList()));
+    }
+
+    public List<SegmentProgress> getSegments() {
+        return segments;
+    }
+
+    @JacocoGenerated
+    public void setSegments(List<SegmentProgress> segments) {
+        this.segments = segments;
+    }
+
+    public boolean isComplete() {
+        return segments.stream().allMatch(SegmentProgress::isDone);
+    }
+
+    public long getScannedVersions() {
+        return segments.stream().mapToLong(SegmentProgress::getScannedVersions).sum();
+    }
+
+    public long getCompactedVersions() {
+        return segments.stream().mapToLong(SegmentProgress::getCompactedVersions).sum();
+    }
+}
@@ -0,0 +1,16 @@
+package no.unit.nva.doi.requests.service.impl;
+
+/**
+ * What {@link VersionHistoryCompaction} does with the versions it does not keep.
+ */
+public enum CompactionMode {
+    /**
+     * The versions are deleted right away.
+     */
+    DELETE,
+    /**
+     * The versions get an expiry time and are left for the time to live of the table to delete. This needs time to
+     * live to be enabled on the table, with the expiry attribute of {@link VersionHistoryCompaction}.
+     */
+    EXPIRE
+}
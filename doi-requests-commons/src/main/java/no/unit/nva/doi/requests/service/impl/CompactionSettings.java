@@ -0,0 +1,89 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import java.time.Duration;
+import nva.commons.utils.JacocoGenerated;
+
+/**
+ * The settings of a {@link VersionHistoryCompaction}, on top of the settings of its scan. A compaction is a dry run
+ * unless it is told otherwise.
+ */
+public class CompactionSettings extends SegmentedScanSettings {
+
+    public static final int DEFAULT_VERSIONS_TO_KEEP = 1;
+    public static final int DEFAULT_EXPIRE_AFTER_DAYS = 7;
+    public static final String INVALID_COMPACTION_SETTINGS_ERROR = "Invalid compaction settings: ";
+
+    private int versionsToKeep = DEFAULT_VERSIONS_TO_KEEP;
+    private CompactionMode mode = CompactionMode.DELETE;
+    private int expireAfterDays = DEFAULT_EXPIRE_AFTER_DAYS;
+    private boolean dryRun = true;
+
+    /**
+     * The number of versions kept besides the current version of each publication.
+     *
+     * @return the number of historical versions to keep.
+     */
+    public int getVersionsToKeep() {
+        return versionsToKeep;
+    }
+
+    public void setVersionsToKeep(int versionsToKeep) {
+        this.versionsToKeep = versionsToKeep;
+    }
+
+    public CompactionMode getMode() {
+        return mode;
+    }
+
+    public void setMode(CompactionMode mode) {
+        this.mode = mode;
+    }
+
+    public Duration expireAfter() {
+        return Duration.ofDays(expireAfterDays);
+    }
+
+    @JacocoGenerated
+    public int getExpireAfterDays() {
+        return expireAfterDays;
+    }
+
+    public void setExpireAfterDays(int expireAfterDays) {
+        this.expireAfterDays = expireAfterDays;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    /**
+     * Checks that the settings describe a compaction that can run.
+     *
+     * @throws IllegalArgumentException when a setting is out of range, or the checkpoint is of another number of
+     *                                  segments.
+     */
+    @Override
+    public void validate() {
+        super.validate();
+        if (versionsToKeep < 0 || expireAfterDays < 0 || mode == null) {
+            throw new IllegalArgumentException(INVALID_COMPACTION_SETTINGS_ERROR + this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CompactionSettings{"
+            + "versionsToKeep=" + versionsToKeep
+            + ", mode=" + mode
+            + ", expireAfterDays=" + expireAfterDays
+            + ", dryRun=" + dryRun
+            + ", totalSegments=" + getTotalSegments()
+            + ", pageSize=" + getPageSize()
+            + ", capacityUnitsPerSecond=" + getCapacityUnitsPerSecond()
+            + '}';
+    }
+}
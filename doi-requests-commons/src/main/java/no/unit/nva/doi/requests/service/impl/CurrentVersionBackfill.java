@@ -0,0 +1,86 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_INDEX_SORT_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.Table;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import nva.commons.utils.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One-off migration for tables written before the DOI requests index was restricted to the current version of each
+ * publication. Every version that is not the latest one of its publication is taken out of the index. The table is
+ * read with a {@link SegmentedVersionScan}, so the backfill holds the versions of one publication at a time, shares
+ * the rate of the scan with its updates, and stops at its deadline with a checkpoint a later run resumes from. Running
+ * it more than once is harmless.
+ */
+public class CurrentVersionBackfill {
+
+    public static final String BACKFILL_STARTED_MESSAGE = "Backfilling current versions with %s";
+    public static final String BACKFILL_STOPPED_MESSAGE = "Backfill %s after scanning %d versions, removed %d "
+        + "superseded versions from the index. Checkpoint: %s";
+    public static final String COMPLETED = "completed";
+    public static final String STOPPED_AT_DEADLINE = "stopped at its deadline";
+
+    private static final Logger logger = LoggerFactory.getLogger(CurrentVersionBackfill.class);
+    private final SegmentedScanSettings settings;
+    private final SegmentedVersionScan scan;
+    private final CurrentVersionIndex currentVersionIndex;
+
+    /**
+     * Creates a backfill.
+     *
+     * @param publicationsTable the publications table.
+     * @param settings          the settings of the scan, and the checkpoint to resume from, if any.
+     * @param clock             the clock of the deadline.
+     */
+    public CurrentVersionBackfill(Table publicationsTable, SegmentedScanSettings settings, Clock clock) {
+        this.settings = settings;
+        this.scan = new SegmentedVersionScan(publicationsTable, settings, clock);
+        this.currentVersionIndex = new CurrentVersionIndex(publicationsTable);
+    }
+
+    /**
+     * Removes the index sort key from every superseded version that still has one, in the segments that are not done,
+     * until they are done or the deadline has passed.
+     *
+     * @param deadline the time after which no more publications are backfilled.
+     * @return the progress of each segment, with the number of versions that were removed from the index.
+     */
+    public CompactionCheckpoint run(Instant deadline) {
+        logger.info(String.format(BACKFILL_STARTED_MESSAGE, settings));
+        CompactionCheckpoint checkpoint = scan.run(CurrentVersionIndex.VERSION_KEYS_PROJECTION,
+            CurrentVersionIndex.VERSION_KEYS_NAME_MAP, this::removeSupersededVersions, deadline);
+        logProgress(checkpoint);
+        return checkpoint;
+    }
+
+    /*
+     * Versions are ordered the way the table orders its sort key, so the version kept in the index is the same one
+     * the service reads as the current version.
+     */
+    private void removeSupersededVersions(List<Item> publicationVersions, SegmentProgress progress) {
+        publicationVersions.stream()
+            .sorted(Comparator.comparing((Item version) -> version.getString(TABLE_SORT_KEY)).reversed())
+            .skip(1)
+            .filter(version -> version.isPresent(DOI_REQUEST_INDEX_SORT_KEY))
+            .forEach(version -> {
+                scan.getRateLimiter().consume(currentVersionIndex.removeFromIndex(version));
+                progress.addCompactedVersion();
+            });
+    }
+
+    private void logProgress(CompactionCheckpoint checkpoint) {
+        String checkpointJson = JsonUtils.objectMapper.valueToTree(checkpoint).toString();
+        logger.info(String.format(BACKFILL_STOPPED_MESSAGE,
+            checkpoint.isComplete() ? COMPLETED : STOPPED_AT_DEADLINE,
+            checkpoint.getScannedVersions(),
+            checkpoint.getCompactedVersions(),
+            checkpointJson));
+    }
+}
@@ -0,0 +1,105 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_INDEX_SORT_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.IDENTIFIER_KEY_CONDITION;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.IDENTIFIER_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.IDENTIFIER_VALUE;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.MODIFIED_DATE_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.STATUS_DATE_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.VERSION_EXISTS_CONDITION;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.PrimaryKey;
+import com.amazonaws.services.dynamodbv2.document.Table;
+import com.amazonaws.services.dynamodbv2.document.spec.QuerySpec;
+import com.amazonaws.services.dynamodbv2.document.spec.UpdateItemSpec;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.ConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.ReturnConsumedCapacity;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the DOI requests indexes to the current version of each publication. A version is in the indexes while it has
+ * the index sort key, so a superseded version is taken out of them by removing that attribute. Writers that add a
+ * version without taking the previous one out, such as the services outside this API, leave the indexes with more
+ * than one version of a publication until the consumer of the stream of the table calls
+ * {@link #removeSupersededVersions(String)}.
+ */
+public class CurrentVersionIndex {
+
+    public static final String REMOVE_FROM_DOI_REQUESTS_INDEX = "REMOVE " + STATUS_DATE_PLACEHOLDER;
+    public static final Map<String, String> SUPERSEDED_VERSION_NAME_MAP = Map.of(
+        IDENTIFIER_PLACEHOLDER, TABLE_HASH_KEY,
+        STATUS_DATE_PLACEHOLDER, DOI_REQUEST_INDEX_SORT_KEY);
+    public static final String VERSION_KEYS_PROJECTION = String.join(", ",
+        IDENTIFIER_PLACEHOLDER, MODIFIED_DATE_PLACEHOLDER, STATUS_DATE_PLACEHOLDER);
+    public static final Map<String, String> VERSION_KEYS_NAME_MAP = Map.of(
+        IDENTIFIER_PLACEHOLDER, TABLE_HASH_KEY,
+        MODIFIED_DATE_PLACEHOLDER, TABLE_SORT_KEY,
+        STATUS_DATE_PLACEHOLDER, DOI_REQUEST_INDEX_SORT_KEY);
+    public static final String VERSION_DELETED_MESSAGE = "Version was deleted before it was taken out of the index: ";
+
+    private static final Logger logger = LoggerFactory.getLogger(CurrentVersionIndex.class);
+    private final Table publicationsTable;
+
+    public CurrentVersionIndex(Table publicationsTable) {
+        this.publicationsTable = publicationsTable;
+    }
+
+    /**
+     * Takes every version of the publication but the latest one out of the DOI requests indexes. Versions are ordered
+     * the way the table orders its sort key, so the version kept in the indexes is the same one the service reads as
+     * the current version.
+     *
+     * @param publicationIdentifier the publication identifier.
+     * @return the number of versions that were taken out of the indexes.
+     */
+    public int removeSupersededVersions(String publicationIdentifier) {
+        QuerySpec querySpec = new QuerySpec()
+            .withKeyConditionExpression(IDENTIFIER_KEY_CONDITION)
+            .withProjectionExpression(VERSION_KEYS_PROJECTION)
+            .withNameMap(VERSION_KEYS_NAME_MAP)
+            .withValueMap(Map.of(IDENTIFIER_VALUE, publicationIdentifier))
+            .withScanIndexForward(false);
+        boolean currentVersionSeen = false;
+        int removedVersions = 0;
+        for (Item item : publicationsTable.query(querySpec)) {
+            if (MessageItemCodec.isMessage(item)) {
+                continue;
+            }
+            if (currentVersionSeen && item.isPresent(DOI_REQUEST_INDEX_SORT_KEY)) {
+                removeFromIndex(item);
+                removedVersions++;
+            }
+            currentVersionSeen = true;
+        }
+        return removedVersions;
+    }
+
+    /**
+     * Takes a version out of the DOI requests indexes, on condition that it still exists. A version that was deleted in
+     * the meantime is left deleted.
+     *
+     * @param supersededVersion the key of the version.
+     * @return the capacity consumed by the update, or null when the version was deleted.
+     */
+    public ConsumedCapacity removeFromIndex(Item supersededVersion) {
+        UpdateItemSpec updateItemSpec = new UpdateItemSpec()
+            .withPrimaryKey(new PrimaryKey(
+                TABLE_HASH_KEY, supersededVersion.getString(TABLE_HASH_KEY),
+                TABLE_SORT_KEY, supersededVersion.getString(TABLE_SORT_KEY)))
+            .withUpdateExpression(REMOVE_FROM_DOI_REQUESTS_INDEX)
+            .withConditionExpression(VERSION_EXISTS_CONDITION)
+            .withNameMap(SUPERSEDED_VERSION_NAME_MAP)
+            .withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+        try {
+            return publicationsTable.updateItem(updateItemSpec).getUpdateItemResult().getConsumedCapacity();
+        } catch (ConditionalCheckFailedException e) {
+            logger.warn(VERSION_DELETED_MESSAGE + supersededVersion.getString(TABLE_HASH_KEY));
+            return null;
+        }
+    }
+}
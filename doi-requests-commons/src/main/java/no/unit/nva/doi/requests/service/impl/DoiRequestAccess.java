@@ -0,0 +1,87 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static no.unit.nva.useraccessmanagement.dao.AccessRight.APPROVE_DOI_REQUEST;
+import static no.unit.nva.useraccessmanagement.dao.AccessRight.READ_DOI_REQUEST;
+import static no.unit.nva.useraccessmanagement.dao.AccessRight.REJECT_DOI_REQUEST;
+import java.net.URI;
+import java.util.Optional;
+import no.unit.nva.model.Organization;
+import no.unit.nva.model.Publication;
+import nva.commons.exceptions.ForbiddenException;
+
+/**
+ * Who may take part in the message thread of a DOI request: the owner of the publication, and the users of the
+ * publisher who may both approve and reject DOI requests. The status of a DOI request may be read by the owner and by
+ * the users of the publisher who may read DOI requests.
+ */
+public final class DoiRequestAccess {
+
+    private DoiRequestAccess() {
+    }
+
+    /**
+     * Tells whether the user may read and send messages in the thread of the publication's DOI request.
+     *
+     * @param publication the publication.
+     * @param user        the user.
+     * @return true when the user owns the publication or curates the DOI requests of its publisher.
+     */
+    public static boolean mayUseMessageThread(Publication publication, UserInstance user) {
+        return userIsPublicationOwner(publication, user.getUserId())
+            || userHasUpdateDoiRequestRightsForPublication(publication, user);
+    }
+
+    /**
+     * Tells whether the user may read the status of the publication's DOI request.
+     *
+     * @param publication the publication.
+     * @param user        the user.
+     * @return true when the user owns the publication or may read the DOI requests of its publisher.
+     */
+    public static boolean mayReadDoiRequest(Publication publication, UserInstance user) {
+        return userIsPublicationOwner(publication, user.getUserId())
+            || userHasReadDoiRequestRightsForPublication(publication, user);
+    }
+
+    /**
+     * Refuses users who may not read or send messages in the thread of the publication's DOI request.
+     *
+     * @param publication the publication.
+     * @param user        the user.
+     * @throws ForbiddenException when the user may not use the thread.
+     */
+    public static void authorizeMessageThread(Publication publication, UserInstance user)
+        throws ForbiddenException {
+        if (!mayUseMessageThread(publication, user)) {
+            throw new ForbiddenException();
+        }
+    }
+
+    private static boolean userHasUpdateDoiRequestRightsForPublication(Publication publication, UserInstance user) {
+        return userHasRightToUpdateDoiRequestStatus(user)
+            && userBelongsToThePublicationsInstitution(publication, user);
+    }
+
+    private static boolean userHasReadDoiRequestRightsForPublication(Publication publication, UserInstance user) {
+        return user.getAccessRights().contains(READ_DOI_REQUEST)
+            && userBelongsToThePublicationsInstitution(publication, user);
+    }
+
+    private static boolean userHasRightToUpdateDoiRequestStatus(UserInstance user) {
+        return user.getAccessRights().contains(APPROVE_DOI_REQUEST)
+            && user.getAccessRights().contains(REJECT_DOI_REQUEST);
+    }
+
+    private static boolean userBelongsToThePublicationsInstitution(Publication publication, UserInstance user) {
+        URI userInstitution = user.getPublisherId().orElse(null);
+
+        return Optional.ofNullable(publication.getPublisher())
+            .map(Organization::getId)
+            .filter(publicationInstitution -> publicationInstitution.equals(userInstitution))
+            .isPresent();
+    }
+
+    private static boolean userIsPublicationOwner(Publication publication, String userId) {
+        return publication.getOwner().equals(userId);
+    }
+}
@@ -0,0 +1,282 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.CREATED_DATE_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.CREATED_DATE_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_OWNER_INDEX_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.IDENTIFIER_KEY_CONDITION;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.IDENTIFIER_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.IDENTIFIER_VALUE;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.MODIFIED_DATE_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.OWNER_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.PUBLISHER_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.STATUS_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.STATUS_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
+import static no.unit.nva.doi.requests.service.impl.DynamoDBDoiRequestsService.ERROR_READING_FROM_TABLE;
+import static no.unit.nva.doi.requests.service.impl.DynamoDBDoiRequestsService.PUBLICATION_ID_HASH_KEY_NAME;
+import static no.unit.nva.doi.requests.service.impl.DynamoDBDoiRequestsService.PUBLICATION_NOT_FOUND_ERROR_MESSAGE;
+import static no.unit.nva.doi.requests.service.impl.DynamoDBDoiRequestsService.SINGLE_ITEM;
+import com.amazonaws.services.dynamodbv2.document.KeyAttribute;
+import com.amazonaws.services.dynamodbv2.document.Table;
+import com.amazonaws.services.dynamodbv2.document.spec.QuerySpec;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.services.dynamodbv2.model.ReturnConsumedCapacity;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import no.unit.nva.doi.requests.exception.DynamoDBException;
+import no.unit.nva.doi.requests.metrics.Counter;
+import no.unit.nva.doi.requests.metrics.EmbeddedMetrics;
+import no.unit.nva.doi.requests.metrics.Phase;
+import no.unit.nva.model.Publication;
+import nva.commons.exceptions.ApiGatewayException;
+import nva.commons.exceptions.commonexceptions.NotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the current version of publications from the table. Most reads only need the DOI request header of the
+ * current version, the key and the attributes the DOI request checks look at, which is read with a projection and
+ * kept in the {@link PublicationHeaderCache}.
+ */
+public class DoiRequestHeaders {
+
+    public static final String PUBLISHER_PLACEHOLDER = "#publisher";
+    public static final String DOI_REQUEST_HEADER_PROJECTION = String.join(", ",
+        IDENTIFIER_PLACEHOLDER,
+        MODIFIED_DATE_PLACEHOLDER,
+        OWNER_PLACEHOLDER,
+        PUBLISHER_PLACEHOLDER,
+        DOI_REQUEST_PLACEHOLDER + "." + STATUS_PLACEHOLDER,
+        DOI_REQUEST_PLACEHOLDER + "." + CREATED_DATE_PLACEHOLDER,
+        DOI_REQUEST_PLACEHOLDER + "." + MODIFIED_DATE_PLACEHOLDER);
+    public static final Map<String, String> DOI_REQUEST_HEADER_NAME_MAP = Map.of(
+        IDENTIFIER_PLACEHOLDER, TABLE_HASH_KEY,
+        MODIFIED_DATE_PLACEHOLDER, TABLE_SORT_KEY,
+        OWNER_PLACEHOLDER, DOI_REQUEST_OWNER_INDEX_HASH_KEY,
+        PUBLISHER_PLACEHOLDER, PUBLISHER_FIELD_NAME,
+        DOI_REQUEST_PLACEHOLDER, DOI_REQUEST_FIELD_NAME,
+        STATUS_PLACEHOLDER, STATUS_FIELD_NAME,
+        CREATED_DATE_PLACEHOLDER, CREATED_DATE_FIELD_NAME);
+    public static final int MAX_PARALLEL_QUERIES = 10;
+
+    public static final String QUERY_THREAD_NAME = "doi-request-header-query";
+
+    private static final Logger logger = LoggerFactory.getLogger(DoiRequestHeaders.class);
+    /*
+     * One pool for every service of the container, so the number of queries in flight stays at
+     * MAX_PARALLEL_QUERIES however many requests are served at once. The threads are daemon threads, so the pool
+     * does not keep the JVM alive.
+     */
+    private static final ExecutorService HEADER_QUERIES =
+        Executors.newFixedThreadPool(MAX_PARALLEL_QUERIES, DoiRequestHeaders::queryThread);
+
+    private final Table publicationsTable;
+    private final PublicationHeaderCache headerCache;
+    private final PublicationItemCodec itemCodec;
+
+    /**
+     * Constructor for DoiRequestHeaders.
+     *
+     * @param publicationsTable the table of the publications.
+     * @param headerCache       the cache of the DOI request headers.
+     * @param itemCodec         the codec the publications are decoded with.
+     */
+    public DoiRequestHeaders(Table publicationsTable, PublicationHeaderCache headerCache,
+                             PublicationItemCodec itemCodec) {
+        this.publicationsTable = publicationsTable;
+        this.headerCache = headerCache;
+        this.itemCodec = itemCodec;
+    }
+
+    /**
+     * Fetches the DOI request header of the current version, from the cache when it is there.
+     *
+     * @param publicationIdentifier the publication identifier.
+     * @return the header.
+     * @throws NotFoundException when the publication does not exist.
+     */
+    public Map<String, AttributeValue> fetch(UUID publicationIdentifier) throws NotFoundException {
+        Optional<Map<String, AttributeValue>> cachedHeader = cached(publicationIdentifier);
+        if (cachedHeader.isPresent()) {
+            return cachedHeader.get();
+        }
+        return read(publicationIdentifier);
+    }
+
+    public Optional<Map<String, AttributeValue>> cached(UUID publicationIdentifier) {
+        return headerCache.get(publicationIdentifier);
+    }
+
+    /**
+     * Reads the DOI request header of the current version from the table, and caches it.
+     *
+     * @param publicationIdentifier the publication identifier.
+     * @return the header.
+     * @throws NotFoundException when the publication does not exist.
+     */
+    public Map<String, AttributeValue> read(UUID publicationIdentifier) throws NotFoundException {
+        Map<String, AttributeValue> header = executeQuery(doiRequestHeaderQuery(publicationIdentifier))
+            .orElseThrow(() -> handlePublicationNotFoundError(publicationIdentifier));
+        headerCache.put(publicationIdentifier, header);
+        return header;
+    }
+
+    /**
+     * Fetches the DOI request headers of several publications. Only the headers that are not cached are queried, and
+     * the queried headers are cached.
+     *
+     * @param publicationIdentifiers the publication identifiers.
+     * @return the header of each publication that exists, keyed by publication identifier.
+     * @throws ApiGatewayException when a query fails.
+     */
+    public Map<UUID, Map<String, AttributeValue>> fetchAll(List<UUID> publicationIdentifiers)
+        throws ApiGatewayException {
+        Map<UUID, Map<String, AttributeValue>> headers = new LinkedHashMap<>();
+        List<UUID> notCached = new ArrayList<>();
+        for (UUID publicationIdentifier : new LinkedHashSet<>(publicationIdentifiers)) {
+            Optional<Map<String, AttributeValue>> cachedHeader = headerCache.get(publicationIdentifier);
+            if (cachedHeader.isPresent()) {
+                headers.put(publicationIdentifier, cachedHeader.get());
+            } else {
+                notCached.add(publicationIdentifier);
+            }
+        }
+        queryAll(notCached).forEach((publicationIdentifier, header) -> {
+            headerCache.put(publicationIdentifier, header);
+            headers.put(publicationIdentifier, header);
+        });
+        return headers;
+    }
+
+    /**
+     * Reads the DOI request headers of several publications from the table, without the cache. BatchGetItem needs the
+     * whole key, and the sort key of the current version is not known before it is read, so the current versions are
+     * found with parallel queries instead, on a pool shared by the container. The metrics are thread-local, so the
+     * latency and the consumed capacity are recorded on the calling thread, once the queries are done.
+     *
+     * @param publicationIdentifiers the publication identifiers.
+     * @return the header of each publication that exists, keyed by publication identifier.
+     * @throws ApiGatewayException when a query fails.
+     */
+    public Map<UUID, Map<String, AttributeValue>> queryAll(List<UUID> publicationIdentifiers)
+        throws ApiGatewayException {
+        List<UUID> distinctIdentifiers = new ArrayList<>(new LinkedHashSet<>(publicationIdentifiers));
+        if (distinctIdentifiers.isEmpty()) {
+            return Map.of();
+        }
+        List<Callable<QueryResult>> queries = distinctIdentifiers.stream()
+            .map(this::doiRequestHeaderQuery)
+            .map(querySpec -> (Callable<QueryResult>) () -> publicationsTable.query(querySpec)
+                .firstPage()
+                .getLowLevelResult()
+                .getQueryResult())
+            .collect(Collectors.toList());
+        EmbeddedMetrics metrics = EmbeddedMetrics.current();
+        Map<UUID, Map<String, AttributeValue>> headers = new LinkedHashMap<>();
+        try {
+            long queryStart = System.nanoTime();
+            List<Future<QueryResult>> results = HEADER_QUERIES.invokeAll(queries);
+            for (int i = 0; i < results.size(); i++) {
+                QueryResult queryResult = results.get(i).get();
+                metrics.addConsumedCapacity(Counter.CONSUMED_READ_CAPACITY, queryResult.getConsumedCapacity());
+                UUID publicationIdentifier = distinctIdentifiers.get(i);
+                queryResult.getItems().stream().findFirst()
+                    .ifPresent(header -> headers.put(publicationIdentifier, header));
+            }
+            metrics.recordLatencySince(Phase.QUERY, queryStart);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DynamoDBException(ERROR_READING_FROM_TABLE, e);
+        } catch (ExecutionException e) {
+            throw DynamoDbExceptions.toApiGatewayException((Exception) e.getCause());
+        }
+        return headers;
+    }
+
+    /**
+     * Fetches the whole current version of a publication.
+     *
+     * @param publicationIdentifier the publication identifier.
+     * @return the attribute values of the current version.
+     * @throws NotFoundException when the publication does not exist.
+     */
+    public Map<String, AttributeValue> fetchCurrentVersion(UUID publicationIdentifier) throws NotFoundException {
+        return executeQuery(queryLatestPublication(publicationIdentifier))
+            .orElseThrow(() -> handlePublicationNotFoundError(publicationIdentifier));
+    }
+
+    public void put(UUID publicationIdentifier, Map<String, AttributeValue> header) {
+        headerCache.put(publicationIdentifier, header);
+    }
+
+    public void invalidate(UUID publicationIdentifier) {
+        headerCache.invalidate(publicationIdentifier);
+    }
+
+    /**
+     * Decodes the publication of a single version, recording the time it takes.
+     *
+     * @param attributes the attribute values of the version, or of its header.
+     * @return the publication.
+     */
+    public Publication decode(Map<String, AttributeValue> attributes) {
+        long deserializeStart = System.nanoTime();
+        Publication publication = itemCodec.decodeVersion(attributes);
+        EmbeddedMetrics.current().recordLatencySince(Phase.DESERIALIZE, deserializeStart);
+        return publication;
+    }
+
+    private QuerySpec doiRequestHeaderQuery(UUID publicationIdentifier) {
+        return new QuerySpec()
+            .withKeyConditionExpression(IDENTIFIER_KEY_CONDITION)
+            .withProjectionExpression(DOI_REQUEST_HEADER_PROJECTION)
+            .withNameMap(DOI_REQUEST_HEADER_NAME_MAP)
+            .withValueMap(Map.of(IDENTIFIER_VALUE, publicationIdentifier.toString()))
+            .withScanIndexForward(false)
+            .withMaxResultSize(SINGLE_ITEM)
+            .withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+    }
+
+    private static QuerySpec queryLatestPublication(UUID publicationIdentifier) {
+        return new QuerySpec()
+            .withHashKey(new KeyAttribute(PUBLICATION_ID_HASH_KEY_NAME, publicationIdentifier.toString()))
+            .withScanIndexForward(false)
+            .withMaxResultSize(SINGLE_ITEM)
+            .withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+    }
+
+    private Optional<Map<String, AttributeValue>> executeQuery(QuerySpec query) {
+        long queryStart = System.nanoTime();
+        QueryResult queryResult = publicationsTable.query(query).firstPage().getLowLevelResult().getQueryResult();
+        EmbeddedMetrics metrics = EmbeddedMetrics.current();
+        metrics.recordLatencySince(Phase.QUERY, queryStart);
+        metrics.addConsumedCapacity(Counter.CONSUMED_READ_CAPACITY, queryResult.getConsumedCapacity());
+        return queryResult.getItems().stream().findFirst();
+    }
+
+    private static Thread queryThread(Runnable query) {
+        Thread thread = new Thread(query, QUERY_THREAD_NAME);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static NotFoundException handlePublicationNotFoundError(UUID publicationIdentifier) {
+        logger.error(PUBLICATION_NOT_FOUND_ERROR_MESSAGE + publicationIdentifier.toString());
+        return new NotFoundException(PUBLICATION_NOT_FOUND_ERROR_MESSAGE + publicationIdentifier.toString());
+    }
+}
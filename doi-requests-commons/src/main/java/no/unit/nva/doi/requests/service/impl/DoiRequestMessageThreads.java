@@ -0,0 +1,268 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static java.util.Objects.nonNull;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.IDENTIFIER_KEY_CONDITION;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.IDENTIFIER_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.IDENTIFIER_VALUE;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.LAST_MESSAGE_DATE_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.LAST_MESSAGE_DATE_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.MESSAGE_COUNT_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.MESSAGE_COUNT_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.MODIFIED_DATE_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
+import static no.unit.nva.doi.requests.service.impl.DynamoDBDoiRequestsService.SINGLE_ITEM;
+import static nva.commons.utils.attempt.Try.attempt;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.ItemUtils;
+import com.amazonaws.services.dynamodbv2.document.Page;
+import com.amazonaws.services.dynamodbv2.document.QueryOutcome;
+import com.amazonaws.services.dynamodbv2.document.Table;
+import com.amazonaws.services.dynamodbv2.document.spec.QuerySpec;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.services.dynamodbv2.model.ReturnConsumedCapacity;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import no.unit.nva.doi.requests.exception.BadRequestException;
+import no.unit.nva.doi.requests.metrics.Counter;
+import no.unit.nva.doi.requests.metrics.EmbeddedMetrics;
+import no.unit.nva.doi.requests.metrics.Phase;
+import no.unit.nva.doi.requests.model.DoiRequestMessagesPage;
+import no.unit.nva.model.DoiRequest;
+import no.unit.nva.model.DoiRequestMessage;
+import no.unit.nva.model.Publication;
+import nva.commons.exceptions.ApiGatewayException;
+
+/**
+ * Reads the message threads of DOI requests, which are stored as items of their own under the partition of the
+ * publication, see {@link MessageItemCodec}. Messages sent before that are still in the DOI request of the current
+ * version, and come first in the thread. Who may read a thread is decided before it is read, see
+ * {@link DoiRequestAccess}.
+ */
+@SuppressWarnings("PMD.UseConcurrentHashMap")
+public class DoiRequestMessageThreads {
+
+    public static final String MESSAGE_PREFIX_VALUE = ":messagePrefix";
+    public static final String MESSAGES_KEY_CONDITION = IDENTIFIER_KEY_CONDITION
+        + " AND begins_with(" + MODIFIED_DATE_PLACEHOLDER + ", " + MESSAGE_PREFIX_VALUE + ")";
+    public static final String MESSAGES_FIELD_NAME = "messages";
+    public static final String MESSAGES_PLACEHOLDER = "#messages";
+    public static final String EMBEDDED_MESSAGES_PROJECTION = DOI_REQUEST_PLACEHOLDER + "." + MESSAGES_PLACEHOLDER;
+    public static final String EMBEDDED_MESSAGE_OFFSET_FIELD = "embeddedMessageOffset";
+    public static final String THREAD_VERSION_PROJECTION = String.join(", ",
+        MODIFIED_DATE_PLACEHOLDER, MESSAGE_COUNT_PLACEHOLDER, LAST_MESSAGE_DATE_PLACEHOLDER);
+
+    private final Table publicationsTable;
+    private final PageCursorCodec cursorCodec;
+    private final PublicationItemCodec itemCodec;
+
+    /**
+     * Constructor for DoiRequestMessageThreads.
+     *
+     * @param publicationsTable the table of the publications and their messages.
+     * @param cursorCodec       the codec of the cursors of the pages.
+     * @param itemCodec         the codec the publications are encoded with.
+     */
+    public DoiRequestMessageThreads(Table publicationsTable, PageCursorCodec cursorCodec,
+                                    PublicationItemCodec itemCodec) {
+        this.publicationsTable = publicationsTable;
+        this.cursorCodec = cursorCodec;
+        this.itemCodec = itemCodec;
+    }
+
+    /**
+     * Returns one page of the message thread of a DOI request, oldest message first. The messages in the DOI request
+     * are read for the pages that start among them, and the page is filled up with the messages stored as items.
+     *
+     * @param publicationIdentifier the publication identifier.
+     * @param pageSize              the maximum number of messages in the page.
+     * @param cursor                the cursor returned with the previous page, or null for the first page.
+     * @return the page, with a cursor for the next page if there are more messages.
+     * @throws ApiGatewayException when the cursor is invalid or the query fails.
+     */
+    public DoiRequestMessagesPage findPage(UUID publicationIdentifier, int pageSize, String cursor)
+        throws ApiGatewayException {
+        Map<String, String> startKey = nonNull(cursor) ? decodeCursor(publicationIdentifier, cursor) : null;
+        if (nonNull(startKey) && !startKey.containsKey(EMBEDDED_MESSAGE_OFFSET_FIELD)) {
+            return itemsPage(publicationIdentifier, new ArrayList<>(), pageSize, startKey);
+        }
+        int offset = nonNull(startKey) ? embeddedMessageOffset(startKey) : 0;
+        List<DoiRequestMessage> embeddedMessages = embeddedMessages(publicationIdentifier);
+        List<DoiRequestMessage> messages = new ArrayList<>(
+            embeddedMessages.subList(Math.min(offset, embeddedMessages.size()),
+                Math.min(offset + pageSize, embeddedMessages.size())));
+        if (messages.size() == pageSize) {
+            return new DoiRequestMessagesPage(messages,
+                embeddedMessagesCursor(publicationIdentifier, offset + pageSize));
+        }
+        return itemsPage(publicationIdentifier, messages, pageSize - messages.size(), null);
+    }
+
+    /**
+     * Reads the version of the message thread of a DOI request: the sort key of the current version, which holds the
+     * messages sent before messages were stored as items, and the count and date of the last message, which are
+     * written in the same transaction as each message item. The thread is the same as long as these are.
+     *
+     * @param publicationIdentifier the publication identifier.
+     * @return the sort key, message count and last message date of the current version, in that order.
+     * @throws ApiGatewayException when the query fails.
+     */
+    public List<Object> threadVersion(UUID publicationIdentifier) throws ApiGatewayException {
+        QueryResult queryResult = query(threadVersionQuery(publicationIdentifier));
+        Map<String, AttributeValue> currentVersion = queryResult.getItems()
+            .stream()
+            .findFirst()
+            .orElse(Collections.emptyMap());
+        return Arrays.asList(
+            attributeValue(currentVersion, TABLE_SORT_KEY),
+            attributeValue(currentVersion, MESSAGE_COUNT_FIELD_NAME),
+            attributeValue(currentVersion, LAST_MESSAGE_DATE_FIELD_NAME));
+    }
+
+    private static String attributeValue(Map<String, AttributeValue> item, String attributeName) {
+        return Optional.ofNullable(item.get(attributeName))
+            .map(value -> nonNull(value.getN()) ? value.getN() : value.getS())
+            .orElse(null);
+    }
+
+    private DoiRequestMessagesPage itemsPage(UUID publicationIdentifier, List<DoiRequestMessage> messages,
+                                             int pageSize, Map<String, String> startKey) throws ApiGatewayException {
+        QuerySpec querySpec = messagesQuery(publicationIdentifier).withMaxPageSize(pageSize);
+        if (nonNull(startKey)) {
+            querySpec.withExclusiveStartKey(PageCursorCodec.toKeyAttributes(startKey));
+        }
+        QueryResult queryResult = query(querySpec);
+        for (Map<String, AttributeValue> item : queryResult.getItems()) {
+            messages.add(MessageItemCodec.decode(Item.fromMap(ItemUtils.toSimpleMapValue(item))));
+        }
+        String nextCursor = cursorCodec.encode(queryResult.getLastEvaluatedKey()).orElse(null);
+        return new DoiRequestMessagesPage(messages, nextCursor);
+    }
+
+    private List<DoiRequestMessage> embeddedMessages(UUID publicationIdentifier) throws ApiGatewayException {
+        QueryResult queryResult = query(embeddedMessagesQuery(publicationIdentifier));
+        return queryResult.getItems()
+            .stream()
+            .findFirst()
+            .map(itemCodec::decodeVersion)
+            .map(Publication::getDoiRequest)
+            .map(DoiRequest::getMessages)
+            .orElse(Collections.emptyList());
+    }
+
+    private QueryResult query(QuerySpec querySpec) throws ApiGatewayException {
+        EmbeddedMetrics metrics = EmbeddedMetrics.current();
+        long queryStart = System.nanoTime();
+        Page<Item, QueryOutcome> page = attempt(() -> publicationsTable.query(querySpec).firstPage())
+            .orElseThrow(DynamoDbExceptions::handleDynamoDbException);
+        metrics.recordLatencySince(Phase.QUERY, queryStart);
+        QueryResult queryResult = page.getLowLevelResult().getQueryResult();
+        metrics.addConsumedCapacity(Counter.CONSUMED_READ_CAPACITY, queryResult.getConsumedCapacity());
+        return queryResult;
+    }
+
+    /*
+     * The cursor of a page that ends among the messages in the DOI request holds the position of the next one, in
+     * place of the key of a message item.
+     */
+    private String embeddedMessagesCursor(UUID publicationIdentifier, int offset) {
+        Map<String, AttributeValue> position = new HashMap<>();
+        position.put(TABLE_HASH_KEY, new AttributeValue(publicationIdentifier.toString()));
+        position.put(EMBEDDED_MESSAGE_OFFSET_FIELD, new AttributeValue().withN(String.valueOf(offset)));
+        return cursorCodec.encode(position).orElseThrow();
+    }
+
+    private static int embeddedMessageOffset(Map<String, String> startKey) throws BadRequestException {
+        int offset = attempt(() -> Integer.parseInt(startKey.get(EMBEDDED_MESSAGE_OFFSET_FIELD)))
+            .orElseThrow(fail -> new BadRequestException(PageCursorCodec.INVALID_CURSOR_ERROR));
+        if (offset < 0) {
+            throw new BadRequestException(PageCursorCodec.INVALID_CURSOR_ERROR);
+        }
+        return offset;
+    }
+
+    /**
+     * Reads the whole message thread of a DOI request. Messages sent before messages were stored as items of their
+     * own are still in the DOI request, so they are merged with the thread in the order the messages were sent.
+     *
+     * @param publicationIdentifier the publication identifier.
+     * @param doiRequest            the DOI request of the current version.
+     * @return the messages, oldest first.
+     */
+    public List<DoiRequestMessage> fullThread(UUID publicationIdentifier, DoiRequest doiRequest) {
+        List<DoiRequestMessage> messages = new ArrayList<>();
+        Optional.ofNullable(doiRequest.getMessages()).ifPresent(messages::addAll);
+        for (Item item : publicationsTable.query(messagesQuery(publicationIdentifier))) {
+            messages.add(MessageItemCodec.decode(item));
+        }
+        messages.sort(Comparator.comparing(DoiRequestMessage::getTimestamp,
+            Comparator.nullsFirst(Comparator.naturalOrder())));
+        return messages;
+    }
+
+    private static QuerySpec messagesQuery(UUID publicationIdentifier) {
+        return new QuerySpec()
+            .withKeyConditionExpression(MESSAGES_KEY_CONDITION)
+            .withNameMap(Map.of(
+                IDENTIFIER_PLACEHOLDER, TABLE_HASH_KEY,
+                MODIFIED_DATE_PLACEHOLDER, TABLE_SORT_KEY))
+            .withValueMap(Map.of(
+                IDENTIFIER_VALUE, publicationIdentifier.toString(),
+                MESSAGE_PREFIX_VALUE, MessageItemCodec.MESSAGE_SORT_KEY_PREFIX))
+            .withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+    }
+
+    /*
+     * The versions of a publication sort after its messages, so the newest item of the partition is the current
+     * version.
+     */
+    private static QuerySpec embeddedMessagesQuery(UUID publicationIdentifier) {
+        return new QuerySpec()
+            .withKeyConditionExpression(IDENTIFIER_KEY_CONDITION)
+            .withProjectionExpression(EMBEDDED_MESSAGES_PROJECTION)
+            .withNameMap(Map.of(
+                IDENTIFIER_PLACEHOLDER, TABLE_HASH_KEY,
+                DOI_REQUEST_PLACEHOLDER, DOI_REQUEST_FIELD_NAME,
+                MESSAGES_PLACEHOLDER, MESSAGES_FIELD_NAME))
+            .withValueMap(Map.of(IDENTIFIER_VALUE, publicationIdentifier.toString()))
+            .withScanIndexForward(false)
+            .withMaxResultSize(SINGLE_ITEM)
+            .withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+    }
+
+    private static QuerySpec threadVersionQuery(UUID publicationIdentifier) {
+        return new QuerySpec()
+            .withKeyConditionExpression(IDENTIFIER_KEY_CONDITION)
+            .withProjectionExpression(THREAD_VERSION_PROJECTION)
+            .withNameMap(Map.of(
+                IDENTIFIER_PLACEHOLDER, TABLE_HASH_KEY,
+                MODIFIED_DATE_PLACEHOLDER, TABLE_SORT_KEY,
+                MESSAGE_COUNT_PLACEHOLDER, MESSAGE_COUNT_FIELD_NAME,
+                LAST_MESSAGE_DATE_PLACEHOLDER, LAST_MESSAGE_DATE_FIELD_NAME))
+            .withValueMap(Map.of(IDENTIFIER_VALUE, publicationIdentifier.toString()))
+            .withScanIndexForward(false)
+            .withMaxResultSize(SINGLE_ITEM)
+            .withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+    }
+
+    private Map<String, String> decodeCursor(UUID publicationIdentifier, String cursor) throws BadRequestException {
+        Map<String, String> startKey = cursorCodec.decode(cursor);
+        boolean cursorBelongsToThread = publicationIdentifier.toString().equals(startKey.get(TABLE_HASH_KEY))
+            && (startKey.containsKey(EMBEDDED_MESSAGE_OFFSET_FIELD)
+            || Optional.ofNullable(startKey.get(TABLE_SORT_KEY)).filter(MessageItemCodec::isMessageKey).isPresent());
+        if (!cursorBelongsToThread) {
+            throw new BadRequestException(PageCursorCodec.INVALID_CURSOR_ERROR);
+        }
+        return startKey;
+    }
+}
@@ -0,0 +1,246 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.CREATED_DATE_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_INDEX_SORT_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_OWNER_INDEX_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.IDENTIFIER_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.LAST_MESSAGE_DATE_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.LAST_MESSAGE_DATE_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.MESSAGE_COUNT_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.MESSAGE_COUNT_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.MODIFIED_DATE_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.OWNER_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.STATUS_DATE_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.STATUS_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.STATUS_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.VERSION_EXISTS_CONDITION;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.ItemUtils;
+import com.amazonaws.services.dynamodbv2.document.PrimaryKey;
+import com.amazonaws.services.dynamodbv2.document.spec.UpdateItemSpec;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.Put;
+import com.amazonaws.services.dynamodbv2.model.ReturnConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItem;
+import com.amazonaws.services.dynamodbv2.model.Update;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import no.unit.nva.model.DoiRequestMessage;
+
+/**
+ * Partial write of the DOI request of the current version of a publication. Only the DOI request, or the changed
+ * attributes of it, are sent, so the size of the write follows the size of the change and not the size of the
+ * publication.
+ */
+@SuppressWarnings("PMD.UseConcurrentHashMap")
+public class DoiRequestUpdate {
+
+    public static final String MODIFIED_DATE_FIELD_NAME = "modifiedDate";
+    public static final String MODIFIED_DATE_VALUE = ":doiRequestModifiedDate";
+    public static final String STATUS_DATE_VALUE = ":doiRequestStatusDate";
+    public static final String NEW_STATUS_VALUE = ":newStatus";
+    public static final String EXPECTED_STATUS_VALUE = ":expectedStatus";
+    public static final String LAST_MESSAGE_DATE_VALUE = ":lastMessageDate";
+    public static final String MESSAGE_COUNT_INCREMENT_VALUE = ":messageCountIncrement";
+    public static final String DOI_REQUEST_STATUS_PATH = DOI_REQUEST_PLACEHOLDER + "." + STATUS_PLACEHOLDER;
+    public static final String NEW_DOI_REQUEST_VALUE = ":newDoiRequest";
+    public static final String USERNAME_VALUE = ":username";
+    public static final String DOI_REQUEST_EXISTS_CONDITION = "attribute_exists(" + DOI_REQUEST_PLACEHOLDER + ")";
+    public static final String NO_DOI_REQUEST_CONDITION = "attribute_not_exists(" + DOI_REQUEST_PLACEHOLDER + ")";
+    public static final String ITEM_NOT_EXISTS_CONDITION = "attribute_not_exists(" + IDENTIFIER_PLACEHOLDER + ")";
+    public static final String OWNED_BY_USER_CONDITION = OWNER_PLACEHOLDER + " = " + USERNAME_VALUE;
+    public static final List<String> HEADER_DOI_REQUEST_FIELDS =
+        List.of(STATUS_FIELD_NAME, CREATED_DATE_FIELD_NAME, MODIFIED_DATE_FIELD_NAME);
+
+    private final Item currentVersion;
+    private final Map<String, Object> updatedDoiRequest;
+    private final Set<String> assignments = new LinkedHashSet<>();
+    private final Set<String> additions = new LinkedHashSet<>();
+    private final Set<String> conditions = new LinkedHashSet<>();
+    private final Map<String, String> nameMap = new HashMap<>();
+    private final Map<String, Object> valueMap = new HashMap<>();
+    private DoiRequestMessage newMessage;
+
+    /**
+     * Starts an update of the current version, which must still exist. The DOI requests index sort key is set from the
+     * updated version, since it is derived from the DOI request.
+     *
+     * @param currentVersion the key and DOI request attributes of the current version, as read from the table.
+     * @param updatedVersion the same attributes after the change, serialized the way a whole item would be.
+     */
+    public DoiRequestUpdate(Item currentVersion, Item updatedVersion) {
+        this.currentVersion = currentVersion;
+        this.updatedDoiRequest = updatedVersion.getMap(DOI_REQUEST_FIELD_NAME);
+
+        nameMap.put(DOI_REQUEST_PLACEHOLDER, DOI_REQUEST_FIELD_NAME);
+        nameMap.put(IDENTIFIER_PLACEHOLDER, TABLE_HASH_KEY);
+        conditions.add(VERSION_EXISTS_CONDITION);
+
+        if (updatedVersion.isPresent(DOI_REQUEST_INDEX_SORT_KEY)) {
+            assignments.add(STATUS_DATE_PLACEHOLDER + " = " + STATUS_DATE_VALUE);
+            nameMap.put(STATUS_DATE_PLACEHOLDER, DOI_REQUEST_INDEX_SORT_KEY);
+            valueMap.put(STATUS_DATE_VALUE, updatedVersion.getString(DOI_REQUEST_INDEX_SORT_KEY));
+        }
+    }
+
+    /**
+     * Sets the whole DOI request, on condition that the publication has none yet and is owned by the user.
+     *
+     * @param username the user creating the DOI request.
+     * @return this update.
+     */
+    public DoiRequestUpdate withNewDoiRequest(String username) {
+        assignments.add(DOI_REQUEST_PLACEHOLDER + " = " + NEW_DOI_REQUEST_VALUE);
+        conditions.add(NO_DOI_REQUEST_CONDITION);
+        conditions.add(OWNED_BY_USER_CONDITION);
+        nameMap.put(OWNER_PLACEHOLDER, DOI_REQUEST_OWNER_INDEX_HASH_KEY);
+        valueMap.put(NEW_DOI_REQUEST_VALUE, updatedDoiRequest);
+        valueMap.put(USERNAME_VALUE, username);
+        return this;
+    }
+
+    /**
+     * Sets the new status, on condition that the stored status is still the one the transition starts from.
+     *
+     * @return this update.
+     */
+    public DoiRequestUpdate withStatusTransition() {
+        withModifiedDoiRequest();
+        assignments.add(DOI_REQUEST_STATUS_PATH + " = " + NEW_STATUS_VALUE);
+        conditions.add(DOI_REQUEST_STATUS_PATH + " = " + EXPECTED_STATUS_VALUE);
+        nameMap.put(STATUS_PLACEHOLDER, STATUS_FIELD_NAME);
+        valueMap.put(NEW_STATUS_VALUE, updatedDoiRequest.get(STATUS_FIELD_NAME));
+        valueMap.put(EXPECTED_STATUS_VALUE, currentVersion.getMap(DOI_REQUEST_FIELD_NAME).get(STATUS_FIELD_NAME));
+        return this;
+    }
+
+    /**
+     * Sets the modified date of the DOI request, on condition that the publication has a DOI request.
+     *
+     * @return this update.
+     */
+    public DoiRequestUpdate withModifiedDoiRequest() {
+        assignments.add(DOI_REQUEST_PLACEHOLDER + "." + MODIFIED_DATE_PLACEHOLDER + " = " + MODIFIED_DATE_VALUE);
+        conditions.add(DOI_REQUEST_EXISTS_CONDITION);
+        nameMap.put(MODIFIED_DATE_PLACEHOLDER, MODIFIED_DATE_FIELD_NAME);
+        valueMap.put(MODIFIED_DATE_VALUE, updatedDoiRequest.get(MODIFIED_DATE_FIELD_NAME));
+        return this;
+    }
+
+    /**
+     * Counts a new message and sets the time of the last message, which is all the lists of DOI requests show of the
+     * messages. The message itself is written as an item of its own in the same transaction as the update, see
+     * {@link #toTransactWriteItems(String)} and {@link MessageItemCodec}. The count is incremented without reading it,
+     * so concurrent messages do not conflict with each other.
+     *
+     * @param message the new message.
+     * @return this update.
+     */
+    public DoiRequestUpdate withNewMessage(DoiRequestMessage message) {
+        this.newMessage = message;
+        assignments.add(LAST_MESSAGE_DATE_PLACEHOLDER + " = " + LAST_MESSAGE_DATE_VALUE);
+        additions.add(MESSAGE_COUNT_PLACEHOLDER + " " + MESSAGE_COUNT_INCREMENT_VALUE);
+        nameMap.put(LAST_MESSAGE_DATE_PLACEHOLDER, LAST_MESSAGE_DATE_FIELD_NAME);
+        nameMap.put(MESSAGE_COUNT_PLACEHOLDER, MESSAGE_COUNT_FIELD_NAME);
+        valueMap.put(LAST_MESSAGE_DATE_VALUE, message.getTimestamp().toString());
+        valueMap.put(MESSAGE_COUNT_INCREMENT_VALUE, 1);
+        return this;
+    }
+
+    /**
+     * The DOI request header of the current version as it is once this update is written, with the same attributes as
+     * the header it was built from, so a cache of headers can be kept in step without reading the version again.
+     *
+     * @return the header after the update.
+     */
+    public Map<String, AttributeValue> updatedHeader() {
+        Map<String, Object> doiRequest = new HashMap<>();
+        HEADER_DOI_REQUEST_FIELDS.stream()
+            .filter(field -> updatedDoiRequest.get(field) != null)
+            .forEach(field -> doiRequest.put(field, updatedDoiRequest.get(field)));
+        Map<String, AttributeValue> header = new HashMap<>(ItemUtils.toAttributeValues(currentVersion));
+        header.put(DOI_REQUEST_FIELD_NAME, new AttributeValue().withM(ItemUtils.fromSimpleMap(doiRequest)));
+        return header;
+    }
+
+    public Optional<DoiRequestMessage> getNewMessage() {
+        return Optional.ofNullable(newMessage);
+    }
+
+    /**
+     * Builds the UpdateItem request for the current version. The version attribute is incremented, so it counts the
+     * changes made to the current version.
+     *
+     * @return the UpdateItem request.
+     */
+    public UpdateItemSpec toUpdateItemSpec() {
+        return new UpdateItemSpec()
+            .withPrimaryKey(new PrimaryKey(
+                TABLE_HASH_KEY, currentVersion.getString(TABLE_HASH_KEY),
+                TABLE_SORT_KEY, currentVersion.getString(TABLE_SORT_KEY)))
+            .withUpdateExpression(updateExpression())
+            .withConditionExpression(conditionExpression())
+            .withNameMap(nameMap)
+            .withValueMap(valueMap)
+            .withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+    }
+
+    /**
+     * Builds the same update as {@link #toUpdateItemSpec()} as one item of a TransactWriteItems request, so the updates
+     * of several publications can be written together. A new message is not part of it, see
+     * {@link #toTransactWriteItems(String)}.
+     *
+     * @param tableName the name of the table of the current version.
+     * @return the update as an item of a transaction.
+     */
+    public TransactWriteItem toTransactWriteItem(String tableName) {
+        Map<String, Object> key = Map.of(
+            TABLE_HASH_KEY, currentVersion.getString(TABLE_HASH_KEY),
+            TABLE_SORT_KEY, currentVersion.getString(TABLE_SORT_KEY));
+        return new TransactWriteItem().withUpdate(new Update()
+            .withTableName(tableName)
+            .withKey(ItemUtils.fromSimpleMap(key))
+            .withUpdateExpression(updateExpression())
+            .withConditionExpression(conditionExpression())
+            .withExpressionAttributeNames(nameMap)
+            .withExpressionAttributeValues(ItemUtils.fromSimpleMap(valueMap)));
+    }
+
+    /**
+     * Builds the items of the TransactWriteItems request that writes this update together with the new message, so the
+     * message is counted if and only if it is stored. The message is only put when no item has its key.
+     *
+     * @param tableName the name of the table of the current version.
+     * @return the update followed by the put of the new message, if there is one.
+     */
+    public List<TransactWriteItem> toTransactWriteItems(String tableName) {
+        List<TransactWriteItem> items = new ArrayList<>();
+        items.add(toTransactWriteItem(tableName));
+        getNewMessage().ifPresent(message -> items.add(new TransactWriteItem().withPut(new Put()
+            .withTableName(tableName)
+            .withItem(ItemUtils.toAttributeValues(MessageItemCodec.encode(
+                UUID.fromString(currentVersion.getString(TABLE_HASH_KEY)), message)))
+            .withConditionExpression(ITEM_NOT_EXISTS_CONDITION)
+            .withExpressionAttributeNames(Map.of(IDENTIFIER_PLACEHOLDER, TABLE_HASH_KEY)))));
+        return items;
+    }
+
+    private String updateExpression() {
+        String setClause = "SET " + String.join(", ", assignments);
+        return additions.isEmpty() ? setClause : setClause + " ADD " + String.join(", ", additions);
+    }
+
+    private String conditionExpression() {
+        return String.join(" AND ", conditions);
+    }
+}
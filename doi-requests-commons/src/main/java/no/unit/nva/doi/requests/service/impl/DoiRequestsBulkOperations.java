@@ -0,0 +1,218 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static java.util.Objects.nonNull;
+import static nva.commons.utils.attempt.Try.attempt;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.document.ItemUtils;
+import com.amazonaws.services.dynamodbv2.document.Table;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.CancellationReason;
+import com.amazonaws.services.dynamodbv2.model.ReturnConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsResult;
+import com.amazonaws.services.dynamodbv2.model.TransactionCanceledException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import no.unit.nva.doi.requests.metrics.Counter;
+import no.unit.nva.doi.requests.metrics.EmbeddedMetrics;
+import no.unit.nva.doi.requests.metrics.Phase;
+import no.unit.nva.doi.requests.model.DoiRequestStatusChange;
+import no.unit.nva.doi.requests.model.DoiRequestStatusChange.Result;
+import no.unit.nva.model.DoiRequestStatus;
+import no.unit.nva.model.Publication;
+import nva.commons.exceptions.ApiGatewayException;
+import nva.commons.utils.attempt.Try;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads and changes the DOI requests of several publications at once. The current versions are read with the parallel
+ * header queries of {@link DoiRequestHeaders}, and the status changes are written with TransactWriteItems. The
+ * statuses are looked up with the role of the function, since the service decides itself which of them the user may
+ * read.
+ */
+public class DoiRequestsBulkOperations {
+
+    public static final int MAX_TRANSACTION_ITEMS = 25;
+    public static final String NOT_CANCELLED_REASON = "None";
+    public static final String TRANSACTION_FAILED_MESSAGE = "Status change failed for publications ";
+
+    private static final Logger logger = LoggerFactory.getLogger(DoiRequestsBulkOperations.class);
+    private final AmazonDynamoDB client;
+    private final Table publicationsTable;
+    private final DoiRequestHeaders headers;
+    private final DoiRequestHeaders functionRoleHeaders;
+    private final PublicationItemCodec itemCodec;
+    private final BiConsumer<UUID, Map<String, AttributeValue>> writeRecorder;
+
+    /**
+     * Constructor for DoiRequestsBulkOperations.
+     *
+     * @param client            the DynamoDB client of the table, used for the transactions.
+     * @param publicationsTable the table of the publications.
+     * @param headers             the reads of the DOI request headers with the credentials of the user.
+     * @param functionRoleHeaders the reads of the DOI request headers with the role of the function.
+     * @param itemCodec           the codec the publications are encoded with.
+     * @param writeRecorder       called with the updated header of each publication that is written.
+     */
+    public DoiRequestsBulkOperations(AmazonDynamoDB client, Table publicationsTable, DoiRequestHeaders headers,
+                                     DoiRequestHeaders functionRoleHeaders, PublicationItemCodec itemCodec,
+                                     BiConsumer<UUID, Map<String, AttributeValue>> writeRecorder) {
+        this.client = client;
+        this.publicationsTable = publicationsTable;
+        this.headers = headers;
+        this.functionRoleHeaders = functionRoleHeaders;
+        this.itemCodec = itemCodec;
+        this.writeRecorder = writeRecorder;
+    }
+
+    /**
+     * Finds the status of the DOI requests of several publications at once. A publication is left out when it does not
+     * exist, has no DOI request, or the user may not read its DOI request, see {@link DoiRequestAccess}.
+     *
+     * @param publicationIdentifiers the publication identifiers.
+     * @param user                   the user looking up the statuses.
+     * @return the status of each DOI request the user may read, keyed by publication identifier.
+     * @throws ApiGatewayException when a query fails.
+     */
+    public Map<UUID, DoiRequestStatus> findStatuses(List<UUID> publicationIdentifiers, UserInstance user)
+        throws ApiGatewayException {
+        Map<UUID, DoiRequestStatus> statuses = new LinkedHashMap<>();
+        for (Map<String, AttributeValue> header : functionRoleHeaders.fetchAll(publicationIdentifiers).values()) {
+            Publication publication = functionRoleHeaders.decode(header);
+            if (nonNull(publication.getDoiRequest()) && DoiRequestAccess.mayReadDoiRequest(publication, user)) {
+                statuses.put(publication.getIdentifier(), publication.getDoiRequest().getStatus());
+            }
+        }
+        return statuses;
+    }
+
+    /**
+     * Changes the status of the DOI requests of several publications at once. The current versions are read from the
+     * table, without the cache, and the changes are written {@link #MAX_TRANSACTION_ITEMS} publications at a time. A
+     * publication that was changed by someone else after it was read is reported as a conflict, and a publication
+     * whose transaction failed otherwise is reported as failed. Neither stops the others, so the results always tell
+     * which DOI requests were changed.
+     *
+     * @param publicationIdentifiers the publications whose DOI requests are changed.
+     * @param status                 the new status.
+     * @param now                    the modified date of the DOI requests.
+     * @return the result for each publication, in the order they were given.
+     * @throws ApiGatewayException when the current versions cannot be read.
+     */
+    public List<DoiRequestStatusChange> updateStatuses(List<UUID> publicationIdentifiers, DoiRequestStatus status,
+                                                       Instant now)
+        throws ApiGatewayException {
+        Map<UUID, Result> results = new LinkedHashMap<>();
+        Map<UUID, DoiRequestUpdate> updates = new LinkedHashMap<>();
+        Map<UUID, Map<String, AttributeValue>> currentHeaders = headers.queryAll(publicationIdentifiers);
+        for (UUID publicationIdentifier : new LinkedHashSet<>(publicationIdentifiers)) {
+            Optional<Map<String, AttributeValue>> header = Optional.ofNullable(
+                currentHeaders.get(publicationIdentifier));
+            Optional<Publication> publication = header.map(headers::decode);
+            if (publication.isEmpty()) {
+                results.put(publicationIdentifier, Result.NOT_FOUND);
+            } else if (publication.get().getDoiRequest() == null) {
+                results.put(publicationIdentifier, Result.NO_DOI_REQUEST);
+            } else {
+                results.put(publicationIdentifier, Result.UPDATED);
+                updates.put(publicationIdentifier, statusTransition(header.get(), publication.get(), status, now));
+            }
+        }
+        for (Map<UUID, DoiRequestUpdate> chunk : chunks(updates)) {
+            results.putAll(writeInTransaction(chunk));
+        }
+        return results.entrySet()
+            .stream()
+            .map(result -> new DoiRequestStatusChange(result.getKey(), result.getValue()))
+            .collect(Collectors.toList());
+    }
+
+    private DoiRequestUpdate statusTransition(Map<String, AttributeValue> header, Publication publication,
+                                              DoiRequestStatus status, Instant now) {
+        publication.setDoiRequest(publication.getDoiRequest().copy()
+            .withStatus(status)
+            .withModifiedDate(now)
+            .build());
+        return new DoiRequestUpdate(ItemUtils.toItem(header), itemCodec.encodeItem(publication))
+            .withStatusTransition();
+    }
+
+    private static List<Map<UUID, DoiRequestUpdate>> chunks(Map<UUID, DoiRequestUpdate> updates) {
+        List<Map<UUID, DoiRequestUpdate>> chunks = new ArrayList<>();
+        for (Map.Entry<UUID, DoiRequestUpdate> update : updates.entrySet()) {
+            if (chunks.isEmpty() || chunks.get(chunks.size() - 1).size() == MAX_TRANSACTION_ITEMS) {
+                chunks.add(new LinkedHashMap<>());
+            }
+            chunks.get(chunks.size() - 1).put(update.getKey(), update.getValue());
+        }
+        return chunks;
+    }
+
+    /*
+     * A transaction is cancelled as a whole when one of its updates fails its condition, so the updates that caused
+     * the cancellation are left out and the rest are written again. Each attempt leaves out at least one update, so a
+     * chunk takes at most as many attempts as it has updates. Any other failure leaves the updates of the chunk
+     * unwritten, and they are reported as failed.
+     */
+    private Map<UUID, Result> writeInTransaction(Map<UUID, DoiRequestUpdate> chunk) {
+        Map<UUID, Result> unwritten = new LinkedHashMap<>();
+        Map<UUID, DoiRequestUpdate> remaining = new LinkedHashMap<>(chunk);
+        while (!remaining.isEmpty()) {
+            List<UUID> publicationIdentifiers = new ArrayList<>(remaining.keySet());
+            TransactWriteItemsRequest request = new TransactWriteItemsRequest()
+                .withTransactItems(remaining.values()
+                    .stream()
+                    .map(update -> update.toTransactWriteItem(publicationsTable.getTableName()))
+                    .collect(Collectors.toList()))
+                .withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+            long writeStart = System.nanoTime();
+            Try<TransactWriteItemsResult> result = attempt(() -> client.transactWriteItems(request));
+            EmbeddedMetrics.current().recordLatencySince(Phase.WRITE, writeStart);
+            if (result.isFailure() && result.getException() instanceof TransactionCanceledException) {
+                List<UUID> cancelled = cancelledUpdates(publicationIdentifiers,
+                    (TransactionCanceledException) result.getException());
+                cancelled.forEach(remaining::remove);
+                cancelled.forEach(headers::invalidate);
+                cancelled.forEach(conflict -> unwritten.put(conflict, Result.CONFLICT));
+            } else if (result.isFailure()) {
+                logger.warn(TRANSACTION_FAILED_MESSAGE + publicationIdentifiers, result.getException());
+                publicationIdentifiers.forEach(failure -> unwritten.put(failure, Result.FAILED));
+                remaining.clear();
+            } else {
+                result.get()
+                    .getConsumedCapacity()
+                    .forEach(capacity -> EmbeddedMetrics.current()
+                        .addConsumedCapacity(Counter.CONSUMED_WRITE_CAPACITY, capacity));
+                remaining.forEach((publicationIdentifier, update) ->
+                    writeRecorder.accept(publicationIdentifier, update.updatedHeader()));
+                remaining.clear();
+            }
+        }
+        return unwritten;
+    }
+
+    /*
+     * The cancellation reasons are in the order of the updates in the transaction. When none of them names an update,
+     * all the updates of the transaction are reported, so the caller can retry them.
+     */
+    private static List<UUID> cancelledUpdates(List<UUID> publicationIdentifiers,
+                                               TransactionCanceledException exception) {
+        List<CancellationReason> reasons = Optional.ofNullable(exception.getCancellationReasons())
+            .orElse(List.of());
+        List<UUID> cancelled = IntStream.range(0, Math.min(publicationIdentifiers.size(), reasons.size()))
+            .filter(index -> !NOT_CANCELLED_REASON.equals(reasons.get(index).getCode()))
+            .mapToObj(publicationIdentifiers::get)
+            .collect(Collectors.toList());
+        return cancelled.isEmpty() ? publicationIdentifiers : cancelled;
+    }
+}
@@ -0,0 +1,598 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.CREATED_DATE_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.CREATED_DATE_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_INDEX_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_INDEX_SORT_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_OWNER_INDEX_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_OWNER_INDEX_SORT_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.IDENTIFIER_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.LAST_MESSAGE_DATE_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.LAST_MESSAGE_DATE_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.MESSAGE_COUNT_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.MESSAGE_COUNT_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.MODIFIED_DATE_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.OWNER_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.STATUS_DATE_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.STATUS_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.STATUS_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
+import static nva.commons.utils.attempt.Try.attempt;
+import com.amazonaws.services.dynamodbv2.document.Index;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.ItemCollection;
+import com.amazonaws.services.dynamodbv2.document.ItemUtils;
+import com.amazonaws.services.dynamodbv2.document.KeyAttribute;
+import com.amazonaws.services.dynamodbv2.document.Page;
+import com.amazonaws.services.dynamodbv2.document.QueryOutcome;
+import com.amazonaws.services.dynamodbv2.document.spec.QuerySpec;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.services.dynamodbv2.model.ReturnConsumedCapacity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import no.unit.nva.doi.requests.exception.BadRequestException;
+import no.unit.nva.doi.requests.metrics.Counter;
+import no.unit.nva.doi.requests.metrics.EmbeddedMetrics;
+import no.unit.nva.doi.requests.metrics.Phase;
+import no.unit.nva.doi.requests.model.DoiRequestSummary;
+import no.unit.nva.doi.requests.model.DoiRequestsPage;
+import no.unit.nva.doi.requests.model.DoiRequestsSort;
+import no.unit.nva.doi.requests.model.DoiRequestsSort.Field;
+import no.unit.nva.doi.requests.service.impl.SortedSelection.Candidate;
+import no.unit.nva.model.DoiRequestStatus;
+import no.unit.nva.model.Publication;
+import no.unit.nva.model.PublicationStatus;
+import nva.commons.exceptions.ApiGatewayException;
+
+/**
+ * Finds DOI requests through the DOI requests indexes, keyed on the publisher and on the owner, with the DOI request
+ * status and the modified date in the sort key. Whole lists are returned as publications, pages as summaries read with
+ * a projection, and the pages are served from the {@link FindResultsCache} until a publication of the publisher
+ * changes.
+ */
+public class DoiRequestsFinder {
+
+    public static final String PUBLISHER_ID_PLACEHOLDER = "#publisherId";
+    public static final String PUBLISHER_ID_VALUE = ":publisherId";
+    public static final String OWNER_VALUE = ":owner";
+    public static final String STATUS_VALUE = ":status";
+    public static final String PUBLISHER_AND_STATUS_KEY_CONDITION =
+        PUBLISHER_ID_PLACEHOLDER + " = " + PUBLISHER_ID_VALUE
+            + " AND begins_with(" + STATUS_DATE_PLACEHOLDER + ", " + STATUS_VALUE + ")";
+    public static final String OWNER_AND_STATUS_KEY_CONDITION =
+        OWNER_PLACEHOLDER + " = " + OWNER_VALUE
+            + " AND begins_with(" + STATUS_DATE_PLACEHOLDER + ", " + STATUS_VALUE + ")";
+    public static final String PUBLICATION_STATUS_VALUE = ":publicationStatus";
+    public static final String ENTITY_DESCRIPTION_FIELD_NAME = "entityDescription";
+    public static final String MAIN_TITLE_FIELD_NAME = "mainTitle";
+    public static final String ENTITY_DESCRIPTION_PLACEHOLDER = "#entityDescription";
+    public static final String MAIN_TITLE_PLACEHOLDER = "#mainTitle";
+    public static final String SUMMARY_PROJECTION = String.join(", ",
+        IDENTIFIER_PLACEHOLDER,
+        OWNER_PLACEHOLDER,
+        STATUS_PLACEHOLDER,
+        DOI_REQUEST_PLACEHOLDER + "." + STATUS_PLACEHOLDER,
+        DOI_REQUEST_PLACEHOLDER + "." + CREATED_DATE_PLACEHOLDER,
+        ENTITY_DESCRIPTION_PLACEHOLDER + "." + MAIN_TITLE_PLACEHOLDER,
+        MESSAGE_COUNT_PLACEHOLDER,
+        LAST_MESSAGE_DATE_PLACEHOLDER,
+        MODIFIED_DATE_PLACEHOLDER);
+    public static final Map<String, String> SUMMARY_NAME_MAP = Map.of(
+        IDENTIFIER_PLACEHOLDER, TABLE_HASH_KEY,
+        OWNER_PLACEHOLDER, DOI_REQUEST_OWNER_INDEX_HASH_KEY,
+        STATUS_PLACEHOLDER, STATUS_FIELD_NAME,
+        DOI_REQUEST_PLACEHOLDER, DOI_REQUEST_FIELD_NAME,
+        CREATED_DATE_PLACEHOLDER, CREATED_DATE_FIELD_NAME,
+        ENTITY_DESCRIPTION_PLACEHOLDER, ENTITY_DESCRIPTION_FIELD_NAME,
+        MAIN_TITLE_PLACEHOLDER, MAIN_TITLE_FIELD_NAME,
+        MESSAGE_COUNT_PLACEHOLDER, MESSAGE_COUNT_FIELD_NAME,
+        LAST_MESSAGE_DATE_PLACEHOLDER, LAST_MESSAGE_DATE_FIELD_NAME,
+        MODIFIED_DATE_PLACEHOLDER, TABLE_SORT_KEY);
+    public static final String RANGE_START_VALUE = ":rangeStart";
+    public static final String RANGE_END_VALUE = ":rangeEnd";
+    public static final String END_OF_STATUS_RANGE = "\uffff";
+    public static final String STATUS_DATE_RANGE_KEY_CONDITION =
+        STATUS_DATE_PLACEHOLDER + " BETWEEN " + RANGE_START_VALUE + " AND " + RANGE_END_VALUE;
+    public static final String PUBLISHER_AND_STATUS_DATE_RANGE_KEY_CONDITION =
+        PUBLISHER_ID_PLACEHOLDER + " = " + PUBLISHER_ID_VALUE + " AND " + STATUS_DATE_RANGE_KEY_CONDITION;
+    public static final String OWNER_AND_STATUS_DATE_RANGE_KEY_CONDITION =
+        OWNER_PLACEHOLDER + " = " + OWNER_VALUE + " AND " + STATUS_DATE_RANGE_KEY_CONDITION;
+    public static final String SORTED_SUMMARY_PROJECTION = SUMMARY_PROJECTION + ", " + STATUS_DATE_PLACEHOLDER;
+    public static final String SORTED_CURSOR_QUERY_FIELD = "query";
+    public static final String SORTED_CURSOR_SORT_VALUE_FIELD = "sortValue";
+    public static final String SORTED_QUERY_SEPARATOR = "|";
+    public static final int MAX_PAGE_READS = 10;
+
+    private final Index doiRequestsIndex;
+    private final Index doiRequestsByOwnerIndex;
+    private final PageCursorCodec cursorCodec;
+    private final FindResultsCache findResultsCache;
+    private final PublicationItemCodec itemCodec;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor for DoiRequestsFinder.
+     *
+     * @param doiRequestsIndex        the index keyed on publisher and DOI request status.
+     * @param doiRequestsByOwnerIndex the index keyed on owner and DOI request status.
+     * @param cursorCodec             the codec of the page cursors.
+     * @param findResultsCache        the cache of the pages.
+     * @param itemCodec               the codec the publications are decoded with.
+     * @param objectMapper            the object mapper the summaries are read with.
+     */
+    public DoiRequestsFinder(Index doiRequestsIndex, Index doiRequestsByOwnerIndex, PageCursorCodec cursorCodec,
+                             FindResultsCache findResultsCache, PublicationItemCodec itemCodec,
+                             ObjectMapper objectMapper) {
+        this.doiRequestsIndex = doiRequestsIndex;
+        this.doiRequestsByOwnerIndex = doiRequestsByOwnerIndex;
+        this.cursorCodec = cursorCodec;
+        this.findResultsCache = findResultsCache;
+        this.itemCodec = itemCodec;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Finds the current version of each publication whose DOI request has the given status, and, when an owner is
+     * given, of that owner. The status is part of the key condition on the DOI requests indexes, and only the current
+     * version of a publication is kept in those indexes, so the read cost follows the number of matching requests and
+     * not the size of the version history.
+     *
+     * @param publisher the publisher id.
+     * @param status    the DOI request status.
+     * @param owner     the owner of the publications, or null for the DOI requests of all owners.
+     * @return the current version of each matching publication.
+     * @throws ApiGatewayException when the index query fails.
+     */
+    public List<Publication> findPublications(URI publisher, DoiRequestStatus status, String owner)
+        throws ApiGatewayException {
+        EmbeddedMetrics.current().putProperty(EmbeddedMetrics.PUBLISHER_PROPERTY, publisher.toString());
+        return attempt(() -> indexOf(owner).query(statusQuery(publisher, status, owner)))
+            .map(this::collectAttributes)
+            .map(items -> currentPublications(items, status, owner))
+            .orElseThrow(DynamoDbExceptions::handleDynamoDbException);
+    }
+
+    /**
+     * Finds one page of the DOI requests with the given status, in the order of the index.
+     *
+     * @param publisher the publisher id.
+     * @param status    the DOI request status.
+     * @param owner     the owner of the publications, or null for the DOI requests of all owners.
+     * @param pageSize  the maximum number of DOI requests in the page.
+     * @param cursor    the cursor returned with the previous page, or null for the first page.
+     * @return the page, with a cursor for the next page if there are more results.
+     * @throws ApiGatewayException when the cursor is invalid or the query fails.
+     */
+    public DoiRequestsPage findPage(URI publisher, DoiRequestStatus status, String owner, int pageSize,
+                                    String cursor) throws ApiGatewayException {
+        EmbeddedMetrics.current().putProperty(EmbeddedMetrics.PUBLISHER_PROPERTY, publisher.toString());
+        return findResultsCache.getOrQuery(publisher, status, owner, pageSize, cursor,
+            () -> indexOrderPage(publisher, status, owner, true, pageSize, cursor));
+    }
+
+    /**
+     * Finds one page of DOI requests with any of the given statuses, in the given order. A page of one status sorted
+     * by the modified date is read in the order of the index. Any other page is selected from the index items of each
+     * status, keeping no more than a page of items in memory. When sorting by the modified date, each status is read
+     * in index order and only until no later item can be selected, so the items read follow the page size. When
+     * sorting by the created date, which is not in the index key, every item of the statuses is read.
+     *
+     * @param publisher the publisher id.
+     * @param statuses  the DOI request statuses.
+     * @param owner     the owner of the publications, or null for the DOI requests of all owners.
+     * @param sort      the order of the DOI requests.
+     * @param pageSize  the maximum number of DOI requests in the page.
+     * @param cursor    the cursor returned with the previous page, or null for the first page.
+     * @return the page, with a cursor for the next page if there are more results.
+     * @throws ApiGatewayException when the cursor is invalid or the query fails.
+     */
+    public DoiRequestsPage findPage(URI publisher, List<DoiRequestStatus> statuses, String owner,
+                                    DoiRequestsSort sort, int pageSize, String cursor)
+        throws ApiGatewayException {
+        EmbeddedMetrics.current().putProperty(EmbeddedMetrics.PUBLISHER_PROPERTY, publisher.toString());
+        List<Object> queryParameters = Arrays.asList(statuses, owner, sort, pageSize, cursor);
+        return findResultsCache.getOrQuery(publisher, queryParameters, () -> {
+            if (statuses.size() == 1 && Field.MODIFIED_DATE.equals(sort.getField())) {
+                return indexOrderPage(publisher, statuses.get(0), owner, sort.isAscending(), pageSize, cursor);
+            }
+            return sortedPage(publisher, statuses, owner, sort, pageSize, cursor);
+        });
+    }
+
+    private DoiRequestsPage indexOrderPage(URI publisher, DoiRequestStatus status, String owner, boolean ascending,
+                                           int pageSize, String cursor) throws ApiGatewayException {
+        String hashKey = nonNull(owner) ? DOI_REQUEST_OWNER_INDEX_HASH_KEY : DOI_REQUEST_INDEX_HASH_KEY;
+        String hashKeyValue = nonNull(owner) ? owner : publisher.toString();
+        QuerySpec querySpec = statusQuery(publisher, status, owner)
+            .withMaxPageSize(pageSize)
+            .withScanIndexForward(ascending);
+        if (nonNull(cursor)) {
+            querySpec.withExclusiveStartKey(startKeyFromCursor(hashKey, hashKeyValue, status, cursor));
+        }
+        return queryPage(indexOf(owner), querySpec, hashKey, hashKeyValue, pageSize);
+    }
+
+    private DoiRequestsPage sortedPage(URI publisher, List<DoiRequestStatus> statuses, String owner,
+                                       DoiRequestsSort sort, int pageSize, String cursor)
+        throws ApiGatewayException {
+        String sortedQuery = sortedQuery(publisher, statuses, owner, sort);
+        Candidate after = nonNull(cursor) ? positionOfCursor(sortedQuery, sort, cursor) : null;
+        SortedSelection selection = new SortedSelection(sort, pageSize, after);
+        boolean readInSortOrder = Field.MODIFIED_DATE.equals(sort.getField());
+        for (DoiRequestStatus status : statuses) {
+            QuerySpec querySpec = withSortedSummaryProjection(statusRangeQuery(publisher, status, owner, after, sort))
+                .withScanIndexForward(sort.isAscending());
+            if (readInSortOrder) {
+                querySpec.withMaxPageSize(pageSize);
+            }
+            attempt(() -> selectFrom(indexOf(owner), querySpec, status, sort, selection, readInSortOrder))
+                .orElseThrow(DynamoDbExceptions::handleDynamoDbException);
+        }
+        List<Candidate> selected = selection.getSelected();
+        List<DoiRequestSummary> summaries = selectedSummaries(selected);
+        String nextCursor = selection.hasMore()
+            ? sortedCursor(sortedQuery, sort, selected.get(selected.size() - 1))
+            : null;
+        return new DoiRequestsPage(summaries, nextCursor);
+    }
+
+    /*
+     * When the items are read in the sort order, the query stops at the first item that can not be selected. Items
+     * are only decoded into summaries once they are selected.
+     */
+    private SortedSelection selectFrom(Index index, QuerySpec querySpec, DoiRequestStatus status,
+                                       DoiRequestsSort sort, SortedSelection selection, boolean readInSortOrder) {
+        long queryStart = System.nanoTime();
+        for (Page<Item, QueryOutcome> page : index.query(querySpec).pages()) {
+            recordFindQueryResult(page.getLowLevelResult().getQueryResult());
+            for (Item item : page) {
+                if (!selection.offer(candidate(item, status, sort)) && readInSortOrder) {
+                    EmbeddedMetrics.current().recordLatencySince(Phase.QUERY, queryStart);
+                    return selection;
+                }
+            }
+        }
+        EmbeddedMetrics.current().recordLatencySince(Phase.QUERY, queryStart);
+        return selection;
+    }
+
+    private static Candidate candidate(Item item, DoiRequestStatus status, DoiRequestsSort sort) {
+        if (Field.CREATED_DATE.equals(sort.getField())) {
+            Instant createdDate = Optional.ofNullable(item.getMap(DOI_REQUEST_FIELD_NAME))
+                .map(doiRequest -> (String) doiRequest.get(CREATED_DATE_FIELD_NAME))
+                .map(Instant::parse)
+                .orElse(null);
+            return new Candidate(item.getString(TABLE_HASH_KEY), null, createdDate, item);
+        }
+        String modifiedDate = item.getString(DOI_REQUEST_INDEX_SORT_KEY).substring(status.toString().length());
+        return new Candidate(item.getString(TABLE_HASH_KEY), modifiedDate, null, item);
+    }
+
+    private List<DoiRequestSummary> selectedSummaries(List<Candidate> selected) {
+        EmbeddedMetrics metrics = EmbeddedMetrics.current();
+        long deserializeStart = System.nanoTime();
+        List<DoiRequestSummary> summaries = new ArrayList<>(selected.size());
+        for (Candidate candidate : selected) {
+            summaries.add(itemToSummary(candidate.getItem()));
+        }
+        metrics.recordLatencySince(Phase.DESERIALIZE, deserializeStart);
+        metrics.addCount(Counter.RETURNED_ITEMS, summaries.size());
+        return summaries;
+    }
+
+    /*
+     * A cursor of a sorted page holds the sort value and the identifier of the last DOI request of the page, and the
+     * query it was issued for, since its position means nothing in another query.
+     */
+    private String sortedCursor(String sortedQuery, DoiRequestsSort sort, Candidate last) {
+        String sortValue = Field.CREATED_DATE.equals(sort.getField())
+            ? String.valueOf(last.getCreatedDate())
+            : last.getModifiedDate();
+        return cursorCodec.encode(Map.of(
+            SORTED_CURSOR_QUERY_FIELD, new AttributeValue(sortedQuery),
+            SORTED_CURSOR_SORT_VALUE_FIELD, new AttributeValue(sortValue),
+            TABLE_HASH_KEY, new AttributeValue(last.getIdentifier())))
+            .orElseThrow();
+    }
+
+    private Candidate positionOfCursor(String sortedQuery, DoiRequestsSort sort, String cursor)
+        throws BadRequestException {
+        Map<String, String> position = cursorCodec.decode(cursor);
+        String sortValue = position.get(SORTED_CURSOR_SORT_VALUE_FIELD);
+        String identifier = position.get(TABLE_HASH_KEY);
+        if (!sortedQuery.equals(position.get(SORTED_CURSOR_QUERY_FIELD)) || isNull(sortValue) || isNull(identifier)) {
+            throw new BadRequestException(PageCursorCodec.INVALID_CURSOR_ERROR);
+        }
+        if (Field.CREATED_DATE.equals(sort.getField())) {
+            Instant createdDate = attempt(() -> Instant.parse(sortValue)).toOptional().orElse(null);
+            return new Candidate(identifier, null, createdDate, null);
+        }
+        return new Candidate(identifier, sortValue, null, null);
+    }
+
+    private static String sortedQuery(URI publisher, List<DoiRequestStatus> statuses, String owner,
+                                      DoiRequestsSort sort) {
+        return String.join(SORTED_QUERY_SEPARATOR, publisher.toString(), String.valueOf(owner),
+            statuses.toString(), sort.toString());
+    }
+
+    /*
+     * The filter expression leaves out the publications that are not published after the items are read, so a read of
+     * a page size of items can return fewer. The query goes on from the LastEvaluatedKey until the page is full, for at
+     * most MAX_PAGE_READS reads. The cursor of a full page is the index key of its last item, so the next page starts
+     * right after it even when the last read went further. A page cut short by the bound has the LastEvaluatedKey as
+     * its cursor.
+     */
+    private DoiRequestsPage queryPage(Index index, QuerySpec querySpec, String hashKey, String hashKeyValue,
+                                      int pageSize) throws ApiGatewayException {
+        QuerySpec summaryQuery = withSortedSummaryProjection(querySpec);
+        long queryStart = System.nanoTime();
+        IndexRead read = attempt(() -> readPublishedVersions(index, summaryQuery, pageSize))
+            .orElseThrow(DynamoDbExceptions::handleDynamoDbException);
+        EmbeddedMetrics.current().recordLatencySince(Phase.QUERY, queryStart);
+        List<VersionHeader> pageVersions = firstPublications(read.versions, pageSize);
+        List<DoiRequestSummary> summaries = attempt(() -> publishedSummaries(pageVersions))
+            .orElseThrow(DynamoDbExceptions::handleDynamoDbException);
+        boolean readBeyondPage = pageVersions.size() < read.versions.size() || nonNull(read.lastEvaluatedKey);
+        Map<String, AttributeValue> nextStartKey = summaries.size() == pageSize && readBeyondPage
+            ? indexKey(pageVersions.get(pageVersions.size() - 1), hashKey, hashKeyValue)
+            : read.lastEvaluatedKey;
+        return new DoiRequestsPage(summaries, cursorCodec.encode(nextStartKey).orElse(null));
+    }
+
+    private static IndexRead readPublishedVersions(Index index, QuerySpec querySpec, int pageSize) {
+        IndexRead read = new IndexRead();
+        int reads = 0;
+        for (Page<Item, QueryOutcome> page : index.query(querySpec).pages()) {
+            QueryResult queryResult = page.getLowLevelResult().getQueryResult();
+            recordFindQueryResult(queryResult);
+            for (Map<String, AttributeValue> item : queryResult.getItems()) {
+                read.versions.add(VersionHeader.read(item));
+            }
+            read.lastEvaluatedKey = queryResult.getLastEvaluatedKey();
+            reads++;
+            if (reads >= MAX_PAGE_READS || VersionHeader.latestOfEachPublication(read.versions).size() >= pageSize) {
+                break;
+            }
+        }
+        return read;
+    }
+
+    /*
+     * The versions in index order up to the first version of a publication beyond the page size, so a publication
+     * with more than one version in the index counts once.
+     */
+    private static List<VersionHeader> firstPublications(List<VersionHeader> versions, int pageSize) {
+        Set<String> identifiers = new HashSet<>();
+        int end = 0;
+        for (VersionHeader version : versions) {
+            if (!identifiers.contains(version.getIdentifier()) && identifiers.size() == pageSize) {
+                break;
+            }
+            identifiers.add(version.getIdentifier());
+            end++;
+        }
+        return versions.subList(0, end);
+    }
+
+    private static Map<String, AttributeValue> indexKey(VersionHeader version, String hashKey, String hashKeyValue) {
+        Map<String, AttributeValue> attributes = version.getAttributes();
+        return Map.of(
+            TABLE_HASH_KEY, attributes.get(TABLE_HASH_KEY),
+            TABLE_SORT_KEY, attributes.get(TABLE_SORT_KEY),
+            hashKey, new AttributeValue(hashKeyValue),
+            DOI_REQUEST_INDEX_SORT_KEY, attributes.get(DOI_REQUEST_INDEX_SORT_KEY));
+    }
+
+    private static QuerySpec withSummaryProjection(QuerySpec querySpec) {
+        var nameMap = new HashMap<>(querySpec.getNameMap());
+        nameMap.putAll(SUMMARY_NAME_MAP);
+        return querySpec
+            .withProjectionExpression(SUMMARY_PROJECTION)
+            .withNameMap(nameMap);
+    }
+
+    /*
+     * The publications that are not published are left out by the filter expression of the query. A publication
+     * with more than one version in the page is returned once, as its latest version, and only that version is
+     * decoded.
+     */
+    private List<DoiRequestSummary> publishedSummaries(List<VersionHeader> versions) {
+        EmbeddedMetrics metrics = EmbeddedMetrics.current();
+        long deserializeStart = System.nanoTime();
+        Collection<VersionHeader> latestVersions = VersionHeader.latestOfEachPublication(versions);
+        List<DoiRequestSummary> summaries = new ArrayList<>(latestVersions.size());
+        for (VersionHeader version : latestVersions) {
+            summaries.add(itemToSummary(ItemUtils.toItem(version.getAttributes())));
+        }
+        metrics.recordLatencySince(Phase.DESERIALIZE, deserializeStart);
+        metrics.addCount(Counter.RETURNED_ITEMS, summaries.size());
+        return summaries;
+    }
+
+    private DoiRequestSummary itemToSummary(Item item) {
+        Map<String, Object> doiRequest = item.getMap(DOI_REQUEST_FIELD_NAME);
+        Optional<Map<String, Object>> entityDescription = Optional.ofNullable(
+            item.getMap(ENTITY_DESCRIPTION_FIELD_NAME));
+        return new DoiRequestSummary(
+            objectMapper.convertValue(doiRequest.get(STATUS_FIELD_NAME), DoiRequestStatus.class),
+            objectMapper.convertValue(doiRequest.get(CREATED_DATE_FIELD_NAME), Instant.class),
+            UUID.fromString(item.getString(TABLE_HASH_KEY)),
+            entityDescription.map(description -> (String) description.get(MAIN_TITLE_FIELD_NAME)).orElse(null),
+            item.getString(DOI_REQUEST_OWNER_INDEX_HASH_KEY),
+            item.isPresent(MESSAGE_COUNT_FIELD_NAME) ? item.getInt(MESSAGE_COUNT_FIELD_NAME) : 0,
+            Optional.ofNullable(item.getString(LAST_MESSAGE_DATE_FIELD_NAME)).map(Instant::parse).orElse(null));
+    }
+
+    /*
+     * The owner and the DOI request status are in the key of the indexes, so they narrow what the queries read. The
+     * conditions that are not in the key are filter expressions, so the items they reject are not returned.
+     */
+    private static QuerySpec publisherAndStatusQuery(URI publisher, DoiRequestStatus status) {
+        QuerySpec querySpec = new QuerySpec()
+            .withKeyConditionExpression(PUBLISHER_AND_STATUS_KEY_CONDITION)
+            .withNameMap(Map.of(
+                PUBLISHER_ID_PLACEHOLDER, DOI_REQUEST_INDEX_HASH_KEY,
+                STATUS_DATE_PLACEHOLDER, DOI_REQUEST_INDEX_SORT_KEY))
+            .withValueMap(Map.of(
+                PUBLISHER_ID_VALUE, publisher.toString(),
+                STATUS_VALUE, status.toString()))
+            .withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+        return publishedOnly().applyTo(querySpec);
+    }
+
+    private static QuerySpec ownerAndStatusQuery(URI publisher, DoiRequestStatus status, String owner) {
+        QuerySpec querySpec = new QuerySpec()
+            .withKeyConditionExpression(OWNER_AND_STATUS_KEY_CONDITION)
+            .withNameMap(Map.of(
+                OWNER_PLACEHOLDER, DOI_REQUEST_OWNER_INDEX_HASH_KEY,
+                STATUS_DATE_PLACEHOLDER, DOI_REQUEST_OWNER_INDEX_SORT_KEY))
+            .withValueMap(Map.of(
+                OWNER_VALUE, owner,
+                STATUS_VALUE, status.toString()))
+            .withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+        return publishedOnly()
+            .withEqualTo(PUBLISHER_ID_PLACEHOLDER, DOI_REQUEST_INDEX_HASH_KEY, PUBLISHER_ID_VALUE, publisher.toString())
+            .applyTo(querySpec);
+    }
+
+    private static QuerySpec statusQuery(URI publisher, DoiRequestStatus status, String owner) {
+        return nonNull(owner)
+            ? ownerAndStatusQuery(publisher, status, owner)
+            : publisherAndStatusQuery(publisher, status);
+    }
+
+    private Index indexOf(String owner) {
+        return nonNull(owner) ? doiRequestsByOwnerIndex : doiRequestsIndex;
+    }
+
+    /*
+     * The index sort key is the DOI request status followed by the modified date, so when sorting by the modified date
+     * a page after a cursor only has to read the part of each status range on the far side of the cursor's date.
+     */
+    private static QuerySpec statusRangeQuery(URI publisher, DoiRequestStatus status, String owner, Candidate after,
+                                              DoiRequestsSort sort) {
+        QuerySpec querySpec = statusQuery(publisher, status, owner);
+        if (isNull(after) || !Field.MODIFIED_DATE.equals(sort.getField())) {
+            return querySpec;
+        }
+        String cursorStatusDate = status.toString() + after.getModifiedDate();
+        Map<String, Object> valueMap = new HashMap<>(querySpec.getValueMap());
+        valueMap.remove(STATUS_VALUE);
+        valueMap.put(RANGE_START_VALUE, sort.isAscending() ? cursorStatusDate : status.toString());
+        valueMap.put(RANGE_END_VALUE, sort.isAscending() ? status.toString() + END_OF_STATUS_RANGE : cursorStatusDate);
+        return querySpec
+            .withKeyConditionExpression(nonNull(owner)
+                ? OWNER_AND_STATUS_DATE_RANGE_KEY_CONDITION
+                : PUBLISHER_AND_STATUS_DATE_RANGE_KEY_CONDITION)
+            .withValueMap(valueMap);
+    }
+
+    private static QuerySpec withSortedSummaryProjection(QuerySpec querySpec) {
+        return withSummaryProjection(querySpec).withProjectionExpression(SORTED_SUMMARY_PROJECTION);
+    }
+
+    /*
+     * A superseded version that another writer left in the index is left out by the de-duplication of the page until
+     * the consumer of the stream takes it out of the index, see {@link CurrentVersionIndex}.
+     */
+    private static QueryFilter publishedOnly() {
+        return new QueryFilter()
+            .withEqualTo(STATUS_PLACEHOLDER, STATUS_FIELD_NAME, PUBLICATION_STATUS_VALUE,
+                PublicationStatus.PUBLISHED.toString());
+    }
+
+    private KeyAttribute[] startKeyFromCursor(String hashKey, String hashKeyValue, DoiRequestStatus status,
+                                              String cursor)
+        throws BadRequestException {
+        Map<String, String> startKey = cursorCodec.decode(cursor);
+        if (!cursorBelongsToQuery(startKey, hashKey, hashKeyValue, status)) {
+            throw new BadRequestException(PageCursorCodec.INVALID_CURSOR_ERROR);
+        }
+        return PageCursorCodec.toKeyAttributes(startKey);
+    }
+
+    private static boolean cursorBelongsToQuery(Map<String, String> startKey, String hashKey, String hashKeyValue,
+                                                DoiRequestStatus status) {
+        return hashKeyValue.equals(startKey.get(hashKey))
+            && Optional.ofNullable(startKey.get(DOI_REQUEST_INDEX_SORT_KEY))
+            .filter(statusDate -> statusDate.startsWith(status.toString()))
+            .isPresent();
+    }
+
+    /*
+     * A superseded version stays in the index until its index key is removed, so the items are first checked by their
+     * header, which is read without decoding the publication. Only the latest matching version of each publication is
+     * decoded.
+     */
+    private List<Publication> currentPublications(List<Map<String, AttributeValue>> items, DoiRequestStatus status,
+                                                  String owner) {
+        EmbeddedMetrics metrics = EmbeddedMetrics.current();
+        long deserializeStart = System.nanoTime();
+        List<VersionHeader> matchingVersions = new ArrayList<>(items.size());
+        for (Map<String, AttributeValue> item : items) {
+            VersionHeader version = VersionHeader.read(item);
+            if (version.matches(status, owner)) {
+                matchingVersions.add(version);
+            }
+        }
+        List<Publication> publications = VersionHeader.latestOfEachPublication(matchingVersions)
+            .stream()
+            .map(VersionHeader::getAttributes)
+            .map(itemCodec::decodeVersion)
+            .collect(Collectors.toList());
+        metrics.recordLatencySince(Phase.DESERIALIZE, deserializeStart);
+        metrics.addCount(Counter.RETURNED_ITEMS, publications.size());
+        return publications;
+    }
+
+    /*
+     * The attribute values are taken from the low-level results, so the publications are read from them directly
+     * instead of from the document items.
+     */
+    private List<Map<String, AttributeValue>> collectAttributes(ItemCollection<QueryOutcome> outcome) {
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        long queryStart = System.nanoTime();
+        for (Page<Item, QueryOutcome> page : outcome.pages()) {
+            QueryResult queryResult = page.getLowLevelResult().getQueryResult();
+            items.addAll(queryResult.getItems());
+            recordFindQueryResult(queryResult);
+        }
+        EmbeddedMetrics.current().recordLatencySince(Phase.QUERY, queryStart);
+        return items;
+    }
+
+    /*
+     * The items a find query reads are compared to the items it returns after the publications that are not
+     * published are left out, which shows the publishers whose queries read more than they return.
+     */
+    private static void recordFindQueryResult(QueryResult queryResult) {
+        EmbeddedMetrics metrics = EmbeddedMetrics.current();
+        metrics.addCount(Counter.SCANNED_ITEMS, queryResult.getScannedCount());
+        metrics.addConsumedCapacity(Counter.CONSUMED_READ_CAPACITY, queryResult.getConsumedCapacity());
+    }
+
+    private static class IndexRead {
+
+        private final List<VersionHeader> versions = new ArrayList<>();
+        private Map<String, AttributeValue> lastEvaluatedKey;
+    }
+}
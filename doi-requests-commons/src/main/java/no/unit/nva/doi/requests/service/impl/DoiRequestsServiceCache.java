@@ -0,0 +1,153 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.services.securitytoken.model.Tag;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the services, and with them the DynamoDB clients and their connection pools, of recently used credentials, so
+ * that warm Lambda invocations do not build a new client for every request. Services of assumed-role credentials are
+ * keyed by the session tags the role was assumed with, as the sessions of {@code CachingStsClient} are, so every
+ * request of the same user and customer gets the same service however often its session is renewed. The credentials
+ * provider of the cached client refreshes its own session. An entry expires after a fixed lifetime, and the least
+ * recently used entry is evicted when the cache is full.
+ */
+public class DoiRequestsServiceCache
+    implements BiFunction<AWSCredentialsProvider, Collection<Tag>, DynamoDBDoiRequestsService> {
+
+    public static final Duration DEFAULT_ENTRY_LIFETIME = Duration.ofMinutes(15);
+    public static final int DEFAULT_MAXIMUM_SIZE = 32;
+    public static final String DEFAULT_CREDENTIALS_KEY = "";
+    public static final String SESSION_TAGS_KEY = "sessionTags";
+    public static final String CACHE_STATISTICS_MESSAGE = "DoiRequestsService cache hits: %d, misses: %d";
+
+    private static final Logger logger = LoggerFactory.getLogger(DoiRequestsServiceCache.class);
+
+    private final Function<AWSCredentialsProvider, DynamoDBDoiRequestsService> serviceProvider;
+    private final Duration entryLifetime;
+    private final int maximumSize;
+    private final Clock clock;
+    private final Map<List<Object>, CachedService> services;
+    private final Object lock = new Object();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public DoiRequestsServiceCache(Function<AWSCredentialsProvider, DynamoDBDoiRequestsService> serviceProvider) {
+        this(serviceProvider, DEFAULT_ENTRY_LIFETIME, DEFAULT_MAXIMUM_SIZE, Clock.systemUTC());
+    }
+
+    /**
+     * Constructor for DoiRequestsServiceCache.
+     *
+     * @param serviceProvider creates the service for credentials that are not in the cache.
+     * @param entryLifetime   how long a service is kept.
+     * @param maximumSize     the maximum number of cached services.
+     * @param clock           clock used for the expiry of entries.
+     */
+    public DoiRequestsServiceCache(Function<AWSCredentialsProvider, DynamoDBDoiRequestsService> serviceProvider,
+                                   Duration entryLifetime, int maximumSize, Clock clock) {
+        this.serviceProvider = serviceProvider;
+        this.entryLifetime = entryLifetime;
+        this.maximumSize = maximumSize;
+        this.clock = clock;
+        this.services = new LinkedHashMap<>(maximumSize, 0.75f, true);
+    }
+
+    /**
+     * Returns the cached service of the session tags, or creates and caches one. Assumed-role credentials without
+     * session tags cannot be told apart, so they get a new service that is not cached.
+     *
+     * @param credentials the credentials of the request. Null for the default credentials.
+     * @param sessionTags the session tags the credentials were assumed with. Null when they are not known.
+     * @return a service using the credentials.
+     */
+    @Override
+    public DynamoDBDoiRequestsService apply(AWSCredentialsProvider credentials, Collection<Tag> sessionTags) {
+        Optional<List<Object>> key = serviceKey(credentials, sessionTags);
+        Optional<DynamoDBDoiRequestsService> cachedService = key.flatMap(this::cachedService);
+        if (cachedService.isPresent()) {
+            hits.incrementAndGet();
+            return cachedService.get();
+        }
+        misses.incrementAndGet();
+        logger.debug(String.format(CACHE_STATISTICS_MESSAGE, hits.get(), misses.get()));
+        DynamoDBDoiRequestsService service = serviceProvider.apply(credentials);
+        if (key.isPresent() && nonNull(service)) {
+            cache(key.get(), service);
+        }
+        return service;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private static Optional<List<Object>> serviceKey(AWSCredentialsProvider credentials,
+                                                     Collection<Tag> sessionTags) {
+        if (isNull(credentials)) {
+            return Optional.of(List.of(DEFAULT_CREDENTIALS_KEY));
+        }
+        return Optional.ofNullable(sessionTags)
+            .map(tags -> List.of(SESSION_TAGS_KEY, SessionTags.canonical(tags)));
+    }
+
+    private Optional<DynamoDBDoiRequestsService> cachedService(List<Object> key) {
+        synchronized (lock) {
+            CachedService cachedService = services.get(key);
+            if (nonNull(cachedService) && cachedService.hasExpired(clock.instant())) {
+                services.remove(key);
+                return Optional.empty();
+            }
+            return Optional.ofNullable(cachedService).map(CachedService::getService);
+        }
+    }
+
+    private void cache(List<Object> key, DynamoDBDoiRequestsService service) {
+        Instant now = clock.instant();
+        synchronized (lock) {
+            services.values().removeIf(cachedService -> cachedService.hasExpired(now));
+            services.put(key, new CachedService(service, now.plus(entryLifetime)));
+            if (services.size() > maximumSize) {
+                List<Object> leastRecentlyUsed = services.keySet().iterator().next();
+                services.remove(leastRecentlyUsed);
+            }
+        }
+    }
+
+    private static class CachedService {
+
+        private final DynamoDBDoiRequestsService service;
+        private final Instant expiry;
+
+        public CachedService(DynamoDBDoiRequestsService service, Instant expiry) {
+            this.service = service;
+            this.expiry = expiry;
+        }
+
+        public DynamoDBDoiRequestsService getService() {
+            return service;
+        }
+
+        public boolean hasExpired(Instant now) {
+            return !now.isBefore(expiry);
+        }
+    }
+}
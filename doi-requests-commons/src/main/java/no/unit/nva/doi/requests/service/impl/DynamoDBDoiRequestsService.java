@@ -4,42 +4,46 @@ import static java.util.Objects.nonNull;
 import static no.unit.nva.useraccessmanagement.dao.AccessRight.APPROVE_DOI_REQUEST;
 import static no.unit.nva.useraccessmanagement.dao.AccessRight.REJECT_DOI_REQUEST;
 import static nva.commons.utils.attempt.Try.attempt;
+import com.amazonaws.AmazonClientException;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.document.DynamoDB;
 import com.amazonaws.services.dynamodbv2.document.Index;
 import com.amazonaws.services.dynamodbv2.document.Item;
-import com.amazonaws.services.dynamodbv2.document.ItemCollection;
-import com.amazonaws.services.dynamodbv2.document.KeyAttribute;
-import com.amazonaws.services.dynamodbv2.document.QueryOutcome;
+import com.amazonaws.services.dynamodbv2.document.ItemUtils;
 import com.amazonaws.services.dynamodbv2.document.Table;
-import com.amazonaws.services.dynamodbv2.document.internal.IteratorSupport;
-import com.amazonaws.services.dynamodbv2.document.spec.PutItemSpec;
-import com.amazonaws.services.dynamodbv2.document.spec.QuerySpec;
-import com.amazonaws.services.dynamodbv2.model.AmazonDynamoDBException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.amazonaws.services.dynamodbv2.document.UpdateItemOutcome;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.ConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.ReturnConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactionCanceledException;
 import java.net.URI;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ThreadLocalRandom;
 import no.unit.nva.doi.requests.api.model.requests.CreateDoiRequest;
 import no.unit.nva.doi.requests.contants.ServiceConstants;
 import no.unit.nva.doi.requests.exception.BadRequestException;
-import no.unit.nva.doi.requests.exception.DynamoDBException;
+import no.unit.nva.doi.requests.metrics.Counter;
+import no.unit.nva.doi.requests.metrics.EmbeddedMetrics;
+import no.unit.nva.doi.requests.metrics.Phase;
 import no.unit.nva.doi.requests.model.ApiUpdateDoiRequest;
+import no.unit.nva.doi.requests.model.DoiRequestMessagesPage;
+import no.unit.nva.doi.requests.model.DoiRequestStatusChange;
+import no.unit.nva.doi.requests.model.DoiRequestsPage;
+import no.unit.nva.doi.requests.model.DoiRequestsSort;
 import no.unit.nva.doi.requests.service.DoiRequestsService;
 import no.unit.nva.model.DoiRequest;
 import no.unit.nva.model.DoiRequestMessage;
 import no.unit.nva.model.DoiRequestMessage.Builder;
 import no.unit.nva.model.DoiRequestStatus;
-import no.unit.nva.model.Organization;
 import no.unit.nva.model.Publication;
-import no.unit.nva.model.PublicationStatus;
 import no.unit.nva.useraccessmanagement.dao.AccessRight;
 import nva.commons.exceptions.ApiGatewayException;
 import nva.commons.exceptions.ForbiddenException;
@@ -47,12 +51,16 @@ import nva.commons.exceptions.commonexceptions.ConflictException;
 import nva.commons.exceptions.commonexceptions.NotFoundException;
 import nva.commons.utils.Environment;
 import nva.commons.utils.JsonUtils;
-import nva.commons.utils.attempt.Failure;
+import nva.commons.utils.attempt.Try;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-@SuppressWarnings("PMD.GodClass")
-//TODO: Fix GodClass problem (NP-2007)
+/**
+ * The DOI requests of the publications table. The service creates DOI requests, changes their status and adds their
+ * messages in place on the current version of the publication. Finding DOI requests, reading message threads and
+ * bulk operations are left to {@link DoiRequestsFinder}, {@link DoiRequestMessageThreads} and
+ * {@link DoiRequestsBulkOperations}, which hold the expressions they read and write the table with.
+ */
 public class DynamoDBDoiRequestsService implements DoiRequestsService {
 
     public static final String PUBLICATION_ID_HASH_KEY_NAME = "identifier";
@@ -71,188 +79,354 @@ public class DynamoDBDoiRequestsService implements DoiRequestsService {
     public static final String ERROR_MESSAGE_UPDATE_DOIREQUEST_MISSING_DOIREQUEST =
         "You must initiate creation of a DoiRequest before you can update it.";
 
+    public static final String CONCURRENT_UPDATE_ERROR = "Publication was updated concurrently, please retry: ";
+    public static final int MAX_WRITE_ATTEMPTS = 5;
+    public static final long BASE_RETRY_DELAY_MILLIS = 20;
+    public static final String CHANGE_NOT_PUBLISHED_MESSAGE = "Could not publish the change of publisher: ";
+
     private final Logger logger = LoggerFactory.getLogger(DynamoDBDoiRequestsService.class);
     private final Clock clockForTimestamps;
-    private final ObjectMapper objectMapper;
+    private final PublicationItemCodec itemCodec;
 
+    private final AmazonDynamoDB client;
     private final Table publicationsTable;
-    private final Index doiRequestsIndex;
+    private final PublicationChangeFeed changeFeed;
+    private final DoiRequestHeaders headers;
+    private final DoiRequestHeaders functionRoleHeaders;
+    private final DoiRequestsFinder finder;
+    private final DoiRequestMessageThreads messageThreads;
+    private final DoiRequestsBulkOperations bulkOperations;
 
     /**
-     * Constructor for DynamoDBDoiRequestsService.
+     * Constructor for DynamoDBDoiRequestsService, with an empty header cache and cursors that only this instance can
+     * read.
      *
-     * @param table DynamoDB table
-     * @param index DynamoDB index
+     * @param client     the DynamoDB client of the table, used for the transactions of bulk status changes and new
+     *                   messages, or null when they are not used
+     * @param table      DynamoDB table
+     * @param index      DynamoDB index keyed on publisher and DOI request status
+     * @param ownerIndex DynamoDB index keyed on owner and DOI request status
+     * @param changeFeed feed the writes of the service are published to, and the cached find results are checked
+     *                   against, see {@link FindResultsCache}. Null turns the cache off.
      */
-    public DynamoDBDoiRequestsService(Table table, Index index) {
-        this.objectMapper = JsonUtils.objectMapper;
-        this.publicationsTable = table;
-        this.doiRequestsIndex = index;
-        this.clockForTimestamps = Clock.systemDefaultZone();
+    public DynamoDBDoiRequestsService(AmazonDynamoDB client, Table table, Index index, Index ownerIndex,
+                                      PublicationChangeFeed changeFeed) {
+        this(client, table, table, index, ownerIndex, changeFeed, new PublicationHeaderCache(),
+            PageCursorCodec.withRandomSecret(), Clock.systemDefaultZone());
     }
 
     protected DynamoDBDoiRequestsService(AmazonDynamoDB client, Environment environment, Clock clockForTimestamps) {
+        this(client, client, environment, clockForTimestamps);
+    }
 
+    /**
+     * Constructor for DynamoDBDoiRequestsService that reads the table and index names from the environment.
+     *
+     * @param client             the DynamoDB client with the credentials of the user, whose policy decides what the
+     *                           user may read and change
+     * @param functionRoleClient the DynamoDB client with the credentials of the role of the function, used for the
+     *                           reads whose access the service decides itself, see {@link DoiRequestAccess}
+     * @param environment        the environment with the table and index names
+     * @param clockForTimestamps clock used for the timestamps of the changes
+     */
+    protected DynamoDBDoiRequestsService(AmazonDynamoDB client, AmazonDynamoDB functionRoleClient,
+                                         Environment environment, Clock clockForTimestamps) {
+        this(client,
+            tableFromEnvironment(client, environment),
+            tableFromEnvironment(functionRoleClient, environment),
+            indexFromEnvironment(client, environment, ServiceConstants.DOI_REQUESTS_INDEX_ENV_VARIABLE),
+            indexFromEnvironment(client, environment, ServiceConstants.DOI_REQUESTS_BY_OWNER_INDEX_ENV_VARIABLE),
+            changeFeedFromEnvironment(functionRoleClient, environment),
+            headerCacheFromEnvironment(environment),
+            cursorCodecFromEnvironment(environment),
+            clockForTimestamps);
+    }
+
+    private DynamoDBDoiRequestsService(AmazonDynamoDB client, Table table, Table functionRoleTable, Index index,
+                                       Index ownerIndex, PublicationChangeFeed changeFeed,
+                                       PublicationHeaderCache headerCache, PageCursorCodec cursorCodec,
+                                       Clock clockForTimestamps) {
         this.clockForTimestamps = clockForTimestamps;
-        this.objectMapper = JsonUtils.objectMapper;
+        this.itemCodec = new PublicationItemCodec(JsonUtils.objectMapper);
+        this.client = client;
+        this.publicationsTable = table;
+        this.changeFeed = changeFeed;
+        this.headers = new DoiRequestHeaders(table, headerCache, itemCodec);
+        this.functionRoleHeaders = new DoiRequestHeaders(functionRoleTable, headerCache, itemCodec);
+        this.finder = new DoiRequestsFinder(index, ownerIndex, cursorCodec,
+            nonNull(changeFeed) ? new FindResultsCache(changeFeed) : FindResultsCache.disabled(),
+            itemCodec, JsonUtils.objectMapper);
+        this.messageThreads = new DoiRequestMessageThreads(functionRoleTable, cursorCodec, itemCodec);
+        this.bulkOperations = new DoiRequestsBulkOperations(client, table, headers, functionRoleHeaders,
+            itemCodec, this::recordWrite);
+    }
 
-        DynamoDB dynamoDB = new DynamoDB(client);
-        final var tableName = environment.readEnv(ServiceConstants.PUBLICATIONS_TABLE_NAME_ENV_VARIABLE);
-        final var indexName = environment.readEnv(ServiceConstants.DOI_REQUESTS_INDEX_ENV_VARIABLE);
-        this.publicationsTable = dynamoDB.getTable(tableName);
+    private static Table tableFromEnvironment(AmazonDynamoDB client, Environment environment) {
+        return new DynamoDB(client).getTable(environment.readEnv(ServiceConstants.PUBLICATIONS_TABLE_NAME_ENV_VARIABLE));
+    }
 
-        this.doiRequestsIndex = publicationsTable.getIndex(indexName);
+    private static Index indexFromEnvironment(AmazonDynamoDB client, Environment environment, String indexVariable) {
+        return tableFromEnvironment(client, environment).getIndex(environment.readEnv(indexVariable));
     }
 
-    @Override
-    public List<Publication> findDoiRequestsByStatus(URI publisher, DoiRequestStatus status)
-        throws ApiGatewayException {
-        return
-            extractMostRecentVersionOfEachPublication(publisher)
-                .stream()
-                .filter(publication -> hasDoiRequestStatus(publication, status))
-                .collect(Collectors.toList());
+    /*
+     * The feed is written by the consumer of the stream of the publications table, and by the services themselves so
+     * that a user sees their own changes before the stream has delivered them. Without the table of the feed nothing
+     * tells a container about the writes of the others, so the find results are not cached.
+     */
+    private static PublicationChangeFeed changeFeedFromEnvironment(AmazonDynamoDB functionRoleClient,
+                                                                   Environment environment) {
+        return environment.readEnvOpt(ServiceConstants.PUBLICATION_CHANGES_TABLE_NAME_ENV_VARIABLE)
+            .map(tableName -> new DynamoDB(functionRoleClient).getTable(tableName))
+            .map(DynamoDbPublicationChangeFeed::new)
+            .orElse(null);
+    }
+
+    private static PageCursorCodec cursorCodecFromEnvironment(Environment environment) {
+        return environment.readEnvOpt(ServiceConstants.PAGINATION_CURSOR_SECRET_ENV_VARIABLE)
+            .map(PageCursorCodec::new)
+            .orElseGet(PageCursorCodec::withRandomSecret);
     }
 
-    //TODO : Look at issue NP-1823:Getting doi requests for a user cannot be secured
+    /*
+     * A maximum size of zero turns the cache off, for deployments where every read has to see the latest write of
+     * every container.
+     */
+    private static PublicationHeaderCache headerCacheFromEnvironment(Environment environment) {
+        int maximumSize = environment.readEnvOpt(ServiceConstants.PUBLICATION_CACHE_SIZE_ENV_VARIABLE)
+            .map(Integer::parseInt)
+            .orElse(PublicationHeaderCache.DEFAULT_MAXIMUM_SIZE);
+        Duration timeToLive = environment.readEnvOpt(ServiceConstants.PUBLICATION_CACHE_TTL_SECONDS_ENV_VARIABLE)
+            .map(Long::parseLong)
+            .map(Duration::ofSeconds)
+            .orElse(PublicationHeaderCache.DEFAULT_TIME_TO_LIVE);
+        return new PublicationHeaderCache(timeToLive, maximumSize, Clock.systemUTC());
+    }
+
+    /**
+     * Finds the current version of each publication whose DOI request has the given status, see
+     * {@link DoiRequestsFinder#findPublications(URI, DoiRequestStatus, String)}.
+     *
+     * @param publisher the publisher id.
+     * @param status    the DOI request status.
+     * @return the current version of each matching publication.
+     * @throws ApiGatewayException when the index query fails.
+     */
     @Override
-    public List<Publication> findDoiRequestsByStatusAndOwner(URI publisher, DoiRequestStatus status, String owner)
+    public List<Publication> findDoiRequestsByStatus(URI publisher, DoiRequestStatus status)
         throws ApiGatewayException {
-        return findDoiRequestsByStatus(publisher, status)
-            .stream()
-            .parallel()
-            .filter(publication -> belongsToUser(owner, publication))
-            .collect(Collectors.toList());
+        return finder.findPublications(publisher, status, null);
     }
 
     @Override
-    public Optional<Publication> fetchDoiRequestByPublicationIdentifier(UUID publicationIdentifier)
-        throws NotFoundException {
-        Publication publication = fetchPublicationByIdentifier(publicationIdentifier);
-        return Optional.of(publication);
+    public DoiRequestsPage findDoiRequestsByStatus(URI publisher, DoiRequestStatus status, int pageSize,
+                                                   String cursor) throws ApiGatewayException {
+        return finder.findPage(publisher, status, null, pageSize, cursor);
     }
 
+    /**
+     * Finds the current version of each publication of the given owner whose DOI request has the given status. The
+     * query goes through the owner index, so the read cost follows the number of the owner's own requests.
+     *
+     * @param publisher the publisher id.
+     * @param status    the DOI request status.
+     * @param owner     the owner of the publications.
+     * @return the current version of each matching publication.
+     * @throws ApiGatewayException when the index query fails.
+     */
     @Override
-    public void createDoiRequest(CreateDoiRequest createDoiRequest, String username)
+    public List<Publication> findDoiRequestsByStatusAndOwner(URI publisher, DoiRequestStatus status, String owner)
         throws ApiGatewayException {
-
-        Publication publication = fetchPublicationForUser(createDoiRequest, username);
-        verifyThatPublicationHasNoPreviousDoiRequest(publication);
-        DoiRequest newDoiRequestEntry = createDoiRequestEntry(createDoiRequest, username);
-        replaceDoiRequestInPublication(publication, newDoiRequestEntry);
-        putItem(publication);
+        return finder.findPublications(publisher, status, owner);
     }
 
     @Override
-    public void updateDoiRequest(UUID publicationIdentifier, ApiUpdateDoiRequest apiUpdateDoiRequest,
-                                 String requestedByUsername, List<AccessRight> userAccessRights)
+    public DoiRequestsPage findDoiRequestsByStatusAndOwner(URI publisher, DoiRequestStatus status, String owner,
+                                                           int pageSize, String cursor)
         throws ApiGatewayException {
-
-        authorizeChange(apiUpdateDoiRequest.getDoiRequestStatus(), userAccessRights, requestedByUsername);
-
-        Publication publication = fetchPublicationByIdentifier(publicationIdentifier);
-
-
-        DoiRequest updatedDoiRequest =
-            doiRequestCloneWithNewStatusAndNewMessage(publication, apiUpdateDoiRequest, requestedByUsername);
-
-        replaceDoiRequestInPublication(publication, updatedDoiRequest);
-        putItem(publication);
+        return finder.findPage(publisher, status, owner, pageSize, cursor);
     }
 
-
+    /**
+     * Finds one page of DOI requests with any of the given statuses, in the given order, see
+     * {@link DoiRequestsFinder#findPage(URI, List, String, DoiRequestsSort, int, String)}.
+     *
+     * @param publisher the publisher id.
+     * @param statuses  the DOI request statuses.
+     * @param owner     the owner of the publications, or null for the DOI requests of all owners.
+     * @param sort      the order of the DOI requests.
+     * @param pageSize  the maximum number of DOI requests in the page.
+     * @param cursor    the cursor returned with the previous page, or null for the first page.
+     * @return the page, with a cursor for the next page if there are more results.
+     * @throws ApiGatewayException when the cursor is invalid or the query fails.
+     */
     @Override
-    public void addMessage(UUID publicationIdentifier, String message, UserInstance user)
+    public DoiRequestsPage findDoiRequests(URI publisher, List<DoiRequestStatus> statuses, String owner,
+                                           DoiRequestsSort sort, int pageSize, String cursor)
         throws ApiGatewayException {
-        Instant now = clockForTimestamps.instant();
-        Publication publication = fetchPublicationByIdentifier(publicationIdentifier);
-        authorizeSendingMessage(publication, user);
+        return finder.findPage(publisher, statuses, owner, sort, pageSize, cursor);
+    }
 
-        DoiRequestMessage doiRequestMessage = createNewDoiRequestMessage(message, user.getUserId(), now);
-        List<DoiRequestMessage> messages = extractExistingMessages(publication);
-        messages.add(doiRequestMessage);
-        replaceDoiRequestMessageMessageListInPublication(publication, now, messages);
-        putItem(publication);
+    /**
+     * Reads the sequence number of the changes to the publications of a publisher from the change feed. A change
+     * written by another service reaches the feed through the stream of the table, so it moves the sequence number
+     * within the delay of the stream.
+     *
+     * @param publisher the publisher id.
+     * @return the sequence number, or empty when the service has no change feed or the feed cannot be read.
+     */
+    @Override
+    public Optional<Long> findDoiRequestsSequenceNumber(URI publisher) {
+        return Optional.ofNullable(changeFeed)
+            .flatMap(feed -> attempt(() -> feed.sequenceNumber(publisher)).toOptional());
     }
 
-    private void authorizeSendingMessage(Publication publication, UserInstance user)
-        throws ForbiddenException {
-        if (userIsNotAuthorizedToSendMessage(publication, user)) {
-            throw new ForbiddenException();
+    /**
+     * Fetches the current version of a publication, with the whole message thread of its DOI request.
+     *
+     * @param publicationIdentifier the publication identifier.
+     * @return the current version of the publication.
+     * @throws NotFoundException when the publication does not exist.
+     */
+    @Override
+    public Optional<Publication> fetchDoiRequestByPublicationIdentifier(UUID publicationIdentifier)
+        throws NotFoundException {
+        Publication publication = headers.decode(headers.fetchCurrentVersion(publicationIdentifier));
+        if (nonNull(publication.getDoiRequest())) {
+            publication.getDoiRequest().setMessages(
+                messageThreads.fullThread(publicationIdentifier, publication.getDoiRequest()));
         }
+        return Optional.of(publication);
     }
 
-    private boolean userIsNotAuthorizedToSendMessage(Publication publication,
-                                                     UserInstance user) {
-        return !(
-            userIsPublicationOwner(publication, user.getUserId())
-                || userHasUpdateDoiRequestRightsForPublication(publication, user)
-            );
+    /**
+     * Finds the status of the DOI requests of several publications at once. The current version of each publication is
+     * read with the same small query as a single status change, and the queries are run in parallel. A publication is
+     * left out when it does not exist, has no DOI request, or the user is neither its owner nor allowed to read the DOI
+     * requests of its publisher. Like the message thread, the statuses are read with the role of the function.
+     *
+     * @param publicationIdentifiers the publication identifiers.
+     * @param user                   the user looking up the statuses.
+     * @return the status of each DOI request the user may read, keyed by publication identifier.
+     * @throws ApiGatewayException when a query fails.
+     */
+    @Override
+    public Map<UUID, DoiRequestStatus> findDoiRequestStatuses(List<UUID> publicationIdentifiers, UserInstance user)
+        throws ApiGatewayException {
+        return bulkOperations.findStatuses(publicationIdentifiers, user);
     }
 
-    private boolean userHasUpdateDoiRequestRightsForPublication(Publication publication,
-                                                                UserInstance user) {
-
-        return userHasRightToUpdateDoiRequestStatus(user)
-            && userBelongsToThePublicationsInstitution(publication, user);
+    /**
+     * Returns one page of the message thread of a DOI request, oldest message first. The thread can be read by the
+     * users who can send messages to it. The policy of the assumed role only covers the indexes, so the thread is read
+     * with the role of the function, after the service has decided the user may read it.
+     *
+     * @param publicationIdentifier the publication identifier.
+     * @param user                  the user reading the thread.
+     * @param pageSize              the maximum number of messages in the page.
+     * @param cursor                the cursor returned with the previous page, or null for the first page.
+     * @return the page, with a cursor for the next page if there are more messages.
+     * @throws ApiGatewayException when the publication does not exist, the user may not read the thread, the cursor
+     *                             is invalid or the query fails.
+     */
+    @Override
+    public DoiRequestMessagesPage findMessages(UUID publicationIdentifier, UserInstance user, int pageSize,
+                                               String cursor) throws ApiGatewayException {
+        DoiRequestAccess.authorizeMessageThread(
+            functionRoleHeaders.decode(functionRoleHeaders.fetch(publicationIdentifier)), user);
+        return messageThreads.findPage(publicationIdentifier, pageSize, cursor);
     }
 
-    private boolean userHasRightToUpdateDoiRequestStatus(UserInstance user) {
-        return user.getAccessRights().contains(APPROVE_DOI_REQUEST)
-            && user.getAccessRights().contains(REJECT_DOI_REQUEST);
+    /**
+     * Reads the version of the message thread of a DOI request, see
+     * {@link DoiRequestMessageThreads#threadVersion(UUID)}. The header the user is authorized with is kept in the
+     * header cache, so a page of the thread read next is authorized without reading it again.
+     *
+     * @param publicationIdentifier the publication identifier.
+     * @param user                  the user reading the thread.
+     * @return values that change whenever a message is added to the thread.
+     * @throws ApiGatewayException when the publication does not exist, the user may not read the thread or the query
+     *                             fails.
+     */
+    @Override
+    public List<Object> findMessageThreadVersion(UUID publicationIdentifier, UserInstance user)
+        throws ApiGatewayException {
+        DoiRequestAccess.authorizeMessageThread(
+            functionRoleHeaders.decode(functionRoleHeaders.fetch(publicationIdentifier)), user);
+        return messageThreads.threadVersion(publicationIdentifier);
     }
 
-    private boolean userBelongsToThePublicationsInstitution(Publication publication, UserInstance user) {
-        URI userInstitution = user.getPublisherId().orElse(null);
+    @Override
+    public void createDoiRequest(CreateDoiRequest createDoiRequest, String username)
+        throws ApiGatewayException {
 
-        return Optional.ofNullable(publication.getPublisher())
-            .map(Organization::getId)
-            .filter(publicationInstitution -> publicationInstitution.equals(userInstitution))
-            .isPresent();
+        UUID publicationIdentifier = UUID.fromString(createDoiRequest.getPublicationId());
+        updateDoiRequestInPlace(publicationIdentifier, (currentVersion, publication) -> {
+            validateUsername(publication, username);
+            verifyThatPublicationHasNoPreviousDoiRequest(publication);
+            publication.setDoiRequest(newDoiRequest());
+            DoiRequestUpdate update = new DoiRequestUpdate(currentVersion, itemCodec.encodeItem(publication))
+                .withNewDoiRequest(username);
+            createDoiRequest.getMessage()
+                .map(message -> createMessage(message, username))
+                .ifPresent(update::withNewMessage);
+            return update;
+        });
     }
 
-    private boolean userIsPublicationOwner(Publication publication, String userId) {
-        return publication.getOwner().equals(userId);
-    }
+    @Override
+    public void updateDoiRequest(UUID publicationIdentifier, ApiUpdateDoiRequest apiUpdateDoiRequest,
+                                 String requestedByUsername, List<AccessRight> userAccessRights)
+        throws ApiGatewayException {
 
-    private void replaceDoiRequestMessageMessageListInPublication(Publication publication,
-                                                                  Instant now,
-                                                                  List<DoiRequestMessage> messages) {
-        DoiRequest updatedDoiRequest = addMessageToDoiRequest(now, publication, messages);
-        publication.setDoiRequest(updatedDoiRequest);
-        publication.setModifiedDate(now);
-    }
+        authorizeChange(apiUpdateDoiRequest.getDoiRequestStatus(), userAccessRights, requestedByUsername);
 
-    private DoiRequest addMessageToDoiRequest(Instant now, Publication publication, List<DoiRequestMessage> messages) {
-        return publication.getDoiRequest().copy()
-            .withMessages(messages)
-            .withModifiedDate(now)
-            .build();
+        updateDoiRequestInPlace(publicationIdentifier, (currentVersion, publication) -> {
+            Instant now = clockForTimestamps.instant();
+            publication.setDoiRequest(
+                copyExistingDoiRequestAndUpdateStatus(existingDoiRequest(publication), apiUpdateDoiRequest, now)
+                    .build());
+            DoiRequestUpdate update = new DoiRequestUpdate(currentVersion, itemCodec.encodeItem(publication))
+                .withStatusTransition();
+            createDoiRequestMessage(apiUpdateDoiRequest, requestedByUsername, now).ifPresent(update::withNewMessage);
+            return update;
+        });
     }
 
+    /**
+     * Changes the status of the DOI requests of several publications at once. The user is authorized once, and the
+     * changes are written in transactions, see
+     * {@link DoiRequestsBulkOperations#updateStatuses(List, DoiRequestStatus, Instant)}.
+     *
+     * @param publicationIdentifiers the publications whose DOI requests are changed.
+     * @param status                 the new status.
+     * @param requestedByUsername    the user changing the status.
+     * @param userAccessRights       the access rights of the user.
+     * @return the result for each publication, in the order they were given.
+     * @throws ApiGatewayException when the user may not change the status or the current versions cannot be read.
+     */
+    @Override
+    public List<DoiRequestStatusChange> updateDoiRequests(List<UUID> publicationIdentifiers, DoiRequestStatus status,
+                                                          String requestedByUsername,
+                                                          List<AccessRight> userAccessRights)
+        throws ApiGatewayException {
 
-    private DoiRequest doiRequestCloneWithNewStatusAndNewMessage(Publication publication,
-                                                                 ApiUpdateDoiRequest apiUpdateDoiRequest,
-                                                                 String requestedByUsername
-    ) throws BadRequestException {
-
-        Instant currentTime = clockForTimestamps.instant();
-
-        DoiRequest existingDoiRequest = publication.getDoiRequest();
-        DoiRequest.Builder updatedDoiRequestBuilder =
-            copyExistingDoiRequestAndUpdateStatus(existingDoiRequest, apiUpdateDoiRequest, currentTime);
-
-        addMessageToNewDoiRequestObject(apiUpdateDoiRequest, requestedByUsername, currentTime,
-            updatedDoiRequestBuilder);
-
-        return updatedDoiRequestBuilder.build();
+        authorizeChange(status, userAccessRights, requestedByUsername);
+        return bulkOperations.updateStatuses(publicationIdentifiers, status, clockForTimestamps.instant());
     }
 
-    private void addMessageToNewDoiRequestObject(ApiUpdateDoiRequest apiUpdateDoiRequest, String requestedByUsername,
-                                                 Instant currentTime,
-                                                 DoiRequest.Builder updatedDoiRequestBuilder) {
-        createDoiRequestMessage(apiUpdateDoiRequest, requestedByUsername, currentTime)
-            .ifPresent(updatedDoiRequestBuilder::addMessage);
+    @Override
+    public void addMessage(UUID publicationIdentifier, String message, UserInstance user)
+        throws ApiGatewayException {
+        updateDoiRequestInPlace(publicationIdentifier, (currentVersion, publication) -> {
+            Instant now = clockForTimestamps.instant();
+            DoiRequestAccess.authorizeMessageThread(publication, user);
+
+            publication.setDoiRequest(existingDoiRequest(publication).copy().withModifiedDate(now).build());
+            return new DoiRequestUpdate(currentVersion, itemCodec.encodeItem(publication))
+                .withModifiedDoiRequest()
+                .withNewMessage(createNewDoiRequestMessage(message, user.getUserId(), now));
+        });
     }
 
     private DoiRequestMessage createNewDoiRequestMessage(String message, String userId, Instant now) {
@@ -263,16 +437,9 @@ public class DynamoDBDoiRequestsService implements DoiRequestsService {
             .build();
     }
 
-
-    private List<DoiRequestMessage> extractExistingMessages(Publication publication) {
+    private DoiRequest existingDoiRequest(Publication publication) throws BadRequestException {
         return Optional.ofNullable(publication.getDoiRequest())
-            .map(DoiRequest::getMessages)
-            .orElse(new ArrayList<>());
-    }
-
-    private void replaceDoiRequestInPublication(Publication publication, DoiRequest updatedDoiRequest) {
-        publication.setDoiRequest(updatedDoiRequest);
-        publication.setModifiedDate(updatedDoiRequest.getModifiedDate());
+            .orElseThrow(() -> new BadRequestException(ERROR_MESSAGE_UPDATE_DOIREQUEST_MISSING_DOIREQUEST));
     }
 
     private Optional<DoiRequestMessage> createDoiRequestMessage(ApiUpdateDoiRequest apiUpdateDoiRequest,
@@ -283,12 +450,10 @@ public class DynamoDBDoiRequestsService implements DoiRequestsService {
 
     private DoiRequest.Builder copyExistingDoiRequestAndUpdateStatus(DoiRequest existingDoiRequest,
                                                                      ApiUpdateDoiRequest apiUpdateDoiRequest,
-                                                                     Instant now) throws BadRequestException {
-        return Optional.ofNullable(existingDoiRequest)
-            .map(DoiRequest::copy)
-            .map(builder -> builder.withStatus(apiUpdateDoiRequest.getDoiRequestStatus()))
-            .map(builder -> builder.withModifiedDate(now))
-            .orElseThrow(() -> new BadRequestException(ERROR_MESSAGE_UPDATE_DOIREQUEST_MISSING_DOIREQUEST));
+                                                                     Instant now) {
+        return existingDoiRequest.copy()
+            .withStatus(apiUpdateDoiRequest.getDoiRequestStatus())
+            .withModifiedDate(now);
     }
 
     private void authorizeChange(DoiRequestStatus requestedStatusChange,
@@ -322,101 +487,17 @@ public class DynamoDBDoiRequestsService implements DoiRequestsService {
         return DoiRequestStatus.APPROVED.equals(requestedStatusChange);
     }
 
-    private List<Publication> extractMostRecentVersionOfEachPublication(URI publisher) throws ApiGatewayException {
-
-        return attempt(() -> queryByPublisher(publisher))
-            .map(this::extractPublications)
-            .map(this::filterNotPublishedPublications)
-            .map(this::keepMostRecentPublications)
-            .orElseThrow(this::handleDynamoDbException);
-    }
-
-    private List<Publication> filterNotPublishedPublications(List<Publication> list) {
-        return list
-            .stream()
-            .filter(pub -> PublicationStatus.PUBLISHED.equals(pub.getStatus()))
-            .collect(Collectors.toList());
-    }
-
-    private boolean hasDoiRequestStatus(Publication publication, DoiRequestStatus desiredStatus) {
-        return Optional.of(publication)
-            .map(Publication::getDoiRequest)
-            .map(DoiRequest::getStatus)
-            .filter(desiredStatus::equals)
-            .isPresent();
-    }
-
-    private List<Publication> keepMostRecentPublications(List<Publication> publications) {
-        return publications.stream()
-            .parallel()
-            .collect(Collectors.groupingBy(Publication::getIdentifier))
-            .values()
-            .stream()
-            .flatMap(this::mostRecentPublication)
-            .collect(Collectors.toList());
-    }
-
-    private Stream<Publication> mostRecentPublication(List<Publication> publicationList) {
-        return publicationList
-            .stream()
-            .max(Comparator.comparing(Publication::getModifiedDate))
-            .stream();
-    }
-
     private boolean belongsToUser(String owner, Publication publication) {
         return nonNull(publication.getOwner()) && publication.getOwner().equals(owner);
     }
 
-    private ItemCollection<QueryOutcome> queryByPublisher(URI publisher) {
-        QuerySpec querySpec = new QuerySpec().withHashKey(PUBLISHER_ID, publisher.toString());
-        return doiRequestsIndex.query(querySpec);
-    }
-
-    private <T> ApiGatewayException handleDynamoDbException(Failure<T> fail) {
-        if (isAccessDeniedException(fail.getException())) {
-            return new ForbiddenException();
-        }
-        return new DynamoDBException(ERROR_READING_FROM_TABLE, fail.getException());
-    }
-
-    private boolean isAccessDeniedException(Exception exception) {
-        return exception instanceof AmazonDynamoDBException
-            && exception.getMessage().contains(ACCESS_DENIED_ERROR_MESSAGE);
-    }
-
-    private List<Publication> extractPublications(ItemCollection<QueryOutcome> outcome) {
-        List<Publication> publications = new ArrayList<>();
-        for (Item item : outcome) {
-            Publication publication = itemToPublication(item);
-            publications.add(publication);
-        }
-        return publications;
-    }
-
-    private Publication fetchPublicationForUser(CreateDoiRequest createDoiRequest, String username)
-        throws NotFoundException, ForbiddenException {
-        var publication = fetchPublicationByIdentifier(UUID.fromString(createDoiRequest.getPublicationId()));
-        validateUsername(publication, username);
-        return publication;
-    }
-
-    private DoiRequest createDoiRequestEntry(CreateDoiRequest createDoiRequest, String username) {
-        return createDoiRequest.getMessage()
-            .map(message -> doiRequestBuilderWithMessage(message, username))
-            .orElse(doiRequestBuilderWithoutMessage())
-            .build();
-    }
-
-    private DoiRequest.Builder doiRequestBuilderWithMessage(String message, String username) {
-        return doiRequestBuilderWithoutMessage().addMessage(createMessage(message, username));
-    }
-
-    private DoiRequest.Builder doiRequestBuilderWithoutMessage() {
+    private DoiRequest newDoiRequest() {
         Instant now = Instant.now(clockForTimestamps);
         return new DoiRequest.Builder()
             .withStatus(DoiRequestStatus.REQUESTED)
             .withCreatedDate(now)
-            .withModifiedDate(now);
+            .withModifiedDate(now)
+            .build();
     }
 
     private void verifyThatPublicationHasNoPreviousDoiRequest(Publication publication) throws ConflictException {
@@ -436,52 +517,133 @@ public class DynamoDBDoiRequestsService implements DoiRequestsService {
         return createNewDoiRequestMessage(message, author, Instant.now(clockForTimestamps));
     }
 
-    private void putItem(Publication publication) throws ApiGatewayException {
-        Item item = publicationToItem(publication);
-        PutItemSpec putItemSpec = new PutItemSpec().withItem(item);
-        attempt(() -> publicationsTable.putItem(putItemSpec))
-            .orElseThrow(this::handleDynamoDbException);
+    /*
+     * DOI requests are created, have their status changed and get new messages in place on the current version, with
+     * a single conditional UpdateItem. The conditions repeat the checks made on the read beforehand, which only fetches
+     * the key and the attributes those checks need. When a condition fails, the publication is read again, so the
+     * checks either report why the write was refused or the write is retried with a jittered delay. A new message is
+     * written as an item of its own in one transaction with the update that counts it, so it is only written when the
+     * user is allowed to send it, and the count never misses a stored message.
+     */
+    private void updateDoiRequestInPlace(UUID publicationIdentifier, DoiRequestChange change)
+        throws ApiGatewayException {
+        retryOnWriteConflict(publicationIdentifier, () -> {
+            DoiRequestUpdate doiRequestUpdate = applyToCurrentVersion(publicationIdentifier, change);
+            long writeStart = System.nanoTime();
+            Try<List<ConsumedCapacity>> result = doiRequestUpdate.getNewMessage().isPresent()
+                ? attempt(() -> writeInTransaction(doiRequestUpdate))
+                : attempt(() -> writeUpdate(doiRequestUpdate));
+            EmbeddedMetrics.current().recordLatencySince(Phase.WRITE, writeStart);
+            if (result.isFailure() && isWriteConflict(result.getException())) {
+                headers.invalidate(publicationIdentifier);
+                return false;
+            }
+            result.orElseThrow(DynamoDbExceptions::handleDynamoDbException)
+                .forEach(capacity -> EmbeddedMetrics.current()
+                    .addConsumedCapacity(Counter.CONSUMED_WRITE_CAPACITY, capacity));
+            recordWrite(publicationIdentifier, doiRequestUpdate.updatedHeader());
+            return true;
+        });
+    }
+
+    private List<ConsumedCapacity> writeUpdate(DoiRequestUpdate doiRequestUpdate) {
+        UpdateItemOutcome outcome = publicationsTable.updateItem(doiRequestUpdate.toUpdateItemSpec());
+        return Optional.ofNullable(outcome.getUpdateItemResult().getConsumedCapacity())
+            .map(List::of)
+            .orElse(List.of());
+    }
+
+    private List<ConsumedCapacity> writeInTransaction(DoiRequestUpdate doiRequestUpdate) {
+        TransactWriteItemsRequest request = new TransactWriteItemsRequest()
+            .withTransactItems(doiRequestUpdate.toTransactWriteItems(publicationsTable.getTableName()))
+            .withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+        return Optional.ofNullable(client.transactWriteItems(request).getConsumedCapacity())
+            .orElse(List.of());
+    }
+
+    /*
+     * A transaction is cancelled both when a condition fails and when it conflicts with another write to the same
+     * items, and either way the change is applied again to a fresh read.
+     */
+    private static boolean isWriteConflict(Exception exception) {
+        return exception instanceof ConditionalCheckFailedException
+            || exception instanceof TransactionCanceledException;
     }
 
-    private Publication fetchPublicationByIdentifier(UUID publicationIdentifier) throws NotFoundException {
-        return Optional.of(queryLatestPublication(publicationIdentifier))
-            .flatMap(this::executeQuery)
-            .map(this::itemToPublication)
-            .orElseThrow(() -> handlePublicationNotFoundError(publicationIdentifier));
+    private void recordWrite(UUID publicationIdentifier, Map<String, AttributeValue> updatedHeader) {
+        headers.put(publicationIdentifier, updatedHeader);
+        if (nonNull(changeFeed)) {
+            PublicationChange.fromDoiRequestHeader(updatedHeader).ifPresent(this::publishChange);
+        }
     }
 
-    private NotFoundException handlePublicationNotFoundError(UUID publicationIdentifier) {
-        logger.error(PUBLICATION_NOT_FOUND_ERROR_MESSAGE + publicationIdentifier.toString());
-        return new NotFoundException(PUBLICATION_NOT_FOUND_ERROR_MESSAGE + publicationIdentifier.toString());
+    /*
+     * The write has been made by now, and the stream publishes it as well, so a change that cannot be published here
+     * only reaches the cached find results a little later.
+     */
+    private void publishChange(PublicationChange change) {
+        try {
+            changeFeed.publish(change);
+        } catch (AmazonClientException e) {
+            logger.warn(CHANGE_NOT_PUBLISHED_MESSAGE + change.getPublisherId(), e);
+        }
     }
 
-    private Publication itemToPublication(Item item) {
-        return objectMapper.convertValue(item.asMap(), Publication.class);
+    /*
+     * A cached header may be older than the table, so a change that is refused on the grounds of a cached header is
+     * applied again to a header read from the table before the refusal is reported.
+     */
+    private DoiRequestUpdate applyToCurrentVersion(UUID publicationIdentifier, DoiRequestChange change)
+        throws ApiGatewayException {
+        Optional<Map<String, AttributeValue>> cachedHeader = headers.cached(publicationIdentifier);
+        if (cachedHeader.isPresent()) {
+            try {
+                return applyChange(change, cachedHeader.get());
+            } catch (ApiGatewayException refusal) {
+                headers.invalidate(publicationIdentifier);
+            }
+        }
+        return applyChange(change, headers.read(publicationIdentifier));
     }
 
-    private Item publicationToItem(Publication publication) {
-        String serialized = attempt(() -> objectMapper.writeValueAsString(publication))
-            .orElseThrow(fail -> new RuntimeException(fail.getException()));
-        return Item.fromJSON(serialized);
+    private DoiRequestUpdate applyChange(DoiRequestChange change, Map<String, AttributeValue> header)
+        throws ApiGatewayException {
+        return change.apply(ItemUtils.toItem(header), headers.decode(header));
     }
 
-    private Optional<Item> executeQuery(QuerySpec query) {
-        ItemCollection<QueryOutcome> result = publicationsTable.query(query);
-        return extractSingleItemFromResult(result);
+    private void retryOnWriteConflict(UUID publicationIdentifier, WriteAttempt writeAttempt)
+        throws ApiGatewayException {
+        for (int attempt = 1; attempt <= MAX_WRITE_ATTEMPTS; attempt++) {
+            if (writeAttempt.write()) {
+                return;
+            }
+            if (attempt < MAX_WRITE_ATTEMPTS) {
+                waitBeforeRetry(attempt);
+            }
+        }
+        logger.warn(CONCURRENT_UPDATE_ERROR + publicationIdentifier);
+        throw new ConflictException(CONCURRENT_UPDATE_ERROR + publicationIdentifier);
     }
 
-    private Optional<Item> extractSingleItemFromResult(ItemCollection<QueryOutcome> result) {
-        IteratorSupport<Item, QueryOutcome> iterator = result.iterator();
-        if (iterator.hasNext()) {
-            return Optional.of(iterator.next());
+    private void waitBeforeRetry(int attempt) {
+        long maxDelay = BASE_RETRY_DELAY_MILLIS << (attempt - 1);
+        long delay = ThreadLocalRandom.current().nextLong(maxDelay + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-        return Optional.empty();
     }
 
-    private QuerySpec queryLatestPublication(UUID publicationIdentifier) {
-        return new QuerySpec()
-            .withHashKey(new KeyAttribute(PUBLICATION_ID_HASH_KEY_NAME, publicationIdentifier.toString()))
-            .withScanIndexForward(false)
-            .withMaxResultSize(SINGLE_ITEM);
+    @FunctionalInterface
+    private interface DoiRequestChange {
+
+        DoiRequestUpdate apply(Item currentVersion, Publication publication) throws ApiGatewayException;
+    }
+
+    @FunctionalInterface
+    private interface WriteAttempt {
+
+        boolean write() throws ApiGatewayException;
     }
 }
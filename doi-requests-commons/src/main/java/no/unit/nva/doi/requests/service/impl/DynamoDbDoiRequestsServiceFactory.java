@@ -4,7 +4,10 @@ import com.amazonaws.SdkClientException;
 import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
+import com.amazonaws.services.securitytoken.model.Tag;
 import java.time.Clock;
+import java.util.Collection;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import nva.commons.utils.Environment;
 import nva.commons.utils.JacocoGenerated;
@@ -17,16 +20,25 @@ public class DynamoDbDoiRequestsServiceFactory {
     public static final AWSCredentialsProvider EMPTY_CREDENTIALS = null;
     private static final Logger logger = LoggerFactory.getLogger(DynamoDbDoiRequestsServiceFactory.class);
 
-    private final Function<AWSCredentialsProvider, DynamoDBDoiRequestsService> serviceProvider;
+    private static AmazonDynamoDB functionRoleClient;
+
+    private final BiFunction<AWSCredentialsProvider, Collection<Tag>, DynamoDBDoiRequestsService> serviceProvider;
 
     @JacocoGenerated
     public DynamoDbDoiRequestsServiceFactory() {
         this(defaultEnvironment());
     }
 
+    /**
+     * Create a factory that reuses the service, and its DynamoDB client, of credentials it has seen recently. See
+     * {@link DoiRequestsServiceCache}.
+     *
+     * @param environment the environment with the table and index names.
+     */
     @JacocoGenerated
     public DynamoDbDoiRequestsServiceFactory(Environment environment) {
-        this(credentialsProvider -> serviceWitDefaultClientWithCredentials(credentialsProvider, environment));
+        this(new DoiRequestsServiceCache(
+            credentialsProvider -> serviceWitDefaultClientWithCredentials(credentialsProvider, environment)));
     }
 
     /**
@@ -38,6 +50,18 @@ public class DynamoDbDoiRequestsServiceFactory {
     @JacocoGenerated
     public DynamoDbDoiRequestsServiceFactory(
         Function<AWSCredentialsProvider, DynamoDBDoiRequestsService> serviceProvider) {
+        this((credentials, sessionTags) -> serviceProvider.apply(credentials));
+    }
+
+    /**
+     * Create a factory whose provider is also given the session tags the credentials were assumed with, such as
+     * {@link DoiRequestsServiceCache}.
+     *
+     * @param serviceProvider a function of the credentials and their session tags.
+     */
+    @JacocoGenerated
+    public DynamoDbDoiRequestsServiceFactory(
+        BiFunction<AWSCredentialsProvider, Collection<Tag>, DynamoDBDoiRequestsService> serviceProvider) {
         this.serviceProvider = serviceProvider;
     }
 
@@ -61,7 +85,12 @@ public class DynamoDbDoiRequestsServiceFactory {
 
     @JacocoGenerated
     public DynamoDBDoiRequestsService getService(AWSCredentialsProvider credentials) {
-        return serviceProvider.apply(credentials);
+        return getService(credentials, null);
+    }
+
+    @JacocoGenerated
+    public DynamoDBDoiRequestsService getService(AWSCredentialsProvider credentials, Collection<Tag> sessionTags) {
+        return serviceProvider.apply(credentials, sessionTags);
     }
 
     @JacocoGenerated
@@ -84,12 +113,25 @@ public class DynamoDbDoiRequestsServiceFactory {
 
         try {
             var client = AmazonDynamoDBClientBuilder.standard().withCredentials(credentials).build();
-            return new DynamoDBDoiRequestsService(client, environment, Clock.systemDefaultZone());
+            return new DynamoDBDoiRequestsService(client, functionRoleClient(), environment,
+                Clock.systemDefaultZone());
         } catch (SdkClientException e) {
             return handleMissingSdkClientError();
         }
     }
 
+    /*
+     * The client with the credentials of the role of the function is the same for every user, so it is built once
+     * per container.
+     */
+    @JacocoGenerated
+    private static synchronized AmazonDynamoDB functionRoleClient() {
+        if (functionRoleClient == null) {
+            functionRoleClient = AmazonDynamoDBClientBuilder.defaultClient();
+        }
+        return functionRoleClient;
+    }
+
     @JacocoGenerated
     private static DynamoDBDoiRequestsService handleMissingSdkClientError() {
         logger.error(MISSING_SDK_CLIENT_ERROR);
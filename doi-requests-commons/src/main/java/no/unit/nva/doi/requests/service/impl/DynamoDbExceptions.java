@@ -0,0 +1,41 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static no.unit.nva.doi.requests.service.impl.DynamoDBDoiRequestsService.ACCESS_DENIED_ERROR_MESSAGE;
+import static no.unit.nva.doi.requests.service.impl.DynamoDBDoiRequestsService.ERROR_READING_FROM_TABLE;
+import com.amazonaws.services.dynamodbv2.model.AmazonDynamoDBException;
+import no.unit.nva.doi.requests.exception.DynamoDBException;
+import nva.commons.exceptions.ApiGatewayException;
+import nva.commons.exceptions.ForbiddenException;
+import nva.commons.utils.attempt.Failure;
+
+/**
+ * Maps the exceptions of DynamoDB requests to the exceptions the handlers answer with. A request the policy of the
+ * assumed role does not allow is answered as forbidden, any other failure as an error reading from the table.
+ */
+public final class DynamoDbExceptions {
+
+    private DynamoDbExceptions() {
+    }
+
+    public static <T> ApiGatewayException handleDynamoDbException(Failure<T> fail) {
+        return toApiGatewayException(fail.getException());
+    }
+
+    /**
+     * Maps the exception of a DynamoDB request.
+     *
+     * @param exception the exception.
+     * @return a ForbiddenException when access was denied, otherwise a DynamoDBException.
+     */
+    public static ApiGatewayException toApiGatewayException(Exception exception) {
+        if (isAccessDeniedException(exception)) {
+            return new ForbiddenException();
+        }
+        return new DynamoDBException(ERROR_READING_FROM_TABLE, exception);
+    }
+
+    private static boolean isAccessDeniedException(Exception exception) {
+        return exception instanceof AmazonDynamoDBException
+            && exception.getMessage().contains(ACCESS_DENIED_ERROR_MESSAGE);
+    }
+}
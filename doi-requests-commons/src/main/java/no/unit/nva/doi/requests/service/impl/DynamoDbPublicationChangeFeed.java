@@ -0,0 +1,55 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.CHANGES_SEQUENCE_NUMBER_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.CHANGES_TABLE_HASH_KEY;
+import com.amazonaws.services.dynamodbv2.document.Table;
+import com.amazonaws.services.dynamodbv2.document.spec.GetItemSpec;
+import com.amazonaws.services.dynamodbv2.document.spec.UpdateItemSpec;
+import java.net.URI;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Change feed kept in a table of its own, with one item per publisher holding the sequence number of the publisher.
+ * The table is fed from the DynamoDB stream of the publications table, see
+ * {@link PublicationChangeFeed#publishStreamRecords(Collection)}, so every container of every function sees the
+ * changes, whichever function or service made them.
+ *
+ * <p>Reading the sequence number of a publisher is a strongly consistent read of one small item, which is what a
+ * cached find result costs instead of the query.
+ */
+public class DynamoDbPublicationChangeFeed implements PublicationChangeFeed {
+
+    public static final String SEQUENCE_NUMBER_PLACEHOLDER = "#sequenceNumber";
+    public static final String INCREMENT_VALUE = ":increment";
+    public static final String INCREMENT_SEQUENCE_NUMBER = "ADD " + SEQUENCE_NUMBER_PLACEHOLDER + " " + INCREMENT_VALUE;
+
+    private final Table changesTable;
+
+    public DynamoDbPublicationChangeFeed(Table changesTable) {
+        this.changesTable = changesTable;
+    }
+
+    @Override
+    public void publish(PublicationChange change) {
+        changesTable.updateItem(new UpdateItemSpec()
+            .withPrimaryKey(CHANGES_TABLE_HASH_KEY, change.getPublisherId().toString())
+            .withUpdateExpression(INCREMENT_SEQUENCE_NUMBER)
+            .withNameMap(Map.of(SEQUENCE_NUMBER_PLACEHOLDER, CHANGES_SEQUENCE_NUMBER_FIELD_NAME))
+            .withValueMap(Map.of(INCREMENT_VALUE, 1)));
+    }
+
+    @Override
+    public long sequenceNumber(URI publisherId) {
+        GetItemSpec getItemSpec = new GetItemSpec()
+            .withPrimaryKey(CHANGES_TABLE_HASH_KEY, publisherId.toString())
+            .withProjectionExpression(SEQUENCE_NUMBER_PLACEHOLDER)
+            .withNameMap(Map.of(SEQUENCE_NUMBER_PLACEHOLDER, CHANGES_SEQUENCE_NUMBER_FIELD_NAME))
+            .withConsistentRead(true);
+        return Optional.ofNullable(changesTable.getItem(getItemSpec))
+            .filter(item -> item.isPresent(CHANGES_SEQUENCE_NUMBER_FIELD_NAME))
+            .map(item -> item.getLong(CHANGES_SEQUENCE_NUMBER_FIELD_NAME))
+            .orElse(0L);
+    }
+}
@@ -0,0 +1,190 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static java.util.Objects.nonNull;
+import static nva.commons.utils.attempt.Try.attempt;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import no.unit.nva.doi.requests.metrics.Counter;
+import no.unit.nva.doi.requests.metrics.EmbeddedMetrics;
+import no.unit.nva.doi.requests.model.DoiRequestsPage;
+import no.unit.nva.model.DoiRequestStatus;
+import nva.commons.exceptions.ApiGatewayException;
+
+/**
+ * Keeps the pages of DOI requests found for a publisher, so that a curator refreshing the list of DOI requests is
+ * served from memory while nothing has changed. Pages are keyed by publisher and the parameters of their query.
+ *
+ * <p>A page remembers the sequence number the {@link PublicationChangeFeed} had for its publisher before the page was
+ * queried, and it is only used while the sequence number is the same, so a change that is in the feed is never hidden
+ * by the cache. The feed is fed from the stream of the publications table, so the changes of every writer reach it
+ * within the delay of the stream. Pages also expire, which bounds how long a change that has not reached the feed can
+ * be hidden. The least recently used page is evicted when the cache is full, and when the feed cannot be read the
+ * query is run without the cache.
+ */
+public class FindResultsCache {
+
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofSeconds(30);
+    public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+    private final PublicationChangeFeed changeFeed;
+    private final Duration timeToLive;
+    private final int maximumSize;
+    private final Clock clock;
+    private final Map<List<Object>, CachedPage> pages;
+    private final Object lock = new Object();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public FindResultsCache(PublicationChangeFeed changeFeed) {
+        this(changeFeed, DEFAULT_TIME_TO_LIVE, DEFAULT_MAXIMUM_SIZE, Clock.systemUTC());
+    }
+
+    /**
+     * A cache that runs every query, for services that have no change feed.
+     *
+     * @return the cache.
+     */
+    public static FindResultsCache disabled() {
+        return new FindResultsCache(null, Duration.ZERO, 0, Clock.systemUTC());
+    }
+
+    /**
+     * Constructor for FindResultsCache.
+     *
+     * @param changeFeed  the feed of the changes that make cached pages stale.
+     * @param timeToLive  how long a page is used after it was queried.
+     * @param maximumSize the maximum number of cached pages. Zero turns the cache off.
+     * @param clock       clock used for the expiry of pages.
+     */
+    public FindResultsCache(PublicationChangeFeed changeFeed, Duration timeToLive, int maximumSize, Clock clock) {
+        this.changeFeed = changeFeed;
+        this.timeToLive = timeToLive;
+        this.maximumSize = maximumSize;
+        this.clock = clock;
+        this.pages = new LinkedHashMap<>(Math.max(maximumSize, 1), 0.75f, true);
+    }
+
+    /**
+     * Returns the cached page of the query, or runs the query and caches its page.
+     *
+     * @param publisherId the publisher of the DOI requests.
+     * @param status      the DOI request status.
+     * @param owner       the owner of the publications, or null for the DOI requests of all owners.
+     * @param pageSize    the maximum number of DOI requests in the page.
+     * @param cursor      the cursor of the page, or null for the first page.
+     * @param query       the query that finds the page when it is not cached.
+     * @return the page.
+     * @throws ApiGatewayException when the query fails.
+     */
+    public DoiRequestsPage getOrQuery(URI publisherId, DoiRequestStatus status, String owner, int pageSize,
+                                      String cursor, PageQuery query) throws ApiGatewayException {
+        return getOrQuery(publisherId, Arrays.asList(status, owner, pageSize, cursor), query);
+    }
+
+    /**
+     * Returns the cached page of the query, or runs the query and caches its page.
+     *
+     * @param publisherId     the publisher of the DOI requests.
+     * @param queryParameters the other parameters that tell the query apart, with equals and hashCode.
+     * @param query           the query that finds the page when it is not cached.
+     * @return the page.
+     * @throws ApiGatewayException when the query fails.
+     */
+    public DoiRequestsPage getOrQuery(URI publisherId, List<?> queryParameters, PageQuery query)
+        throws ApiGatewayException {
+        if (maximumSize <= 0) {
+            return query.query();
+        }
+        List<Object> key = new ArrayList<>(queryParameters.size() + 1);
+        key.add(publisherId);
+        key.addAll(queryParameters);
+        Optional<Long> currentSequenceNumber = attempt(() -> changeFeed.sequenceNumber(publisherId)).toOptional();
+        if (currentSequenceNumber.isEmpty()) {
+            return query.query();
+        }
+        long sequenceNumber = currentSequenceNumber.get();
+        Optional<DoiRequestsPage> cachedPage = currentPage(key, sequenceNumber);
+        if (cachedPage.isPresent()) {
+            hits.incrementAndGet();
+            EmbeddedMetrics.current().addCount(Counter.FIND_RESULTS_CACHE_HITS, 1);
+            return cachedPage.get();
+        }
+        misses.incrementAndGet();
+        EmbeddedMetrics.current().addCount(Counter.FIND_RESULTS_CACHE_MISSES, 1);
+        DoiRequestsPage page = query.query();
+        cache(key, new CachedPage(page, sequenceNumber, clock.instant().plus(timeToLive)));
+        return page;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private Optional<DoiRequestsPage> currentPage(List<Object> key, long sequenceNumber) {
+        Instant now = clock.instant();
+        synchronized (lock) {
+            CachedPage cachedPage = pages.get(key);
+            if (nonNull(cachedPage) && !cachedPage.isCurrent(sequenceNumber, now)) {
+                pages.remove(key);
+                return Optional.empty();
+            }
+            return Optional.ofNullable(cachedPage).map(CachedPage::getPage);
+        }
+    }
+
+    private void cache(List<Object> key, CachedPage page) {
+        Instant now = clock.instant();
+        synchronized (lock) {
+            pages.values().removeIf(cachedPage -> cachedPage.hasExpired(now));
+            pages.put(key, page);
+            if (pages.size() > maximumSize) {
+                List<Object> leastRecentlyUsed = pages.keySet().iterator().next();
+                pages.remove(leastRecentlyUsed);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface PageQuery {
+
+        DoiRequestsPage query() throws ApiGatewayException;
+    }
+
+    private static class CachedPage {
+
+        private final DoiRequestsPage page;
+        private final long sequenceNumber;
+        private final Instant expiry;
+
+        public CachedPage(DoiRequestsPage page, long sequenceNumber, Instant expiry) {
+            this.page = page;
+            this.sequenceNumber = sequenceNumber;
+            this.expiry = expiry;
+        }
+
+        public DoiRequestsPage getPage() {
+            return page;
+        }
+
+        public boolean hasExpired(Instant now) {
+            return !now.isBefore(expiry);
+        }
+
+        public boolean isCurrent(long currentSequenceNumber, Instant now) {
+            return sequenceNumber == currentSequenceNumber && !hasExpired(now);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change feed that lives in the process, as a stand-in for {@link DynamoDbPublicationChangeFeed} when testing locally.
+ * It only sees the changes published in the process, either by the services that use it or as records of the
+ * DynamoDB stream, so it is not used in deployments.
+ */
+public class InMemoryPublicationChangeFeed implements PublicationChangeFeed {
+
+    private final AtomicLong lastSequenceNumber = new AtomicLong();
+    private final Map<URI, Long> sequenceNumbers = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(PublicationChange change) {
+        sequenceNumbers.put(change.getPublisherId(), lastSequenceNumber.incrementAndGet());
+    }
+
+    @Override
+    public long sequenceNumber(URI publisherId) {
+        return sequenceNumbers.getOrDefault(publisherId, 0L);
+    }
+}
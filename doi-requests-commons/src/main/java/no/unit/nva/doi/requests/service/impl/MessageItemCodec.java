@@ -0,0 +1,72 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import no.unit.nva.model.DoiRequestMessage;
+
+/**
+ * Maps the messages of a DOI request to and from items of their own, stored under the partition of the publication.
+ * The sort key of a message is {@link #MESSAGE_SORT_KEY_PREFIX}, the time the message was sent and a random suffix.
+ * The prefix sorts before the dates that are the sort keys of the versions, so a query for the newest version never
+ * reads a message, and the messages are read in the order they were sent with a begins_with key condition.
+ */
+public final class MessageItemCodec {
+
+    public static final String MESSAGE_SORT_KEY_PREFIX = "#message#";
+    public static final String SORT_KEY_SEPARATOR = "#";
+    public static final String AUTHOR_FIELD_NAME = "author";
+    public static final String TEXT_FIELD_NAME = "text";
+    public static final String TIMESTAMP_FIELD_NAME = "timestamp";
+    /*
+     * Instant.toString() leaves out the fractions of a second that are zero, which does not sort as text.
+     */
+    public static final DateTimeFormatter SORTABLE_TIMESTAMP =
+        DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSSSSSSS'Z'").withZone(ZoneOffset.UTC);
+
+    private MessageItemCodec() {
+    }
+
+    /**
+     * Creates the item of a message. The random suffix of the sort key keeps messages sent at the same time apart.
+     *
+     * @param publicationIdentifier the publication the message is about.
+     * @param message               the message.
+     * @return the item of the message.
+     */
+    public static Item encode(UUID publicationIdentifier, DoiRequestMessage message) {
+        String sortKey = MESSAGE_SORT_KEY_PREFIX + SORTABLE_TIMESTAMP.format(message.getTimestamp())
+            + SORT_KEY_SEPARATOR + UUID.randomUUID();
+        return new Item()
+            .withPrimaryKey(TABLE_HASH_KEY, publicationIdentifier.toString(), TABLE_SORT_KEY, sortKey)
+            .withString(AUTHOR_FIELD_NAME, message.getAuthor())
+            .withString(TEXT_FIELD_NAME, message.getText())
+            .withString(TIMESTAMP_FIELD_NAME, message.getTimestamp().toString());
+    }
+
+    /**
+     * Reads a message from its item.
+     *
+     * @param item the item of a message.
+     * @return the message.
+     */
+    public static DoiRequestMessage decode(Item item) {
+        return new DoiRequestMessage.Builder()
+            .withAuthor(item.getString(AUTHOR_FIELD_NAME))
+            .withText(item.getString(TEXT_FIELD_NAME))
+            .withTimestamp(Instant.parse(item.getString(TIMESTAMP_FIELD_NAME)))
+            .build();
+    }
+
+    public static boolean isMessage(Item item) {
+        return isMessageKey(item.getString(TABLE_SORT_KEY));
+    }
+
+    public static boolean isMessageKey(String sortKey) {
+        return sortKey.startsWith(MESSAGE_SORT_KEY_PREFIX);
+    }
+}
@@ -0,0 +1,136 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static nva.commons.utils.attempt.Try.attempt;
+import com.amazonaws.services.dynamodbv2.document.KeyAttribute;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import no.unit.nva.doi.requests.exception.BadRequestException;
+import nva.commons.utils.JsonUtils;
+
+/**
+ * Turns the LastEvaluatedKey of a DynamoDB query into an opaque cursor and back. The cursor is signed, so a client
+ * cannot craft a start key that points outside the partition it was issued for.
+ */
+public class PageCursorCodec {
+
+    public static final String INVALID_CURSOR_ERROR = "Invalid cursor";
+    public static final String HMAC_ALGORITHM = "HmacSHA256";
+    public static final String SIGNATURE_SEPARATOR = ".";
+    public static final int RANDOM_SECRET_LENGTH = 32;
+    private static final TypeReference<Map<String, String>> KEY_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper = JsonUtils.objectMapper;
+    private final SecretKeySpec signingKey;
+
+    public PageCursorCodec(String secret) {
+        this(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private PageCursorCodec(byte[] secret) {
+        this.signingKey = new SecretKeySpec(secret, HMAC_ALGORITHM);
+    }
+
+    /**
+     * Codec with a secret that only lives as long as this instance. Cursors issued by it cannot be used by any other
+     * instance, so it should only be used when no shared secret has been configured.
+     *
+     * @return a codec with a random secret.
+     */
+    public static PageCursorCodec withRandomSecret() {
+        byte[] secret = new byte[RANDOM_SECRET_LENGTH];
+        new SecureRandom().nextBytes(secret);
+        return new PageCursorCodec(secret);
+    }
+
+    /**
+     * Encodes the LastEvaluatedKey of a query result.
+     *
+     * @param lastEvaluatedKey the LastEvaluatedKey of a query result. Null when there are no more results.
+     * @return a signed cursor, or empty when there are no more results.
+     */
+    public Optional<String> encode(Map<String, AttributeValue> lastEvaluatedKey) {
+        return Optional.ofNullable(lastEvaluatedKey)
+            .filter(key -> !key.isEmpty())
+            .map(this::stringValues)
+            .map(key -> attempt(() -> objectMapper.writeValueAsBytes(key)).orElseThrow())
+            .map(this::signedToken);
+    }
+
+    /**
+     * Decodes a cursor into the key that the next query should start after.
+     *
+     * @param cursor a cursor created by {@link #encode(Map)}.
+     * @return the key attribute names and values.
+     * @throws BadRequestException when the cursor is malformed or has not been signed with this codec's secret.
+     */
+    public Map<String, String> decode(String cursor) throws BadRequestException {
+        int separatorIndex = cursor.indexOf(SIGNATURE_SEPARATOR);
+        if (separatorIndex < 0) {
+            throw new BadRequestException(INVALID_CURSOR_ERROR);
+        }
+        byte[] payload = attempt(() -> base64Decode(cursor.substring(0, separatorIndex)))
+            .orElseThrow(fail -> new BadRequestException(INVALID_CURSOR_ERROR));
+        byte[] signature = attempt(() -> base64Decode(cursor.substring(separatorIndex + 1)))
+            .orElseThrow(fail -> new BadRequestException(INVALID_CURSOR_ERROR));
+        if (!MessageDigest.isEqual(sign(payload), signature)) {
+            throw new BadRequestException(INVALID_CURSOR_ERROR);
+        }
+        return attempt(() -> objectMapper.readValue(payload, KEY_TYPE))
+            .orElseThrow(fail -> new BadRequestException(INVALID_CURSOR_ERROR));
+    }
+
+    /**
+     * The key attributes of a decoded cursor, as the exclusive start key of the next query.
+     *
+     * @param startKey a key returned by {@link #decode(String)}.
+     * @return the key attributes.
+     */
+    public static KeyAttribute[] toKeyAttributes(Map<String, String> startKey) {
+        return startKey.entrySet()
+            .stream()
+            .map(keyAttribute -> new KeyAttribute(keyAttribute.getKey(), keyAttribute.getValue()))
+            .toArray(KeyAttribute[]::new);
+    }
+
+    private Map<String, String> stringValues(Map<String, AttributeValue> key) {
+        return key.entrySet()
+            .stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getS()));
+    }
+
+    private String signedToken(byte[] payload) {
+        return base64Encode(payload) + SIGNATURE_SEPARATOR + base64Encode(sign(payload));
+    }
+
+    private byte[] sign(byte[] payload) {
+        return attempt(() -> Mac.getInstance(HMAC_ALGORITHM))
+            .map(this::initialize)
+            .map(mac -> mac.doFinal(payload))
+            .orElseThrow();
+    }
+
+    private Mac initialize(Mac mac) throws InvalidKeyException {
+        mac.init(signingKey);
+        return mac;
+    }
+
+    private String base64Encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private byte[] base64Decode(String encoded) {
+        return Base64.getUrlDecoder().decode(encoded);
+    }
+}
@@ -0,0 +1,98 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static java.util.Objects.nonNull;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_INDEX_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.PUBLISHER_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_HASH_KEY;
+import static nva.commons.utils.attempt.Try.attempt;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.Record;
+import com.amazonaws.services.dynamodbv2.model.StreamRecord;
+import java.net.URI;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import nva.commons.utils.JacocoGenerated;
+
+/**
+ * A change to a version of a publication, as it is seen by the caches that hold results per publisher.
+ */
+public class PublicationChange {
+
+    public static final String PUBLISHER_ID_FIELD_NAME = "id";
+
+    private final UUID publicationIdentifier;
+    private final URI publisherId;
+
+    public PublicationChange(UUID publicationIdentifier, URI publisherId) {
+        this.publicationIdentifier = publicationIdentifier;
+        this.publisherId = publisherId;
+    }
+
+    /**
+     * Reads the change from a record of the DynamoDB stream of the publications table. The new image is used when
+     * there is one, and the old image when a version is removed. Records of items that do not belong to a publisher,
+     * such as messages, are not changes of any publisher's results.
+     *
+     * @param record a record of the stream of the publications table.
+     * @return the change, or empty when the item does not belong to a publisher.
+     */
+    public static Optional<PublicationChange> fromStreamRecord(Record record) {
+        Optional<StreamRecord> streamRecord = Optional.ofNullable(record.getDynamodb());
+        return streamRecord.map(StreamRecord::getNewImage)
+            .or(() -> streamRecord.map(StreamRecord::getOldImage))
+            .flatMap(image -> change(image.get(TABLE_HASH_KEY), image.get(DOI_REQUEST_INDEX_HASH_KEY)));
+    }
+
+    /**
+     * Reads the change from the DOI request header of a version that has been written.
+     *
+     * @param header the DOI request header of the version.
+     * @return the change, or empty when the header has no publisher.
+     */
+    public static Optional<PublicationChange> fromDoiRequestHeader(Map<String, AttributeValue> header) {
+        AttributeValue publisherId = Optional.ofNullable(header.get(PUBLISHER_FIELD_NAME))
+            .map(AttributeValue::getM)
+            .map(publisher -> publisher.get(PUBLISHER_ID_FIELD_NAME))
+            .orElse(null);
+        return change(header.get(TABLE_HASH_KEY), publisherId);
+    }
+
+    private static Optional<PublicationChange> change(AttributeValue identifier, AttributeValue publisherId) {
+        if (nonNull(identifier) && nonNull(identifier.getS()) && nonNull(publisherId) && nonNull(publisherId.getS())) {
+            return attempt(() -> new PublicationChange(UUID.fromString(identifier.getS()),
+                URI.create(publisherId.getS())))
+                .toOptional();
+        }
+        return Optional.empty();
+    }
+
+    public UUID getPublicationIdentifier() {
+        return publicationIdentifier;
+    }
+
+    public URI getPublisherId() {
+        return publisherId;
+    }
+
+    @Override
+    @JacocoGenerated
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PublicationChange that = (PublicationChange) o;
+        return Objects.equals(getPublicationIdentifier(), that.getPublicationIdentifier())
+            && Objects.equals(getPublisherId(), that.getPublisherId());
+    }
+
+    @Override
+    @JacocoGenerated
+    public int hashCode() {
+        return Objects.hash(getPublicationIdentifier(), getPublisherId());
+    }
+}
@@ -0,0 +1,46 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import com.amazonaws.services.dynamodbv2.model.Record;
+import java.net.URI;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Ordered feed of the changes to the publications of each publisher, in the manner of a DynamoDB stream. Each change
+ * advances the sequence number of its publisher, so a result computed for a publisher is still current as long as
+ * the sequence number of the publisher has not moved since the result was computed.
+ */
+public interface PublicationChangeFeed {
+
+    /**
+     * Adds a change to the feed.
+     *
+     * @param change the change.
+     */
+    void publish(PublicationChange change);
+
+    /**
+     * Adds the changes of a batch of records of the DynamoDB stream of the publications table to the feed. A
+     * publisher changed by several records of the batch is published once.
+     *
+     * @param records records of the DynamoDB stream of the publications table.
+     */
+    default void publishStreamRecords(Collection<? extends Record> records) {
+        Set<URI> changedPublishers = new HashSet<>();
+        records.stream()
+            .map(PublicationChange::fromStreamRecord)
+            .flatMap(Optional::stream)
+            .filter(change -> changedPublishers.add(change.getPublisherId()))
+            .forEach(this::publish);
+    }
+
+    /**
+     * The sequence number of the latest change to the publications of the publisher.
+     *
+     * @param publisherId the publisher id.
+     * @return the sequence number, which only grows. Zero when the feed has seen no change for the publisher.
+     */
+    long sequenceNumber(URI publisherId);
+}
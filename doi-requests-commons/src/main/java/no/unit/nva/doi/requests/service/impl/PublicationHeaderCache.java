@@ -0,0 +1,199 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
+import static no.unit.nva.doi.requests.service.impl.DoiRequestUpdate.MODIFIED_DATE_FIELD_NAME;
+import static nva.commons.utils.attempt.Try.attempt;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import no.unit.nva.doi.requests.metrics.Counter;
+import no.unit.nva.doi.requests.metrics.EmbeddedMetrics;
+
+/**
+ * Keeps the DOI request header of the current version of recently read or written publications, so that an update
+ * or a message following a read of the same publication in the same container does not query the table again. An
+ * entry expires after a fixed time, and the least recently used entry is evicted when the cache is full.
+ *
+ * <p>An entry is only replaced by a header that is at least as new, comparing the modified date of the version and
+ * then the modified date of the DOI request, so a slow read cannot overwrite what a later write stored. Writes are
+ * conditional on the state they were built from, so a write built from a stale entry fails instead of overwriting a
+ * newer version, and the entry is then invalidated and read again.
+ */
+public class PublicationHeaderCache {
+
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofSeconds(30);
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private static final Comparator<Optional<Instant>> EMPTY_FIRST =
+        Comparator.comparing(date -> date.orElse(Instant.MIN));
+
+    private final Duration timeToLive;
+    private final int maximumSize;
+    private final Clock clock;
+    private final Map<UUID, CachedHeader> headers;
+    private final Object lock = new Object();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public PublicationHeaderCache() {
+        this(DEFAULT_TIME_TO_LIVE, DEFAULT_MAXIMUM_SIZE, Clock.systemUTC());
+    }
+
+    /**
+     * Constructor for PublicationHeaderCache.
+     *
+     * @param timeToLive  how long an entry is used after it was stored.
+     * @param maximumSize the maximum number of cached headers. Zero turns the cache off.
+     * @param clock       clock used for the expiry of entries.
+     */
+    public PublicationHeaderCache(Duration timeToLive, int maximumSize, Clock clock) {
+        this.timeToLive = timeToLive;
+        this.maximumSize = maximumSize;
+        this.clock = clock;
+        this.headers = new LinkedHashMap<>(Math.max(maximumSize, 1), 0.75f, true);
+    }
+
+    /**
+     * A cache that stores nothing, for when every read has to go to the table.
+     *
+     * @return a cache that always misses.
+     */
+    public static PublicationHeaderCache disabled() {
+        return new PublicationHeaderCache(Duration.ZERO, 0, Clock.systemUTC());
+    }
+
+    public boolean isEnabled() {
+        return maximumSize > 0;
+    }
+
+    /**
+     * Returns the cached header of the publication, and counts the hit or miss in the metrics of the request. Nothing
+     * is counted when the cache is off.
+     *
+     * @param publicationIdentifier the publication identifier.
+     * @return the header, if it is cached and has not expired.
+     */
+    public Optional<Map<String, AttributeValue>> get(UUID publicationIdentifier) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        Optional<Map<String, AttributeValue>> header = cachedHeader(publicationIdentifier);
+        if (header.isPresent()) {
+            hits.incrementAndGet();
+            EmbeddedMetrics.current().addCount(Counter.PUBLICATION_CACHE_HITS, 1);
+        } else {
+            misses.incrementAndGet();
+            EmbeddedMetrics.current().addCount(Counter.PUBLICATION_CACHE_MISSES, 1);
+        }
+        return header;
+    }
+
+    /**
+     * Stores the header of the publication, unless the cached header is newer.
+     *
+     * @param publicationIdentifier the publication identifier.
+     * @param header                the header as read from the table, or as left by a write.
+     */
+    public void put(UUID publicationIdentifier, Map<String, AttributeValue> header) {
+        if (!isEnabled()) {
+            return;
+        }
+        Instant now = clock.instant();
+        synchronized (lock) {
+            headers.values().removeIf(cachedHeader -> cachedHeader.hasExpired(now));
+            CachedHeader cachedHeader = headers.get(publicationIdentifier);
+            if (nonNull(cachedHeader) && isNewer(cachedHeader.getHeader(), header)) {
+                return;
+            }
+            headers.put(publicationIdentifier, new CachedHeader(header, now.plus(timeToLive)));
+            if (headers.size() > maximumSize) {
+                UUID leastRecentlyUsed = headers.keySet().iterator().next();
+                headers.remove(leastRecentlyUsed);
+            }
+        }
+    }
+
+    /**
+     * Removes the header of the publication, for when it is known or suspected to be stale.
+     *
+     * @param publicationIdentifier the publication identifier.
+     */
+    public void invalidate(UUID publicationIdentifier) {
+        synchronized (lock) {
+            headers.remove(publicationIdentifier);
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private Optional<Map<String, AttributeValue>> cachedHeader(UUID publicationIdentifier) {
+        synchronized (lock) {
+            CachedHeader cachedHeader = headers.get(publicationIdentifier);
+            if (nonNull(cachedHeader) && cachedHeader.hasExpired(clock.instant())) {
+                headers.remove(publicationIdentifier);
+                return Optional.empty();
+            }
+            return Optional.ofNullable(cachedHeader).map(CachedHeader::getHeader);
+        }
+    }
+
+    private static boolean isNewer(Map<String, AttributeValue> header, Map<String, AttributeValue> other) {
+        int versionOrder = EMPTY_FIRST.compare(versionDate(header), versionDate(other));
+        if (versionOrder != 0) {
+            return versionOrder > 0;
+        }
+        return EMPTY_FIRST.compare(doiRequestModifiedDate(header), doiRequestModifiedDate(other)) > 0;
+    }
+
+    private static Optional<Instant> versionDate(Map<String, AttributeValue> header) {
+        return parseDate(header.get(TABLE_SORT_KEY));
+    }
+
+    private static Optional<Instant> doiRequestModifiedDate(Map<String, AttributeValue> header) {
+        return Optional.ofNullable(header.get(DOI_REQUEST_FIELD_NAME))
+            .map(AttributeValue::getM)
+            .flatMap(doiRequest -> parseDate(doiRequest.get(MODIFIED_DATE_FIELD_NAME)));
+    }
+
+    private static Optional<Instant> parseDate(AttributeValue value) {
+        if (isNull(value) || isNull(value.getS())) {
+            return Optional.empty();
+        }
+        return attempt(() -> Instant.parse(value.getS())).toOptional();
+    }
+
+    private static class CachedHeader {
+
+        private final Map<String, AttributeValue> header;
+        private final Instant expiry;
+
+        public CachedHeader(Map<String, AttributeValue> header, Instant expiry) {
+            this.header = header;
+            this.expiry = expiry;
+        }
+
+        public Map<String, AttributeValue> getHeader() {
+            return header;
+        }
+
+        public boolean hasExpired(Instant now) {
+            return !now.isBefore(expiry);
+        }
+    }
+}
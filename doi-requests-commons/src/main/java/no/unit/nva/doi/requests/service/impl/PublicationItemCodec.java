@@ -0,0 +1,93 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.EXPIRES_AT_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.LAST_MESSAGE_DATE_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.MESSAGE_COUNT_FIELD_NAME;
+import static nva.commons.utils.attempt.Try.attempt;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.ItemUtils;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import no.unit.nva.doi.requests.metrics.EmbeddedMetrics;
+import no.unit.nva.doi.requests.metrics.Phase;
+import no.unit.nva.model.Publication;
+
+/**
+ * Maps publications to and from the attribute values of their DynamoDB items. The publication is written to and read
+ * from the attribute values by the object mapper's own serializers, so the mapping follows the annotations of the
+ * model, but without the JSON text and token buffers the mapper would otherwise go through.
+ */
+public class PublicationItemCodec {
+
+    public static final String VERSION_FIELD_NAME = "version";
+
+    /*
+     * Attributes of the stored versions that are not part of the publication. The version counter is no longer written,
+     * but versions stored before that may still carry it.
+     */
+    public static final Set<String> TABLE_ONLY_ATTRIBUTES =
+        Set.of(VERSION_FIELD_NAME, EXPIRES_AT_FIELD_NAME, MESSAGE_COUNT_FIELD_NAME, LAST_MESSAGE_DATE_FIELD_NAME);
+
+    private final ObjectMapper objectMapper;
+
+    public PublicationItemCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Serializes the publication to the attribute values of an item.
+     *
+     * @param publication the publication.
+     * @return the attribute values of the publication.
+     * @throws IOException when the publication cannot be serialized.
+     */
+    public Map<String, AttributeValue> encode(Publication publication) throws IOException {
+        try (AttributeValueGenerator generator = new AttributeValueGenerator(objectMapper)) {
+            objectMapper.writeValue(generator, publication);
+            return generator.getAttributes();
+        }
+    }
+
+    /**
+     * Reads the publication from the attribute values of an item. The attributes the table keeps about the version of
+     * the publication are skipped.
+     *
+     * @param attributes the attribute values of the item.
+     * @return the publication.
+     * @throws IOException when the attribute values do not describe a publication.
+     */
+    public Publication decode(Map<String, AttributeValue> attributes) throws IOException {
+        try (AttributeValueParser parser = new AttributeValueParser(attributes, TABLE_ONLY_ATTRIBUTES, objectMapper)) {
+            return objectMapper.readValue(parser, Publication.class);
+        }
+    }
+
+    /**
+     * Reads the publication of a version the service stored itself, which always describes a publication.
+     *
+     * @param attributes the attribute values of the version.
+     * @return the publication.
+     */
+    public Publication decodeVersion(Map<String, AttributeValue> attributes) {
+        return attempt(() -> decode(attributes))
+            .orElseThrow(fail -> new IllegalArgumentException(fail.getException()));
+    }
+
+    /**
+     * Serializes the publication to a document item, recording the time it takes.
+     *
+     * @param publication the publication.
+     * @return the item of the publication.
+     */
+    public Item encodeItem(Publication publication) {
+        long serializeStart = System.nanoTime();
+        Map<String, AttributeValue> attributes = attempt(() -> encode(publication))
+            .orElseThrow(fail -> new RuntimeException(fail.getException()));
+        Item item = ItemUtils.toItem(attributes);
+        EmbeddedMetrics.current().recordLatencySince(Phase.SERIALIZE, serializeStart);
+        return item;
+    }
+}
@@ -0,0 +1,62 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import com.amazonaws.services.dynamodbv2.document.spec.QuerySpec;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Filter expression of a query, built from equality conditions on attributes. The items the filter rejects are
+ * dropped by DynamoDB, so they are neither sent over the network nor decoded. They are still read, so the read
+ * capacity of the query stays the same.
+ */
+@SuppressWarnings("PMD.UseConcurrentHashMap")
+public class QueryFilter {
+
+    public static final String AND = " AND ";
+
+    private final Set<String> conditions = new LinkedHashSet<>();
+    private final Map<String, String> nameMap = new HashMap<>();
+    private final Map<String, Object> valueMap = new HashMap<>();
+
+    /**
+     * Adds the condition that an attribute equals a value.
+     *
+     * @param namePlaceholder  the placeholder of the attribute name, starting with '#'.
+     * @param attributeName    the attribute name.
+     * @param valuePlaceholder the placeholder of the value, starting with ':'.
+     * @param value            the value.
+     * @return the filter.
+     */
+    public QueryFilter withEqualTo(String namePlaceholder, String attributeName, String valuePlaceholder,
+                                   Object value) {
+        conditions.add(namePlaceholder + " = " + valuePlaceholder);
+        nameMap.put(namePlaceholder, attributeName);
+        valueMap.put(valuePlaceholder, value);
+        return this;
+    }
+
+    /**
+     * Sets the filter expression of the query, keeping the names and values the query already has.
+     *
+     * @param querySpec the query.
+     * @return the query.
+     */
+    public QuerySpec applyTo(QuerySpec querySpec) {
+        if (conditions.isEmpty()) {
+            return querySpec;
+        }
+        Map<String, String> queryNameMap = new HashMap<>(
+            Optional.ofNullable(querySpec.getNameMap()).orElse(Map.of()));
+        queryNameMap.putAll(nameMap);
+        Map<String, Object> queryValueMap = new HashMap<>(
+            Optional.ofNullable(querySpec.getValueMap()).orElse(Map.of()));
+        queryValueMap.putAll(valueMap);
+        return querySpec
+            .withFilterExpression(String.join(AND, conditions))
+            .withNameMap(queryNameMap)
+            .withValueMap(queryValueMap);
+    }
+}
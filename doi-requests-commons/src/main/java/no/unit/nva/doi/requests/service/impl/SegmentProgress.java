@@ -0,0 +1,76 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import java.util.Map;
+import nva.commons.utils.JacocoGenerated;
+
+/**
+ * How far the compaction of one scan segment has come. The start key is the key of the last version of the last
+ * publication that was compacted, so a resumed scan starts with the next publication.
+ */
+public class SegmentProgress {
+
+    private int segment;
+    private Map<String, String> startKey;
+    private boolean done;
+    private long scannedVersions;
+    private long compactedVersions;
+
+    @JacocoGenerated
+    public SegmentProgress() {
+    }
+
+    public SegmentProgress(int segment) {
+        this.segment = segment;
+    }
+
+    public int getSegment() {
+        return segment;
+    }
+
+    @JacocoGenerated
+    public void setSegment(int segment) {
+        this.segment = segment;
+    }
+
+    public Map<String, String> getStartKey() {
+        return startKey;
+    }
+
+    public void setStartKey(Map<String, String> startKey) {
+        this.startKey = startKey;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public void setDone(boolean done) {
+        this.done = done;
+    }
+
+    public long getScannedVersions() {
+        return scannedVersions;
+    }
+
+    @JacocoGenerated
+    public void setScannedVersions(long scannedVersions) {
+        this.scannedVersions = scannedVersions;
+    }
+
+    public long getCompactedVersions() {
+        return compactedVersions;
+    }
+
+    @JacocoGenerated
+    public void setCompactedVersions(long compactedVersions) {
+        this.compactedVersions = compactedVersions;
+    }
+
+    protected void addScannedVersions(long versions) {
+        scannedVersions += versions;
+    }
+
+    protected void addCompactedVersion() {
+        compactedVersions++;
+    }
+}
@@ -0,0 +1,78 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static java.util.Objects.nonNull;
+import java.util.Optional;
+
+/**
+ * The settings of a {@link SegmentedVersionScan}: how the table is scanned, how fast, and the checkpoint to resume
+ * from, if any.
+ */
+public class SegmentedScanSettings {
+
+    public static final int DEFAULT_TOTAL_SEGMENTS = 4;
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final double DEFAULT_CAPACITY_UNITS_PER_SECOND = 100;
+    public static final String INVALID_SETTINGS_ERROR = "Invalid scan settings: ";
+    public static final String CHECKPOINT_SEGMENTS_ERROR = "the checkpoint has another number of segments";
+
+    private int totalSegments = DEFAULT_TOTAL_SEGMENTS;
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    private double capacityUnitsPerSecond = DEFAULT_CAPACITY_UNITS_PER_SECOND;
+    private CompactionCheckpoint checkpoint;
+
+    public int getTotalSegments() {
+        return totalSegments;
+    }
+
+    public void setTotalSegments(int totalSegments) {
+        this.totalSegments = totalSegments;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public double getCapacityUnitsPerSecond() {
+        return capacityUnitsPerSecond;
+    }
+
+    public void setCapacityUnitsPerSecond(double capacityUnitsPerSecond) {
+        this.capacityUnitsPerSecond = capacityUnitsPerSecond;
+    }
+
+    public Optional<CompactionCheckpoint> getCheckpoint() {
+        return Optional.ofNullable(checkpoint);
+    }
+
+    public void setCheckpoint(CompactionCheckpoint checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * Checks that the settings describe a scan that can run.
+     *
+     * @throws IllegalArgumentException when a setting is out of range, or the checkpoint is of another number of
+     *                                  segments.
+     */
+    public void validate() {
+        if (totalSegments < 1 || pageSize < 1 || capacityUnitsPerSecond <= 0) {
+            throw new IllegalArgumentException(INVALID_SETTINGS_ERROR + this);
+        }
+        if (nonNull(checkpoint) && checkpoint.getSegments().size() != totalSegments) {
+            throw new IllegalArgumentException(INVALID_SETTINGS_ERROR + CHECKPOINT_SEGMENTS_ERROR);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SegmentedScanSettings{"
+            + "totalSegments=" + totalSegments
+            + ", pageSize=" + pageSize
+            + ", capacityUnitsPerSecond=" + capacityUnitsPerSecond
+            + '}';
+    }
+}
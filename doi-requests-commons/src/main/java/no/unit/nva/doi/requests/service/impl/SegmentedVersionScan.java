@@ -0,0 +1,185 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static java.util.Objects.nonNull;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.Page;
+import com.amazonaws.services.dynamodbv2.document.ScanOutcome;
+import com.amazonaws.services.dynamodbv2.document.Table;
+import com.amazonaws.services.dynamodbv2.document.spec.ScanSpec;
+import com.amazonaws.services.dynamodbv2.model.ReturnConsumedCapacity;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Scans the publications table in parallel segments, at a limited rate of consumed capacity, and hands the items of
+ * each publication to a {@link PublicationVisitor} once all of them are read. A run stops at its deadline and returns
+ * a {@link CompactionCheckpoint}, which a later run resumes from.
+ *
+ * <p>A scan returns the items of a publication one after the other, and the items of a publication that continue on
+ * the next page are visited with that page. Should the items of a publication ever be read apart, each part is
+ * visited on its own.
+ */
+public class SegmentedVersionScan {
+
+    public static final String SCAN_FAILED_ERROR = "Scan of a segment failed";
+
+    private final Table publicationsTable;
+    private final SegmentedScanSettings settings;
+    private final Clock clock;
+    private final CapacityRateLimiter rateLimiter;
+
+    /**
+     * Creates a scan.
+     *
+     * @param publicationsTable the publications table.
+     * @param settings          the settings of the scan, and the checkpoint to resume from, if any.
+     * @param clock             the clock of the deadline.
+     */
+    public SegmentedVersionScan(Table publicationsTable, SegmentedScanSettings settings, Clock clock) {
+        settings.validate();
+        this.publicationsTable = publicationsTable;
+        this.settings = settings;
+        this.clock = clock;
+        this.rateLimiter = new CapacityRateLimiter(settings.getCapacityUnitsPerSecond());
+    }
+
+    /**
+     * The limiter of the scan, for the visitors to report the capacity of their writes to, so the scan and the
+     * writes share one rate.
+     *
+     * @return the rate limiter.
+     */
+    public CapacityRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Visits the publications of the segments that are not done, until they are done or the deadline has passed.
+     *
+     * @param projection the projection expression of the scan, which must include the keys of the table.
+     * @param nameMap    the attribute names of the projection expression.
+     * @param visitor    the visitor of the items of each publication.
+     * @param deadline   the time after which no more publications are visited.
+     * @return the progress of each segment, to resume from when the scan is not complete.
+     */
+    public CompactionCheckpoint run(String projection, Map<String, String> nameMap, PublicationVisitor visitor,
+                                    Instant deadline) {
+        CompactionCheckpoint checkpoint = settings.getCheckpoint()
+            .orElseGet(() -> CompactionCheckpoint.start(settings.getTotalSegments()));
+        List<Callable<SegmentProgress>> segments = checkpoint.getSegments()
+            .stream()
+            .filter(segment -> !segment.isDone())
+            .map(segment -> (Callable<SegmentProgress>) () -> scanSegment(
+                segment, segmentScan(segment, projection, nameMap), visitor, deadline))
+            .collect(Collectors.toList());
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.getTotalSegments());
+        try {
+            for (Future<SegmentProgress> segment : executor.invokeAll(segments)) {
+                segment.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(SCAN_FAILED_ERROR, e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        return checkpoint;
+    }
+
+    /*
+     * The deadline is checked between publications, so every run visits at least one publication of a segment that
+     * is not done, however small the pages are.
+     */
+    private SegmentProgress scanSegment(SegmentProgress progress, ScanSpec scanSpec, PublicationVisitor visitor,
+                                        Instant deadline) {
+        List<Item> publicationItems = new ArrayList<>();
+        for (Page<Item, ScanOutcome> page : publicationsTable.scan(scanSpec).pages()) {
+            rateLimiter.consume(page.getLowLevelResult().getScanResult().getConsumedCapacity());
+            for (Item item : page) {
+                if (!publicationItems.isEmpty() && !samePublication(publicationItems.get(0), item)) {
+                    visitPublication(publicationItems, progress, visitor);
+                    publicationItems.clear();
+                    if (clock.instant().isAfter(deadline)) {
+                        return progress;
+                    }
+                }
+                publicationItems.add(item);
+            }
+        }
+        if (!publicationItems.isEmpty()) {
+            visitPublication(publicationItems, progress, visitor);
+        }
+        progress.setDone(true);
+        return progress;
+    }
+
+    /*
+     * The messages of the DOI request share the partition of the publication, and are left out, as they are not
+     * versions. The start key is the last item read, messages included, so a resumed scan starts after them.
+     */
+    private static void visitPublication(List<Item> publicationItems, SegmentProgress progress,
+                                         PublicationVisitor visitor) {
+        List<Item> publicationVersions = publicationItems.stream()
+            .filter(item -> !MessageItemCodec.isMessage(item))
+            .collect(Collectors.toList());
+        if (!publicationVersions.isEmpty()) {
+            visitor.visit(publicationVersions, progress);
+        }
+        progress.addScannedVersions(publicationVersions.size());
+        progress.setStartKey(itemKey(publicationItems.get(publicationItems.size() - 1)));
+    }
+
+    private ScanSpec segmentScan(SegmentProgress progress, String projection, Map<String, String> nameMap) {
+        ScanSpec scanSpec = new ScanSpec()
+            .withProjectionExpression(projection)
+            .withNameMap(nameMap)
+            .withSegment(progress.getSegment())
+            .withTotalSegments(settings.getTotalSegments())
+            .withMaxPageSize(settings.getPageSize())
+            .withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+        if (nonNull(progress.getStartKey())) {
+            scanSpec.withExclusiveStartKey(
+                TABLE_HASH_KEY, progress.getStartKey().get(TABLE_HASH_KEY),
+                TABLE_SORT_KEY, progress.getStartKey().get(TABLE_SORT_KEY));
+        }
+        return scanSpec;
+    }
+
+    private static boolean samePublication(Item item, Item otherItem) {
+        return item.getString(TABLE_HASH_KEY).equals(otherItem.getString(TABLE_HASH_KEY));
+    }
+
+    private static Map<String, String> itemKey(Item item) {
+        return Map.of(
+            TABLE_HASH_KEY, item.getString(TABLE_HASH_KEY),
+            TABLE_SORT_KEY, item.getString(TABLE_SORT_KEY));
+    }
+
+    /**
+     * Does the work of a job for one publication.
+     */
+    @FunctionalInterface
+    public interface PublicationVisitor {
+
+        /**
+         * Visits the versions of a publication, in the order the scan read them.
+         *
+         * @param publicationVersions the versions of the publication, without its messages. Never empty.
+         * @param progress            the progress of the segment, for the visitor to count its work in.
+         */
+        void visit(List<Item> publicationVersions, SegmentProgress progress);
+    }
+}
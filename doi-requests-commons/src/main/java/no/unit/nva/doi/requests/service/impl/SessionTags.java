@@ -0,0 +1,37 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static java.util.Objects.isNull;
+import com.amazonaws.services.securitytoken.model.Tag;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The identity of an assumed-role session is its role and its session tags. The tags are compared as key-value pairs
+ * sorted by key and value, so the order in which they are built does not matter.
+ */
+public final class SessionTags {
+
+    private SessionTags() {
+    }
+
+    /**
+     * Returns the tags as key-value pairs, sorted by key and value.
+     *
+     * @param tags the session tags. Null for no tags.
+     * @return a list that is equal for equal sets of tags.
+     */
+    public static List<List<String>> canonical(Collection<Tag> tags) {
+        if (isNull(tags)) {
+            return Collections.emptyList();
+        }
+        return tags.stream()
+            .map(tag -> Arrays.asList(tag.getKey(), tag.getValue()))
+            .sorted(Comparator.comparing((List<String> tag) -> String.valueOf(tag.get(0)))
+                .thenComparing(tag -> String.valueOf(tag.get(1))))
+            .collect(Collectors.toList());
+    }
+}
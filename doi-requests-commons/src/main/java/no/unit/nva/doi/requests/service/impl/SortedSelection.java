@@ -0,0 +1,164 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static java.util.Objects.nonNull;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import no.unit.nva.doi.requests.model.DoiRequestsSort;
+import no.unit.nva.doi.requests.model.DoiRequestsSort.Field;
+
+/**
+ * Selects one page of DOI requests in a sort order from index items read in any order. At most one page of items is
+ * kept, on a heap with the last selected item on top, so the memory and the decoding work follow the page size and
+ * not the number of items read. Items that sort equally are ordered by their publication identifier, so each page
+ * starts right after the item the previous page ended with. When two versions of a publication are offered while the
+ * first is selected, only the later version is kept, see {@link VersionHeader}.
+ */
+@SuppressWarnings("PMD.UseConcurrentHashMap")
+public class SortedSelection {
+
+    private final Comparator<Candidate> fieldOrder;
+    private final Comparator<Candidate> order;
+    private final int pageSize;
+    private final Candidate after;
+    private final PriorityQueue<Candidate> selected;
+    private final Map<String, Candidate> selectedVersions;
+    private boolean hasMore;
+
+    /**
+     * Constructor for SortedSelection.
+     *
+     * @param sort     the sort order.
+     * @param pageSize the number of items to select.
+     * @param after    the last item of the previous page, or null for the first page.
+     */
+    public SortedSelection(DoiRequestsSort sort, int pageSize, Candidate after) {
+        Comparator<Candidate> ascendingFieldOrder = Field.CREATED_DATE.equals(sort.getField())
+            ? Comparator.comparing(Candidate::getCreatedDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+            : Comparator.comparing(Candidate::getModifiedDate, Comparator.nullsFirst(Comparator.naturalOrder()));
+        this.fieldOrder = sort.isAscending() ? ascendingFieldOrder : ascendingFieldOrder.reversed();
+        this.order = fieldOrder.thenComparing(Candidate::getIdentifier);
+        this.pageSize = pageSize;
+        this.after = after;
+        this.selected = new PriorityQueue<>(pageSize + 1, order.reversed());
+        this.selectedVersions = new HashMap<>();
+    }
+
+    /**
+     * Offers an item to the selection. When the items of a query are read in the sort order, no item after one that
+     * is refused can be selected either, so the query can stop there.
+     *
+     * @param candidate the item.
+     * @return false when the selection is full and the item sorts after every selected item.
+     */
+    public boolean offer(Candidate candidate) {
+        if (nonNull(after) && order.compare(candidate, after) <= 0) {
+            return true;
+        }
+        Candidate selectedVersion = selectedVersions.get(candidate.getIdentifier());
+        if (nonNull(selectedVersion)) {
+            if (!candidate.isLaterVersionThan(selectedVersion)) {
+                return true;
+            }
+            selected.remove(selectedVersion);
+            selectedVersions.remove(candidate.getIdentifier());
+        }
+        if (selected.size() < pageSize) {
+            select(candidate);
+            return true;
+        }
+        hasMore = true;
+        Candidate last = selected.peek();
+        if (order.compare(candidate, last) < 0) {
+            selectedVersions.remove(selected.poll().getIdentifier());
+            select(candidate);
+            return true;
+        }
+        return fieldOrder.compare(candidate, last) <= 0;
+    }
+
+    private void select(Candidate candidate) {
+        selected.add(candidate);
+        selectedVersions.put(candidate.getIdentifier(), candidate);
+    }
+
+    /**
+     * The selected items in the sort order.
+     *
+     * @return the selected items.
+     */
+    public List<Candidate> getSelected() {
+        List<Candidate> page = new ArrayList<>(selected);
+        page.sort(order);
+        return page;
+    }
+
+    /**
+     * Tells whether items were left out because the page is full, so that there is a next page.
+     *
+     * @return true when there are more items after the selected ones.
+     */
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    public static class Candidate {
+
+        private final String identifier;
+        private final String modifiedDate;
+        private final Instant createdDate;
+        private final Item item;
+
+        /**
+         * Constructor for Candidate. Only the date of the sort field needs to be given.
+         *
+         * @param identifier   the publication identifier.
+         * @param modifiedDate the modified date, as it is in the index sort key.
+         * @param createdDate  the created date of the DOI request.
+         * @param item         the index item, or null for the position a cursor points at.
+         */
+        public Candidate(String identifier, String modifiedDate, Instant createdDate, Item item) {
+            this.identifier = identifier;
+            this.modifiedDate = modifiedDate;
+            this.createdDate = createdDate;
+            this.item = item;
+        }
+
+        public String getIdentifier() {
+            return identifier;
+        }
+
+        public String getModifiedDate() {
+            return modifiedDate;
+        }
+
+        public Instant getCreatedDate() {
+            return createdDate;
+        }
+
+        public Item getItem() {
+            return item;
+        }
+
+        /**
+         * Tells whether this is a later version of the publication than the other, by the modified dates of their
+         * items.
+         *
+         * @param other another candidate of the same publication.
+         * @return true when this version was modified after the other.
+         */
+        public boolean isLaterVersionThan(Candidate other) {
+            return VersionHeader.isLater(modifiedDateOfVersion(), other.modifiedDateOfVersion());
+        }
+
+        private String modifiedDateOfVersion() {
+            return nonNull(item) ? item.getString(TABLE_SORT_KEY) : null;
+        }
+    }
+}
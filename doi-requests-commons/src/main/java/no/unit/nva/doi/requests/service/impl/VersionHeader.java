@@ -0,0 +1,121 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_OWNER_INDEX_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.STATUS_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import no.unit.nva.model.DoiRequestStatus;
+import no.unit.nva.model.PublicationStatus;
+
+/**
+ * The attributes of a stored version that decide whether a find request returns it, read directly from the attribute
+ * values of an index item. Versions are checked by their header before the publication is decoded, so only the
+ * versions that are returned are decoded.
+ */
+public class VersionHeader {
+
+    private final Map<String, AttributeValue> attributes;
+    private final String identifier;
+    private final String modifiedDate;
+    private final String status;
+    private final String owner;
+    private final String doiRequestStatus;
+
+    private VersionHeader(Map<String, AttributeValue> attributes) {
+        this.attributes = attributes;
+        this.identifier = stringValue(attributes.get(TABLE_HASH_KEY));
+        this.modifiedDate = stringValue(attributes.get(TABLE_SORT_KEY));
+        this.status = stringValue(attributes.get(STATUS_FIELD_NAME));
+        this.owner = stringValue(attributes.get(DOI_REQUEST_OWNER_INDEX_HASH_KEY));
+        this.doiRequestStatus = Optional.ofNullable(attributes.get(DOI_REQUEST_FIELD_NAME))
+            .map(AttributeValue::getM)
+            .map(doiRequest -> stringValue(doiRequest.get(STATUS_FIELD_NAME)))
+            .orElse(null);
+    }
+
+    /**
+     * Reads the header of a version.
+     *
+     * @param attributes the attribute values of the version.
+     * @return the header, which keeps the attribute values for decoding the publication later.
+     */
+    public static VersionHeader read(Map<String, AttributeValue> attributes) {
+        return new VersionHeader(attributes);
+    }
+
+    /**
+     * Keeps the latest of the versions of each publication, in the order the publications first appear.
+     *
+     * @param versions the headers of versions of any number of publications.
+     * @return the header of the latest version of each publication.
+     */
+    public static Collection<VersionHeader> latestOfEachPublication(Iterable<VersionHeader> versions) {
+        Map<String, VersionHeader> latestVersions = new LinkedHashMap<>();
+        for (VersionHeader version : versions) {
+            latestVersions.merge(version.getIdentifier(), version,
+                (current, other) -> other.isLaterThan(current) ? other : current);
+        }
+        return latestVersions.values();
+    }
+
+    public Map<String, AttributeValue> getAttributes() {
+        return attributes;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * Tells whether the version is a published version with a DOI request of the given status and, when an owner is
+     * given, of the given owner.
+     *
+     * @param doiRequestStatus the DOI request status.
+     * @param owner            the owner, or null for any owner.
+     * @return true when a find request for the status and owner returns the version.
+     */
+    public boolean matches(DoiRequestStatus doiRequestStatus, String owner) {
+        return PublicationStatus.PUBLISHED.toString().equals(status)
+            && doiRequestStatus.toString().equals(this.doiRequestStatus)
+            && (isNull(owner) || owner.equals(this.owner));
+    }
+
+    /**
+     * Tells whether this is a later version of the same publication than the other. Versions without a modified date
+     * come first.
+     *
+     * @param other another version of the publication.
+     * @return true when this version was modified after the other.
+     */
+    public boolean isLaterThan(VersionHeader other) {
+        return isLater(modifiedDate, other.modifiedDate);
+    }
+
+    /**
+     * Tells whether a modified date of a version is later than another. Missing dates come first.
+     *
+     * @param modifiedDate      the modified date of a version, as it is in the table sort key.
+     * @param otherModifiedDate the modified date of another version of the same publication.
+     * @return true when the first date is the later one.
+     */
+    public static boolean isLater(String modifiedDate, String otherModifiedDate) {
+        return parseDate(modifiedDate).compareTo(parseDate(otherModifiedDate)) > 0;
+    }
+
+    private static Instant parseDate(String date) {
+        return nonNull(date) ? Instant.parse(date) : Instant.MIN;
+    }
+
+    private static String stringValue(AttributeValue value) {
+        return nonNull(value) ? value.getS() : null;
+    }
+}
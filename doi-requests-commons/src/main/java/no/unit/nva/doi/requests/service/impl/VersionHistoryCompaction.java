@@ -0,0 +1,170 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_INDEX_SORT_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.EXPIRES_AT_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.IDENTIFIER_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.MODIFIED_DATE_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.STATUS_DATE_PLACEHOLDER;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.VERSION_EXISTS_CONDITION;
+import com.amazonaws.services.dynamodbv2.document.DeleteItemOutcome;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.PrimaryKey;
+import com.amazonaws.services.dynamodbv2.document.Table;
+import com.amazonaws.services.dynamodbv2.document.UpdateItemOutcome;
+import com.amazonaws.services.dynamodbv2.document.spec.DeleteItemSpec;
+import com.amazonaws.services.dynamodbv2.document.spec.UpdateItemSpec;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.ReturnConsumedCapacity;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import nva.commons.utils.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deletes or expires the old versions of the publications, keeping the current version and a given number of the
+ * versions before it. The table is read with a {@link SegmentedVersionScan}, and the versions of each publication are
+ * compacted once all of them are read. A run stops at its deadline and returns a {@link CompactionCheckpoint}, which a
+ * later run resumes from.
+ *
+ * <p>Should the versions of a publication ever be read apart, each part keeps its own newest versions, so the
+ * compaction keeps more versions than asked for, never fewer.
+ */
+public class VersionHistoryCompaction {
+
+    public static final String EXPIRES_AT_PLACEHOLDER = "#expiresAt";
+    public static final String VERSION_KEYS_PROJECTION = String.join(", ",
+        IDENTIFIER_PLACEHOLDER, MODIFIED_DATE_PLACEHOLDER, EXPIRES_AT_PLACEHOLDER);
+    public static final Map<String, String> VERSION_KEYS_NAME_MAP = Map.of(
+        IDENTIFIER_PLACEHOLDER, TABLE_HASH_KEY,
+        MODIFIED_DATE_PLACEHOLDER, TABLE_SORT_KEY,
+        EXPIRES_AT_PLACEHOLDER, EXPIRES_AT_FIELD_NAME);
+    public static final String EXPIRES_AT_VALUE = ":expiresAt";
+    public static final String EXPIRE_VERSION = "SET " + EXPIRES_AT_PLACEHOLDER + " = " + EXPIRES_AT_VALUE
+        + " REMOVE " + STATUS_DATE_PLACEHOLDER;
+    public static final Map<String, String> EXPIRE_VERSION_NAME_MAP = Map.of(
+        IDENTIFIER_PLACEHOLDER, TABLE_HASH_KEY,
+        EXPIRES_AT_PLACEHOLDER, EXPIRES_AT_FIELD_NAME,
+        STATUS_DATE_PLACEHOLDER, DOI_REQUEST_INDEX_SORT_KEY);
+    public static final String COMPACTION_STARTED_MESSAGE = "Compacting version history with %s";
+    public static final String COMPACTION_STOPPED_MESSAGE = "Compaction %s after scanning %d versions, %s %d. "
+        + "Checkpoint: %s";
+    public static final String VERSION_DELETED_MESSAGE = "Version was deleted before it was expired: ";
+    public static final String COMPLETED = "completed";
+    public static final String STOPPED_AT_DEADLINE = "stopped at its deadline";
+    public static final String COMPACTED = "compacted";
+    public static final String WOULD_HAVE_COMPACTED = "would have compacted";
+
+    private static final Logger logger = LoggerFactory.getLogger(VersionHistoryCompaction.class);
+    private final Table publicationsTable;
+    private final CompactionSettings settings;
+    private final Clock clock;
+    private final SegmentedVersionScan scan;
+    private final CapacityRateLimiter rateLimiter;
+
+    /**
+     * Creates a compaction.
+     *
+     * @param publicationsTable the publications table.
+     * @param settings          the settings of the compaction, and the checkpoint to resume from, if any.
+     * @param clock             the clock of the deadline and of the expiry times.
+     */
+    public VersionHistoryCompaction(Table publicationsTable, CompactionSettings settings, Clock clock) {
+        settings.validate();
+        this.publicationsTable = publicationsTable;
+        this.settings = settings;
+        this.clock = clock;
+        this.scan = new SegmentedVersionScan(publicationsTable, settings, clock);
+        this.rateLimiter = scan.getRateLimiter();
+    }
+
+    /**
+     * Compacts the segments that are not done, until they are done or the deadline has passed.
+     *
+     * @param deadline the time after which no more publications are compacted.
+     * @return the progress of each segment, to resume from when the compaction is not complete.
+     */
+    public CompactionCheckpoint run(Instant deadline) {
+        logger.info(String.format(COMPACTION_STARTED_MESSAGE, settings));
+        CompactionCheckpoint checkpoint = scan.run(VERSION_KEYS_PROJECTION, VERSION_KEYS_NAME_MAP,
+            this::compactPublication, deadline);
+        logProgress(checkpoint);
+        return checkpoint;
+    }
+
+    /*
+     * Versions are ordered the way the table orders its sort key, so the versions that are kept are the ones the
+     * service reads as the newest.
+     */
+    private void compactPublication(List<Item> publicationVersions, SegmentProgress progress) {
+        publicationVersions.stream()
+            .sorted(Comparator.comparing((Item version) -> version.getString(TABLE_SORT_KEY)).reversed())
+            .skip(1L + settings.getVersionsToKeep())
+            .filter(this::isNotCompacted)
+            .forEach(version -> {
+                compactVersion(version);
+                progress.addCompactedVersion();
+            });
+    }
+
+    private boolean isNotCompacted(Item version) {
+        return settings.getMode() == CompactionMode.DELETE || !version.isPresent(EXPIRES_AT_FIELD_NAME);
+    }
+
+    private void compactVersion(Item version) {
+        if (settings.isDryRun()) {
+            return;
+        }
+        PrimaryKey key = new PrimaryKey(
+            TABLE_HASH_KEY, version.getString(TABLE_HASH_KEY),
+            TABLE_SORT_KEY, version.getString(TABLE_SORT_KEY));
+        if (settings.getMode() == CompactionMode.DELETE) {
+            deleteVersion(key);
+        } else {
+            expireVersion(key);
+        }
+    }
+
+    private void deleteVersion(PrimaryKey key) {
+        DeleteItemOutcome outcome = publicationsTable.deleteItem(new DeleteItemSpec()
+            .withPrimaryKey(key)
+            .withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL));
+        rateLimiter.consume(outcome.getDeleteItemResult().getConsumedCapacity());
+    }
+
+    /*
+     * The version is taken out of the DOI requests index as well, so it is gone from the index before the time to
+     * live deletes it. A version that was deleted in the meantime is left deleted.
+     */
+    private void expireVersion(PrimaryKey key) {
+        long expiresAt = clock.instant().plus(settings.expireAfter()).getEpochSecond();
+        UpdateItemSpec updateItemSpec = new UpdateItemSpec()
+            .withPrimaryKey(key)
+            .withUpdateExpression(EXPIRE_VERSION)
+            .withConditionExpression(VERSION_EXISTS_CONDITION)
+            .withNameMap(EXPIRE_VERSION_NAME_MAP)
+            .withValueMap(Map.of(EXPIRES_AT_VALUE, expiresAt))
+            .withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+        try {
+            UpdateItemOutcome outcome = publicationsTable.updateItem(updateItemSpec);
+            rateLimiter.consume(outcome.getUpdateItemResult().getConsumedCapacity());
+        } catch (ConditionalCheckFailedException e) {
+            logger.warn(VERSION_DELETED_MESSAGE + key);
+        }
+    }
+
+    private void logProgress(CompactionCheckpoint checkpoint) {
+        String checkpointJson = JsonUtils.objectMapper.valueToTree(checkpoint).toString();
+        logger.info(String.format(COMPACTION_STOPPED_MESSAGE,
+            checkpoint.isComplete() ? COMPLETED : STOPPED_AT_DEADLINE,
+            checkpoint.getScannedVersions(),
+            settings.isDryRun() ? WOULD_HAVE_COMPACTED : COMPACTED,
+            checkpoint.getCompactedVersions(),
+            checkpointJson));
+    }
+}
@@ -0,0 +1,96 @@
+package no.unit.nva.doi.requests;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the deployment template for the permissions the handlers need. The message threads and the statuses are
+ * read with the role of the function, so that role must be allowed to query the table itself, and not only its
+ * indexes. The roles of the other functions must not be.
+ */
+public class TemplatePermissionsTest {
+
+    public static final Path TEMPLATE = Path.of("..", "template.yaml");
+    public static final String TABLE_NAME_PARAMETER = "DoiRequestsTableName";
+    public static final String INDEX_PATH = "/index/";
+    public static final String QUERY_ACTION = "dynamodb:Query";
+    public static final String LIST_MESSAGES_HANDLER =
+        "no.unit.nva.doi.requests.handlers.ListDoiRequestMessagesHandler::handleRequest";
+    public static final String FIND_STATUSES_HANDLER =
+        "no.unit.nva.doi.requests.FindDoiRequestStatusesHandler::handleRequest";
+    public static final String FIND_DOI_REQUESTS_HANDLER =
+        "no.unit.nva.doi.requests.FindDoiRequestsHandler::handleRequest";
+    public static final String MESSAGE_HANDLER =
+        "no.unit.nva.doi.requests.handlers.DoiRequestMessageHandler::handleRequest";
+
+    private JsonNode resources;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        resources = new YAMLMapper().readTree(TEMPLATE.toFile()).get("Resources");
+    }
+
+    @Test
+    public void roleOfListMessagesFunctionMayQueryTheTable() {
+        assertThat(mayQueryTheTable(roleOfFunction(LIST_MESSAGES_HANDLER)), is(true));
+    }
+
+    @Test
+    public void roleOfFindStatusesFunctionMayQueryTheTable() {
+        assertThat(mayQueryTheTable(roleOfFunction(FIND_STATUSES_HANDLER)), is(true));
+    }
+
+    @Test
+    public void roleOfFindDoiRequestsFunctionMayNotQueryTheTable() {
+        assertThat(mayQueryTheTable(roleOfFunction(FIND_DOI_REQUESTS_HANDLER)), is(false));
+    }
+
+    @Test
+    public void roleOfMessageFunctionMayNotQueryTheTable() {
+        assertThat(mayQueryTheTable(roleOfFunction(MESSAGE_HANDLER)), is(false));
+    }
+
+    private JsonNode roleOfFunction(String handler) {
+        JsonNode function = StreamSupport.stream(resources.spliterator(), false)
+            .filter(resource -> handler.equals(resource.path("Properties").path("Handler").asText()))
+            .findAny()
+            .orElseThrow();
+        String roleReference = function.path("Properties").path("Role").asText();
+        return resources.get(roleReference.substring(0, roleReference.indexOf('.')));
+    }
+
+    /*
+     * The handlers authorize the reads themselves, so the statement must not be limited by a condition either.
+     */
+    private static boolean mayQueryTheTable(JsonNode role) {
+        return StreamSupport.stream(role.path("Properties").path("Policies").spliterator(), false)
+            .flatMap(policy -> StreamSupport.stream(
+                policy.path("PolicyDocument").path("Statement").spliterator(), false))
+            .filter(statement -> "Allow".equals(statement.path("Effect").asText()))
+            .filter(statement -> statement.path("Condition").isMissingNode())
+            .filter(statement -> contains(statement.path("Action"), QUERY_ACTION))
+            .flatMap(statement -> StreamSupport.stream(statement.path("Resource").spliterator(), false))
+            .anyMatch(TemplatePermissionsTest::isTheTable);
+    }
+
+    /*
+     * A resource is written as !Join [ "", [ parts ] ], and the ARN of the table ends with the table name parameter.
+     */
+    private static boolean isTheTable(JsonNode resource) {
+        JsonNode parts = resource.path(1);
+        return parts.size() > 0
+            && TABLE_NAME_PARAMETER.equals(parts.get(parts.size() - 1).asText())
+            && !contains(parts, INDEX_PATH);
+    }
+
+    private static boolean contains(JsonNode values, String value) {
+        return StreamSupport.stream(values.spliterator(), false).anyMatch(node -> value.equals(node.asText()));
+    }
+}
@@ -0,0 +1,120 @@
+package no.unit.nva.doi.requests.handlers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import com.amazonaws.auth.STSAssumeRoleSessionCredentialsProvider;
+import com.amazonaws.services.dynamodbv2.document.Index;
+import com.amazonaws.services.dynamodbv2.document.Table;
+import com.amazonaws.services.securitytoken.model.AssumeRoleRequest;
+import com.amazonaws.services.securitytoken.model.AssumeRoleResult;
+import com.amazonaws.services.securitytoken.model.Tag;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import no.unit.nva.doi.requests.service.impl.DoiRequestsServiceCache;
+import no.unit.nva.doi.requests.service.impl.DynamoDBDoiRequestsService;
+import no.unit.nva.doi.requests.service.impl.InMemoryPublicationChangeFeed;
+import no.unit.nva.doi.requests.util.LocalStsClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CachingStsClientTest {
+
+    public static final String ROLE_ARN = "arn:aws:iam::123456789012:role/AssumedRole";
+    public static final Duration REFRESH_MARGIN = Duration.ofMinutes(5);
+    public static final int MAXIMUM_SIZE = 2;
+    public static final Instant NOW = Instant.parse("2020-01-01T10:00:00Z");
+    public static final Tag PUBLISHER_TAG = new Tag().withKey("publisherIdentifier").withValue("publisher");
+    public static final Tag OWNER_TAG = new Tag().withKey("owner").withValue("owner");
+    public static final Tag OTHER_OWNER_TAG = new Tag().withKey("owner").withValue("otherOwner");
+
+    private Clock clock;
+    private LocalStsClient localSts;
+    private CachingStsClient stsClient;
+
+    @BeforeEach
+    public void setUp() {
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        localSts = new LocalStsClient(clock);
+        stsClient = new CachingStsClient(localSts, REFRESH_MARGIN, MAXIMUM_SIZE, clock);
+    }
+
+    @Test
+    public void assumeRoleReturnsCachedSessionForTheSameTagsInAnyOrder() {
+        AssumeRoleResult first = stsClient.assumeRole(request("session1", PUBLISHER_TAG, OWNER_TAG));
+        AssumeRoleResult second = stsClient.assumeRole(request("session2", OWNER_TAG, PUBLISHER_TAG));
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(localSts.getAssumeRoleCalls(), is(equalTo(1)));
+    }
+
+    @Test
+    public void assumeRoleAssumesRoleAgainForOtherTags() {
+        AssumeRoleResult first = stsClient.assumeRole(request("session", PUBLISHER_TAG, OWNER_TAG));
+        AssumeRoleResult second = stsClient.assumeRole(request("session", PUBLISHER_TAG, OTHER_OWNER_TAG));
+
+        assertThat(second, is(not(sameInstance(first))));
+        assertThat(localSts.getAssumeRoleCalls(), is(equalTo(2)));
+    }
+
+    @Test
+    public void assumeRoleRefreshesSessionAheadOfItsExpiry() {
+        AssumeRoleResult first = stsClient.assumeRole(request("session", OWNER_TAG));
+        Instant expiration = first.getCredentials().getExpiration().toInstant();
+        when(clock.instant()).thenReturn(expiration.minus(REFRESH_MARGIN));
+
+        AssumeRoleResult second = stsClient.assumeRole(request("session", OWNER_TAG));
+
+        assertThat(second, is(not(sameInstance(first))));
+        assertThat(localSts.getAssumeRoleCalls(), is(equalTo(2)));
+    }
+
+    @Test
+    public void assumeRoleEvictsLeastRecentlyUsedSessionWhenCacheIsFull() {
+        AssumeRoleResult first = stsClient.assumeRole(request("session", OWNER_TAG));
+        AssumeRoleResult second = stsClient.assumeRole(request("session", OTHER_OWNER_TAG));
+        stsClient.assumeRole(request("session", OWNER_TAG));
+        stsClient.assumeRole(request("session", PUBLISHER_TAG));
+
+        assertThat(stsClient.assumeRole(request("session", OWNER_TAG)), is(sameInstance(first)));
+        assertThat(stsClient.assumeRole(request("session", OTHER_OWNER_TAG)), is(not(sameInstance(second))));
+    }
+
+    @Test
+    public void credentialsProvidersOfTheSameTagsShareTheCachedServiceWithoutAssumingTheRole() {
+        LocalStsClient sts = new LocalStsClient();
+        CachingStsClient cachingSts = new CachingStsClient(sts);
+        DoiRequestsServiceCache serviceCache = new DoiRequestsServiceCache(
+            credentials -> new DynamoDBDoiRequestsService(null, mock(Table.class), mock(Index.class),
+                mock(Index.class), new InMemoryPublicationChangeFeed()));
+
+        DynamoDBDoiRequestsService first = serviceCache.apply(
+            credentialsProvider(cachingSts, OWNER_TAG, PUBLISHER_TAG), List.of(OWNER_TAG, PUBLISHER_TAG));
+        DynamoDBDoiRequestsService second = serviceCache.apply(
+            credentialsProvider(cachingSts, PUBLISHER_TAG, OWNER_TAG), List.of(PUBLISHER_TAG, OWNER_TAG));
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(sts.getAssumeRoleCalls(), is(equalTo(0)));
+    }
+
+    private STSAssumeRoleSessionCredentialsProvider credentialsProvider(CachingStsClient sts, Tag... tags) {
+        return new STSAssumeRoleSessionCredentialsProvider.Builder(ROLE_ARN, "session")
+            .withStsClient(sts)
+            .withSessionTags(List.of(tags))
+            .build();
+    }
+
+    private AssumeRoleRequest request(String sessionName, Tag... tags) {
+        return new AssumeRoleRequest()
+            .withRoleArn(ROLE_ARN)
+            .withRoleSessionName(sessionName)
+            .withTags(tags);
+    }
+}
@@ -54,8 +54,13 @@ public class DoiRequestAuthorizedHandlerTemplateTest {
             .withKey(DoiRequestAuthorizedHandlerTemplate.PUBLISHER_IDENTIFIER)
             .withValue(SAMPLE_CUSTOMER_ID);
 
+        Tag ownerTag = new Tag()
+            .withKey(DoiRequestAuthorizedHandlerTemplate.OWNER)
+            .withValue(SAMPLE_FEIDE_ID);
+
         Set<Tag> allTags = new HashSet<>(accessRightTags);
         allTags.add(publisherTag);
+        allTags.add(ownerTag);
         return allTags;
     }
 
@@ -0,0 +1,76 @@
+package no.unit.nva.doi.requests.handlers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import nva.commons.handlers.RequestInfo;
+import org.apache.http.HttpHeaders;
+import org.junit.jupiter.api.Test;
+
+public class EntityTagsTest {
+
+    public static final List<Object> SOME_VALUES = Arrays.asList("someValue", 1, null);
+    public static final List<Object> OTHER_VALUES = Arrays.asList("someValue", 2, null);
+    public static final String OTHER_TAG = "\"otherTag\"";
+
+    @Test
+    public void ofReturnsTheSameTagForTheSameValues() {
+        assertThat(EntityTags.of(SOME_VALUES), is(equalTo(EntityTags.of(Arrays.asList("someValue", 1, null)))));
+    }
+
+    @Test
+    public void ofReturnsDifferentTagsForDifferentValues() {
+        assertThat(EntityTags.of(SOME_VALUES), is(not(equalTo(EntityTags.of(OTHER_VALUES)))));
+    }
+
+    @Test
+    public void ofReturnsDifferentTagsWhenValuesAreSplitDifferently() {
+        assertThat(EntityTags.of(List.of("ab", "c")), is(not(equalTo(EntityTags.of(List.of("a", "bc"))))));
+    }
+
+    @Test
+    public void isNotModifiedReturnsTrueWhenIfNoneMatchContainsTheTag() {
+        String tag = EntityTags.of(SOME_VALUES);
+
+        assertThat(EntityTags.isNotModified(requestWithHeader(HttpHeaders.IF_NONE_MATCH, tag), tag), is(true));
+    }
+
+    @Test
+    public void isNotModifiedReturnsTrueForWeakTagInListAndLowerCaseHeaderName() {
+        String tag = EntityTags.of(SOME_VALUES);
+        String ifNoneMatch = OTHER_TAG + ", " + EntityTags.WEAK_TAG_PREFIX + tag;
+
+        RequestInfo requestInfo = requestWithHeader(HttpHeaders.IF_NONE_MATCH.toLowerCase(), ifNoneMatch);
+
+        assertThat(EntityTags.isNotModified(requestInfo, tag), is(true));
+    }
+
+    @Test
+    public void isNotModifiedReturnsTrueWhenIfNoneMatchIsAnyTag() {
+        RequestInfo requestInfo = requestWithHeader(HttpHeaders.IF_NONE_MATCH, EntityTags.ANY_TAG);
+
+        assertThat(EntityTags.isNotModified(requestInfo, EntityTags.of(SOME_VALUES)), is(true));
+    }
+
+    @Test
+    public void isNotModifiedReturnsFalseWhenIfNoneMatchDoesNotContainTheTag() {
+        RequestInfo requestInfo = requestWithHeader(HttpHeaders.IF_NONE_MATCH, OTHER_TAG);
+
+        assertThat(EntityTags.isNotModified(requestInfo, EntityTags.of(SOME_VALUES)), is(false));
+    }
+
+    @Test
+    public void isNotModifiedReturnsFalseWhenThereIsNoIfNoneMatchHeader() {
+        assertThat(EntityTags.isNotModified(new RequestInfo(), EntityTags.of(SOME_VALUES)), is(false));
+    }
+
+    private static RequestInfo requestWithHeader(String name, String value) {
+        RequestInfo requestInfo = new RequestInfo();
+        requestInfo.setHeaders(Map.of(name, value));
+        return requestInfo;
+    }
+}
@@ -0,0 +1,118 @@
+package no.unit.nva.doi.requests.metrics;
+
+import static nva.commons.utils.JsonUtils.objectMapper;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.emptyString;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import com.amazonaws.services.dynamodbv2.model.ConsumedCapacity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class EmbeddedMetricsTest {
+
+    public static final Instant NOW = Instant.parse("2020-01-01T10:00:00Z");
+    public static final String OPERATION = "FindDoiRequestsHandler";
+    public static final String PUBLISHER = "https://example.org/publisher";
+    public static final long ONE_AND_A_HALF_MILLIS = 1_500_000L;
+
+    private ByteArrayOutputStream output;
+    private EmbeddedMetrics metrics;
+
+    @BeforeEach
+    public void setUp() {
+        output = new ByteArrayOutputStream();
+        metrics = new EmbeddedMetrics(Clock.fixed(NOW, ZoneOffset.UTC),
+            new PrintStream(output, true, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void flushWritesMetricsInTheEmbeddedMetricFormat() throws JsonProcessingException {
+        metrics.recordLatency(Phase.QUERY, ONE_AND_A_HALF_MILLIS);
+        metrics.addConsumedCapacity(Counter.CONSUMED_READ_CAPACITY, new ConsumedCapacity().withCapacityUnits(2.5));
+        metrics.putProperty(EmbeddedMetrics.PUBLISHER_PROPERTY, PUBLISHER);
+
+        JsonNode logLine = objectMapper.readTree(metrics.flush(OPERATION));
+
+        JsonNode metadata = logLine.path(EmbeddedMetrics.AWS_FIELD);
+        assertThat(metadata.path(EmbeddedMetrics.TIMESTAMP_FIELD).asLong(), is(equalTo(NOW.toEpochMilli())));
+        JsonNode directive = metadata.path(EmbeddedMetrics.CLOUDWATCH_METRICS_FIELD).path(0);
+        assertThat(directive.path(EmbeddedMetrics.NAMESPACE_FIELD).asText(), is(equalTo(EmbeddedMetrics.NAMESPACE)));
+        assertThat(directive.path(EmbeddedMetrics.DIMENSIONS_FIELD).path(0).path(0).asText(),
+            is(equalTo(EmbeddedMetrics.OPERATION_DIMENSION)));
+        assertThat(directive.path(EmbeddedMetrics.METRICS_FIELD).size(), is(equalTo(2)));
+
+        assertThat(logLine.path(EmbeddedMetrics.OPERATION_DIMENSION).asText(), is(equalTo(OPERATION)));
+        assertThat(logLine.path(EmbeddedMetrics.PUBLISHER_PROPERTY).asText(), is(equalTo(PUBLISHER)));
+        assertThat(logLine.path(Phase.QUERY.getMetricName()).path(0).asDouble(),
+            is(closeTo(1.5, 1.5 / LatencyHistogram.SUB_BUCKETS)));
+        assertThat(logLine.path(Counter.CONSUMED_READ_CAPACITY.getMetricName()).asDouble(), is(equalTo(2.5)));
+        assertThat(output.toString(StandardCharsets.UTF_8).trim(), is(equalTo(logLine.toString())));
+    }
+
+    @Test
+    public void flushWritesTheRatioOfScannedToReturnedItems() throws JsonProcessingException {
+        metrics.addCount(Counter.SCANNED_ITEMS, 30);
+        metrics.addCount(Counter.SCANNED_ITEMS, 10);
+        metrics.addCount(Counter.RETURNED_ITEMS, 8);
+
+        JsonNode logLine = objectMapper.readTree(metrics.flush(OPERATION));
+
+        assertThat(logLine.path(Counter.SCANNED_ITEMS.getMetricName()).asDouble(), is(equalTo(40d)));
+        assertThat(logLine.path(EmbeddedMetrics.SCANNED_TO_RETURNED_RATIO).asDouble(), is(equalTo(5d)));
+    }
+
+    @Test
+    public void flushCountsQueriesReturningNothingAsReturningOneItem() throws JsonProcessingException {
+        metrics.addCount(Counter.SCANNED_ITEMS, 12);
+
+        JsonNode logLine = objectMapper.readTree(metrics.flush(OPERATION));
+
+        assertThat(logLine.path(EmbeddedMetrics.SCANNED_TO_RETURNED_RATIO).asDouble(), is(equalTo(12d)));
+    }
+
+    @Test
+    public void flushWritesTheHitRateOfThePublicationCache() throws JsonProcessingException {
+        metrics.addCount(Counter.PUBLICATION_CACHE_HITS, 3);
+        metrics.addCount(Counter.PUBLICATION_CACHE_MISSES, 1);
+
+        JsonNode logLine = objectMapper.readTree(metrics.flush(OPERATION));
+
+        assertThat(logLine.path(EmbeddedMetrics.PUBLICATION_CACHE_HIT_RATE).asDouble(), is(equalTo(0.75d)));
+    }
+
+    @Test
+    public void flushStartsOverAndWritesNothingWhenNothingIsRecorded() {
+        metrics.addConsumedCapacity(Counter.CONSUMED_WRITE_CAPACITY, null);
+        metrics.addConsumedCapacity(Counter.CONSUMED_WRITE_CAPACITY, new ConsumedCapacity());
+        metrics.putProperty(EmbeddedMetrics.PUBLISHER_PROPERTY, PUBLISHER);
+
+        assertThat(metrics.flush(OPERATION), is(emptyString()));
+        assertThat(output.size(), is(equalTo(0)));
+
+        metrics.recordLatencySince(Phase.WRITE, System.nanoTime());
+        assertThat(metrics.flush(OPERATION), is(not(emptyString())));
+        assertThat(metrics.flush(OPERATION), is(emptyString()));
+    }
+
+    @Test
+    public void currentReturnsOneCollectorPerThread() throws ExecutionException, InterruptedException {
+        EmbeddedMetrics current = EmbeddedMetrics.current();
+
+        assertThat(EmbeddedMetrics.current(), is(sameInstance(current)));
+        assertThat(CompletableFuture.supplyAsync(EmbeddedMetrics::current).get(), is(not(sameInstance(current))));
+    }
+}
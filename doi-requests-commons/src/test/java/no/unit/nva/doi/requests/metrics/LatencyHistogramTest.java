@@ -0,0 +1,71 @@
+package no.unit.nva.doi.requests.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    public static final double RELATIVE_PRECISION = 1d / LatencyHistogram.SUB_BUCKETS;
+
+    @Test
+    public void recordKeepsSmallValuesExactly() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        histogram.record(7);
+        histogram.record(-1);
+
+        assertThat(histogram.getTotalCount(), is(equalTo(3L)));
+        assertThat(histogram.values(10), contains(0L, 3L, 7L));
+    }
+
+    @Test
+    public void recordKeepsLargeValuesWithinTheRelativePrecision() {
+        for (long value : new long[]{17, 1_000, 123_456, 98_765_432_100L, Long.MAX_VALUE}) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(value);
+
+            double recorded = histogram.valueAtPercentile(50);
+            assertThat(recorded, is(closeTo(value, value * RELATIVE_PRECISION)));
+        }
+    }
+
+    @Test
+    public void valueAtPercentileReturnsTheNearestRankValue() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1; value <= 10; value++) {
+            histogram.record(value);
+        }
+
+        assertThat(histogram.valueAtPercentile(50), is(equalTo(5L)));
+        assertThat(histogram.valueAtPercentile(95), is(equalTo(10L)));
+        assertThat(histogram.valueAtPercentile(0), is(equalTo(1L)));
+        assertThat(histogram.valueAtPercentile(200), is(equalTo(10L)));
+    }
+
+    @Test
+    public void valueAtPercentileReturnsZeroWhenNothingIsRecorded() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.isEmpty(), is(true));
+        assertThat(histogram.valueAtPercentile(99), is(equalTo(0L)));
+    }
+
+    @Test
+    public void valuesReturnsEvenlySpreadPercentilesWhenThereAreMoreValuesThanWanted() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 0; value < 1_000; value++) {
+            histogram.record(value % 10);
+        }
+
+        List<Long> values = histogram.values(10);
+
+        assertThat(values, hasSize(10));
+        assertThat(values, contains(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L));
+    }
+}
@@ -0,0 +1,130 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.ItemUtils;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import nva.commons.utils.JsonUtils;
+import org.junit.jupiter.api.Test;
+
+public class AttributeValueGeneratorTest {
+
+    public static final String JSON = "{"
+        + "\"string\":\"value\","
+        + "\"integer\":1,"
+        + "\"long\":12345678901234,"
+        + "\"decimal\":1.5,"
+        + "\"true\":true,"
+        + "\"false\":false,"
+        + "\"null\":null,"
+        + "\"emptyList\":[],"
+        + "\"list\":[\"a\",2,{\"nested\":[true,null]}],"
+        + "\"map\":{\"inner\":{\"value\":\"x\"}}"
+        + "}";
+
+    private final ObjectMapper objectMapper = JsonUtils.objectMapper;
+
+    @Test
+    public void generatorWritesSameAttributesAsItemFromJson() throws IOException {
+        JsonNode json = objectMapper.readTree(JSON);
+
+        AttributeValueGenerator generator = new AttributeValueGenerator(objectMapper);
+        objectMapper.writeTree(generator, json);
+
+        assertThat(generator.getAttributes(), is(equalTo(ItemUtils.toAttributeValues(Item.fromJSON(JSON)))));
+    }
+
+    @Test
+    public void generatorWritesNumbersAndTextOfAllTypes() throws IOException {
+        AttributeValueGenerator generator = new AttributeValueGenerator(objectMapper);
+        generator.writeStartObject();
+        writeField(generator, "int").writeNumber(1);
+        writeField(generator, "long").writeNumber(2L);
+        writeField(generator, "bigInteger").writeNumber(BigInteger.valueOf(3));
+        writeField(generator, "double").writeNumber(4.5d);
+        writeField(generator, "float").writeNumber(5.5f);
+        writeField(generator, "bigDecimal").writeNumber(new BigDecimal("6.5"));
+        writeField(generator, "encoded").writeNumber("7");
+        writeField(generator, "characters").writeString("text".toCharArray(), 1, 2);
+        writeField(generator, "utf8").writeUTF8String(utf8("text"), 0, 4);
+        writeField(generator, "rawUtf8").writeRawUTF8String(utf8("text"), 0, 3);
+        writeField(generator, "binary").writeBinary(utf8("bytes"));
+        writeField(generator, "nullString").writeString((String) null);
+        writeField(generator, "nullBigInteger").writeNumber((BigInteger) null);
+        writeField(generator, "nullBigDecimal").writeNumber((BigDecimal) null);
+        writeField(generator, "nullEncoded").writeNumber((String) null);
+        generator.writeEndObject();
+        generator.flush();
+
+        Map<String, AttributeValue> attributes = generator.getAttributes();
+        assertThat(attributes.get("int"), is(equalTo(new AttributeValue().withN("1"))));
+        assertThat(attributes.get("long"), is(equalTo(new AttributeValue().withN("2"))));
+        assertThat(attributes.get("bigInteger"), is(equalTo(new AttributeValue().withN("3"))));
+        assertThat(attributes.get("double"), is(equalTo(new AttributeValue().withN("4.5"))));
+        assertThat(attributes.get("float"), is(equalTo(new AttributeValue().withN("5.5"))));
+        assertThat(attributes.get("bigDecimal"), is(equalTo(new AttributeValue().withN("6.5"))));
+        assertThat(attributes.get("encoded"), is(equalTo(new AttributeValue().withN("7"))));
+        assertThat(attributes.get("characters"), is(equalTo(new AttributeValue("ex"))));
+        assertThat(attributes.get("utf8"), is(equalTo(new AttributeValue("text"))));
+        assertThat(attributes.get("rawUtf8"), is(equalTo(new AttributeValue("tex"))));
+        assertThat(attributes.get("binary"), is(equalTo(new AttributeValue().withB(ByteBuffer.wrap(utf8("bytes"))))));
+        assertThat(attributes.get("nullString"), is(equalTo(new AttributeValue().withNULL(true))));
+        assertThat(attributes.get("nullBigInteger"), is(equalTo(new AttributeValue().withNULL(true))));
+        assertThat(attributes.get("nullBigDecimal"), is(equalTo(new AttributeValue().withNULL(true))));
+        assertThat(attributes.get("nullEncoded"), is(equalTo(new AttributeValue().withNULL(true))));
+    }
+
+    @Test
+    public void getAttributesThrowsExceptionWhenValueIsNotAnObject() throws IOException {
+        AttributeValueGenerator generator = new AttributeValueGenerator(objectMapper);
+        generator.writeString("notAnObject");
+
+        assertThrows(IOException.class, generator::getAttributes);
+        assertThrows(IOException.class, new AttributeValueGenerator(objectMapper)::getAttributes);
+    }
+
+    @Test
+    public void generatorRejectsRawContent() throws IOException {
+        AttributeValueGenerator generator = new AttributeValueGenerator(objectMapper);
+        generator.writeStartArray();
+
+        assertThrows(IOException.class, () -> generator.writeRaw("raw"));
+        assertThrows(IOException.class, () -> generator.writeRaw("raw", 0, 1));
+        assertThrows(IOException.class, () -> generator.writeRaw("raw".toCharArray(), 0, 1));
+        assertThrows(IOException.class, () -> generator.writeRaw('r'));
+    }
+
+    @Test
+    public void generatorRejectsMisplacedTokens() throws IOException {
+        AttributeValueGenerator generator = new AttributeValueGenerator(objectMapper);
+        generator.writeStartObject();
+
+        assertThrows(IOException.class, () -> generator.writeString("valueWithoutName"));
+        assertThrows(IOException.class, generator::writeEndArray);
+        generator.writeFieldName("name");
+        assertThrows(IOException.class, () -> generator.writeFieldName("otherName"));
+        generator.writeStartArray();
+        assertThrows(IOException.class, generator::writeEndObject);
+    }
+
+    private static AttributeValueGenerator writeField(AttributeValueGenerator generator, String name)
+        throws IOException {
+        generator.writeFieldName(name);
+        return generator;
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
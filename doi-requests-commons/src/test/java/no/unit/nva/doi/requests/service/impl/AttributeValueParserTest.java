@@ -0,0 +1,196 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.ItemUtils;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser.NumberType;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import nva.commons.utils.JsonUtils;
+import org.junit.jupiter.api.Test;
+
+public class AttributeValueParserTest {
+
+    public static final String JSON = "{"
+        + "\"string\":\"value\","
+        + "\"integer\":1,"
+        + "\"long\":12345678901234,"
+        + "\"bigInteger\":123456789012345678901234567890,"
+        + "\"decimal\":1.5,"
+        + "\"true\":true,"
+        + "\"false\":false,"
+        + "\"null\":null,"
+        + "\"emptyList\":[],"
+        + "\"list\":[\"a\",2,{\"nested\":[true,null]}],"
+        + "\"map\":{\"inner\":{\"value\":\"x\"}}"
+        + "}";
+    public static final byte[] BYTES = "bytes".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper = JsonUtils.objectMapper;
+
+    @Test
+    public void parserReadsAttributesOfItemAsTheJsonTheyWereCreatedFrom() throws IOException {
+        Map<String, AttributeValue> attributes = ItemUtils.toAttributeValues(Item.fromJSON(JSON));
+
+        JsonNode json = objectMapper.readTree(parser(attributes));
+
+        assertThat(json, is(equalTo(objectMapper.readTree(JSON))));
+    }
+
+    @Test
+    public void parserSkipsTopLevelAttributesOnly() throws IOException {
+        Map<String, AttributeValue> attributes = new LinkedHashMap<>();
+        attributes.put("skipped", new AttributeValue("value"));
+        attributes.put("kept", new AttributeValue().withM(Map.of("skipped", new AttributeValue("value"))));
+
+        JsonNode json = objectMapper.readTree(
+            new AttributeValueParser(attributes, Set.of("skipped"), objectMapper));
+
+        assertThat(json, is(equalTo(objectMapper.readTree("{\"kept\":{\"skipped\":\"value\"}}"))));
+    }
+
+    @Test
+    public void parserReadsSetsAsArrays() throws IOException {
+        Map<String, AttributeValue> attributes = new LinkedHashMap<>();
+        attributes.put("strings", new AttributeValue().withSS("a"));
+        attributes.put("numbers", new AttributeValue().withNS("1"));
+        attributes.put("binaries", new AttributeValue().withBS(ByteBuffer.wrap(BYTES)));
+
+        JsonNode json = objectMapper.readTree(parser(attributes));
+
+        assertThat(json.get("strings").get(0).textValue(), is(equalTo("a")));
+        assertThat(json.get("numbers").get(0).intValue(), is(equalTo(1)));
+        assertThat(json.get("binaries").get(0).binaryValue(), is(equalTo(BYTES)));
+    }
+
+    @Test
+    public void parserReportsNamesTextAndNumbersOfTheCurrentToken() throws IOException {
+        Map<String, AttributeValue> attributes = new LinkedHashMap<>();
+        attributes.put("integer", new AttributeValue().withN("1"));
+        attributes.put("decimal", new AttributeValue().withN("1.5"));
+        attributes.put("list", new AttributeValue().withL(new AttributeValue("text")));
+        AttributeValueParser parser = parser(attributes);
+
+        assertThat(parser.nextToken(), is(JsonToken.START_OBJECT));
+        assertThat(parser.getText(), is(equalTo("{")));
+        assertThat(parser.nextToken(), is(JsonToken.FIELD_NAME));
+        assertThat(parser.getText(), is(equalTo("integer")));
+        assertThat(parser.getTextLength(), is(equalTo(7)));
+        parser.overrideCurrentName("renamed");
+        assertThat(parser.getCurrentName(), is(equalTo("renamed")));
+        assertThat(parser.nextToken(), is(JsonToken.VALUE_NUMBER_INT));
+        assertThat(parser.getNumberType(), is(NumberType.INT));
+        assertThat(parser.getIntValue(), is(equalTo(1)));
+        assertThat(parser.getLongValue(), is(equalTo(1L)));
+        assertThat(parser.getBigIntegerValue(), is(equalTo(BigInteger.ONE)));
+        assertThat(parser.nextToken(), is(JsonToken.FIELD_NAME));
+        assertThat(parser.nextToken(), is(JsonToken.VALUE_NUMBER_FLOAT));
+        assertThat(parser.getNumberType(), is(NumberType.DOUBLE));
+        assertThat(parser.getDecimalValue(), is(equalTo(new BigDecimal("1.5"))));
+        assertThat(parser.getDoubleValue(), is(equalTo(1.5d)));
+        assertThat(parser.getFloatValue(), is(equalTo(1.5f)));
+        assertThat(parser.getText(), is(equalTo("1.5")));
+        assertThat(parser.nextToken(), is(JsonToken.FIELD_NAME));
+        assertThat(parser.nextToken(), is(JsonToken.START_ARRAY));
+        assertThat(parser.getCurrentName(), is(equalTo("list")));
+        parser.overrideCurrentName("renamedList");
+        assertThat(parser.getCurrentName(), is(equalTo("renamedList")));
+        assertThat(parser.nextToken(), is(JsonToken.VALUE_STRING));
+        assertThat(new String(parser.getTextCharacters()), is(equalTo("text")));
+        assertThat(parser.getTextOffset(), is(equalTo(0)));
+        assertThat(parser.hasTextCharacters(), is(false));
+        assertThrows(IOException.class, parser::getNumberValue);
+        assertThat(parser.nextToken(), is(JsonToken.END_ARRAY));
+        assertThat(parser.nextToken(), is(JsonToken.END_OBJECT));
+        assertThat(parser.nextToken(), is(nullValue()));
+        assertThat(parser.getText(), is(nullValue()));
+        assertThat(parser.getTextCharacters(), is(nullValue()));
+        assertThat(parser.getTextLength(), is(equalTo(0)));
+    }
+
+    @Test
+    public void parserReportsIntegersByTheirSize() throws IOException {
+        Map<String, AttributeValue> attributes = new LinkedHashMap<>();
+        attributes.put("long", new AttributeValue().withN("12345678901234"));
+        attributes.put("bigInteger", new AttributeValue().withN("123456789012345678901234567890"));
+        AttributeValueParser parser = parser(attributes);
+
+        parser.nextToken();
+        parser.nextToken();
+        parser.nextToken();
+        assertThat(parser.getNumberType(), is(NumberType.LONG));
+        parser.nextToken();
+        parser.nextToken();
+        assertThat(parser.getNumberType(), is(NumberType.BIG_INTEGER));
+    }
+
+    @Test
+    public void parserReportsBinaryValues() throws IOException {
+        Map<String, AttributeValue> attributes = new LinkedHashMap<>();
+        attributes.put("binary", new AttributeValue().withB(ByteBuffer.wrap(BYTES)));
+        attributes.put("base64", new AttributeValue(Base64Variants.getDefaultVariant().encode(BYTES)));
+        attributes.put("notBinary", new AttributeValue().withBOOL(true));
+        AttributeValueParser parser = parser(attributes);
+
+        parser.nextToken();
+        parser.nextToken();
+        assertThat(parser.getEmbeddedObject(), is(nullValue()));
+        assertThat(parser.nextToken(), is(JsonToken.VALUE_EMBEDDED_OBJECT));
+        assertThat(parser.getEmbeddedObject(), is(equalTo(BYTES)));
+        assertThat(parser.getBinaryValue(Base64Variants.getDefaultVariant()), is(equalTo(BYTES)));
+        parser.nextToken();
+        parser.nextToken();
+        assertThat(parser.getBinaryValue(Base64Variants.getDefaultVariant()), is(equalTo(BYTES)));
+        parser.nextToken();
+        parser.nextToken();
+        assertThrows(IOException.class, () -> parser.getBinaryValue(Base64Variants.getDefaultVariant()));
+    }
+
+    @Test
+    public void parserHasNoLocationsAndStopsWhenClosed() throws IOException {
+        AttributeValueParser parser = parser(Collections.emptyMap());
+        parser.setCodec(objectMapper);
+
+        assertThat(parser.getCodec(), is(equalTo(objectMapper)));
+        assertThat(parser.getTokenLocation(), is(equalTo(JsonLocation.NA)));
+        assertThat(parser.getCurrentLocation(), is(equalTo(JsonLocation.NA)));
+        assertThat(parser.nextToken(), is(JsonToken.START_OBJECT));
+        parser.close();
+        assertThat(parser.isClosed(), is(true));
+        assertThat(parser.nextToken(), is(nullValue()));
+    }
+
+    @Test
+    public void parserReadsListsOfScalars() throws IOException {
+        Map<String, AttributeValue> attributes = Map.of("list", new AttributeValue().withL(List.of(
+            new AttributeValue().withN("1"),
+            new AttributeValue().withBOOL(false),
+            new AttributeValue().withNULL(true))));
+
+        JsonNode json = objectMapper.readTree(parser(attributes));
+
+        assertThat(json, is(equalTo(objectMapper.readTree("{\"list\":[1,false,null]}"))));
+    }
+
+    private AttributeValueParser parser(Map<String, AttributeValue> attributes) {
+        return new AttributeValueParser(attributes, Collections.emptySet(), objectMapper);
+    }
+}
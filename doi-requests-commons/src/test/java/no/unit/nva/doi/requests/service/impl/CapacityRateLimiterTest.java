@@ -0,0 +1,48 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import com.amazonaws.services.dynamodbv2.model.ConsumedCapacity;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+public class CapacityRateLimiterTest {
+
+    public static final double UNITS_PER_SECOND = 10;
+
+    @Test
+    public void reserveMakesTheNextCallerWaitUntilTheUnitsArePaidFor() {
+        CapacityRateLimiter rateLimiter = new CapacityRateLimiter(UNITS_PER_SECOND);
+
+        assertThat(rateLimiter.reserve(5), is(lessThanOrEqualTo(0L)));
+        long wait = rateLimiter.reserve(1);
+
+        assertThat(wait, is(greaterThan(Duration.ofMillis(400).toNanos())));
+        assertThat(wait, is(lessThanOrEqualTo(Duration.ofMillis(500).toNanos())));
+    }
+
+    @Test
+    public void consumeWaitsForTheUnitsReportedBefore() {
+        CapacityRateLimiter rateLimiter = new CapacityRateLimiter(UNITS_PER_SECOND);
+        rateLimiter.consume(new ConsumedCapacity().withCapacityUnits(1d));
+        long start = System.nanoTime();
+
+        rateLimiter.consume(new ConsumedCapacity());
+        rateLimiter.consume((ConsumedCapacity) null);
+        rateLimiter.consume(0.5);
+
+        assertThat(System.nanoTime() - start, is(greaterThan(Duration.ofMillis(50).toNanos())));
+    }
+
+    @Test
+    public void constructorThrowsWhenTheRateIsNotPositive() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> new CapacityRateLimiter(0));
+
+        assertThat(exception.getMessage().isEmpty(), is(equalTo(false)));
+    }
+}
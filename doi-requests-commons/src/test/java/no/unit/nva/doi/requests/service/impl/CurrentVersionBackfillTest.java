@@ -0,0 +1,98 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_INDEX_SORT_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
+import static no.unit.nva.doi.requests.util.PublicationGenerator.getPublicationWithDoiRequest;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.Table;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.Period;
+import java.util.List;
+import no.unit.nva.doi.requests.util.DoiRequestsDynamoDBLocal;
+import no.unit.nva.model.Publication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CurrentVersionBackfillTest extends DoiRequestsDynamoDBLocal {
+
+    private Table table;
+    private CurrentVersionBackfill backfill;
+
+    @BeforeEach
+    public void setUp() {
+        initializeDatabase();
+        table = getTable(NVA_RESOURCES_TABLE_NAME);
+        backfill = new CurrentVersionBackfill(table, new SegmentedScanSettings(), Clock.systemUTC());
+    }
+
+    @Test
+    public void runRemovesAllButTheLatestVersionFromTheIndex() throws Exception {
+        Publication publication = getPublicationWithDoiRequest();
+        Publication laterPublication = updatedPublication(publication);
+        Publication latestPublication = updatedPublication(laterPublication);
+        insertPublication(NVA_RESOURCES_TABLE_NAME, publication);
+        insertPublication(NVA_RESOURCES_TABLE_NAME, laterPublication);
+        insertPublication(NVA_RESOURCES_TABLE_NAME, latestPublication);
+
+        CompactionCheckpoint checkpoint = backfill.run(Instant.MAX);
+
+        assertThat(checkpoint.isComplete(), is(true));
+        assertThat(checkpoint.getCompactedVersions(), is(equalTo(2L)));
+        assertThat(isIndexed(publication), is(false));
+        assertThat(isIndexed(laterPublication), is(false));
+        assertThat(isIndexed(latestPublication), is(true));
+    }
+
+    @Test
+    public void runDoesNothingWhenEachPublicationHasASingleIndexedVersion() throws Exception {
+        Publication publication = getPublicationWithDoiRequest();
+        insertPublication(NVA_RESOURCES_TABLE_NAME, publication);
+        insertPublication(NVA_RESOURCES_TABLE_NAME, updatedPublication(publication));
+        backfill.run(Instant.MAX);
+
+        assertThat(backfill.run(Instant.MAX).getCompactedVersions(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void runResumesFromTheCheckpointOfARunThatStoppedAtItsDeadline() throws Exception {
+        List<Publication> publications = List.of(getPublicationWithDoiRequest(), getPublicationWithDoiRequest());
+        for (Publication publication : publications) {
+            insertPublication(NVA_RESOURCES_TABLE_NAME, publication);
+            insertPublication(NVA_RESOURCES_TABLE_NAME, updatedPublication(publication));
+        }
+        SegmentedScanSettings settings = new SegmentedScanSettings();
+        settings.setTotalSegments(1);
+        settings.setPageSize(1);
+
+        CompactionCheckpoint firstRun = new CurrentVersionBackfill(table, settings, Clock.systemUTC())
+            .run(Instant.MIN);
+        settings.setCheckpoint(firstRun);
+        CompactionCheckpoint secondRun = new CurrentVersionBackfill(table, settings, Clock.systemUTC())
+            .run(Instant.MAX);
+
+        assertThat(firstRun.getCompactedVersions(), is(equalTo(1L)));
+        assertThat(secondRun.isComplete(), is(true));
+        assertThat(secondRun.getCompactedVersions(), is(equalTo(2L)));
+        for (Publication publication : publications) {
+            assertThat(isIndexed(publication), is(false));
+        }
+    }
+
+    private boolean isIndexed(Publication publication) {
+        Item item = table.getItem(
+            TABLE_HASH_KEY, publication.getIdentifier().toString(),
+            TABLE_SORT_KEY, publication.getModifiedDate().toString());
+        return item.isPresent(DOI_REQUEST_INDEX_SORT_KEY);
+    }
+
+    private Publication updatedPublication(Publication publication) {
+        return publication.copy()
+            .withModifiedDate(publication.getModifiedDate().plus(Period.ofDays(1)))
+            .build();
+    }
+}
@@ -0,0 +1,88 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static no.unit.nva.doi.requests.service.impl.DoiRequestHeaders.MAX_PARALLEL_QUERIES;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.ItemCollection;
+import com.amazonaws.services.dynamodbv2.document.Page;
+import com.amazonaws.services.dynamodbv2.document.QueryOutcome;
+import com.amazonaws.services.dynamodbv2.document.Table;
+import com.amazonaws.services.dynamodbv2.document.spec.QuerySpec;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import nva.commons.exceptions.ApiGatewayException;
+import nva.commons.utils.JsonUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DoiRequestHeadersTest {
+
+    public static final int NUMBER_OF_PUBLICATIONS = 3 * MAX_PARALLEL_QUERIES;
+    public static final long QUERY_MILLIS = 20;
+
+    private final AtomicInteger queriesInFlight = new AtomicInteger();
+    private final AtomicInteger mostQueriesInFlight = new AtomicInteger();
+    private final Set<Thread> queryThreads = ConcurrentHashMap.newKeySet();
+    private DoiRequestHeaders headers;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Page<Item, QueryOutcome> page = emptyPage();
+        ItemCollection<QueryOutcome> itemCollection = mock(ItemCollection.class);
+        when(itemCollection.firstPage()).thenAnswer(invocation -> slowQuery(page));
+        Table table = mock(Table.class);
+        when(table.query(any(QuerySpec.class))).thenReturn(itemCollection);
+        headers = new DoiRequestHeaders(table, PublicationHeaderCache.disabled(),
+            new PublicationItemCodec(JsonUtils.objectMapper));
+    }
+
+    @Test
+    public void queryAllRunsNoMoreThanMaxParallelQueriesAtOnceOnThreadsSharedBetweenCalls()
+        throws ApiGatewayException {
+        headers.queryAll(publicationIdentifiers());
+        headers.queryAll(publicationIdentifiers());
+
+        assertThat(mostQueriesInFlight.get(), lessThanOrEqualTo(MAX_PARALLEL_QUERIES));
+        assertThat(queryThreads.size(), lessThanOrEqualTo(MAX_PARALLEL_QUERIES));
+    }
+
+    private Page<Item, QueryOutcome> slowQuery(Page<Item, QueryOutcome> page) throws InterruptedException {
+        queryThreads.add(Thread.currentThread());
+        mostQueriesInFlight.accumulateAndGet(queriesInFlight.incrementAndGet(), Math::max);
+        Thread.sleep(QUERY_MILLIS);
+        queriesInFlight.decrementAndGet();
+        return page;
+    }
+
+    private static Page<Item, QueryOutcome> emptyPage() {
+        return new Page<>(List.of(), new QueryOutcome(new QueryResult().withItems(List.of()))) {
+            @Override
+            public boolean hasNextPage() {
+                return false;
+            }
+
+            @Override
+            public Page<Item, QueryOutcome> nextPage() {
+                throw new NoSuchElementException();
+            }
+        };
+    }
+
+    private static List<UUID> publicationIdentifiers() {
+        return IntStream.range(0, NUMBER_OF_PUBLICATIONS)
+            .mapToObj(ignored -> UUID.randomUUID())
+            .collect(Collectors.toList());
+    }
+}
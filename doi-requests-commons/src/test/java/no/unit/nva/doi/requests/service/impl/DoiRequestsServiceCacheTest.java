@@ -0,0 +1,118 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicSessionCredentials;
+import com.amazonaws.services.dynamodbv2.document.Index;
+import com.amazonaws.services.dynamodbv2.document.Table;
+import com.amazonaws.services.securitytoken.model.Tag;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DoiRequestsServiceCacheTest {
+
+    public static final Duration ENTRY_LIFETIME = Duration.ofMinutes(15);
+    public static final int MAXIMUM_SIZE = 2;
+    public static final Instant NOW = Instant.parse("2020-01-01T10:00:00Z");
+    public static final Tag OWNER_TAG = new Tag().withKey("owner").withValue("owner@unit.no");
+    public static final Tag PUBLISHER_TAG = new Tag().withKey("publisherIdentifier").withValue("publisher");
+
+    private Clock clock;
+    private AtomicInteger createdServices;
+    private DoiRequestsServiceCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        createdServices = new AtomicInteger();
+        cache = new DoiRequestsServiceCache(countingServiceProvider(), ENTRY_LIFETIME, MAXIMUM_SIZE, clock);
+    }
+
+    @Test
+    public void applyReturnsSameServiceForCredentialsOfTheSameSessionTags() {
+        DynamoDBDoiRequestsService first = cache.apply(sessionCredentials("accessKey"),
+            List.of(OWNER_TAG, PUBLISHER_TAG));
+        DynamoDBDoiRequestsService second = cache.apply(sessionCredentials("renewedAccessKey"),
+            List.of(PUBLISHER_TAG, OWNER_TAG));
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(createdServices.get(), is(equalTo(1)));
+        assertThat(cache.getHits(), is(equalTo(1L)));
+        assertThat(cache.getMisses(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void applyReturnsNewServiceForCredentialsOfOtherSessionTags() {
+        DynamoDBDoiRequestsService first = cache.apply(sessionCredentials("accessKey"), List.of(OWNER_TAG));
+        DynamoDBDoiRequestsService second = cache.apply(sessionCredentials("accessKey"), List.of(PUBLISHER_TAG));
+
+        assertThat(second, is(not(sameInstance(first))));
+        assertThat(cache.getMisses(), is(equalTo(2L)));
+    }
+
+    @Test
+    public void applyReturnsNewServiceWhenTheCachedServiceHasExpired() {
+        DynamoDBDoiRequestsService first = cache.apply(sessionCredentials("accessKey"), List.of(OWNER_TAG));
+        when(clock.instant()).thenReturn(NOW.plus(ENTRY_LIFETIME));
+
+        DynamoDBDoiRequestsService second = cache.apply(sessionCredentials("accessKey"), List.of(OWNER_TAG));
+
+        assertThat(second, is(not(sameInstance(first))));
+        assertThat(cache.getHits(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void applyEvictsLeastRecentlyUsedServiceWhenCacheIsFull() {
+        DynamoDBDoiRequestsService first = cache.apply(sessionCredentials("first"), List.of(OWNER_TAG));
+        DynamoDBDoiRequestsService second = cache.apply(sessionCredentials("second"), List.of(PUBLISHER_TAG));
+        cache.apply(sessionCredentials("first"), List.of(OWNER_TAG));
+        cache.apply(sessionCredentials("third"), List.of(OWNER_TAG, PUBLISHER_TAG));
+
+        assertThat(cache.apply(sessionCredentials("first"), List.of(OWNER_TAG)), is(sameInstance(first)));
+        assertThat(cache.apply(sessionCredentials("second"), List.of(PUBLISHER_TAG)),
+            is(not(sameInstance(second))));
+    }
+
+    @Test
+    public void applyCachesServiceOfDefaultCredentials() {
+        DynamoDBDoiRequestsService first = cache.apply(null, null);
+        DynamoDBDoiRequestsService second = cache.apply(null, null);
+
+        assertThat(second, is(sameInstance(first)));
+    }
+
+    @Test
+    public void applyDoesNotCacheServiceOfCredentialsWithoutSessionTags() {
+        DynamoDBDoiRequestsService first = cache.apply(sessionCredentials("accessKey"), null);
+        DynamoDBDoiRequestsService second = cache.apply(sessionCredentials("accessKey"), null);
+
+        assertThat(second, is(not(sameInstance(first))));
+        assertThat(cache.getHits(), is(equalTo(0L)));
+    }
+
+    private Function<AWSCredentialsProvider, DynamoDBDoiRequestsService> countingServiceProvider() {
+        return credentials -> {
+            createdServices.incrementAndGet();
+            return new DynamoDBDoiRequestsService(null, mock(Table.class), mock(Index.class), mock(Index.class),
+            new InMemoryPublicationChangeFeed());
+        };
+    }
+
+    private AWSCredentialsProvider sessionCredentials(String accessKey) {
+        return new AWSStaticCredentialsProvider(new BasicSessionCredentials(accessKey, "secretKey", "sessionToken"));
+    }
+}
@@ -1,6 +1,10 @@
 package no.unit.nva.doi.requests.service.impl;
 
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
 import static no.unit.nva.doi.requests.contants.ServiceConstants.PUBLICATIONS_TABLE_NAME_ENV_VARIABLE;
+import static no.unit.nva.doi.requests.service.impl.DoiRequestsBulkOperations.MAX_TRANSACTION_ITEMS;
+import static no.unit.nva.doi.requests.service.impl.DynamoDBDoiRequestsService.CONCURRENT_UPDATE_ERROR;
 import static no.unit.nva.doi.requests.service.impl.DynamoDBDoiRequestsService.DOI_ALREADY_EXISTS_ERROR;
 import static no.unit.nva.doi.requests.service.impl.DynamoDBDoiRequestsService.ERROR_MESSAGE_UPDATE_DOIREQUEST_MISSING_DOIREQUEST;
 import static no.unit.nva.doi.requests.service.impl.DynamoDbDoiRequestsServiceFactory.EMPTY_CREDENTIALS;
@@ -9,11 +13,16 @@ import static no.unit.nva.doi.requests.util.PublicationGenerator.PUBLISHER_ID;
 import static no.unit.nva.doi.requests.util.PublicationGenerator.getPublicationWithDoiRequest;
 import static no.unit.nva.doi.requests.util.PublicationGenerator.getPublicationWithoutDoiRequest;
 import static no.unit.nva.model.DoiRequestStatus.APPROVED;
+import static no.unit.nva.model.DoiRequestStatus.REJECTED;
 import static no.unit.nva.model.DoiRequestStatus.REQUESTED;
 import static no.unit.nva.useraccessmanagement.dao.AccessRight.APPROVE_DOI_REQUEST;
+import static no.unit.nva.useraccessmanagement.dao.AccessRight.READ_DOI_REQUEST;
 import static no.unit.nva.useraccessmanagement.dao.AccessRight.REJECT_DOI_REQUEST;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.collection.IsEmptyCollection.empty;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsEqual.equalTo;
@@ -23,35 +32,61 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.document.Index;
+import com.amazonaws.services.dynamodbv2.document.Item;
 import com.amazonaws.services.dynamodbv2.document.RangeKeyCondition;
 import com.amazonaws.services.dynamodbv2.document.Table;
 import com.amazonaws.services.dynamodbv2.document.spec.QuerySpec;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughputExceededException;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.net.URI;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import no.unit.nva.doi.requests.api.model.requests.CreateDoiRequest;
 import no.unit.nva.doi.requests.exception.BadRequestException;
 import no.unit.nva.doi.requests.exception.DynamoDBException;
 import no.unit.nva.doi.requests.model.ApiUpdateDoiRequest;
+import no.unit.nva.doi.requests.model.DoiRequestMessagesPage;
+import no.unit.nva.doi.requests.model.DoiRequestStatusChange;
+import no.unit.nva.doi.requests.model.DoiRequestStatusChange.Result;
+import no.unit.nva.doi.requests.model.DoiRequestSummary;
+import no.unit.nva.doi.requests.model.DoiRequestsPage;
+import no.unit.nva.doi.requests.model.DoiRequestsSort;
+import no.unit.nva.doi.requests.model.DoiRequestsSort.Order;
 import no.unit.nva.doi.requests.util.DoiRequestsDynamoDBLocal;
 import no.unit.nva.doi.requests.util.PublicationGenerator;
 import no.unit.nva.model.DoiRequest;
 import no.unit.nva.model.DoiRequestMessage;
 import no.unit.nva.model.DoiRequestStatus;
+import no.unit.nva.model.Organization;
 import no.unit.nva.model.Publication;
 import no.unit.nva.model.PublicationStatus;
 import no.unit.nva.useraccessmanagement.dao.AccessRight;
@@ -67,15 +102,19 @@ import nva.commons.utils.log.TestAppender;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
+import org.mockito.AdditionalAnswers;
 
 public class DynamoDBDoiRequestsServiceTest extends DoiRequestsDynamoDBLocal {
 
     public static final String DEFAULT_MESSAGE = "defaultMessage";
     public static final String INVALID_USERNAME = "invalidUsername";
+    public static final String THROTTLED_MESSAGE = "Rate of requests exceeds the allowed throughput";
     public static final DoiRequestStatus INITIAL_DOI_REQUEST_STATUS = REQUESTED;
     public static final DoiRequestStatus NEW_DOI_REQUEST_STATUS = APPROVED;
     public static final List<AccessRight> APPROVE_ACCESS_RIGHT = List.of(APPROVE_DOI_REQUEST);
     public static final String NOT_THE_OWNER = "not_the_owner";
+    public static final String CURATOR_MESSAGE = "curatorMessage";
+    public static final URI OTHER_PUBLISHER_ID = URI.create("http://example.org/publisher/2");
 
     private final Instant publicationCreationTime = Instant.parse("1900-01-01T10:00:00.00Z");
     private final Instant publicationModificationTime = Instant.parse("2000-12-03T10:15:30.00Z");
@@ -130,6 +169,193 @@ public class DynamoDBDoiRequestsServiceTest extends DoiRequestsDynamoDBLocal {
         assertThat(publications, is(empty()));
     }
 
+    @Test
+    public void findDoiRequestsByStatusReturnsOnlyPublicationsWithRequestedStatus() throws Exception {
+        Publication requestedPublication = getPublicationWithDoiRequest();
+        Publication approvedPublication = publicationWithDoiRequestStatus(getPublicationWithDoiRequest(), APPROVED);
+        insertPublication(requestedPublication);
+        insertPublication(approvedPublication);
+
+        List<Publication> publications = service.findDoiRequestsByStatus(PUBLISHER_ID, REQUESTED);
+
+        assertThat(publications, contains(requestedPublication));
+    }
+
+    @Test
+    public void findDoiRequestsByStatusOmitsPublicationWhenLatestVersionHasAnotherStatus() throws Exception {
+        Publication requestedPublication = getPublicationWithDoiRequest();
+        Publication approvedPublication =
+            publicationWithDoiRequestStatus(updatedPublication(requestedPublication), APPROVED);
+        insertPublication(requestedPublication);
+        insertPublication(approvedPublication);
+        new CurrentVersionBackfill(getTable(), new SegmentedScanSettings(), Clock.systemUTC()).run(Instant.MAX);
+
+        assertThat(service.findDoiRequestsByStatus(PUBLISHER_ID, REQUESTED), is(empty()));
+        assertThat(service.findDoiRequestsByStatus(PUBLISHER_ID, APPROVED), contains(approvedPublication));
+    }
+
+    @Test
+    public void findDoiRequestsByStatusReturnsOnlyLatestVersionWhenSupersededVersionIsStillIndexed()
+        throws Exception {
+        Publication publication = getPublicationWithDoiRequest();
+        Publication latestVersion = updatedPublication(publication);
+        insertPublication(publication);
+        insertPublication(latestVersion);
+
+        List<Publication> publications = service.findDoiRequestsByStatus(PUBLISHER_ID, REQUESTED);
+
+        assertThat(publications, contains(latestVersion));
+    }
+
+    @Test
+    public void findDoiRequestsByStatusOmitsPublicationWhenServiceHasUpdatedItsStatus() throws Exception {
+        ApiUpdateDoiRequest updateDoiRequest = new ApiUpdateDoiRequest();
+        updateDoiRequest.setDoiRequestStatus(APPROVED);
+        Publication publication = insertPublicationAndUpdateDoiRequest(updateDoiRequest);
+
+        assertThat(service.findDoiRequestsByStatus(PUBLISHER_ID, REQUESTED), is(empty()));
+        List<Publication> approved = service.findDoiRequestsByStatus(PUBLISHER_ID, APPROVED);
+        assertThat(approved.size(), is(equalTo(1)));
+        assertThat(approved.get(0).getIdentifier(), is(equalTo(publication.getIdentifier())));
+    }
+
+    @Test
+    public void findDoiRequestsByStatusReturnsNextCursorWhenMoreResultsExist() throws Exception {
+        insertPublication(getPublicationWithDoiRequest());
+        insertPublication(getPublicationWithDoiRequest());
+
+        DoiRequestsPage firstPage = service.findDoiRequestsByStatus(PUBLISHER_ID, REQUESTED, 1, null);
+
+        assertThat(firstPage.getDoiRequests().size(), is(equalTo(1)));
+        assertTrue(firstPage.getNextCursor().isPresent());
+    }
+
+    @Test
+    public void findDoiRequestsByStatusReturnsSummaryOfEachDoiRequest() throws Exception {
+        Publication publication = getPublicationWithDoiRequest();
+        insertPublication(publication);
+
+        DoiRequestsPage page = service.findDoiRequestsByStatus(PUBLISHER_ID, REQUESTED, 1, null);
+
+        DoiRequestSummary expectedSummary = new DoiRequestSummary(
+            REQUESTED,
+            publication.getDoiRequest().getCreatedDate(),
+            publication.getIdentifier(),
+            publication.getEntityDescription().getMainTitle(),
+            publication.getOwner(),
+            0,
+            null);
+        assertThat(page.getDoiRequests(), contains(expectedSummary));
+    }
+
+    @Test
+    public void findDoiRequestsByStatusReturnsAllResultsOnceWhenFollowingCursors() throws Exception {
+        Set<Publication> publications = Set.of(getPublicationWithDoiRequest(), getPublicationWithDoiRequest(),
+            getPublicationWithDoiRequest());
+        for (Publication publication : publications) {
+            insertPublication(publication);
+        }
+
+        List<UUID> actual = new ArrayList<>();
+        String cursor = null;
+        do {
+            DoiRequestsPage page = service.findDoiRequestsByStatus(PUBLISHER_ID, REQUESTED, 1, cursor);
+            page.getDoiRequests().forEach(summary -> actual.add(summary.getPublicationIdentifier()));
+            cursor = page.getNextCursor().orElse(null);
+        } while (cursor != null);
+
+        Object[] expected = publications.stream().map(Publication::getIdentifier).toArray();
+        assertThat(actual, containsInAnyOrder(expected));
+    }
+
+    @Test
+    public void findDoiRequestsByStatusFillsThePageWhenUnpublishedPublicationsAreMixedIntoTheIndex()
+        throws Exception {
+        for (int dayOfMonth : List.of(1, 2, 4, 5)) {
+            insertPublication(publicationCreatedOn(dayOfMonth, REQUESTED)
+                .copy().withStatus(PublicationStatus.DRAFT).build());
+        }
+        Publication first = publicationCreatedOn(3, REQUESTED);
+        Publication second = publicationCreatedOn(6, REQUESTED);
+        Publication third = publicationCreatedOn(7, REQUESTED);
+        insertPublication(first);
+        insertPublication(second);
+        insertPublication(third);
+
+        DoiRequestsPage firstPage = service.findDoiRequestsByStatus(PUBLISHER_ID, REQUESTED, 2, null);
+        DoiRequestsPage secondPage = service.findDoiRequestsByStatus(
+            PUBLISHER_ID, REQUESTED, 2, firstPage.getNextCursor().orElseThrow());
+
+        assertThat(publicationIdentifiers(firstPage), contains(first.getIdentifier(), second.getIdentifier()));
+        assertThat(publicationIdentifiers(secondPage), contains(third.getIdentifier()));
+        assertThat(secondPage.getNextCursor().isPresent(), is(false));
+    }
+
+    @Test
+    public void findDoiRequestsReturnsDoiRequestsOfAllGivenStatusesInTheOrderOfTheirCreatedDate() throws Exception {
+        Publication requested = publicationCreatedOn(2, REQUESTED);
+        Publication approved = publicationCreatedOn(1, APPROVED);
+        Publication rejected = publicationCreatedOn(3, REJECTED);
+        insertPublication(requested);
+        insertPublication(approved);
+        insertPublication(rejected);
+
+        DoiRequestsPage page = service.findDoiRequests(PUBLISHER_ID, List.of(REQUESTED, APPROVED), null,
+            new DoiRequestsSort(DoiRequestsSort.Field.CREATED_DATE, Order.ASC), 10, null);
+
+        assertThat(publicationIdentifiers(page), contains(approved.getIdentifier(), requested.getIdentifier()));
+        assertThat(page.getNextCursor().isPresent(), is(false));
+    }
+
+    @Test
+    public void findDoiRequestsReturnsEachDoiRequestOnceInOrderWhenFollowingCursorsOfSortedPages()
+        throws Exception {
+        List<Publication> publications = List.of(
+            publicationCreatedOn(1, REQUESTED),
+            publicationCreatedOn(2, APPROVED),
+            publicationCreatedOn(3, REQUESTED),
+            publicationCreatedOn(4, APPROVED));
+        for (Publication publication : publications) {
+            insertPublication(publication);
+        }
+
+        List<UUID> actual = new ArrayList<>();
+        String cursor = null;
+        do {
+            DoiRequestsPage page = service.findDoiRequests(PUBLISHER_ID, List.of(REQUESTED, APPROVED), null,
+                new DoiRequestsSort(DoiRequestsSort.Field.MODIFIED_DATE, Order.DESC), 1, cursor);
+            actual.addAll(publicationIdentifiers(page));
+            cursor = page.getNextCursor().orElse(null);
+        } while (cursor != null);
+
+        assertThat(actual, contains(publications.get(3).getIdentifier(), publications.get(2).getIdentifier(),
+            publications.get(1).getIdentifier(), publications.get(0).getIdentifier()));
+    }
+
+    @Test
+    public void findDoiRequestsByStatusThrowsBadRequestExceptionWhenCursorIsTampered() throws Exception {
+        insertPublication(getPublicationWithDoiRequest());
+        insertPublication(getPublicationWithDoiRequest());
+        String cursor = service.findDoiRequestsByStatus(PUBLISHER_ID, REQUESTED, 1, null)
+            .getNextCursor().orElseThrow();
+
+        Executable action = () -> service.findDoiRequestsByStatus(PUBLISHER_ID, REQUESTED, 1, cursor + "x");
+        BadRequestException exception = assertThrows(BadRequestException.class, action);
+        assertThat(exception.getMessage(), is(equalTo(PageCursorCodec.INVALID_CURSOR_ERROR)));
+    }
+
+    @Test
+    public void findDoiRequestsByStatusThrowsBadRequestExceptionWhenCursorWasIssuedForAnotherStatus()
+        throws Exception {
+        insertPublication(getPublicationWithDoiRequest());
+        insertPublication(getPublicationWithDoiRequest());
+        String cursor = service.findDoiRequestsByStatus(PUBLISHER_ID, REQUESTED, 1, null)
+            .getNextCursor().orElseThrow();
+
+        Executable action = () -> service.findDoiRequestsByStatus(PUBLISHER_ID, APPROVED, 1, cursor);
+        assertThrows(BadRequestException.class, action);
+    }
+
     @Test
     public void findDoiRequestsByStatusAndOwnerReturnsLatestPublicationForEachPublicationIdentifier() throws Exception {
         Publication publication = getPublicationWithDoiRequest();
@@ -139,6 +365,7 @@ public class DynamoDBDoiRequestsServiceTest extends DoiRequestsDynamoDBLocal {
         insertPublication(publication);
         insertPublication(laterPublication);
         insertPublication(latestPublication);
+        new CurrentVersionBackfill(getTable(), new SegmentedScanSettings(), Clock.systemUTC()).run(Instant.MAX);
 
         List<Publication> publications = service.findDoiRequestsByStatusAndOwner(
             PublicationGenerator.PUBLISHER_ID, REQUESTED, PublicationGenerator.OWNER);
@@ -164,12 +391,74 @@ public class DynamoDBDoiRequestsServiceTest extends DoiRequestsDynamoDBLocal {
         assertEquals(2, publications.size());
     }
 
+    @Test
+    public void findDoiRequestsByStatusAndOwnerOmitsPublicationsOfOtherPublishers() throws Exception {
+        Publication ownPublication = getPublicationWithDoiRequest();
+        Publication otherPublishersPublication = getPublicationWithDoiRequest().copy()
+            .withPublisher(new Organization.Builder().withId(OTHER_PUBLISHER_ID).build())
+            .build();
+        insertPublication(ownPublication);
+        insertPublication(otherPublishersPublication);
+
+        List<Publication> publications = service.findDoiRequestsByStatusAndOwner(
+            PUBLISHER_ID, REQUESTED, PublicationGenerator.OWNER);
+
+        assertThat(publications, contains(ownPublication));
+    }
+
+    @Test
+    public void findDoiRequestsByStatusAndOwnerReturnsPageWithDoiRequestsOfOnlyPublishedPublications()
+        throws Exception {
+        Publication publishedPublication = getPublicationWithDoiRequest();
+        Publication draftPublication = getPublicationWithDoiRequest()
+            .copy().withStatus(PublicationStatus.DRAFT).build();
+        insertPublication(publishedPublication);
+        insertPublication(draftPublication);
+
+        DoiRequestsPage page = service.findDoiRequestsByStatusAndOwner(
+            PUBLISHER_ID, REQUESTED, PublicationGenerator.OWNER, 10, null);
+
+        List<UUID> actual = page.getDoiRequests().stream()
+            .map(DoiRequestSummary::getPublicationIdentifier)
+            .collect(Collectors.toList());
+        assertThat(actual, contains(publishedPublication.getIdentifier()));
+    }
+
+    @Test
+    public void findDoiRequestsByStatusAndOwnerReturnsNextCursorWhenMoreResultsExist() throws Exception {
+        insertPublication(getPublicationWithDoiRequest());
+        insertPublication(getPublicationWithDoiRequest());
+
+        DoiRequestsPage firstPage = service.findDoiRequestsByStatusAndOwner(
+            PUBLISHER_ID, REQUESTED, PublicationGenerator.OWNER, 1, null);
+        DoiRequestsPage secondPage = service.findDoiRequestsByStatusAndOwner(
+            PUBLISHER_ID, REQUESTED, PublicationGenerator.OWNER, 1, firstPage.getNextCursor().orElseThrow());
+
+        assertThat(firstPage.getDoiRequests().size(), is(equalTo(1)));
+        assertThat(secondPage.getDoiRequests().size(), is(equalTo(1)));
+        assertThat(secondPage.getDoiRequests(), is(not(equalTo(firstPage.getDoiRequests()))));
+    }
+
+    @Test
+    public void findDoiRequestsByStatusAndOwnerThrowsBadRequestExceptionWhenCursorWasIssuedForAnotherOwner()
+        throws Exception {
+        insertPublication(getPublicationWithDoiRequest());
+        insertPublication(getPublicationWithDoiRequest());
+        String cursor = service.findDoiRequestsByStatusAndOwner(PUBLISHER_ID, REQUESTED,
+            PublicationGenerator.OWNER, 1, null).getNextCursor().orElseThrow();
+
+        Executable action = () -> service.findDoiRequestsByStatusAndOwner(PUBLISHER_ID, REQUESTED,
+            NOT_THE_OWNER, 1, cursor);
+        assertThrows(BadRequestException.class, action);
+    }
+
     @Test
     public void findByDoiRequestStatusThrowsExceptionOnIndexError() {
         Index index = mock(Index.class);
         when(index.query(anyString(), any(), any(RangeKeyCondition.class))).thenThrow(RuntimeException.class);
 
-        DynamoDBDoiRequestsService failingService = new DynamoDBDoiRequestsService(getTable(), index);
+        DynamoDBDoiRequestsService failingService = new DynamoDBDoiRequestsService(null, getTable(), index, index,
+            new InMemoryPublicationChangeFeed());
         DynamoDBException exception = assertThrows(DynamoDBException.class,
             () -> failingService.findDoiRequestsByStatus(PublicationGenerator.PUBLISHER_ID, REQUESTED));
 
@@ -193,7 +482,8 @@ public class DynamoDBDoiRequestsServiceTest extends DoiRequestsDynamoDBLocal {
         var table = mock(Table.class);
         var index = indexThrowingException(expectedMessage);
 
-        service = new DynamoDBDoiRequestsService(table, index);
+        service = new DynamoDBDoiRequestsService(null, table, index, index,
+            new InMemoryPublicationChangeFeed());
         Executable indexSearchFailure = () -> service.findDoiRequestsByStatus(
             publication.getPublisher().getId(), REQUESTED);
         DynamoDBException exception = assertThrows(DynamoDBException.class, indexSearchFailure);
@@ -226,13 +516,13 @@ public class DynamoDBDoiRequestsServiceTest extends DoiRequestsDynamoDBLocal {
         var doiRequestWithoutMessage = createDoiRequestWithoutMessage(publication);
         service.createDoiRequest(doiRequestWithoutMessage, publication.getOwner());
 
-        DoiRequest doiRequest = getPublicationDirectlyFromTable(publication.getIdentifier()).getDoiRequest();
+        DoiRequest doiRequest = getPublicationDirectlyFromTable(publication).getDoiRequest();
 
         assertThat(doiRequest.getMessages(), is(empty()));
     }
 
     @Test
-    public void createDoiRequestSetsModifiedPublicationDateEqualToDoiRequestCreatedAndModifiedDate()
+    public void createDoiRequestSetsDoiRequestModifiedDateEqualToDoiRequestCreatedDateOnCurrentVersion()
         throws IOException, ApiGatewayException {
         Publication publicationWithoutDoiRequest = getPublicationWithoutDoiRequest(clock);
         insertPublication(publicationWithoutDoiRequest);
@@ -240,14 +530,27 @@ public class DynamoDBDoiRequestsServiceTest extends DoiRequestsDynamoDBLocal {
         var doiRequestWithoutMessage = createDoiRequestWithoutMessage(publicationWithoutDoiRequest);
         service.createDoiRequest(doiRequestWithoutMessage, publicationWithoutDoiRequest.getOwner());
 
-        Publication actualPublication = getPublicationDirectlyFromTable(publicationWithoutDoiRequest.getIdentifier());
+        Publication actualPublication = getPublicationDirectlyFromTable(publicationWithoutDoiRequest);
 
-        Instant actualPublicationModifiedDate = actualPublication.getModifiedDate();
-        Instant expectedModifiedDate = actualPublication.getDoiRequest().getModifiedDate();
+        Instant doiRequestModifiedDate = actualPublication.getDoiRequest().getModifiedDate();
         Instant doiRequestCreatedDate = actualPublication.getDoiRequest().getCreatedDate();
 
-        assertThat(actualPublicationModifiedDate, is(equalTo(expectedModifiedDate)));
-        assertThat(actualPublicationModifiedDate, is(equalTo(doiRequestCreatedDate)));
+        assertThat(actualPublication.getModifiedDate(), is(equalTo(publicationWithoutDoiRequest.getModifiedDate())));
+        assertThat(doiRequestModifiedDate, is(equalTo(doiRequestCreatedDate)));
+    }
+
+    @Test
+    public void createDoiRequestThrowsConflictExceptionWhenAnotherDoiRequestIsCreatedAfterPublicationWasRead()
+        throws JsonProcessingException {
+        Publication publication = getPublicationWithoutDoiRequest(clock);
+        insertPublication(publication);
+        AmazonDynamoDB racingClient = clientLettingOwnerCreateFirst(publication);
+
+        Executable action = () -> serviceWithClient(racingClient)
+            .createDoiRequest(createDoiRequestWithMessage(publication), publication.getOwner());
+
+        ConflictException exception = assertThrows(ConflictException.class, action);
+        assertThat(exception.getMessage(), containsString(DOI_ALREADY_EXISTS_ERROR));
     }
 
     @Test
@@ -259,7 +562,8 @@ public class DynamoDBDoiRequestsServiceTest extends DoiRequestsDynamoDBLocal {
         CreateDoiRequest createDoiRequest = createDoiRequestWithMessage(publication);
         service.createDoiRequest(createDoiRequest, publication.getOwner());
 
-        Publication updatedPublication = getPublicationDirectlyFromTable(publication.getIdentifier());
+        Publication updatedPublication = service.fetchDoiRequestByPublicationIdentifier(publication.getIdentifier())
+            .orElseThrow();
 
         DoiRequestMessage actualDoiRequestMessage = extractDoiRequestMessageFromPublication(updatedPublication);
 
@@ -306,12 +610,12 @@ public class DynamoDBDoiRequestsServiceTest extends DoiRequestsDynamoDBLocal {
 
     @Test
     public void createDoiRequestThrowsRuntimeExceptionOnSerializationError()
-        throws JsonProcessingException, NoSuchFieldException, IllegalAccessException {
+        throws IOException, NoSuchFieldException, IllegalAccessException {
 
         final String exceptionMessage = "This is the exception message";
         ObjectMapper objectMapper = spy(JsonUtils.objectMapper);
-        when(objectMapper.writeValueAsString(any(Publication.class)))
-            .thenThrow(new RuntimeException(exceptionMessage));
+        doThrow(new RuntimeException(exceptionMessage))
+            .when(objectMapper).writeValue(any(JsonGenerator.class), any(Publication.class));
 
         DynamoDBDoiRequestsService serviceWithFailingJsonObjectMapper = createServiceWithFailingJsonObjectMapper(
             objectMapper);
@@ -417,6 +721,406 @@ public class DynamoDBDoiRequestsServiceTest extends DoiRequestsDynamoDBLocal {
         assertThrows(ForbiddenException.class, action);
     }
 
+    @Test
+    public void addMessageKeepsConcurrentlyAddedMessageWhenAnotherWriterUpdatesThePublicationFirst()
+        throws JsonProcessingException, ApiGatewayException {
+        Publication publication = getPublicationWithDoiRequest(clock);
+        insertPublication(publication);
+        UserInstance owner = new UserInstance(publication.getOwner(), PUBLISHER_ID, Collections.emptySet());
+        AmazonDynamoDB racingClient = clientLettingCuratorWriteFirst(publication);
+
+        serviceWithClient(racingClient).addMessage(publication.getIdentifier(), DEFAULT_MESSAGE, owner);
+
+        List<String> messages = service.fetchDoiRequestByPublicationIdentifier(publication.getIdentifier())
+            .map(Publication::getDoiRequest)
+            .map(DoiRequest::getMessages)
+            .orElseThrow()
+            .stream()
+            .map(DoiRequestMessage::getText)
+            .collect(Collectors.toList());
+        assertThat(messages, containsInAnyOrder(DEFAULT_MESSAGE, CURATOR_MESSAGE));
+    }
+
+    @Test
+    public void addMessageReadsThePublicationOnceWhenTheSameServiceSendsSeveralMessages()
+        throws JsonProcessingException, ApiGatewayException {
+        Publication publication = getPublicationWithDoiRequest(clock);
+        insertPublication(publication);
+        UserInstance owner = new UserInstance(publication.getOwner(), PUBLISHER_ID, Collections.emptySet());
+        AmazonDynamoDB countingClient = mock(AmazonDynamoDB.class, AdditionalAnswers.delegatesTo(client));
+        DynamoDBDoiRequestsService cachingService = serviceWithClient(countingClient);
+
+        cachingService.addMessage(publication.getIdentifier(), DEFAULT_MESSAGE, owner);
+        cachingService.addMessage(publication.getIdentifier(), DEFAULT_MESSAGE, owner);
+
+        verify(countingClient, times(1)).query(any(QueryRequest.class));
+        verify(countingClient, times(2)).transactWriteItems(any(TransactWriteItemsRequest.class));
+    }
+
+    @Test
+    public void updateDoiRequestAppliesStatusChangeToStatusWrittenAfterItWasRead()
+        throws JsonProcessingException, ApiGatewayException {
+        Publication publication = getPublicationWithDoiRequest(clock);
+        insertPublication(publication);
+        AmazonDynamoDB racingClient = clientLettingCuratorRejectFirst(publication);
+        ApiUpdateDoiRequest updateDoiRequest = new ApiUpdateDoiRequest();
+        updateDoiRequest.setDoiRequestStatus(APPROVED);
+
+        serviceWithClient(racingClient)
+            .updateDoiRequest(publication.getIdentifier(), updateDoiRequest, NOT_THE_OWNER, APPROVE_ACCESS_RIGHT);
+
+        verify(racingClient, times(2)).updateItem(any(UpdateItemRequest.class));
+        DoiRequest actualDoiRequest = service.fetchDoiRequestByPublicationIdentifier(publication.getIdentifier())
+            .orElseThrow()
+            .getDoiRequest();
+        assertThat(actualDoiRequest.getStatus(), is(equalTo(APPROVED)));
+    }
+
+    @Test
+    public void updateDoiRequestThrowsConflictExceptionWhenEveryWriteAttemptConflicts()
+        throws JsonProcessingException {
+        Publication publication = getPublicationWithDoiRequest(clock);
+        insertPublication(publication);
+        AmazonDynamoDB conflictingClient = mock(AmazonDynamoDB.class, AdditionalAnswers.delegatesTo(client));
+        doThrow(new ConditionalCheckFailedException(CONCURRENT_UPDATE_ERROR))
+            .when(conflictingClient).updateItem(any(UpdateItemRequest.class));
+        ApiUpdateDoiRequest updateDoiRequest = new ApiUpdateDoiRequest();
+        updateDoiRequest.setDoiRequestStatus(APPROVED);
+
+        Executable action = () -> serviceWithClient(conflictingClient)
+            .updateDoiRequest(publication.getIdentifier(), updateDoiRequest, NOT_THE_OWNER, APPROVE_ACCESS_RIGHT);
+
+        ConflictException exception = assertThrows(ConflictException.class, action);
+        assertThat(exception.getMessage(), containsString(CONCURRENT_UPDATE_ERROR));
+    }
+
+    @Test
+    public void createDoiRequestThrowsConflictExceptionWhenEveryWriteAttemptConflicts()
+        throws JsonProcessingException {
+        Publication publication = getPublicationWithoutDoiRequest(clock);
+        insertPublication(publication);
+        AmazonDynamoDB conflictingClient = mock(AmazonDynamoDB.class, AdditionalAnswers.delegatesTo(client));
+        doThrow(new ConditionalCheckFailedException(CONCURRENT_UPDATE_ERROR))
+            .when(conflictingClient).updateItem(any(UpdateItemRequest.class));
+
+        Executable action = () -> serviceWithClient(conflictingClient)
+            .createDoiRequest(createDoiRequestWithoutMessage(publication), publication.getOwner());
+
+        ConflictException exception = assertThrows(ConflictException.class, action);
+        assertThat(exception.getMessage(), containsString(CONCURRENT_UPDATE_ERROR));
+    }
+
+    @Test
+    public void addMessageThrowsBadRequestExceptionWhenPublicationHasNoDoiRequest() throws JsonProcessingException {
+        Publication publication = getPublicationWithoutDoiRequest(clock);
+        insertPublication(publication);
+        UserInstance owner = new UserInstance(publication.getOwner(), PUBLISHER_ID, Collections.emptySet());
+
+        Executable action = () -> service.addMessage(publication.getIdentifier(), DEFAULT_MESSAGE, owner);
+
+        BadRequestException exception = assertThrows(BadRequestException.class, action);
+        assertThat(exception.getMessage(), containsString(ERROR_MESSAGE_UPDATE_DOIREQUEST_MISSING_DOIREQUEST));
+    }
+
+    @Test
+    public void addMessageStoresTheMessageAsAnItemOfItsOwnInsteadOfInThePublication()
+        throws IOException, ApiGatewayException {
+        Publication publication = getPublicationWithDoiRequest(clock);
+        insertPublication(publication);
+        UserInstance owner = new UserInstance(publication.getOwner(), PUBLISHER_ID, Collections.emptySet());
+
+        service.addMessage(publication.getIdentifier(), DEFAULT_MESSAGE, owner);
+
+        assertThat(getPublicationDirectlyFromTable(publication).getDoiRequest().getMessages(), is(empty()));
+        List<String> messageTexts = messageItems(publication).stream()
+            .map(item -> item.getString(MessageItemCodec.TEXT_FIELD_NAME))
+            .collect(Collectors.toList());
+        assertThat(messageTexts, contains(DEFAULT_MESSAGE));
+    }
+
+    @Test
+    public void findDoiRequestsByStatusServesRepeatedLoadsFromMemoryUntilTheServiceChangesAPublication()
+        throws JsonProcessingException, ApiGatewayException {
+        Publication publication = getPublicationWithDoiRequest(clock);
+        insertPublication(publication);
+        UserInstance owner = new UserInstance(publication.getOwner(), PUBLISHER_ID, Collections.emptySet());
+        AmazonDynamoDB countingClient = mock(AmazonDynamoDB.class, AdditionalAnswers.delegatesTo(client));
+        DynamoDBDoiRequestsService cachingService = serviceWithClient(countingClient);
+
+        cachingService.findDoiRequestsByStatus(PUBLISHER_ID, REQUESTED, 1, null);
+        cachingService.findDoiRequestsByStatus(PUBLISHER_ID, REQUESTED, 1, null);
+        verify(countingClient, times(1)).query(any(QueryRequest.class));
+
+        cachingService.addMessage(publication.getIdentifier(), DEFAULT_MESSAGE, owner);
+        DoiRequestSummary summary = cachingService.findDoiRequestsByStatus(PUBLISHER_ID, REQUESTED, 1, null)
+            .getDoiRequests()
+            .get(0);
+        assertThat(summary.getMessageCount(), is(equalTo(1)));
+    }
+
+    @Test
+    public void findDoiRequestsByStatusReturnsMessageCountAndDateOfLastMessage()
+        throws JsonProcessingException, ApiGatewayException {
+        Publication publication = getPublicationWithDoiRequest(clock);
+        insertPublication(publication);
+        UserInstance owner = new UserInstance(publication.getOwner(), PUBLISHER_ID, Collections.emptySet());
+
+        service.addMessage(publication.getIdentifier(), DEFAULT_MESSAGE, owner);
+        service.addMessage(publication.getIdentifier(), DEFAULT_MESSAGE, createCuratorUser());
+
+        DoiRequestSummary summary = service.findDoiRequestsByStatus(PUBLISHER_ID, REQUESTED, 1, null)
+            .getDoiRequests()
+            .get(0);
+        assertThat(summary.getMessageCount(), is(equalTo(2)));
+        assertThat(summary.getLastMessageDate(), is(equalTo(publicationModificationTime)));
+    }
+
+    @Test
+    public void findMessagesReturnsTheThreadOnePageAtATimeInTheOrderTheMessagesWereSent()
+        throws JsonProcessingException, ApiGatewayException {
+        Publication publication = getPublicationWithDoiRequest();
+        insertPublication(publication);
+        UserInstance owner = new UserInstance(publication.getOwner(), PUBLISHER_ID, Collections.emptySet());
+        Clock messageClock = mock(Clock.class);
+        when(messageClock.instant()).thenReturn(Instant.parse("2020-01-01T10:00:00Z"),
+            Instant.parse("2020-01-01T10:00:00.500Z"), Instant.parse("2020-01-01T10:00:01Z"));
+        DynamoDBDoiRequestsService messageService = DynamoDbDoiRequestsServiceFactory
+            .serviceWithCustomClientWithoutCredentials(client, environment, messageClock)
+            .getService(EMPTY_CREDENTIALS);
+        List<String> sentMessages = List.of("first", "second", "third");
+        for (String message : sentMessages) {
+            messageService.addMessage(publication.getIdentifier(), message, owner);
+        }
+
+        DoiRequestMessagesPage firstPage = service.findMessages(publication.getIdentifier(), owner, 2, null);
+        DoiRequestMessagesPage lastPage = service.findMessages(publication.getIdentifier(), owner, 2,
+            firstPage.getNextCursor().orElseThrow());
+
+        List<String> readMessages = new ArrayList<>();
+        firstPage.getMessages().forEach(message -> readMessages.add(message.getText()));
+        lastPage.getMessages().forEach(message -> readMessages.add(message.getText()));
+        assertThat(readMessages, is(equalTo(sentMessages)));
+        assertThat(lastPage.getNextCursor().isPresent(), is(false));
+    }
+
+    @Test
+    public void findMessagesReturnsMessagesInTheDoiRequestBeforeTheMessagesSentSince()
+        throws JsonProcessingException, ApiGatewayException {
+        Publication publication = getPublicationWithDoiRequest();
+        DoiRequestMessage embeddedMessage = createDoiRequestMessage(publication);
+        insertPublication(createPublicationWithUpdatedDoiRequest(publication, publication.getDoiRequest().copy()
+            .withMessages(List.of(embeddedMessage, embeddedMessage))
+            .build()));
+        UserInstance owner = new UserInstance(publication.getOwner(), PUBLISHER_ID, Collections.emptySet());
+        service.addMessage(publication.getIdentifier(), CURATOR_MESSAGE, owner);
+
+        List<String> readMessages = new ArrayList<>();
+        String cursor = null;
+        do {
+            DoiRequestMessagesPage page = service.findMessages(publication.getIdentifier(), owner, 1, cursor);
+            page.getMessages().forEach(message -> readMessages.add(message.getText()));
+            cursor = page.getNextCursor().orElse(null);
+        } while (cursor != null);
+
+        assertThat(readMessages, is(equalTo(List.of(DEFAULT_MESSAGE, DEFAULT_MESSAGE, CURATOR_MESSAGE))));
+    }
+
+    @Test
+    public void findMessagesThrowsBadRequestExceptionWhenCursorBelongsToAnotherThread()
+        throws JsonProcessingException, ApiGatewayException {
+        Publication publication = getPublicationWithDoiRequest();
+        Publication otherPublication = getPublicationWithDoiRequest();
+        insertPublication(publication);
+        insertPublication(otherPublication);
+        UserInstance curator = createCuratorUser();
+        service.addMessage(publication.getIdentifier(), DEFAULT_MESSAGE, curator);
+        service.addMessage(publication.getIdentifier(), CURATOR_MESSAGE, curator);
+        String cursor = service.findMessages(publication.getIdentifier(), curator, 1, null)
+            .getNextCursor()
+            .orElseThrow();
+
+        Executable action = () -> service.findMessages(otherPublication.getIdentifier(), curator, 1, cursor);
+
+        BadRequestException exception = assertThrows(BadRequestException.class, action);
+        assertThat(exception.getMessage(), containsString(PageCursorCodec.INVALID_CURSOR_ERROR));
+    }
+
+    @Test
+    public void findMessagesThrowsForbiddenExceptionWhenUserIsNotAuthorizedToSendMessages()
+        throws JsonProcessingException {
+        Publication publication = getPublicationWithDoiRequest();
+        insertPublication(publication);
+        UserInstance user = new UserInstance(NOT_THE_OWNER, PUBLISHER_ID, Collections.emptySet());
+
+        Executable action = () -> service.findMessages(publication.getIdentifier(), user, 1, null);
+
+        assertThrows(ForbiddenException.class, action);
+    }
+
+    @Test
+    public void updateDoiRequestsChangesTheStatusOfEveryPublicationWhenTheyTakeMoreThanOneTransaction()
+        throws JsonProcessingException, ApiGatewayException {
+        List<UUID> publicationIdentifiers = new ArrayList<>();
+        for (int i = 0; i <= MAX_TRANSACTION_ITEMS; i++) {
+            Publication publication = getPublicationWithDoiRequest();
+            insertPublication(publication);
+            publicationIdentifiers.add(publication.getIdentifier());
+        }
+
+        List<DoiRequestStatusChange> results = service.updateDoiRequests(publicationIdentifiers, APPROVED,
+            NOT_THE_OWNER, APPROVE_ACCESS_RIGHT);
+
+        assertThat(results, is(equalTo(statusChanges(publicationIdentifiers, Result.UPDATED))));
+        for (UUID publicationIdentifier : publicationIdentifiers) {
+            DoiRequest doiRequest = service.fetchDoiRequestByPublicationIdentifier(publicationIdentifier)
+                .orElseThrow()
+                .getDoiRequest();
+            assertThat(doiRequest.getStatus(), is(equalTo(APPROVED)));
+        }
+    }
+
+    @Test
+    public void updateDoiRequestsReportsPublicationsThatDoNotExistOrHaveNoDoiRequest()
+        throws JsonProcessingException, ApiGatewayException {
+        Publication publication = getPublicationWithDoiRequest();
+        Publication publicationWithoutDoiRequest = getPublicationWithoutDoiRequest(clock);
+        insertPublication(publication);
+        insertPublication(publicationWithoutDoiRequest);
+        UUID missingPublication = UUID.randomUUID();
+
+        List<DoiRequestStatusChange> results = service.updateDoiRequests(
+            List.of(publication.getIdentifier(), publicationWithoutDoiRequest.getIdentifier(), missingPublication),
+            APPROVED, NOT_THE_OWNER, APPROVE_ACCESS_RIGHT);
+
+        assertThat(results, contains(
+            new DoiRequestStatusChange(publication.getIdentifier(), Result.UPDATED),
+            new DoiRequestStatusChange(publicationWithoutDoiRequest.getIdentifier(), Result.NO_DOI_REQUEST),
+            new DoiRequestStatusChange(missingPublication, Result.NOT_FOUND)));
+    }
+
+    @Test
+    public void updateDoiRequestsReportsConflictAndWritesTheOtherPublicationsWhenOneIsChangedAfterItWasRead()
+        throws JsonProcessingException, ApiGatewayException {
+        Publication changedPublication = getPublicationWithDoiRequest();
+        Publication publication = getPublicationWithDoiRequest();
+        insertPublication(changedPublication);
+        insertPublication(publication);
+        AmazonDynamoDB racingClient = clientLettingCuratorRejectFirstInTransaction(changedPublication);
+
+        List<DoiRequestStatusChange> results = serviceWithClient(racingClient).updateDoiRequests(
+            List.of(changedPublication.getIdentifier(), publication.getIdentifier()), APPROVED, NOT_THE_OWNER,
+            APPROVE_ACCESS_RIGHT);
+
+        assertThat(results, contains(
+            new DoiRequestStatusChange(changedPublication.getIdentifier(), Result.CONFLICT),
+            new DoiRequestStatusChange(publication.getIdentifier(), Result.UPDATED)));
+        DoiRequest doiRequest = service.fetchDoiRequestByPublicationIdentifier(publication.getIdentifier())
+            .orElseThrow()
+            .getDoiRequest();
+        assertThat(doiRequest.getStatus(), is(equalTo(APPROVED)));
+    }
+
+    @Test
+    public void updateDoiRequestsReportsTheWrittenAndTheFailedPublicationsWhenALaterTransactionFails()
+        throws JsonProcessingException, ApiGatewayException {
+        List<UUID> publicationIdentifiers = new ArrayList<>();
+        for (int i = 0; i <= MAX_TRANSACTION_ITEMS; i++) {
+            Publication publication = getPublicationWithDoiRequest();
+            insertPublication(publication);
+            publicationIdentifiers.add(publication.getIdentifier());
+        }
+        AmazonDynamoDB throttledClient = mock(AmazonDynamoDB.class, AdditionalAnswers.delegatesTo(client));
+        doAnswer(invocation -> client.transactWriteItems(invocation.getArgument(0)))
+            .doThrow(new ProvisionedThroughputExceededException(THROTTLED_MESSAGE))
+            .when(throttledClient).transactWriteItems(any(TransactWriteItemsRequest.class));
+
+        List<DoiRequestStatusChange> results = serviceWithClient(throttledClient).updateDoiRequests(
+            publicationIdentifiers, APPROVED, NOT_THE_OWNER, APPROVE_ACCESS_RIGHT);
+
+        List<UUID> firstChunk = publicationIdentifiers.subList(0, MAX_TRANSACTION_ITEMS);
+        List<UUID> secondChunk = publicationIdentifiers.subList(MAX_TRANSACTION_ITEMS, publicationIdentifiers.size());
+        List<DoiRequestStatusChange> expectedResults = new ArrayList<>(statusChanges(firstChunk, Result.UPDATED));
+        expectedResults.addAll(statusChanges(secondChunk, Result.FAILED));
+        assertThat(results, is(equalTo(expectedResults)));
+    }
+
+    @Test
+    public void updateDoiRequestsThrowsForbiddenExceptionWhenUserMayNotApproveDoiRequests()
+        throws JsonProcessingException {
+        Publication publication = getPublicationWithDoiRequest();
+        insertPublication(publication);
+
+        Executable action = () -> service.updateDoiRequests(List.of(publication.getIdentifier()), APPROVED,
+            NOT_THE_OWNER, List.of(REJECT_DOI_REQUEST));
+
+        assertThrows(ForbiddenException.class, action);
+    }
+
+    @Test
+    public void findDoiRequestStatusesReturnsTheStatusOfEachDoiRequestKeyedByPublicationIdentifier()
+        throws JsonProcessingException, ApiGatewayException {
+        Publication publication = getPublicationWithDoiRequest();
+        Publication publicationWithoutDoiRequest = getPublicationWithoutDoiRequest(clock);
+        insertPublication(publication);
+        insertPublication(publicationWithoutDoiRequest);
+        service.updateDoiRequests(List.of(publication.getIdentifier()), APPROVED, NOT_THE_OWNER,
+            APPROVE_ACCESS_RIGHT);
+
+        Map<UUID, DoiRequestStatus> statuses = service.findDoiRequestStatuses(
+            List.of(publication.getIdentifier(), publicationWithoutDoiRequest.getIdentifier(), UUID.randomUUID()),
+            createReadOnlyCuratorUser());
+
+        assertThat(statuses, is(equalTo(Map.of(publication.getIdentifier(), APPROVED))));
+    }
+
+    @Test
+    public void findDoiRequestStatusesLeavesOutDoiRequestsTheUserMayNotRead()
+        throws JsonProcessingException, ApiGatewayException {
+        Publication ownPublication = getPublicationWithDoiRequest();
+        Publication otherPublication = getPublicationWithDoiRequest().copy().withOwner(NOT_THE_OWNER).build();
+        insertPublication(ownPublication);
+        insertPublication(otherPublication);
+        UserInstance owner = new UserInstance(ownPublication.getOwner(), PUBLISHER_ID, Collections.emptySet());
+
+        Map<UUID, DoiRequestStatus> statuses = service.findDoiRequestStatuses(
+            List.of(ownPublication.getIdentifier(), otherPublication.getIdentifier()), owner);
+
+        assertThat(statuses, is(equalTo(Map.of(ownPublication.getIdentifier(), REQUESTED))));
+    }
+
+    @Test
+    public void findDoiRequestStatusesReturnsTheStatusesOfThePublisherToACuratorWhoMayOnlyReadDoiRequests()
+        throws JsonProcessingException, ApiGatewayException {
+        Publication publication = getPublicationWithDoiRequest();
+        Publication otherPublishersPublication = getPublicationWithDoiRequest().copy()
+            .withPublisher(new Organization.Builder().withId(OTHER_PUBLISHER_ID).build())
+            .build();
+        insertPublication(publication);
+        insertPublication(otherPublishersPublication);
+
+        Map<UUID, DoiRequestStatus> statuses = service.findDoiRequestStatuses(
+            List.of(publication.getIdentifier(), otherPublishersPublication.getIdentifier()),
+            createReadOnlyCuratorUser());
+
+        assertThat(statuses, is(equalTo(Map.of(publication.getIdentifier(), REQUESTED))));
+    }
+
+    private static List<DoiRequestStatusChange> statusChanges(List<UUID> publicationIdentifiers, Result result) {
+        return publicationIdentifiers.stream()
+            .map(publicationIdentifier -> new DoiRequestStatusChange(publicationIdentifier, result))
+            .collect(Collectors.toList());
+    }
+
+    private List<Item> messageItems(Publication publication) {
+        QuerySpec querySpec = new QuerySpec()
+            .withHashKey(TABLE_HASH_KEY, publication.getIdentifier().toString())
+            .withRangeKeyCondition(new RangeKeyCondition(TABLE_SORT_KEY)
+                .beginsWith(MessageItemCodec.MESSAGE_SORT_KEY_PREFIX));
+        List<Item> items = new ArrayList<>();
+        getTable().query(querySpec).forEach(items::add);
+        return items;
+    }
+
     private Publication insertPublicationAndUpdateDoiRequest(ApiUpdateDoiRequest updateDoiRequest)
         throws JsonProcessingException, ApiGatewayException {
         Publication publication = getPublicationWithDoiRequest(clock);
@@ -444,6 +1148,10 @@ public class DynamoDBDoiRequestsServiceTest extends DoiRequestsDynamoDBLocal {
         return user;
     }
 
+    private UserInstance createReadOnlyCuratorUser() {
+        return new UserInstance(NOT_THE_OWNER, PUBLISHER_ID, Set.of(READ_DOI_REQUEST));
+    }
+
     private String extractMessageFromPublication(Publication publication, String expectedMessage)
         throws NotFoundException {
         return service.fetchDoiRequestByPublicationIdentifier(
@@ -472,21 +1180,41 @@ public class DynamoDBDoiRequestsServiceTest extends DoiRequestsDynamoDBLocal {
             .build();
     }
 
+    private Publication publicationCreatedOn(int dayOfMonth, DoiRequestStatus status) {
+        Instant date = Instant.parse("2020-01-01T00:00:00Z").plus(Period.ofDays(dayOfMonth - 1));
+        return publicationWithDoiRequestStatus(getPublicationWithDoiRequest(Clock.fixed(date, ZoneOffset.UTC)),
+            status);
+    }
+
+    private static List<UUID> publicationIdentifiers(DoiRequestsPage page) {
+        return page.getDoiRequests().stream()
+            .map(DoiRequestSummary::getPublicationIdentifier)
+            .collect(Collectors.toList());
+    }
+
+    private Publication publicationWithDoiRequestStatus(Publication publication, DoiRequestStatus status) {
+        DoiRequest doiRequest = publication.getDoiRequest().copy()
+            .withStatus(status)
+            .withModifiedDate(publication.getModifiedDate())
+            .build();
+        return publication.copy().withDoiRequest(doiRequest).build();
+    }
+
     private DynamoDBDoiRequestsService createServiceWithFailingJsonObjectMapper(ObjectMapper objectMapper)
         throws NoSuchFieldException, IllegalAccessException {
         DynamoDBDoiRequestsService serviceWithFailingJsonObjectMapper =
             DynamoDbDoiRequestsServiceFactory.serviceWithCustomClientWithoutCredentials(client, environment)
                 .getService(EMPTY_CREDENTIALS);
 
-        Field field = DynamoDBDoiRequestsService.class.getDeclaredField("objectMapper");
+        Field field = DynamoDBDoiRequestsService.class.getDeclaredField("itemCodec");
         field.setAccessible(true);
-        field.set(serviceWithFailingJsonObjectMapper, objectMapper);
+        field.set(serviceWithFailingJsonObjectMapper, new PublicationItemCodec(objectMapper));
         return serviceWithFailingJsonObjectMapper;
     }
 
     private void assertThatModifiedDateIsUpdated(Publication originalPublication, Publication updatedPublication) {
         var oldModifiedDate = originalPublication.getModifiedDate();
-        var newModifiedDate = updatedPublication.getModifiedDate();
+        var newModifiedDate = updatedPublication.getDoiRequest().getModifiedDate();
         assertThat(newModifiedDate, is(greaterThan(oldModifiedDate)));
     }
 
@@ -549,7 +1277,6 @@ public class DynamoDBDoiRequestsServiceTest extends DoiRequestsDynamoDBLocal {
     private Publication createPublicationWithUpdatedDoiRequest(Publication publication, DoiRequest expectedDoiRequest) {
         return publication.copy()
             .withCreatedDate(publicationCreationTime)
-            .withModifiedDate(expectedDoiRequest.getModifiedDate())
             .withDoiRequest(expectedDoiRequest).build();
     }
 
@@ -562,6 +1289,66 @@ public class DynamoDBDoiRequestsServiceTest extends DoiRequestsDynamoDBLocal {
             .build();
     }
 
+    private AmazonDynamoDB clientLettingCuratorWriteFirst(Publication publication) {
+        AmazonDynamoDB racingClient = mock(AmazonDynamoDB.class, AdditionalAnswers.delegatesTo(client));
+        AtomicBoolean curatorHasWritten = new AtomicBoolean(false);
+        doAnswer(invocation -> {
+            if (!curatorHasWritten.getAndSet(true)) {
+                service.addMessage(publication.getIdentifier(), CURATOR_MESSAGE, createCuratorUser());
+            }
+            return client.transactWriteItems(invocation.getArgument(0));
+        }).when(racingClient).transactWriteItems(any(TransactWriteItemsRequest.class));
+        return racingClient;
+    }
+
+    private AmazonDynamoDB clientLettingCuratorRejectFirst(Publication publication) {
+        AmazonDynamoDB racingClient = mock(AmazonDynamoDB.class, AdditionalAnswers.delegatesTo(client));
+        AtomicBoolean curatorHasWritten = new AtomicBoolean(false);
+        ApiUpdateDoiRequest rejection = new ApiUpdateDoiRequest();
+        rejection.setDoiRequestStatus(DoiRequestStatus.REJECTED);
+        doAnswer(invocation -> {
+            if (!curatorHasWritten.getAndSet(true)) {
+                service.updateDoiRequest(publication.getIdentifier(), rejection, NOT_THE_OWNER,
+                    List.of(REJECT_DOI_REQUEST));
+            }
+            return client.updateItem(invocation.getArgument(0));
+        }).when(racingClient).updateItem(any(UpdateItemRequest.class));
+        return racingClient;
+    }
+
+    private AmazonDynamoDB clientLettingCuratorRejectFirstInTransaction(Publication publication) {
+        AmazonDynamoDB racingClient = mock(AmazonDynamoDB.class, AdditionalAnswers.delegatesTo(client));
+        AtomicBoolean curatorHasWritten = new AtomicBoolean(false);
+        ApiUpdateDoiRequest rejection = new ApiUpdateDoiRequest();
+        rejection.setDoiRequestStatus(DoiRequestStatus.REJECTED);
+        doAnswer(invocation -> {
+            if (!curatorHasWritten.getAndSet(true)) {
+                service.updateDoiRequest(publication.getIdentifier(), rejection, NOT_THE_OWNER,
+                    List.of(REJECT_DOI_REQUEST));
+            }
+            return client.transactWriteItems(invocation.getArgument(0));
+        }).when(racingClient).transactWriteItems(any(TransactWriteItemsRequest.class));
+        return racingClient;
+    }
+
+    private AmazonDynamoDB clientLettingOwnerCreateFirst(Publication publication) {
+        AmazonDynamoDB racingClient = mock(AmazonDynamoDB.class, AdditionalAnswers.delegatesTo(client));
+        AtomicBoolean ownerHasWritten = new AtomicBoolean(false);
+        doAnswer(invocation -> {
+            if (!ownerHasWritten.getAndSet(true)) {
+                service.createDoiRequest(createDoiRequestWithoutMessage(publication), publication.getOwner());
+            }
+            return client.updateItem(invocation.getArgument(0));
+        }).when(racingClient).updateItem(any(UpdateItemRequest.class));
+        return racingClient;
+    }
+
+    private DynamoDBDoiRequestsService serviceWithClient(AmazonDynamoDB dynamoDbClient) {
+        return DynamoDbDoiRequestsServiceFactory.serviceWithCustomClientWithoutCredentials(dynamoDbClient,
+            environment, clock)
+            .getService(EMPTY_CREDENTIALS);
+    }
+
     private Table getTable() {
         return getTable(environment.readEnv(PUBLICATIONS_TABLE_NAME_ENV_VARIABLE));
     }
@@ -571,8 +1358,8 @@ public class DynamoDBDoiRequestsServiceTest extends DoiRequestsDynamoDBLocal {
         super.insertPublication(tableName, publication);
     }
 
-    private Publication getPublicationDirectlyFromTable(UUID publicationId) throws IOException {
+    private Publication getPublicationDirectlyFromTable(Publication publication) throws IOException {
         String tableName = environment.readEnv(PUBLICATIONS_TABLE_NAME_ENV_VARIABLE);
-        return super.getPublication(tableName, publicationId, publicationModificationTime);
+        return super.getPublication(tableName, publication.getIdentifier(), publication.getModifiedDate());
     }
 }
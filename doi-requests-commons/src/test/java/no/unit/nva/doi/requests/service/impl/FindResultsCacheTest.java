@@ -0,0 +1,129 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static no.unit.nva.model.DoiRequestStatus.APPROVED;
+import static no.unit.nva.model.DoiRequestStatus.REQUESTED;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import com.amazonaws.AmazonServiceException;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import no.unit.nva.doi.requests.model.DoiRequestsPage;
+import no.unit.nva.doi.requests.service.impl.FindResultsCache.PageQuery;
+import nva.commons.exceptions.ApiGatewayException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FindResultsCacheTest {
+
+    public static final Duration TIME_TO_LIVE = Duration.ofSeconds(30);
+    public static final int MAXIMUM_SIZE = 2;
+    public static final int PAGE_SIZE = 10;
+    public static final Instant NOW = Instant.parse("2020-01-01T10:00:00Z");
+    public static final URI PUBLISHER = URI.create("https://example.org/publisher/1");
+    public static final URI OTHER_PUBLISHER = URI.create("https://example.org/publisher/2");
+    public static final String OWNER = "owner";
+    public static final String FEED_ERROR = "Could not read the change feed";
+
+    private Clock clock;
+    private InMemoryPublicationChangeFeed changeFeed;
+    private AtomicInteger queries;
+    private FindResultsCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        changeFeed = new InMemoryPublicationChangeFeed();
+        queries = new AtomicInteger();
+        cache = new FindResultsCache(changeFeed, TIME_TO_LIVE, MAXIMUM_SIZE, clock);
+    }
+
+    @Test
+    public void getOrQueryReturnsCachedPageOfTheSameQuery() throws ApiGatewayException {
+        DoiRequestsPage first = cache.getOrQuery(PUBLISHER, REQUESTED, null, PAGE_SIZE, null, countingQuery());
+        DoiRequestsPage second = cache.getOrQuery(PUBLISHER, REQUESTED, null, PAGE_SIZE, null, countingQuery());
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(queries.get(), is(equalTo(1)));
+        assertThat(cache.getHits(), is(equalTo(1L)));
+        assertThat(cache.getMisses(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void getOrQueryRunsQueryForAnotherStatusOrOwner() throws ApiGatewayException {
+        cache.getOrQuery(PUBLISHER, REQUESTED, null, PAGE_SIZE, null, countingQuery());
+        cache.getOrQuery(PUBLISHER, APPROVED, null, PAGE_SIZE, null, countingQuery());
+        cache.getOrQuery(PUBLISHER, REQUESTED, OWNER, PAGE_SIZE, null, countingQuery());
+
+        assertThat(queries.get(), is(equalTo(3)));
+    }
+
+    @Test
+    public void getOrQueryRunsQueryAgainWhenAPublicationOfThePublisherHasChanged() throws ApiGatewayException {
+        cache.getOrQuery(PUBLISHER, REQUESTED, null, PAGE_SIZE, null, countingQuery());
+
+        changeFeed.publish(new PublicationChange(UUID.randomUUID(), PUBLISHER));
+        cache.getOrQuery(PUBLISHER, REQUESTED, null, PAGE_SIZE, null, countingQuery());
+
+        assertThat(queries.get(), is(equalTo(2)));
+    }
+
+    @Test
+    public void getOrQueryKeepsCachedPageWhenAPublicationOfAnotherPublisherHasChanged() throws ApiGatewayException {
+        cache.getOrQuery(PUBLISHER, REQUESTED, null, PAGE_SIZE, null, countingQuery());
+
+        changeFeed.publish(new PublicationChange(UUID.randomUUID(), OTHER_PUBLISHER));
+        cache.getOrQuery(PUBLISHER, REQUESTED, null, PAGE_SIZE, null, countingQuery());
+
+        assertThat(queries.get(), is(equalTo(1)));
+    }
+
+    @Test
+    public void getOrQueryRunsQueryAgainWhenThePageHasExpired() throws ApiGatewayException {
+        cache.getOrQuery(PUBLISHER, REQUESTED, null, PAGE_SIZE, null, countingQuery());
+        when(clock.instant()).thenReturn(NOW.plus(TIME_TO_LIVE));
+
+        cache.getOrQuery(PUBLISHER, REQUESTED, null, PAGE_SIZE, null, countingQuery());
+
+        assertThat(queries.get(), is(equalTo(2)));
+    }
+
+    @Test
+    public void getOrQueryDoesNotCacheWhenTheMaximumSizeIsZero() throws ApiGatewayException {
+        FindResultsCache disabledCache = new FindResultsCache(changeFeed, TIME_TO_LIVE, 0, clock);
+
+        disabledCache.getOrQuery(PUBLISHER, REQUESTED, null, PAGE_SIZE, null, countingQuery());
+        disabledCache.getOrQuery(PUBLISHER, REQUESTED, null, PAGE_SIZE, null, countingQuery());
+
+        assertThat(queries.get(), is(equalTo(2)));
+        assertThat(disabledCache.getMisses(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void getOrQueryRunsQueryWithoutTheCacheWhenTheChangeFeedCannotBeRead() throws ApiGatewayException {
+        PublicationChangeFeed failingFeed = mock(PublicationChangeFeed.class);
+        when(failingFeed.sequenceNumber(PUBLISHER)).thenThrow(new AmazonServiceException(FEED_ERROR));
+        FindResultsCache cacheWithFailingFeed = new FindResultsCache(failingFeed, TIME_TO_LIVE, MAXIMUM_SIZE, clock);
+
+        cacheWithFailingFeed.getOrQuery(PUBLISHER, REQUESTED, null, PAGE_SIZE, null, countingQuery());
+        cacheWithFailingFeed.getOrQuery(PUBLISHER, REQUESTED, null, PAGE_SIZE, null, countingQuery());
+
+        assertThat(queries.get(), is(equalTo(2)));
+        assertThat(cacheWithFailingFeed.getHits(), is(equalTo(0L)));
+    }
+
+    private PageQuery countingQuery() {
+        return () -> {
+            queries.incrementAndGet();
+            return DoiRequestsPage.empty();
+        };
+    }
+}
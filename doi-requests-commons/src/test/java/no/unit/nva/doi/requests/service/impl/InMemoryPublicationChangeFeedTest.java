@@ -0,0 +1,79 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_INDEX_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.OperationType;
+import com.amazonaws.services.dynamodbv2.model.Record;
+import com.amazonaws.services.dynamodbv2.model.StreamRecord;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class InMemoryPublicationChangeFeedTest {
+
+    public static final URI PUBLISHER = URI.create("https://example.org/publisher/1");
+    public static final URI OTHER_PUBLISHER = URI.create("https://example.org/publisher/2");
+
+    private final InMemoryPublicationChangeFeed changeFeed = new InMemoryPublicationChangeFeed();
+
+    @Test
+    public void sequenceNumberIsZeroForPublisherWithoutChanges() {
+        assertThat(changeFeed.sequenceNumber(PUBLISHER), is(equalTo(0L)));
+    }
+
+    @Test
+    public void publishAdvancesTheSequenceNumberOfOnlyThePublisherOfTheChange() {
+        changeFeed.publish(new PublicationChange(UUID.randomUUID(), OTHER_PUBLISHER));
+        long sequenceNumber = changeFeed.sequenceNumber(PUBLISHER);
+
+        changeFeed.publish(new PublicationChange(UUID.randomUUID(), PUBLISHER));
+
+        assertThat(changeFeed.sequenceNumber(PUBLISHER), is(greaterThan(sequenceNumber)));
+        assertThat(changeFeed.sequenceNumber(OTHER_PUBLISHER), is(equalTo(1L)));
+    }
+
+    @Test
+    public void publishStreamRecordsPublishesChangesOfVersionsAndSkipsMessages() {
+        UUID publicationIdentifier = UUID.randomUUID();
+        Record versionRecord = record(OperationType.MODIFY, Map.of(
+            TABLE_HASH_KEY, new AttributeValue(publicationIdentifier.toString()),
+            TABLE_SORT_KEY, new AttributeValue("2020-01-01T10:00:00Z"),
+            DOI_REQUEST_INDEX_HASH_KEY, new AttributeValue(PUBLISHER.toString())));
+        Record messageRecord = record(OperationType.INSERT, Map.of(
+            TABLE_HASH_KEY, new AttributeValue(publicationIdentifier.toString()),
+            TABLE_SORT_KEY, new AttributeValue(MessageItemCodec.MESSAGE_SORT_KEY_PREFIX)));
+
+        changeFeed.publishStreamRecords(List.of(messageRecord, versionRecord));
+
+        assertThat(changeFeed.sequenceNumber(PUBLISHER), is(equalTo(1L)));
+    }
+
+    @Test
+    public void fromStreamRecordReadsTheOldImageOfARemovedVersion() {
+        UUID publicationIdentifier = UUID.randomUUID();
+        Record removal = new Record()
+            .withEventName(OperationType.REMOVE)
+            .withDynamodb(new StreamRecord().withOldImage(Map.of(
+                TABLE_HASH_KEY, new AttributeValue(publicationIdentifier.toString()),
+                DOI_REQUEST_INDEX_HASH_KEY, new AttributeValue(PUBLISHER.toString()))));
+
+        Optional<PublicationChange> change = PublicationChange.fromStreamRecord(removal);
+
+        assertThat(change, is(equalTo(Optional.of(new PublicationChange(publicationIdentifier, PUBLISHER)))));
+    }
+
+    private static Record record(OperationType operationType, Map<String, AttributeValue> newImage) {
+        return new Record()
+            .withEventName(operationType)
+            .withDynamodb(new StreamRecord().withNewImage(newImage));
+    }
+}
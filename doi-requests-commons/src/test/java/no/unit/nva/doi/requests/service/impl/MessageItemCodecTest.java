@@ -0,0 +1,62 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import java.time.Instant;
+import java.util.UUID;
+import no.unit.nva.model.DoiRequestMessage;
+import org.junit.jupiter.api.Test;
+
+public class MessageItemCodecTest {
+
+    public static final UUID PUBLICATION_IDENTIFIER = UUID.randomUUID();
+    public static final Instant SENT_AT = Instant.parse("2020-01-01T10:00:00Z");
+    public static final Instant SENT_HALF_A_SECOND_LATER = Instant.parse("2020-01-01T10:00:00.500Z");
+
+    @Test
+    public void decodeReturnsTheEncodedMessage() {
+        DoiRequestMessage message = message(SENT_AT);
+
+        DoiRequestMessage decoded = MessageItemCodec.decode(MessageItemCodec.encode(PUBLICATION_IDENTIFIER, message));
+
+        assertThat(decoded, is(equalTo(message)));
+    }
+
+    @Test
+    public void encodeStoresTheMessageUnderThePartitionOfThePublication() {
+        Item item = MessageItemCodec.encode(PUBLICATION_IDENTIFIER, message(SENT_AT));
+
+        assertThat(item.getString(TABLE_HASH_KEY), is(equalTo(PUBLICATION_IDENTIFIER.toString())));
+        assertThat(MessageItemCodec.isMessage(item), is(true));
+    }
+
+    @Test
+    public void encodeCreatesSortKeysThatSortInTheOrderTheMessagesWereSent() {
+        String earlierKey = MessageItemCodec.encode(PUBLICATION_IDENTIFIER, message(SENT_AT)).getString(TABLE_SORT_KEY);
+        String laterKey = MessageItemCodec.encode(PUBLICATION_IDENTIFIER, message(SENT_HALF_A_SECOND_LATER))
+            .getString(TABLE_SORT_KEY);
+
+        assertThat(earlierKey.compareTo(laterKey), is(lessThan(0)));
+    }
+
+    @Test
+    public void encodeCreatesSortKeysThatSortBeforeTheSortKeysOfTheVersions() {
+        String messageKey = MessageItemCodec.encode(PUBLICATION_IDENTIFIER, message(SENT_AT)).getString(TABLE_SORT_KEY);
+
+        assertThat(messageKey.compareTo(Instant.EPOCH.toString()), is(lessThan(0)));
+        assertThat(MessageItemCodec.isMessageKey(Instant.EPOCH.toString()), is(false));
+    }
+
+    private static DoiRequestMessage message(Instant timestamp) {
+        return new DoiRequestMessage.Builder()
+            .withAuthor("author")
+            .withText("text")
+            .withTimestamp(timestamp)
+            .build();
+    }
+}
@@ -0,0 +1,57 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import java.util.Collections;
+import java.util.Map;
+import no.unit.nva.doi.requests.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+public class PageCursorCodecTest {
+
+    public static final String SECRET = "secret";
+    public static final String OTHER_SECRET = "otherSecret";
+    public static final Map<String, AttributeValue> LAST_EVALUATED_KEY = Map.of(
+        "identifier", new AttributeValue("someIdentifier"),
+        "modifiedDate", new AttributeValue("2020-01-01T00:00:00Z"));
+
+    @Test
+    public void decodeReturnsKeyThatWasEncoded() throws BadRequestException {
+        PageCursorCodec codec = new PageCursorCodec(SECRET);
+        String cursor = codec.encode(LAST_EVALUATED_KEY).orElseThrow();
+
+        Map<String, String> decoded = codec.decode(cursor);
+
+        assertThat(decoded, is(equalTo(Map.of(
+            "identifier", "someIdentifier",
+            "modifiedDate", "2020-01-01T00:00:00Z"))));
+    }
+
+    @Test
+    public void encodeReturnsEmptyWhenThereAreNoMoreResults() {
+        PageCursorCodec codec = new PageCursorCodec(SECRET);
+
+        assertTrue(codec.encode(null).isEmpty());
+        assertTrue(codec.encode(Collections.emptyMap()).isEmpty());
+    }
+
+    @Test
+    public void decodeThrowsBadRequestExceptionWhenCursorIsSignedWithAnotherSecret() {
+        String cursor = new PageCursorCodec(OTHER_SECRET).encode(LAST_EVALUATED_KEY).orElseThrow();
+
+        PageCursorCodec codec = new PageCursorCodec(SECRET);
+        assertThrows(BadRequestException.class, () -> codec.decode(cursor));
+    }
+
+    @Test
+    public void decodeThrowsBadRequestExceptionWhenCursorIsMalformed() {
+        PageCursorCodec codec = PageCursorCodec.withRandomSecret();
+
+        assertThrows(BadRequestException.class, () -> codec.decode("notACursor"));
+        assertThrows(BadRequestException.class, () -> codec.decode("not base64.not base64"));
+    }
+}
@@ -0,0 +1,135 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
+import static no.unit.nva.doi.requests.service.impl.DoiRequestUpdate.MODIFIED_DATE_FIELD_NAME;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PublicationHeaderCacheTest {
+
+    public static final Duration TIME_TO_LIVE = Duration.ofSeconds(30);
+    public static final int MAXIMUM_SIZE = 2;
+    public static final Instant NOW = Instant.parse("2020-01-01T10:00:00Z");
+    public static final String VERSION_DATE = "2020-01-01T09:00:00Z";
+    public static final String LATER_VERSION_DATE = "2020-01-01T09:30:00Z";
+
+    private Clock clock;
+    private PublicationHeaderCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        cache = new PublicationHeaderCache(TIME_TO_LIVE, MAXIMUM_SIZE, clock);
+    }
+
+    @Test
+    public void getReturnsHeaderThatWasPut() {
+        UUID publicationIdentifier = UUID.randomUUID();
+        Map<String, AttributeValue> header = header(VERSION_DATE, VERSION_DATE);
+
+        cache.put(publicationIdentifier, header);
+
+        assertThat(cache.get(publicationIdentifier), is(equalTo(Optional.of(header))));
+        assertThat(cache.getHits(), is(equalTo(1L)));
+        assertThat(cache.getMisses(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void getReturnsEmptyWhenTheHeaderHasExpired() {
+        UUID publicationIdentifier = UUID.randomUUID();
+        cache.put(publicationIdentifier, header(VERSION_DATE, VERSION_DATE));
+        when(clock.instant()).thenReturn(NOW.plus(TIME_TO_LIVE));
+
+        assertThat(cache.get(publicationIdentifier), is(equalTo(Optional.empty())));
+        assertThat(cache.getMisses(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void getReturnsEmptyWhenTheHeaderWasInvalidated() {
+        UUID publicationIdentifier = UUID.randomUUID();
+        cache.put(publicationIdentifier, header(VERSION_DATE, VERSION_DATE));
+
+        cache.invalidate(publicationIdentifier);
+
+        assertThat(cache.get(publicationIdentifier), is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    public void putKeepsCachedHeaderOfLaterVersion() {
+        UUID publicationIdentifier = UUID.randomUUID();
+        Map<String, AttributeValue> laterHeader = header(LATER_VERSION_DATE, VERSION_DATE);
+        cache.put(publicationIdentifier, laterHeader);
+
+        cache.put(publicationIdentifier, header(VERSION_DATE, LATER_VERSION_DATE));
+
+        assertThat(cache.get(publicationIdentifier), is(equalTo(Optional.of(laterHeader))));
+    }
+
+    @Test
+    public void putKeepsCachedHeaderOfLaterModifiedDoiRequestOfTheSameVersion() {
+        UUID publicationIdentifier = UUID.randomUUID();
+        Map<String, AttributeValue> modifiedHeader = header(VERSION_DATE, LATER_VERSION_DATE);
+        cache.put(publicationIdentifier, modifiedHeader);
+
+        cache.put(publicationIdentifier, header(VERSION_DATE, VERSION_DATE));
+
+        assertThat(cache.get(publicationIdentifier), is(equalTo(Optional.of(modifiedHeader))));
+    }
+
+    @Test
+    public void putReplacesCachedHeaderWithHeaderOfLaterVersion() {
+        UUID publicationIdentifier = UUID.randomUUID();
+        cache.put(publicationIdentifier, header(VERSION_DATE, VERSION_DATE));
+        Map<String, AttributeValue> laterHeader = header(LATER_VERSION_DATE, LATER_VERSION_DATE);
+
+        cache.put(publicationIdentifier, laterHeader);
+
+        assertThat(cache.get(publicationIdentifier), is(equalTo(Optional.of(laterHeader))));
+    }
+
+    @Test
+    public void putEvictsLeastRecentlyUsedHeaderWhenCacheIsFull() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        cache.put(first, header(VERSION_DATE, VERSION_DATE));
+        cache.put(second, header(VERSION_DATE, VERSION_DATE));
+        cache.get(first);
+
+        cache.put(UUID.randomUUID(), header(VERSION_DATE, VERSION_DATE));
+
+        assertThat(cache.get(first).isPresent(), is(true));
+        assertThat(cache.get(second).isPresent(), is(false));
+    }
+
+    @Test
+    public void disabledCacheStoresNothingAndCountsNothing() {
+        PublicationHeaderCache disabledCache = PublicationHeaderCache.disabled();
+        UUID publicationIdentifier = UUID.randomUUID();
+
+        disabledCache.put(publicationIdentifier, header(VERSION_DATE, VERSION_DATE));
+
+        assertThat(disabledCache.get(publicationIdentifier), is(equalTo(Optional.empty())));
+        assertThat(disabledCache.getMisses(), is(equalTo(0L)));
+    }
+
+    private static Map<String, AttributeValue> header(String versionDate, String doiRequestModifiedDate) {
+        return Map.of(
+            TABLE_SORT_KEY, new AttributeValue(versionDate),
+            DOI_REQUEST_FIELD_NAME, new AttributeValue().withM(
+                Map.of(MODIFIED_DATE_FIELD_NAME, new AttributeValue(doiRequestModifiedDate))));
+    }
+}
@@ -0,0 +1,93 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static no.unit.nva.doi.requests.service.impl.PublicationItemCodec.VERSION_FIELD_NAME;
+import static no.unit.nva.doi.requests.util.PublicationGenerator.getPublicationWithDoiRequest;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.ItemUtils;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import no.unit.nva.model.DoiRequest;
+import no.unit.nva.model.DoiRequestMessage;
+import no.unit.nva.model.Publication;
+import nva.commons.utils.JsonUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PublicationItemCodecTest {
+
+    private final ObjectMapper objectMapper = JsonUtils.objectMapper;
+    private PublicationItemCodec codec;
+    private Publication publication;
+
+    @BeforeEach
+    public void setUp() {
+        codec = new PublicationItemCodec(objectMapper);
+        publication = publicationWithMessage();
+    }
+
+    @Test
+    public void encodeReturnsSameAttributesAsItemFromJsonOfThePublication() throws IOException {
+        Map<String, AttributeValue> expected = ItemUtils.toAttributeValues(
+            Item.fromJSON(objectMapper.writeValueAsString(publication)));
+
+        assertThat(codec.encode(publication), is(equalTo(expected)));
+    }
+
+    @Test
+    public void decodeReturnsThePublicationThatWasEncoded() throws IOException {
+        Publication decoded = codec.decode(codec.encode(publication));
+
+        assertThat(toJson(decoded), is(equalTo(toJson(publication))));
+    }
+
+    @Test
+    public void decodeReturnsSamePublicationAsConvertingTheItem() throws IOException {
+        Item item = Item.fromJSON(objectMapper.writeValueAsString(publication));
+
+        Publication decoded = codec.decode(ItemUtils.toAttributeValues(item));
+
+        assertThat(toJson(decoded), is(equalTo(toJson(objectMapper.convertValue(item.asMap(), Publication.class)))));
+    }
+
+    @Test
+    public void decodeSkipsTheVersionAttributesOfTheTable() throws IOException {
+        var attributes = new HashMap<>(codec.encode(publication));
+        attributes.put(VERSION_FIELD_NAME, new AttributeValue().withN("2"));
+
+        Publication decoded = codec.decode(attributes);
+
+        assertThat(toJson(decoded), is(equalTo(toJson(publication))));
+    }
+
+    @Test
+    public void decodeThrowsExceptionWhenAttributesDoNotDescribeAPublication() {
+        Map<String, AttributeValue> attributes = Map.of("identifier", new AttributeValue("notAnIdentifier"));
+
+        assertThrows(IOException.class, () -> codec.decode(attributes));
+    }
+
+    private JsonNode toJson(Publication publication) {
+        return objectMapper.valueToTree(publication);
+    }
+
+    private static Publication publicationWithMessage() {
+        Publication publication = getPublicationWithDoiRequest();
+        DoiRequest doiRequest = publication.getDoiRequest().copy()
+            .addMessage(new DoiRequestMessage.Builder()
+                .withAuthor(publication.getOwner())
+                .withText("A message")
+                .withTimestamp(Instant.now())
+                .build())
+            .build();
+        return publication.copy().withDoiRequest(doiRequest).build();
+    }
+}
@@ -0,0 +1,46 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNull.nullValue;
+import com.amazonaws.services.dynamodbv2.document.spec.QuerySpec;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class QueryFilterTest {
+
+    public static final String KEY_PLACEHOLDER = "#key";
+    public static final String KEY_VALUE = ":key";
+    public static final String KEY_CONDITION = KEY_PLACEHOLDER + " = " + KEY_VALUE;
+
+    @Test
+    public void applyToJoinsConditionsAndKeepsTheNamesAndValuesOfTheQuery() {
+        QuerySpec querySpec = new QuerySpec()
+            .withKeyConditionExpression(KEY_CONDITION)
+            .withNameMap(Map.of(KEY_PLACEHOLDER, "key"))
+            .withValueMap(Map.of(KEY_VALUE, "someKey"));
+
+        new QueryFilter()
+            .withEqualTo("#status", "status", ":status", "PUBLISHED")
+            .withEqualTo("#publisher", "publisherId", ":publisher", "somePublisher")
+            .applyTo(querySpec);
+
+        assertThat(querySpec.getFilterExpression(), is(equalTo("#status = :status AND #publisher = :publisher")));
+        assertThat(querySpec.getKeyConditionExpression(), is(equalTo(KEY_CONDITION)));
+        assertThat(querySpec.getNameMap(), hasEntry(KEY_PLACEHOLDER, "key"));
+        assertThat(querySpec.getNameMap(), hasEntry("#publisher", "publisherId"));
+        assertThat(querySpec.getValueMap(), hasEntry(KEY_VALUE, "someKey"));
+        assertThat(querySpec.getValueMap(), hasEntry(":status", "PUBLISHED"));
+    }
+
+    @Test
+    public void applyToLeavesQueryWithoutFilterWhenThereAreNoConditions() {
+        QuerySpec querySpec = new QuerySpec().withKeyConditionExpression(KEY_CONDITION);
+
+        new QueryFilter().applyTo(querySpec);
+
+        assertThat(querySpec.getFilterExpression(), is(nullValue()));
+    }
+}
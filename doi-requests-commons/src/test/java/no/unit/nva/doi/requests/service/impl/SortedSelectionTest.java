@@ -0,0 +1,95 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import no.unit.nva.doi.requests.model.DoiRequestsSort;
+import no.unit.nva.doi.requests.model.DoiRequestsSort.Field;
+import no.unit.nva.doi.requests.model.DoiRequestsSort.Order;
+import no.unit.nva.doi.requests.service.impl.SortedSelection.Candidate;
+import org.junit.jupiter.api.Test;
+
+public class SortedSelectionTest {
+
+    public static final DoiRequestsSort OLDEST_FIRST = new DoiRequestsSort(Field.CREATED_DATE, Order.ASC);
+    public static final DoiRequestsSort NEWEST_FIRST = new DoiRequestsSort(Field.CREATED_DATE, Order.DESC);
+    public static final DoiRequestsSort LAST_MODIFIED_FIRST = new DoiRequestsSort(Field.MODIFIED_DATE, Order.DESC);
+    public static final int PAGE_SIZE = 2;
+
+    @Test
+    public void getSelectedReturnsFirstItemsInSortOrderWhateverTheOrderTheyAreOfferedIn() {
+        SortedSelection selection = new SortedSelection(OLDEST_FIRST, PAGE_SIZE, null);
+
+        List.of(created("c", 3), created("a", 1), created("d", 4), created("b", 2)).forEach(selection::offer);
+
+        assertThat(identifiers(selection.getSelected()), contains("a", "b"));
+        assertThat(selection.hasMore(), is(true));
+    }
+
+    @Test
+    public void getSelectedReturnsLastItemsFirstInDescendingOrder() {
+        SortedSelection selection = new SortedSelection(NEWEST_FIRST, PAGE_SIZE, null);
+
+        List.of(created("c", 3), created("a", 1), created("d", 4), created("b", 2)).forEach(selection::offer);
+
+        assertThat(identifiers(selection.getSelected()), contains("d", "c"));
+    }
+
+    @Test
+    public void getSelectedOrdersItemsWithTheSameDateByIdentifierAndStartsAfterTheCursor() {
+        SortedSelection selection = new SortedSelection(OLDEST_FIRST, PAGE_SIZE, created("b", 1));
+
+        List.of(created("c", 1), created("a", 1), created("b", 1), created("d", 2)).forEach(selection::offer);
+
+        assertThat(identifiers(selection.getSelected()), contains("c", "d"));
+        assertThat(selection.hasMore(), is(false));
+    }
+
+    @Test
+    public void offerReturnsFalseOnlyWhenTheSelectionIsFullAndTheItemSortsAfterEverySelectedItem() {
+        SortedSelection selection = new SortedSelection(LAST_MODIFIED_FIRST, PAGE_SIZE, null);
+
+        assertThat(selection.offer(modified("a", "2020-01-03")), is(true));
+        assertThat(selection.offer(modified("b", "2020-01-02")), is(true));
+        assertThat(selection.offer(modified("a0", "2020-01-02")), is(true));
+        assertThat(selection.offer(modified("c", "2020-01-01")), is(false));
+
+        assertThat(identifiers(selection.getSelected()), contains("a", "a0"));
+    }
+
+    @Test
+    public void offerKeepsOnlyTheLaterOfTwoSelectedVersionsOfAPublication() {
+        SortedSelection selection = new SortedSelection(LAST_MODIFIED_FIRST, PAGE_SIZE, null);
+
+        selection.offer(version("a", "2020-01-03T00:00:00Z"));
+        selection.offer(version("b", "2020-01-02T00:00:00Z"));
+        selection.offer(version("a", "2020-01-01T00:00:00Z"));
+        selection.offer(version("b", "2020-01-04T00:00:00Z"));
+
+        List<Candidate> selected = selection.getSelected();
+        assertThat(identifiers(selected), contains("b", "a"));
+        assertThat(selected.get(0).getModifiedDate(), is(equalTo("2020-01-04T00:00:00Z")));
+    }
+
+    private static Candidate created(String identifier, int day) {
+        return new Candidate(identifier, null, Instant.parse("2020-01-01T00:00:00Z").plusSeconds(day * 86_400L), null);
+    }
+
+    private static Candidate modified(String identifier, String modifiedDate) {
+        return new Candidate(identifier, modifiedDate, null, null);
+    }
+
+    private static Candidate version(String identifier, String modifiedDate) {
+        return new Candidate(identifier, modifiedDate, null, new Item().withString(TABLE_SORT_KEY, modifiedDate));
+    }
+
+    private static List<String> identifiers(List<Candidate> candidates) {
+        return candidates.stream().map(Candidate::getIdentifier).collect(Collectors.toList());
+    }
+}
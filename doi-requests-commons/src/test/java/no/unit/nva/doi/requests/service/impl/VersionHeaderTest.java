@@ -0,0 +1,67 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_OWNER_INDEX_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.STATUS_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import java.util.HashMap;
+import java.util.Map;
+import no.unit.nva.model.DoiRequestStatus;
+import no.unit.nva.model.PublicationStatus;
+import org.junit.jupiter.api.Test;
+
+public class VersionHeaderTest {
+
+    public static final String IDENTIFIER = "d6d9a3c4-5b4e-4c3b-9d1f-6c4f4a1e2b3c";
+    public static final String OWNER = "owner@unit.no";
+    public static final String OTHER_OWNER = "other@unit.no";
+    public static final String MODIFIED_DATE = "2020-01-01T10:00:00Z";
+    public static final String LATER_MODIFIED_DATE = "2020-01-01T10:00:00.5Z";
+
+    @Test
+    public void matchesReturnsTrueForPublishedVersionWithDoiRequestOfTheStatusAndOwner() {
+        VersionHeader version = VersionHeader.read(version(MODIFIED_DATE, PublicationStatus.PUBLISHED));
+
+        assertThat(version.matches(DoiRequestStatus.REQUESTED, OWNER), is(true));
+        assertThat(version.matches(DoiRequestStatus.REQUESTED, null), is(true));
+    }
+
+    @Test
+    public void matchesReturnsFalseForVersionOfAnotherStatusOrOwner() {
+        VersionHeader version = VersionHeader.read(version(MODIFIED_DATE, PublicationStatus.PUBLISHED));
+
+        assertThat(version.matches(DoiRequestStatus.APPROVED, OWNER), is(false));
+        assertThat(version.matches(DoiRequestStatus.REQUESTED, OTHER_OWNER), is(false));
+    }
+
+    @Test
+    public void matchesReturnsFalseForVersionThatIsNotPublished() {
+        VersionHeader version = VersionHeader.read(version(MODIFIED_DATE, PublicationStatus.DRAFT));
+
+        assertThat(version.matches(DoiRequestStatus.REQUESTED, OWNER), is(false));
+    }
+
+    @Test
+    public void isLaterThanComparesModifiedDatesAsInstants() {
+        VersionHeader version = VersionHeader.read(version(MODIFIED_DATE, PublicationStatus.PUBLISHED));
+        VersionHeader laterVersion = VersionHeader.read(version(LATER_MODIFIED_DATE, PublicationStatus.PUBLISHED));
+
+        assertThat(laterVersion.isLaterThan(version), is(true));
+        assertThat(version.isLaterThan(laterVersion), is(false));
+    }
+
+    private static Map<String, AttributeValue> version(String modifiedDate, PublicationStatus status) {
+        Map<String, AttributeValue> attributes = new HashMap<>();
+        attributes.put(TABLE_HASH_KEY, new AttributeValue(IDENTIFIER));
+        attributes.put(TABLE_SORT_KEY, new AttributeValue(modifiedDate));
+        attributes.put(STATUS_FIELD_NAME, new AttributeValue(status.toString()));
+        attributes.put(DOI_REQUEST_OWNER_INDEX_HASH_KEY, new AttributeValue(OWNER));
+        attributes.put(DOI_REQUEST_FIELD_NAME, new AttributeValue().withM(
+            Map.of(STATUS_FIELD_NAME, new AttributeValue(DoiRequestStatus.REQUESTED.toString()))));
+        return attributes;
+    }
+}
@@ -0,0 +1,168 @@
+package no.unit.nva.doi.requests.service.impl;
+
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_INDEX_SORT_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.EXPIRES_AT_FIELD_NAME;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
+import static no.unit.nva.doi.requests.util.PublicationGenerator.getPublicationWithDoiRequest;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.Table;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import no.unit.nva.doi.requests.util.DoiRequestsDynamoDBLocal;
+import no.unit.nva.doi.requests.util.PublicationGenerator;
+import no.unit.nva.model.DoiRequestMessage;
+import no.unit.nva.model.Publication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class VersionHistoryCompactionTest extends DoiRequestsDynamoDBLocal {
+
+    public static final Instant NOW = Instant.parse("2020-06-01T10:00:00Z");
+    public static final int NUMBER_OF_VERSIONS = 4;
+    public static final int MAX_RUNS = 20;
+    public static final String MESSAGE_TEXT = "message";
+
+    private Table table;
+    private Clock clock;
+    private List<Publication> versions;
+    private List<Publication> otherVersions;
+
+    @BeforeEach
+    public void setUp() throws JsonProcessingException {
+        initializeDatabase();
+        table = getTable(NVA_RESOURCES_TABLE_NAME);
+        clock = Clock.fixed(NOW, ZoneOffset.UTC);
+        versions = PublicationGenerator.getVersions(getPublicationWithDoiRequest(), NUMBER_OF_VERSIONS);
+        otherVersions = PublicationGenerator.getVersions(getPublicationWithDoiRequest(), 1);
+        for (Publication version : versions) {
+            insertPublication(NVA_RESOURCES_TABLE_NAME, version);
+        }
+        insertPublication(NVA_RESOURCES_TABLE_NAME, otherVersions.get(0));
+    }
+
+    @Test
+    public void runDeletesAllButTheCurrentVersionAndTheVersionsToKeep() {
+        CompactionCheckpoint checkpoint = compaction(deleteSettings()).run(Instant.MAX);
+
+        assertThat(checkpoint.isComplete(), is(true));
+        assertThat(checkpoint.getScannedVersions(), is(equalTo(5L)));
+        assertThat(checkpoint.getCompactedVersions(), is(equalTo(2L)));
+        assertThat(fetchVersion(versions.get(0)), is(nullValue()));
+        assertThat(fetchVersion(versions.get(1)), is(nullValue()));
+        assertThat(fetchVersion(versions.get(2)), is(notNullValue()));
+        assertThat(fetchVersion(versions.get(3)), is(notNullValue()));
+        assertThat(fetchVersion(otherVersions.get(0)), is(notNullValue()));
+    }
+
+    @Test
+    public void runKeepsTheMessagesOfTheDoiRequest() {
+        Publication currentVersion = versions.get(NUMBER_OF_VERSIONS - 1);
+        Item message = MessageItemCodec.encode(currentVersion.getIdentifier(), new DoiRequestMessage.Builder()
+            .withAuthor(currentVersion.getOwner())
+            .withText(MESSAGE_TEXT)
+            .withTimestamp(NOW)
+            .build());
+        table.putItem(message);
+
+        CompactionCheckpoint checkpoint = compaction(deleteSettings()).run(Instant.MAX);
+
+        assertThat(checkpoint.getScannedVersions(), is(equalTo(5L)));
+        assertThat(checkpoint.getCompactedVersions(), is(equalTo(2L)));
+        assertThat(table.getItem(TABLE_HASH_KEY, message.getString(TABLE_HASH_KEY),
+            TABLE_SORT_KEY, message.getString(TABLE_SORT_KEY)), is(notNullValue()));
+    }
+
+    @Test
+    public void runInDryRunModeCountsTheVersionsWithoutChangingThem() {
+        CompactionSettings settings = deleteSettings();
+        settings.setDryRun(true);
+
+        CompactionCheckpoint checkpoint = compaction(settings).run(Instant.MAX);
+
+        assertThat(checkpoint.getCompactedVersions(), is(equalTo(2L)));
+        versions.forEach(version -> assertThat(fetchVersion(version), is(notNullValue())));
+    }
+
+    @Test
+    public void runInExpireModeSetsExpiryTimeAndRemovesTheVersionsFromTheIndex() {
+        CompactionSettings settings = deleteSettings();
+        settings.setMode(CompactionMode.EXPIRE);
+
+        compaction(settings).run(Instant.MAX);
+        CompactionCheckpoint secondRun = compaction(settings).run(Instant.MAX);
+
+        Item expiredVersion = fetchVersion(versions.get(0));
+        long expectedExpiry = NOW.plus(settings.expireAfter()).getEpochSecond();
+        assertThat(expiredVersion.getLong(EXPIRES_AT_FIELD_NAME), is(equalTo(expectedExpiry)));
+        assertThat(expiredVersion.isPresent(DOI_REQUEST_INDEX_SORT_KEY), is(false));
+        assertThat(fetchVersion(versions.get(2)).isPresent(EXPIRES_AT_FIELD_NAME), is(false));
+        assertThat(secondRun.getCompactedVersions(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void runResumesFromTheCheckpointOfARunThatStoppedAtItsDeadline() {
+        CompactionSettings settings = deleteSettings();
+        settings.setTotalSegments(1);
+        settings.setPageSize(1);
+
+        CompactionCheckpoint checkpoint = compaction(settings).run(Instant.MIN);
+        int runs = 1;
+        while (!checkpoint.isComplete() && runs < MAX_RUNS) {
+            settings.setCheckpoint(checkpoint);
+            checkpoint = compaction(settings).run(Instant.MIN);
+            runs++;
+        }
+
+        assertThat(runs, is(equalTo(2)));
+        assertThat(checkpoint.getScannedVersions(), is(equalTo(5L)));
+        assertThat(checkpoint.getCompactedVersions(), is(equalTo(2L)));
+        assertThat(fetchVersion(versions.get(1)), is(nullValue()));
+        assertThat(fetchVersion(versions.get(2)), is(notNullValue()));
+    }
+
+    @Test
+    public void constructorThrowsWhenTheCheckpointHasAnotherNumberOfSegments() {
+        CompactionSettings settings = deleteSettings();
+        settings.setCheckpoint(CompactionCheckpoint.start(settings.getTotalSegments() + 1));
+
+        assertThrows(IllegalArgumentException.class, () -> compaction(settings));
+    }
+
+    @Test
+    public void constructorThrowsWhenASettingIsOutOfRange() {
+        CompactionSettings settings = deleteSettings();
+        settings.setVersionsToKeep(-1);
+
+        assertThrows(IllegalArgumentException.class, () -> compaction(settings));
+    }
+
+    private VersionHistoryCompaction compaction(CompactionSettings settings) {
+        return new VersionHistoryCompaction(table, settings, clock);
+    }
+
+    private CompactionSettings deleteSettings() {
+        CompactionSettings settings = new CompactionSettings();
+        settings.setVersionsToKeep(1);
+        settings.setMode(CompactionMode.DELETE);
+        settings.setDryRun(false);
+        settings.setTotalSegments(2);
+        settings.setCapacityUnitsPerSecond(1000);
+        return settings;
+    }
+
+    private Item fetchVersion(Publication version) {
+        return table.getItem(
+            TABLE_HASH_KEY, version.getIdentifier().toString(),
+            TABLE_SORT_KEY, version.getModifiedDate().toString());
+    }
+}
@@ -0,0 +1,74 @@
+package no.unit.nva.doi.requests;
+
+import static org.apache.http.HttpStatus.SC_OK;
+import com.amazonaws.auth.STSAssumeRoleSessionCredentialsProvider;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.securitytoken.AWSSecurityTokenService;
+import no.unit.nva.doi.requests.handlers.DoiRequestAuthorizedHandlerTemplate;
+import no.unit.nva.doi.requests.metrics.EmbeddedMetrics;
+import no.unit.nva.doi.requests.model.DoiRequestStatusesRequest;
+import no.unit.nva.doi.requests.model.DoiRequestStatusesResponse;
+import no.unit.nva.doi.requests.service.DoiRequestsService;
+import no.unit.nva.doi.requests.service.impl.DynamoDbDoiRequestsServiceFactory;
+import no.unit.nva.doi.requests.service.impl.UserInstance;
+import nva.commons.exceptions.ApiGatewayException;
+import nva.commons.handlers.RequestInfo;
+import nva.commons.utils.Environment;
+import nva.commons.utils.JacocoGenerated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Looks up the status of the DOI requests of a list of publications in one request, for pages that show many
+ * publications at once.
+ */
+public class FindDoiRequestStatusesHandler
+    extends DoiRequestAuthorizedHandlerTemplate<DoiRequestStatusesRequest, DoiRequestStatusesResponse> {
+
+    public static final Logger logger = LoggerFactory.getLogger(FindDoiRequestStatusesHandler.class);
+    private final DynamoDbDoiRequestsServiceFactory serviceFactory;
+
+    @JacocoGenerated
+    public FindDoiRequestStatusesHandler() {
+        this(new Environment());
+    }
+
+    @JacocoGenerated
+    protected FindDoiRequestStatusesHandler(Environment environment) {
+        this(environment, DEFAULT_SERVICE_FACTORY, defaultStsClient());
+    }
+
+    public FindDoiRequestStatusesHandler(Environment environment,
+                                         DynamoDbDoiRequestsServiceFactory serviceFactory,
+                                         AWSSecurityTokenService stsClient) {
+        super(DoiRequestStatusesRequest.class, environment, stsClient, logger);
+        this.serviceFactory = serviceFactory;
+    }
+
+    @Override
+    protected DoiRequestStatusesResponse processInput(DoiRequestStatusesRequest input, RequestInfo requestInfo,
+                                                      STSAssumeRoleSessionCredentialsProvider credentialsProvider,
+                                                      Context context) throws ApiGatewayException {
+        try {
+            return findStatuses(input, requestInfo, credentialsProvider);
+        } finally {
+            EmbeddedMetrics.current().flush(getClass().getSimpleName());
+        }
+    }
+
+    @Override
+    protected Integer getSuccessStatusCode(DoiRequestStatusesRequest input, DoiRequestStatusesResponse output) {
+        return SC_OK;
+    }
+
+    private DoiRequestStatusesResponse findStatuses(DoiRequestStatusesRequest input, RequestInfo requestInfo,
+                                                    STSAssumeRoleSessionCredentialsProvider credentialsProvider)
+        throws ApiGatewayException {
+        input.validate();
+        UserInstance user = userInstance(requestInfo);
+        DoiRequestsService doiRequestsService =
+            serviceFactory.getService(credentialsProvider, sessionTags(requestInfo));
+        return DoiRequestStatusesResponse.of(
+            doiRequestsService.findDoiRequestStatuses(input.getPublicationIdentifiers(), user));
+    }
+}
@@ -3,28 +3,39 @@ package no.unit.nva.doi.requests;
 import static no.unit.nva.doi.requests.userdetails.UserDetails.ROLE;
 import static no.unit.nva.model.DoiRequestStatus.REQUESTED;
 import static nva.commons.utils.attempt.Try.attempt;
+import static org.apache.http.HttpStatus.SC_NOT_MODIFIED;
 import static org.apache.http.HttpStatus.SC_OK;
 import com.amazonaws.auth.STSAssumeRoleSessionCredentialsProvider;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.securitytoken.AWSSecurityTokenService;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import no.unit.nva.doi.requests.exception.BadRequestException;
 import no.unit.nva.doi.requests.exception.NotAuthorizedException;
 import no.unit.nva.doi.requests.handlers.DoiRequestAuthorizedHandlerTemplate;
+import no.unit.nva.doi.requests.handlers.EntityTags;
+import no.unit.nva.doi.requests.metrics.EmbeddedMetrics;
+import no.unit.nva.doi.requests.model.DoiRequestsPage;
+import no.unit.nva.doi.requests.model.DoiRequestSummary;
 import no.unit.nva.doi.requests.model.DoiRequestsResponse;
+import no.unit.nva.doi.requests.model.DoiRequestsSort;
+import no.unit.nva.doi.requests.model.DoiRequestsSort.Field;
+import no.unit.nva.doi.requests.model.DoiRequestsSort.Order;
 import no.unit.nva.doi.requests.service.DoiRequestsService;
 import no.unit.nva.doi.requests.service.impl.DynamoDbDoiRequestsServiceFactory;
 import no.unit.nva.doi.requests.userdetails.UserDetails;
-import no.unit.nva.model.Publication;
+import no.unit.nva.model.DoiRequestStatus;
 import nva.commons.exceptions.ApiGatewayException;
 import nva.commons.handlers.RequestInfo;
 import nva.commons.utils.Environment;
 import nva.commons.utils.JacocoGenerated;
 import nva.commons.utils.JsonUtils;
+import org.apache.http.HttpHeaders;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,6 +45,17 @@ public class FindDoiRequestsHandler extends DoiRequestAuthorizedHandlerTemplate<
     public static final String CREATOR = "creator";
     public static final String CURATOR = "curator";
     public static final String ROLES_SEPARATOR = ",";
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final String STATUS = "status";
+    public static final String SORT = "sort";
+    public static final String ORDER = "order";
+    public static final String STATUS_SEPARATOR = ",";
+    public static final String INVALID_STATUS_ERROR = "status must be one or more of "
+        + Arrays.toString(DoiRequestStatus.values()) + ", separated by commas";
+    public static final String INVALID_SORT_ERROR = "sort must be one of "
+        + Arrays.stream(Field.values()).map(Field::getParameterValue).collect(Collectors.toList());
+    public static final String INVALID_ORDER_ERROR = "order must be one of "
+        + Arrays.stream(Order.values()).map(Order::getParameterValue).collect(Collectors.toList());
     private final DynamoDbDoiRequestsServiceFactory serviceFactory;
 
     @JacocoGenerated
@@ -46,9 +68,9 @@ public class FindDoiRequestsHandler extends DoiRequestAuthorizedHandlerTemplate<
         this(environment, DEFAULT_SERVICE_FACTORY, defaultStsClient());
     }
 
-    protected FindDoiRequestsHandler(Environment environment,
-                                     DynamoDbDoiRequestsServiceFactory serviceFactory,
-                                     AWSSecurityTokenService stsClient) {
+    public FindDoiRequestsHandler(Environment environment,
+                                  DynamoDbDoiRequestsServiceFactory serviceFactory,
+                                  AWSSecurityTokenService stsClient) {
         super(Void.class, environment, stsClient, logger);
         this.serviceFactory = serviceFactory;
     }
@@ -57,7 +79,18 @@ public class FindDoiRequestsHandler extends DoiRequestAuthorizedHandlerTemplate<
     protected DoiRequestsResponse processInput(Void input, RequestInfo requestInfo,
                                                STSAssumeRoleSessionCredentialsProvider credentialsProvider,
                                                Context context) throws ApiGatewayException {
+        try {
+            return findDoiRequests(requestInfo, credentialsProvider);
+        } finally {
+            EmbeddedMetrics.current().flush(getClass().getSimpleName());
+        }
+    }
+
+    private DoiRequestsResponse findDoiRequests(RequestInfo requestInfo,
+                                                STSAssumeRoleSessionCredentialsProvider credentialsProvider)
+        throws ApiGatewayException {
 
+        setAdditionalHeadersSupplier(Collections::emptyMap);
         String requestInfoJson = attempt(() -> JsonUtils.objectMapper.writeValueAsString(requestInfo)).orElseThrow();
         logger.info("RequestInfo:\n" + requestInfoJson);
 
@@ -73,40 +106,128 @@ public class FindDoiRequestsHandler extends DoiRequestAuthorizedHandlerTemplate<
         } catch (IllegalArgumentException e) {
             throw new BadRequestException(e);
         }
-        DoiRequestsService doiRequestsService = this.serviceFactory.getService(credentialsProvider);
+        int pageSize = getPageSize(requestInfo, DEFAULT_PAGE_SIZE);
+        String cursor = getOptionalQueryParameter(requestInfo, CURSOR).orElse(null);
+        List<DoiRequestStatus> statuses = getStatuses(requestInfo);
+        DoiRequestsSort sort = getSort(requestInfo);
+        DoiRequestsService doiRequestsService =
+            this.serviceFactory.getService(credentialsProvider, sessionTags(requestInfo));
         verifyRoles(requestedRole, assignedRoles);
+        URI publisher = URI.create(customerId);
 
-        List<Publication> doiRequests = getDoiRequestsForRole(doiRequestsService,
+        Optional<String> sequenceNumberTag = doiRequestsService.findDoiRequestsSequenceNumber(publisher)
+            .map(sequenceNumber -> EntityTags.of(Arrays.asList(sequenceNumber, publisher, user,
+                requestedRole.toLowerCase(), statuses, sort.getField(), sort.getOrder(), pageSize, cursor)));
+        if (sequenceNumberTag.isPresent() && isNotModified(requestInfo, sequenceNumberTag.get())) {
+            return null;
+        }
+        DoiRequestsPage doiRequests = getDoiRequestsForRole(doiRequestsService,
             user,
             requestedRole,
-            URI.create(customerId));
+            publisher,
+            statuses,
+            sort,
+            pageSize,
+            cursor);
+        if (isNotModified(requestInfo, sequenceNumberTag.orElseGet(() -> entityTag(doiRequests)))) {
+            return null;
+        }
         return DoiRequestsResponse.of(doiRequests);
     }
 
+    /*
+     * The tag is made from the sequence number of the changes to the publications of the publisher, which is read
+     * before the DOI requests are queried, so a client that already has the page is answered without querying them. A
+     * page with a change made after the sequence number was read gets the tag from before the change, and is sent
+     * again on the next request. Without a change feed the tag is made from the page itself.
+     */
+    private boolean isNotModified(RequestInfo requestInfo, String entityTag) {
+        setAdditionalHeadersSupplier(() -> Collections.singletonMap(HttpHeaders.ETAG, entityTag));
+        return EntityTags.isNotModified(requestInfo, entityTag);
+    }
 
+    /**
+     * The response is left out when the client already has the page, see {@link EntityTags}.
+     */
     @Override
     protected Integer getSuccessStatusCode(Void input, DoiRequestsResponse output) {
-        return SC_OK;
+        return output == null ? SC_NOT_MODIFIED : SC_OK;
     }
 
+    static String entityTag(DoiRequestsPage page) {
+        List<Object> values = new ArrayList<>();
+        for (DoiRequestSummary summary : page.getDoiRequests()) {
+            values.addAll(Arrays.asList(
+                summary.getPublicationIdentifier(),
+                summary.getDoiRequestStatus(),
+                summary.getDoiRequestDate(),
+                summary.getPublicationTitle(),
+                summary.getPublicationCreator(),
+                summary.getMessageCount(),
+                summary.getLastMessageDate()));
+        }
+        values.add(page.getNextCursor().orElse(null));
+        return EntityTags.of(values);
+    }
 
-
-    private List<Publication> getDoiRequestsForRole(DoiRequestsService doiRequestsService,
-                                                    String user,
-                                                    String requestedRole,
-                                                    URI publisher)
+    /*
+     * A list of one status in index order is what the index returns as it is, and any other list is selected by the
+     * service from the index items.
+     */
+    private DoiRequestsPage getDoiRequestsForRole(DoiRequestsService doiRequestsService,
+                                                  String user,
+                                                  String requestedRole,
+                                                  URI publisher,
+                                                  List<DoiRequestStatus> statuses,
+                                                  DoiRequestsSort sort,
+                                                  int pageSize,
+                                                  String cursor)
         throws ApiGatewayException {
-        List<Publication> doiRequests;
-        if (requestedRole.equalsIgnoreCase(CREATOR)) {
-            doiRequests = doiRequestsService.findDoiRequestsByStatusAndOwner(publisher, REQUESTED, user);
+        boolean indexOrder = statuses.size() == 1 && DoiRequestsSort.INDEX_ORDER.equals(sort);
+        DoiRequestsPage doiRequests;
+        if (requestedRole.equalsIgnoreCase(CREATOR) && indexOrder) {
+            doiRequests = doiRequestsService.findDoiRequestsByStatusAndOwner(publisher, statuses.get(0), user,
+                pageSize, cursor);
+        } else if (requestedRole.equalsIgnoreCase(CREATOR)) {
+            doiRequests = doiRequestsService.findDoiRequests(publisher, statuses, user, sort, pageSize, cursor);
+        } else if (requestedRole.equalsIgnoreCase(CURATOR) && indexOrder) {
+            doiRequests = doiRequestsService.findDoiRequestsByStatus(publisher, statuses.get(0), pageSize, cursor);
         } else if (requestedRole.equalsIgnoreCase(CURATOR)) {
-            doiRequests = doiRequestsService.findDoiRequestsByStatus(publisher, REQUESTED);
+            doiRequests = doiRequestsService.findDoiRequests(publisher, statuses, null, sort, pageSize, cursor);
         } else {
-            doiRequests = Collections.emptyList();
+            doiRequests = DoiRequestsPage.empty();
         }
         return doiRequests;
     }
 
+    private List<DoiRequestStatus> getStatuses(RequestInfo requestInfo) throws BadRequestException {
+        Optional<String> status = getOptionalQueryParameter(requestInfo, STATUS);
+        if (status.isEmpty()) {
+            return List.of(REQUESTED);
+        }
+        List<DoiRequestStatus> statuses = new ArrayList<>();
+        for (String value : status.get().split(STATUS_SEPARATOR)) {
+            DoiRequestStatus parsedStatus = attempt(() -> DoiRequestStatus.valueOf(value.trim().toUpperCase()))
+                .orElseThrow(fail -> new BadRequestException(INVALID_STATUS_ERROR));
+            if (!statuses.contains(parsedStatus)) {
+                statuses.add(parsedStatus);
+            }
+        }
+        return statuses;
+    }
+
+    private DoiRequestsSort getSort(RequestInfo requestInfo) throws BadRequestException {
+        Optional<String> sort = getOptionalQueryParameter(requestInfo, SORT);
+        Optional<String> order = getOptionalQueryParameter(requestInfo, ORDER);
+        Field field = sort.isEmpty()
+            ? DoiRequestsSort.INDEX_ORDER.getField()
+            : Field.fromParameterValue(sort.get()).orElseThrow(() -> new BadRequestException(INVALID_SORT_ERROR));
+        Order sortOrder = order.isEmpty()
+            ? DoiRequestsSort.INDEX_ORDER.getOrder()
+            : Order.fromParameterValue(order.get()).orElseThrow(() -> new BadRequestException(INVALID_ORDER_ERROR));
+        return new DoiRequestsSort(field, sortOrder);
+    }
+
     private void verifyRoles(String requestedRole, String assignedRoles) throws NotAuthorizedException {
         Optional<String> foundRole = Arrays.stream(assignedRoles.split(ROLES_SEPARATOR))
             .filter(role -> role.equalsIgnoreCase(requestedRole))
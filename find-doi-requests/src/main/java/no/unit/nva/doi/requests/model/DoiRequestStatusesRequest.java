@@ -0,0 +1,39 @@
+package no.unit.nva.doi.requests.model;
+
+import java.util.List;
+import java.util.UUID;
+import no.unit.nva.doi.requests.exception.BadRequestException;
+import nva.commons.utils.JacocoGenerated;
+
+public class DoiRequestStatusesRequest {
+
+    public static final int MAX_PUBLICATIONS = 100;
+    public static final String NO_PUBLICATIONS_ERROR = "You must list the publications to look up";
+    public static final String TOO_MANY_PUBLICATIONS_ERROR =
+        "At most " + MAX_PUBLICATIONS + " publications can be looked up at a time";
+    private List<UUID> publicationIdentifiers;
+
+    @JacocoGenerated
+    public List<UUID> getPublicationIdentifiers() {
+        return publicationIdentifiers;
+    }
+
+    @JacocoGenerated
+    public void setPublicationIdentifiers(List<UUID> publicationIdentifiers) {
+        this.publicationIdentifiers = publicationIdentifiers;
+    }
+
+    /**
+     * Checks that at least one, and at most {@link #MAX_PUBLICATIONS}, publications are listed.
+     *
+     * @throws BadRequestException when the request is not valid.
+     */
+    public void validate() throws BadRequestException {
+        if (publicationIdentifiers == null || publicationIdentifiers.isEmpty()) {
+            throw new BadRequestException(NO_PUBLICATIONS_ERROR);
+        }
+        if (publicationIdentifiers.size() > MAX_PUBLICATIONS) {
+            throw new BadRequestException(TOO_MANY_PUBLICATIONS_ERROR);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package no.unit.nva.doi.requests.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import no.unit.nva.model.DoiRequestStatus;
+import nva.commons.utils.JacocoGenerated;
+
+public class DoiRequestStatusesResponse {
+
+    private Map<UUID, DoiRequestStatus> doiRequestStatuses = new LinkedHashMap<>();
+
+    /**
+     * Creates DoiRequestStatusesResponse from the statuses that were found.
+     *
+     * @param doiRequestStatuses the status of each DOI request, keyed by publication identifier
+     * @return doiRequestStatusesResponse
+     */
+    public static DoiRequestStatusesResponse of(Map<UUID, DoiRequestStatus> doiRequestStatuses) {
+        DoiRequestStatusesResponse response = new DoiRequestStatusesResponse();
+        response.setDoiRequestStatuses(new LinkedHashMap<>(doiRequestStatuses));
+        return response;
+    }
+
+    public Map<UUID, DoiRequestStatus> getDoiRequestStatuses() {
+        return doiRequestStatuses;
+    }
+
+    public void setDoiRequestStatuses(Map<UUID, DoiRequestStatus> doiRequestStatuses) {
+        this.doiRequestStatuses = doiRequestStatuses;
+    }
+
+    @Override
+    @JacocoGenerated
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DoiRequestStatusesResponse that = (DoiRequestStatusesResponse) o;
+        return Objects.equals(getDoiRequestStatuses(), that.getDoiRequestStatuses());
+    }
+
+    @Override
+    @JacocoGenerated
+    public int hashCode() {
+        return Objects.hash(getDoiRequestStatuses());
+    }
+}
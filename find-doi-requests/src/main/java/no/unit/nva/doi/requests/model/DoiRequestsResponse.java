@@ -1,22 +1,65 @@
 package no.unit.nva.doi.requests.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import java.util.ArrayList;
 import java.util.List;
-import no.unit.nva.model.Publication;
+import java.util.Objects;
+import nva.commons.utils.JacocoGenerated;
 
-public class DoiRequestsResponse extends ArrayList<Publication> {
+public class DoiRequestsResponse {
+
+    private List<DoiRequestSummary> doiRequests = new ArrayList<>();
+    @JsonInclude(Include.NON_NULL)
+    private String nextCursor;
 
     /**
-     * Creates DoiRequestResponse from list of DoiRequestSummary.
+     * Creates DoiRequestResponse from a page of DOI requests. The summaries of the page are shared, not copied, as
+     * the page is not used after the response is made.
      *
-     * @param publication list of Publication
+     * @param page page of DOI request summaries
      * @return doiRequestResponse
      */
-    public static DoiRequestsResponse of(List<Publication> publication) {
+    public static DoiRequestsResponse of(DoiRequestsPage page) {
         DoiRequestsResponse response = new DoiRequestsResponse();
-        response.addAll(publication);
+        response.setDoiRequests(page.getDoiRequests());
+        response.setNextCursor(page.getNextCursor().orElse(null));
         return response;
     }
 
+    public List<DoiRequestSummary> getDoiRequests() {
+        return doiRequests;
+    }
+
+    public void setDoiRequests(List<DoiRequestSummary> doiRequests) {
+        this.doiRequests = doiRequests;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
 
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    @JacocoGenerated
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DoiRequestsResponse that = (DoiRequestsResponse) o;
+        return Objects.equals(getDoiRequests(), that.getDoiRequests())
+            && Objects.equals(getNextCursor(), that.getNextCursor());
+    }
+
+    @Override
+    @JacocoGenerated
+    public int hashCode() {
+        return Objects.hash(getDoiRequests(), getNextCursor());
+    }
 }
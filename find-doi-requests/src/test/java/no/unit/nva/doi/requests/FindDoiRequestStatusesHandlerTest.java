@@ -0,0 +1,95 @@
+package no.unit.nva.doi.requests;
+
+import static nva.commons.handlers.AuthorizedApiGatewayHandler.ASSUMED_ROLE_ARN_ENV_VAR;
+import static nva.commons.utils.JsonUtils.objectMapper;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import no.unit.nva.doi.requests.model.DoiRequestStatusesRequest;
+import no.unit.nva.doi.requests.model.DoiRequestStatusesResponse;
+import no.unit.nva.doi.requests.service.impl.DynamoDBDoiRequestsService;
+import no.unit.nva.doi.requests.service.impl.DynamoDbDoiRequestsServiceFactory;
+import no.unit.nva.model.DoiRequestStatus;
+import no.unit.nva.stubs.FakeContext;
+import no.unit.nva.stubs.FakeStsClient;
+import no.unit.nva.testutils.HandlerRequestBuilder;
+import nva.commons.exceptions.ApiGatewayException;
+import nva.commons.handlers.ApiGatewayHandler;
+import nva.commons.handlers.GatewayResponse;
+import nva.commons.utils.Environment;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zalando.problem.Problem;
+
+public class FindDoiRequestStatusesHandlerTest {
+
+    public static final String SOME_ASSUMED_AWS_IAM_ROLE = "SomeAssumedAwsIamRole";
+    public static final String SOME_USER = "some@user.no";
+    private final Context context = new FakeContext();
+    private final DynamoDBDoiRequestsService doiRequestsService = mock(DynamoDBDoiRequestsService.class);
+    private FindDoiRequestStatusesHandler handler;
+    private ByteArrayOutputStream outputStream;
+
+    @BeforeEach
+    public void setUp() {
+        handler = new FindDoiRequestStatusesHandler(mockEnvironment(),
+            new DynamoDbDoiRequestsServiceFactory(credentials -> doiRequestsService), new FakeStsClient());
+        outputStream = new ByteArrayOutputStream();
+    }
+
+    @Test
+    public void handleRequestReturnsTheStatusesKeyedByPublicationIdentifier()
+        throws IOException, ApiGatewayException {
+        List<UUID> publicationIdentifiers = List.of(UUID.randomUUID(), UUID.randomUUID());
+        Map<UUID, DoiRequestStatus> statuses = Map.of(publicationIdentifiers.get(0), DoiRequestStatus.REQUESTED);
+        when(doiRequestsService.findDoiRequestStatuses(eq(publicationIdentifiers), any())).thenReturn(statuses);
+
+        handler.handleRequest(request(publicationIdentifiers), outputStream, context);
+
+        GatewayResponse<DoiRequestStatusesResponse> response = GatewayResponse.fromOutputStream(outputStream);
+        assertThat(response.getStatusCode(), is(equalTo(HttpStatus.SC_OK)));
+        assertThat(response.getBodyObject(DoiRequestStatusesResponse.class).getDoiRequestStatuses(),
+            is(equalTo(statuses)));
+    }
+
+    @Test
+    public void handleRequestReturnsBadRequestWhenNoPublicationIsListed() throws IOException {
+        handler.handleRequest(request(Collections.emptyList()), outputStream, context);
+
+        GatewayResponse<Problem> response = GatewayResponse.fromOutputStream(outputStream);
+        assertThat(response.getStatusCode(), is(equalTo(HttpStatus.SC_BAD_REQUEST)));
+        assertThat(response.getBodyObject(Problem.class).getDetail(),
+            containsString(DoiRequestStatusesRequest.NO_PUBLICATIONS_ERROR));
+    }
+
+    private InputStream request(List<UUID> publicationIdentifiers) throws JsonProcessingException {
+        DoiRequestStatusesRequest body = new DoiRequestStatusesRequest();
+        body.setPublicationIdentifiers(publicationIdentifiers);
+        return new HandlerRequestBuilder<DoiRequestStatusesRequest>(objectMapper)
+            .withFeideId(SOME_USER)
+            .withBody(body)
+            .build();
+    }
+
+    private Environment mockEnvironment() {
+        Environment environment = mock(Environment.class);
+        when(environment.readEnv(ApiGatewayHandler.ALLOWED_ORIGIN_ENV)).thenReturn("*");
+        when(environment.readEnv(ASSUMED_ROLE_ARN_ENV_VAR)).thenReturn(SOME_ASSUMED_AWS_IAM_ROLE);
+        return environment;
+    }
+}
@@ -3,13 +3,19 @@ package no.unit.nva.doi.requests;
 import static no.unit.nva.testutils.TestHeaders.getRequestHeaders;
 import static nva.commons.handlers.AuthorizedApiGatewayHandler.ASSUMED_ROLE_ARN_ENV_VAR;
 import static nva.commons.utils.JsonUtils.objectMapper;
+import static nva.commons.utils.attempt.Try.attempt;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import com.amazonaws.services.dynamodbv2.document.Index;
 import com.amazonaws.services.dynamodbv2.document.ItemCollection;
@@ -25,10 +31,19 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import no.unit.nva.doi.requests.exception.DynamoDBException;
+import no.unit.nva.doi.requests.model.DoiRequestsPage;
 import no.unit.nva.doi.requests.model.DoiRequestsResponse;
+import no.unit.nva.doi.requests.model.DoiRequestsSort;
+import no.unit.nva.doi.requests.model.DoiRequestsSort.Field;
+import no.unit.nva.doi.requests.model.DoiRequestsSort.Order;
 import no.unit.nva.doi.requests.service.impl.DynamoDBDoiRequestsService;
+import no.unit.nva.doi.requests.service.impl.InMemoryPublicationChangeFeed;
 import no.unit.nva.doi.requests.service.impl.DynamoDbDoiRequestsServiceFactory;
 import no.unit.nva.doi.requests.util.RequestContextUtils;
 import no.unit.nva.model.DoiRequestStatus;
@@ -41,6 +56,7 @@ import nva.commons.exceptions.GatewayResponseSerializingException;
 import nva.commons.handlers.ApiGatewayHandler;
 import nva.commons.handlers.GatewayResponse;
 import nva.commons.utils.Environment;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -56,6 +72,10 @@ public class FindDoiRequestsHandlerTest {
     public static final String INVALID_ROLE = "invalid_role";
     public static final String EDITOR = "editor";
     public static final String SOME_ASSUMED_AWS_IAM_ROLE = "SomeAssumedAwsIamRole";
+    public static final String SOME_CURSOR = "someCursor";
+    public static final String NEXT_CURSOR = "nextCursor";
+    public static final int SOME_LIMIT = 10;
+    public static final long SEQUENCE_NUMBER = 7L;
 
     private final AWSSecurityTokenService fakeStsClient = new FakeStsClient();
     private FindDoiRequestsHandler handler;
@@ -172,6 +192,149 @@ public class FindDoiRequestsHandlerTest {
         assertThat(response.getStatusCode(), is(equalTo(HttpURLConnection.HTTP_FORBIDDEN)));
     }
 
+    @Test
+    public void handleRequestPassesLimitAndCursorToServiceAndReturnsNextCursor() throws Exception {
+        DynamoDBDoiRequestsService doiRequestsService = mock(DynamoDBDoiRequestsService.class);
+        when(doiRequestsService.findDoiRequestsByStatus(any(URI.class), any(DoiRequestStatus.class), anyInt(), any()))
+            .thenReturn(new DoiRequestsPage(Collections.emptyList(), NEXT_CURSOR));
+        handler = new FindDoiRequestsHandler(mockEnvironment(),
+            new DynamoDbDoiRequestsServiceFactory(ignored -> doiRequestsService), fakeStsClient);
+
+        InputStream inputStream = createRequestWithQueryParameters(
+            Map.of(ROLE, CURATOR, FindDoiRequestsHandler.LIMIT, String.valueOf(SOME_LIMIT),
+                FindDoiRequestsHandler.CURSOR, SOME_CURSOR), CURATOR);
+        handler.handleRequest(inputStream, outputStream, context);
+
+        GatewayResponse<DoiRequestsResponse> response = GatewayResponse.fromOutputStream(outputStream);
+        DoiRequestsResponse body = response.getBodyObject(DoiRequestsResponse.class);
+        assertThat(body.getNextCursor(), is(equalTo(NEXT_CURSOR)));
+        verify(doiRequestsService).findDoiRequestsByStatus(any(URI.class), eq(DoiRequestStatus.REQUESTED),
+            eq(SOME_LIMIT), eq(SOME_CURSOR));
+    }
+
+    @Test
+    public void handleRequestReturnsNotModifiedWhenIfNoneMatchContainsTheEntityTagOfThePage() throws Exception {
+        DynamoDBDoiRequestsService doiRequestsService = mockServiceWithEmptyPages();
+        handler = new FindDoiRequestsHandler(mockEnvironment(),
+            new DynamoDbDoiRequestsServiceFactory(ignored -> doiRequestsService), fakeStsClient);
+
+        Map<String, String> headers = new HashMap<>(getRequestHeaders());
+        headers.put(HttpHeaders.IF_NONE_MATCH, FindDoiRequestsHandler.entityTag(DoiRequestsPage.empty()));
+        InputStream inputStream = new HandlerRequestBuilder<Void>(objectMapper)
+            .withHeaders(headers)
+            .withQueryParameters(Map.of(ROLE, CURATOR))
+            .withRequestContext(RequestContextUtils.requestContext(CURATOR))
+            .build();
+        handler.handleRequest(inputStream, outputStream, context);
+
+        GatewayResponse<DoiRequestsResponse> response = GatewayResponse.fromOutputStream(outputStream);
+        assertThat(response.getStatusCode(), is(equalTo(HttpStatus.SC_NOT_MODIFIED)));
+    }
+
+    @Test
+    public void handleRequestReturnsNotModifiedWithoutQueryingWhenTheSequenceNumberOfThePublisherHasNotMoved()
+        throws Exception {
+        DynamoDBDoiRequestsService doiRequestsService = mockServiceWithEmptyPages();
+        when(doiRequestsService.findDoiRequestsSequenceNumber(any(URI.class))).thenReturn(Optional.of(SEQUENCE_NUMBER));
+        handler = new FindDoiRequestsHandler(mockEnvironment(),
+            new DynamoDbDoiRequestsServiceFactory(ignored -> doiRequestsService), fakeStsClient);
+        handler.handleRequest(createRequestWithRequestedRoleAndAssignedRoles(CURATOR, CURATOR), outputStream,
+            context);
+        String entityTag = GatewayResponse.fromOutputStream(outputStream).getHeaders().get(HttpHeaders.ETAG);
+
+        Map<String, String> headers = new HashMap<>(getRequestHeaders());
+        headers.put(HttpHeaders.IF_NONE_MATCH, entityTag);
+        InputStream inputStream = new HandlerRequestBuilder<Void>(objectMapper)
+            .withHeaders(headers)
+            .withQueryParameters(Map.of(ROLE, CURATOR))
+            .withRequestContext(RequestContextUtils.requestContext(CURATOR))
+            .build();
+        outputStream = new ByteArrayOutputStream();
+        handler.handleRequest(inputStream, outputStream, context);
+
+        GatewayResponse<DoiRequestsResponse> response = GatewayResponse.fromOutputStream(outputStream);
+        assertThat(response.getStatusCode(), is(equalTo(HttpStatus.SC_NOT_MODIFIED)));
+        assertThat(response.getHeaders().get(HttpHeaders.ETAG), is(equalTo(entityTag)));
+        verify(doiRequestsService, times(1)).findDoiRequestsByStatus(any(URI.class),
+            eq(DoiRequestStatus.REQUESTED), anyInt(), any());
+    }
+
+    @Test
+    public void handleRequestUsesDefaultPageSizeWhenLimitIsMissing() throws Exception {
+        DynamoDBDoiRequestsService doiRequestsService = mockServiceWithEmptyPages();
+        handler = new FindDoiRequestsHandler(mockEnvironment(),
+            new DynamoDbDoiRequestsServiceFactory(ignored -> doiRequestsService), fakeStsClient);
+
+        InputStream inputStream = createRequestWithRequestedRoleAndAssignedRoles(CURATOR, CURATOR);
+        handler.handleRequest(inputStream, outputStream, context);
+
+        verify(doiRequestsService).findDoiRequestsByStatus(any(URI.class), eq(DoiRequestStatus.REQUESTED),
+            eq(FindDoiRequestsHandler.DEFAULT_PAGE_SIZE), isNull());
+    }
+
+    @Test
+    public void handleRequestReturnsBadRequestWhenLimitIsNotANumber() throws Exception {
+        InputStream inputStream = createRequestWithQueryParameters(
+            Map.of(ROLE, CURATOR, FindDoiRequestsHandler.LIMIT, "notANumber"), CURATOR);
+        handler.handleRequest(inputStream, outputStream, context);
+
+        GatewayResponse<Problem> actual = GatewayResponse.fromOutputStream(outputStream);
+        assertEquals(HttpStatus.SC_BAD_REQUEST, actual.getStatusCode());
+    }
+
+    @Test
+    public void handleRequestReturnsBadRequestWhenLimitIsOutOfRange() throws Exception {
+        InputStream inputStream = createRequestWithQueryParameters(
+            Map.of(ROLE, CURATOR, FindDoiRequestsHandler.LIMIT,
+                String.valueOf(FindDoiRequestsHandler.MAX_PAGE_SIZE + 1)), CURATOR);
+        handler.handleRequest(inputStream, outputStream, context);
+
+        GatewayResponse<Problem> actual = GatewayResponse.fromOutputStream(outputStream);
+        assertEquals(HttpStatus.SC_BAD_REQUEST, actual.getStatusCode());
+    }
+
+    @Test
+    public void handleRequestReturnsBadRequestWhenStatusIsUnknown() throws Exception {
+        InputStream inputStream = createRequestWithQueryParameters(
+            Map.of(ROLE, CURATOR, FindDoiRequestsHandler.STATUS, "REQUESTED,UNKNOWN"), CURATOR);
+        handler.handleRequest(inputStream, outputStream, context);
+
+        GatewayResponse<Problem> actual = GatewayResponse.fromOutputStream(outputStream);
+        assertEquals(HttpStatus.SC_BAD_REQUEST, actual.getStatusCode());
+    }
+
+    @Test
+    public void handleRequestReturnsBadRequestWhenSortIsUnknown() throws Exception {
+        InputStream inputStream = createRequestWithQueryParameters(
+            Map.of(ROLE, CURATOR, FindDoiRequestsHandler.SORT, "title"), CURATOR);
+        handler.handleRequest(inputStream, outputStream, context);
+
+        GatewayResponse<Problem> actual = GatewayResponse.fromOutputStream(outputStream);
+        assertEquals(HttpStatus.SC_BAD_REQUEST, actual.getStatusCode());
+    }
+
+    @Test
+    public void handleRequestPassesStatusesAndSortToServiceWhenSortedListIsRequested() throws Exception {
+        DynamoDBDoiRequestsService doiRequestsService = mock(DynamoDBDoiRequestsService.class);
+        when(doiRequestsService.findDoiRequests(any(URI.class), any(), any(), any(DoiRequestsSort.class), anyInt(),
+            any())).thenReturn(DoiRequestsPage.empty());
+        handler = new FindDoiRequestsHandler(mockEnvironment(),
+            new DynamoDbDoiRequestsServiceFactory(ignored -> doiRequestsService), fakeStsClient);
+
+        InputStream inputStream = createRequestWithQueryParameters(
+            Map.of(ROLE, CURATOR, FindDoiRequestsHandler.STATUS, "requested,APPROVED",
+                FindDoiRequestsHandler.SORT, Field.CREATED_DATE.getParameterValue(),
+                FindDoiRequestsHandler.ORDER, Order.DESC.getParameterValue(),
+                FindDoiRequestsHandler.LIMIT, String.valueOf(SOME_LIMIT)), CURATOR);
+        handler.handleRequest(inputStream, outputStream, context);
+
+        GatewayResponse<DoiRequestsResponse> response = GatewayResponse.fromOutputStream(outputStream);
+        assertThat(response.getStatusCode(), is(equalTo(HttpStatus.SC_OK)));
+        verify(doiRequestsService).findDoiRequests(any(URI.class),
+            eq(List.of(DoiRequestStatus.REQUESTED, DoiRequestStatus.APPROVED)), isNull(),
+            eq(new DoiRequestsSort(Field.CREATED_DATE, Order.DESC)), eq(SOME_LIMIT), isNull());
+    }
+
     private Environment mockEnvironment() {
         Environment environment = mock(Environment.class);
         when(environment.readEnv(ApiGatewayHandler.ALLOWED_ORIGIN_ENV)).thenReturn("*");
@@ -180,15 +343,32 @@ public class FindDoiRequestsHandlerTest {
     }
 
     private DynamoDbDoiRequestsServiceFactory createDefaultFactory() {
-        DynamoDBDoiRequestsService doiRequestsService = mock(DynamoDBDoiRequestsService.class);
+        DynamoDBDoiRequestsService doiRequestsService = mockServiceWithEmptyPages();
         return new DynamoDbDoiRequestsServiceFactory(cred -> doiRequestsService);
     }
 
+    private DynamoDBDoiRequestsService mockServiceWithEmptyPages() {
+        DynamoDBDoiRequestsService doiRequestsService = mock(DynamoDBDoiRequestsService.class);
+        attempt(() -> when(doiRequestsService.findDoiRequestsByStatus(
+            any(URI.class), any(DoiRequestStatus.class), anyInt(), any()
+        )).thenReturn(DoiRequestsPage.empty())).orElseThrow();
+        attempt(() -> when(doiRequestsService.findDoiRequestsByStatusAndOwner(
+            any(URI.class), any(DoiRequestStatus.class), anyString(), anyInt(), any()
+        )).thenReturn(DoiRequestsPage.empty())).orElseThrow();
+        return doiRequestsService;
+    }
+
     private InputStream createRequestWithRequestedRoleAndAssignedRoles(String requestedRole, String... assignedRoles)
         throws JsonProcessingException {
+        return createRequestWithQueryParameters(Map.of(ROLE, requestedRole), assignedRoles);
+    }
+
+    private InputStream createRequestWithQueryParameters(Map<String, String> queryParameters,
+                                                         String... assignedRoles)
+        throws JsonProcessingException {
         return new HandlerRequestBuilder<Void>(objectMapper)
             .withHeaders(getRequestHeaders())
-            .withQueryParameters(Map.of(ROLE, requestedRole))
+            .withQueryParameters(queryParameters)
             .withRequestContext(RequestContextUtils.requestContext(assignedRoles))
             .build();
     }
@@ -202,9 +382,11 @@ public class FindDoiRequestsHandlerTest {
 
     private GatewayResponse<DoiRequestsResponse> createExpectedOkResponse()
         throws GatewayResponseSerializingException {
+        Map<String, String> headers = new HashMap<>(TestHeaders.getResponseHeaders());
+        headers.put(HttpHeaders.ETAG, FindDoiRequestsHandler.entityTag(DoiRequestsPage.empty()));
         return new GatewayResponse<>(
             new DoiRequestsResponse(),
-            TestHeaders.getResponseHeaders(),
+            headers,
             HttpStatus.SC_OK
         );
     }
@@ -219,7 +401,9 @@ public class FindDoiRequestsHandlerTest {
 
     private DynamoDbDoiRequestsServiceFactory createFactoryWithServiceDenyingAccess(Table dynamoTable,
                                                                                     Index mockIndex) {
-        DynamoDBDoiRequestsService requestsService = new DynamoDBDoiRequestsService(dynamoTable, mockIndex);
+        DynamoDBDoiRequestsService requestsService =
+            new DynamoDBDoiRequestsService(null, dynamoTable, mockIndex, mockIndex,
+            new InMemoryPublicationChangeFeed());
         return new DynamoDbDoiRequestsServiceFactory(ignoredCred -> requestsService);
     }
 
@@ -235,11 +419,8 @@ public class FindDoiRequestsHandlerTest {
         };
     }
 
-    private DynamoDbDoiRequestsServiceFactory prepareMocksWithOkResponse() throws ApiGatewayException {
-        DynamoDBDoiRequestsService doiRequestsService = mock(DynamoDBDoiRequestsService.class);
-        when(doiRequestsService.findDoiRequestsByStatusAndOwner(
-            any(URI.class), any(DoiRequestStatus.class), anyString()
-        )).thenReturn(new DoiRequestsResponse());
+    private DynamoDbDoiRequestsServiceFactory prepareMocksWithOkResponse() {
+        DynamoDBDoiRequestsService doiRequestsService = mockServiceWithEmptyPages();
         factory = new DynamoDbDoiRequestsServiceFactory(ignored -> doiRequestsService);
         return factory;
     }
@@ -247,7 +428,7 @@ public class FindDoiRequestsHandlerTest {
     private DynamoDbDoiRequestsServiceFactory prepareMocksWithDatabaseError() throws ApiGatewayException {
         DynamoDBDoiRequestsService doiRequestsService = mock(DynamoDBDoiRequestsService.class);
         when(doiRequestsService.findDoiRequestsByStatusAndOwner(
-            any(URI.class), any(DoiRequestStatus.class), anyString()
+            any(URI.class), any(DoiRequestStatus.class), anyString(), anyInt(), any()
         )).thenThrow(DynamoDBException.class);
         factory = new DynamoDbDoiRequestsServiceFactory(ignored -> doiRequestsService);
         return factory;
@@ -1,7 +1,10 @@
 package no.unit.nva.doi.requests.util;
 
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.CHANGES_TABLE_HASH_KEY;
 import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_INDEX_HASH_KEY;
 import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_INDEX_SORT_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_OWNER_INDEX_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_OWNER_INDEX_SORT_KEY;
 import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_HASH_KEY;
 import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
 import static nva.commons.utils.JsonUtils.objectMapper;
@@ -23,7 +26,6 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import java.util.regex.Matcher;
@@ -36,6 +38,8 @@ public class DoiRequestsDynamoDBLocal {
 
     public static final String NVA_RESOURCES_TABLE_NAME = "nva_resources";
     public static final String BY_DOI_REQUEST_INDEX_NAME = "ByDoiRequest";
+    public static final String BY_DOI_REQUEST_OWNER_INDEX_NAME = "ByDoiRequestOwner";
+    public static final String PUBLICATION_CHANGES_TABLE_NAME = "nva_publication_changes";
     public static final Pattern REMOVE_STARTING_AND_ENDING_QUOTES = Pattern.compile("^\"(.*)\"$");
     protected AmazonDynamoDB client;
 
@@ -46,6 +50,7 @@ public class DoiRequestsDynamoDBLocal {
     protected void initializeDatabase() {
         client = DynamoDBEmbedded.create().amazonDynamoDB();
         createPublicationsTable(client);
+        createPublicationChangesTable(client);
     }
 
     @AfterEach
@@ -59,10 +64,13 @@ public class DoiRequestsDynamoDBLocal {
         List<AttributeDefinition> attributeDefinitions = tableAndIndexKeyFields();
         List<KeySchemaElement> keySchema = tableKey();
         List<KeySchemaElement> byDoiRequestKeySchema = indexKey();
+        List<KeySchemaElement> byDoiRequestOwnerKeySchema = ownerIndexKey();
         Projection byDoiRequestProjection = byDoiRequestTableProjection();
 
-        List<GlobalSecondaryIndex> globalSecondaryIndexes = byDoiRequestSecondaryIndex(byDoiRequestKeySchema,
-            byDoiRequestProjection);
+        List<GlobalSecondaryIndex> globalSecondaryIndexes = Arrays.asList(
+            byDoiRequestSecondaryIndex(BY_DOI_REQUEST_INDEX_NAME, byDoiRequestKeySchema, byDoiRequestProjection),
+            byDoiRequestSecondaryIndex(BY_DOI_REQUEST_OWNER_INDEX_NAME, byDoiRequestOwnerKeySchema,
+                byDoiRequestProjection));
 
         CreateTableRequest createTableRequest =
             new CreateTableRequest()
@@ -75,6 +83,14 @@ public class DoiRequestsDynamoDBLocal {
         ddb.createTable(createTableRequest);
     }
 
+    protected void createPublicationChangesTable(AmazonDynamoDB ddb) {
+        ddb.createTable(new CreateTableRequest()
+            .withTableName(PUBLICATION_CHANGES_TABLE_NAME)
+            .withAttributeDefinitions(new AttributeDefinition(CHANGES_TABLE_HASH_KEY, ScalarAttributeType.S))
+            .withKeySchema(new KeySchemaElement(CHANGES_TABLE_HASH_KEY, KeyType.HASH))
+            .withBillingMode(BillingMode.PAY_PER_REQUEST));
+    }
+
     protected void insertPublication(String tableName, Publication publication) throws JsonProcessingException {
         getTable(tableName).putItem(
             Item.fromJSON(objectMapper.writeValueAsString(publication))
@@ -104,14 +120,13 @@ public class DoiRequestsDynamoDBLocal {
         return serialized;
     }
 
-    private List<GlobalSecondaryIndex> byDoiRequestSecondaryIndex(List<KeySchemaElement> byDoiRequestKeySchema,
-                                                                  Projection byDoiRequestProjection) {
-        return Collections.singletonList(
-            new GlobalSecondaryIndex()
-                .withIndexName(BY_DOI_REQUEST_INDEX_NAME)
-                .withKeySchema(byDoiRequestKeySchema)
-                .withProjection(byDoiRequestProjection)
-        );
+    private GlobalSecondaryIndex byDoiRequestSecondaryIndex(String indexName,
+                                                            List<KeySchemaElement> keySchema,
+                                                            Projection projection) {
+        return new GlobalSecondaryIndex()
+            .withIndexName(indexName)
+            .withKeySchema(keySchema)
+            .withProjection(projection);
     }
 
     private Projection byDoiRequestTableProjection() {
@@ -125,6 +140,13 @@ public class DoiRequestsDynamoDBLocal {
         );
     }
 
+    private List<KeySchemaElement> ownerIndexKey() {
+        return Arrays.asList(
+            new KeySchemaElement(DOI_REQUEST_OWNER_INDEX_HASH_KEY, KeyType.HASH),
+            new KeySchemaElement(DOI_REQUEST_OWNER_INDEX_SORT_KEY, KeyType.RANGE)
+        );
+    }
+
     private List<KeySchemaElement> tableKey() {
         return Arrays.asList(
             new KeySchemaElement(TABLE_HASH_KEY, KeyType.HASH),
@@ -137,7 +159,8 @@ public class DoiRequestsDynamoDBLocal {
             new AttributeDefinition(TABLE_HASH_KEY, ScalarAttributeType.S),
             new AttributeDefinition(TABLE_SORT_KEY, ScalarAttributeType.S),
             new AttributeDefinition(DOI_REQUEST_INDEX_HASH_KEY, ScalarAttributeType.S),
-            new AttributeDefinition(DOI_REQUEST_INDEX_SORT_KEY, ScalarAttributeType.S)
+            new AttributeDefinition(DOI_REQUEST_INDEX_SORT_KEY, ScalarAttributeType.S),
+            new AttributeDefinition(DOI_REQUEST_OWNER_INDEX_HASH_KEY, ScalarAttributeType.S)
         );
     }
 }
@@ -0,0 +1,60 @@
+package no.unit.nva.doi.requests.util;
+
+import static java.util.Objects.nonNull;
+import com.amazonaws.services.securitytoken.AbstractAWSSecurityTokenService;
+import com.amazonaws.services.securitytoken.model.AssumeRoleRequest;
+import com.amazonaws.services.securitytoken.model.AssumeRoleResult;
+import com.amazonaws.services.securitytoken.model.AssumedRoleUser;
+import com.amazonaws.services.securitytoken.model.Credentials;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory STS that issues a new session with unique credentials for every AssumeRole request, and counts the
+ * requests it has received. The sessions expire according to the given clock.
+ */
+public class LocalStsClient extends AbstractAWSSecurityTokenService {
+
+    public static final Duration DEFAULT_SESSION_DURATION = Duration.ofMinutes(15);
+    public static final String ACCESS_KEY_PREFIX = "ASIALOCAL";
+    public static final String SECRET_KEY_PREFIX = "secret";
+    public static final String SESSION_TOKEN_PREFIX = "token";
+
+    private final Clock clock;
+    private final AtomicInteger sessions = new AtomicInteger();
+
+    public LocalStsClient() {
+        this(Clock.systemUTC());
+    }
+
+    public LocalStsClient(Clock clock) {
+        super();
+        this.clock = clock;
+    }
+
+    @Override
+    public AssumeRoleResult assumeRole(AssumeRoleRequest request) {
+        int sessionNumber = sessions.incrementAndGet();
+        Credentials credentials = new Credentials()
+            .withAccessKeyId(ACCESS_KEY_PREFIX + sessionNumber)
+            .withSecretAccessKey(SECRET_KEY_PREFIX + sessionNumber)
+            .withSessionToken(SESSION_TOKEN_PREFIX + sessionNumber)
+            .withExpiration(Date.from(clock.instant().plus(sessionDuration(request))));
+        AssumedRoleUser assumedRoleUser = new AssumedRoleUser()
+            .withArn(request.getRoleArn() + "/" + request.getRoleSessionName())
+            .withAssumedRoleId(ACCESS_KEY_PREFIX + sessionNumber + ":" + request.getRoleSessionName());
+        return new AssumeRoleResult().withCredentials(credentials).withAssumedRoleUser(assumedRoleUser);
+    }
+
+    public int getAssumeRoleCalls() {
+        return sessions.get();
+    }
+
+    private static Duration sessionDuration(AssumeRoleRequest request) {
+        return nonNull(request.getDurationSeconds())
+            ? Duration.ofSeconds(request.getDurationSeconds())
+            : DEFAULT_SESSION_DURATION;
+    }
+}
@@ -2,10 +2,14 @@ package no.unit.nva.doi.requests.util;
 
 import static no.unit.nva.doi.requests.contants.ServiceConstants.API_HOST_ENV_VARIABLE;
 import static no.unit.nva.doi.requests.contants.ServiceConstants.API_SCHEME_ENV_VARIABLE;
+import static no.unit.nva.doi.requests.contants.ServiceConstants.DOI_REQUESTS_BY_OWNER_INDEX_ENV_VARIABLE;
 import static no.unit.nva.doi.requests.contants.ServiceConstants.DOI_REQUESTS_INDEX_ENV_VARIABLE;
 import static no.unit.nva.doi.requests.contants.ServiceConstants.PUBLICATIONS_TABLE_NAME_ENV_VARIABLE;
+import static no.unit.nva.doi.requests.contants.ServiceConstants.PUBLICATION_CHANGES_TABLE_NAME_ENV_VARIABLE;
 import static no.unit.nva.doi.requests.util.DoiRequestsDynamoDBLocal.BY_DOI_REQUEST_INDEX_NAME;
+import static no.unit.nva.doi.requests.util.DoiRequestsDynamoDBLocal.BY_DOI_REQUEST_OWNER_INDEX_NAME;
 import static no.unit.nva.doi.requests.util.DoiRequestsDynamoDBLocal.NVA_RESOURCES_TABLE_NAME;
+import static no.unit.nva.doi.requests.util.DoiRequestsDynamoDBLocal.PUBLICATION_CHANGES_TABLE_NAME;
 import static nva.commons.handlers.ApiGatewayHandler.ALLOWED_ORIGIN_ENV;
 import java.util.Map;
 import java.util.Optional;
@@ -29,7 +33,9 @@ public final class MockEnvironment {
         final Map<String, String> envVariables = Map
             .of(ALLOWED_ORIGIN_ENV, ALLOW_CORS,
                 PUBLICATIONS_TABLE_NAME_ENV_VARIABLE, NVA_RESOURCES_TABLE_NAME,
+                PUBLICATION_CHANGES_TABLE_NAME_ENV_VARIABLE, PUBLICATION_CHANGES_TABLE_NAME,
                 DOI_REQUESTS_INDEX_ENV_VARIABLE, BY_DOI_REQUEST_INDEX_NAME,
+                DOI_REQUESTS_BY_OWNER_INDEX_ENV_VARIABLE, BY_DOI_REQUEST_OWNER_INDEX_NAME,
                 API_HOST_ENV_VARIABLE, FAKE_API_HOST_ENV,
                 API_SCHEME_ENV_VARIABLE, FAKE_API_SCHEME_ENV,
                 AuthorizedApiGatewayHandler.ASSUMED_ROLE_ARN_ENV_VAR, ASSUMED_ROLE_ARN
@@ -3,6 +3,8 @@ package no.unit.nva.doi.requests.util;
 import java.net.URI;
 import java.time.Clock;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import no.unit.nva.model.DoiRequest;
 import no.unit.nva.model.DoiRequestStatus;
@@ -15,6 +17,9 @@ public final class PublicationGenerator {
 
     public static final URI PUBLISHER_ID = URI.create("http://example.org/publisher/1");
     public static final String OWNER = "publication@owner.com";
+    public static final int NUMBER_OF_OWNERS = 10;
+    public static final int EVERY_FOURTH = 4;
+    public static final String OWNER_TEMPLATE = "owner%d@example.org";
 
     private PublicationGenerator() {
 
@@ -72,4 +77,50 @@ public final class PublicationGenerator {
             )
             .build();
     }
+
+    /**
+     * Generates the version history of a number of publications, as it is kept in the table. The versions of a
+     * publication share its identifier and are modified one second apart, the last version being the most recent. The
+     * publications cycle through the DOI request statuses and a few owners, and every fourth publication is a draft,
+     * so that filtering on any of them keeps only part of the versions.
+     *
+     * @param numberOfPublications   the number of publications.
+     * @param versionsPerPublication the number of versions of each publication.
+     * @param clock                  Clock for the creation timestamp of the first version.
+     * @return the versions of all the publications, publication by publication.
+     */
+    public static List<Publication> getPublicationVersions(int numberOfPublications, int versionsPerPublication,
+                                                           Clock clock) {
+        DoiRequestStatus[] doiRequestStatuses = DoiRequestStatus.values();
+        List<Publication> versions = new ArrayList<>(numberOfPublications * versionsPerPublication);
+        for (int i = 0; i < numberOfPublications; i++) {
+            Publication publication = getPublicationWithDoiRequest(clock);
+            publication = publication.copy()
+                .withOwner(String.format(OWNER_TEMPLATE, i % NUMBER_OF_OWNERS))
+                .withStatus(i % EVERY_FOURTH == 0 ? PublicationStatus.DRAFT : PublicationStatus.PUBLISHED)
+                .withDoiRequest(publication.getDoiRequest().copy()
+                    .withStatus(doiRequestStatuses[i % doiRequestStatuses.length])
+                    .build())
+                .build();
+            versions.addAll(getVersions(publication, versionsPerPublication));
+        }
+        return versions;
+    }
+
+    /**
+     * Generates versions of a publication, modified one second apart starting at its creation date.
+     *
+     * @param publication      the publication.
+     * @param numberOfVersions the number of versions.
+     * @return the versions, the most recent one last.
+     */
+    public static List<Publication> getVersions(Publication publication, int numberOfVersions) {
+        List<Publication> versions = new ArrayList<>(numberOfVersions);
+        for (int version = 0; version < numberOfVersions; version++) {
+            versions.add(publication.copy()
+                .withModifiedDate(publication.getCreatedDate().plusSeconds(version))
+                .build());
+        }
+        return versions;
+    }
 }
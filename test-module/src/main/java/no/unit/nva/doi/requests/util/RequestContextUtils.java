@@ -28,12 +28,24 @@ public final class RequestContextUtils {
      * @return the requestContext
      */
     public static ObjectNode requestContext(String... roles) {
+        return userRequestContext(SAMPLE_FEIDE_ID, SAMPLE_CUSTOMER_ID, roles);
+    }
+
+    /**
+     * Create a fake requestContext for handler requests of the given user of the given customer, with the input roles.
+     *
+     * @param feideId    the username
+     * @param customerId the customer (publisher) of the user
+     * @param roles      the roles
+     * @return the requestContext
+     */
+    public static ObjectNode userRequestContext(String feideId, String customerId, String... roles) {
         final ObjectNode requestContext = objectMapper.createObjectNode();
         final ObjectNode authorizerNode = objectMapper.createObjectNode();
 
         final ObjectNode claimsNode = objectMapper.createObjectNode();
-        claimsNode.put(FEIDE_ID_CLAIM, SAMPLE_FEIDE_ID);
-        claimsNode.put(CUSTOMER_ID_CLAIM, SAMPLE_CUSTOMER_ID);
+        claimsNode.put(FEIDE_ID_CLAIM, feideId);
+        claimsNode.put(CUSTOMER_ID_CLAIM, customerId);
         claimsNode.put(APPLICATION_ROLES_CLAIM, String.join(COMMA_DELIMITER, roles));
         claimsNode.put(ACCESS_RIGHTS_CLAIM, String.join(COMMA_DELIMITER, SOME_ACCESS_RIGHT, SOME_OTHER_ACCESS_RIGHT));
 
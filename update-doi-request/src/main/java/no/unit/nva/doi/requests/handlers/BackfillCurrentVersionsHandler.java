@@ -0,0 +1,56 @@
+package no.unit.nva.doi.requests.handlers;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
+import com.amazonaws.services.dynamodbv2.document.DynamoDB;
+import com.amazonaws.services.dynamodbv2.document.Table;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import no.unit.nva.doi.requests.contants.ServiceConstants;
+import no.unit.nva.doi.requests.service.impl.CompactionCheckpoint;
+import no.unit.nva.doi.requests.service.impl.CurrentVersionBackfill;
+import no.unit.nva.doi.requests.service.impl.SegmentedScanSettings;
+import nva.commons.utils.Environment;
+import nva.commons.utils.JacocoGenerated;
+import nva.commons.utils.JsonUtils;
+
+/**
+ * Runs {@link CurrentVersionBackfill} against the publications table. Invoked manually, once per environment, with the
+ * {@link SegmentedScanSettings} as input. The run stops ahead of the Lambda timeout, and when the returned checkpoint
+ * is not complete, invoking the function again with the checkpoint in the input resumes the backfill.
+ */
+public class BackfillCurrentVersionsHandler implements RequestHandler<Map<String, Object>, CompactionCheckpoint> {
+
+    public static final Duration TIMEOUT_MARGIN = Duration.ofMinutes(1);
+
+    private final Table publicationsTable;
+    private final Clock clock;
+
+    @JacocoGenerated
+    public BackfillCurrentVersionsHandler() {
+        this(defaultTable(new Environment()), Clock.systemUTC());
+    }
+
+    public BackfillCurrentVersionsHandler(Table publicationsTable, Clock clock) {
+        this.publicationsTable = publicationsTable;
+        this.clock = clock;
+    }
+
+    @Override
+    public CompactionCheckpoint handleRequest(Map<String, Object> input, Context context) {
+        SegmentedScanSettings settings = JsonUtils.objectMapper.convertValue(input, SegmentedScanSettings.class);
+        Instant deadline = clock.instant()
+            .plusMillis(context.getRemainingTimeInMillis())
+            .minus(TIMEOUT_MARGIN);
+        return new CurrentVersionBackfill(publicationsTable, settings, clock).run(deadline);
+    }
+
+    @JacocoGenerated
+    private static Table defaultTable(Environment environment) {
+        String tableName = environment.readEnv(ServiceConstants.PUBLICATIONS_TABLE_NAME_ENV_VARIABLE);
+        return new DynamoDB(AmazonDynamoDBClientBuilder.defaultClient()).getTable(tableName);
+    }
+}
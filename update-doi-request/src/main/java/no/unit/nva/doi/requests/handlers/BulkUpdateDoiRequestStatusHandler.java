@@ -0,0 +1,84 @@
+package no.unit.nva.doi.requests.handlers;
+
+import com.amazonaws.auth.STSAssumeRoleSessionCredentialsProvider;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.securitytoken.AWSSecurityTokenService;
+import java.net.HttpURLConnection;
+import java.util.List;
+import java.util.stream.Collectors;
+import no.unit.nva.doi.requests.metrics.EmbeddedMetrics;
+import no.unit.nva.doi.requests.model.ApiBulkUpdateDoiRequest;
+import no.unit.nva.doi.requests.model.DoiRequestStatusChange;
+import no.unit.nva.doi.requests.service.DoiRequestsService;
+import no.unit.nva.doi.requests.service.impl.DynamoDbDoiRequestsServiceFactory;
+import no.unit.nva.useraccessmanagement.dao.AccessRight;
+import nva.commons.exceptions.ApiGatewayException;
+import nva.commons.exceptions.ForbiddenException;
+import nva.commons.handlers.RequestInfo;
+import nva.commons.utils.Environment;
+import nva.commons.utils.JacocoGenerated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Changes the status of the DOI requests of several publications in one request, and returns the result for each
+ * publication. A publication that cannot be changed does not stop the others.
+ */
+public class BulkUpdateDoiRequestStatusHandler
+    extends DoiRequestAuthorizedHandlerTemplate<ApiBulkUpdateDoiRequest, BulkUpdateDoiRequestStatusResponse> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkUpdateDoiRequestStatusHandler.class);
+    private final DynamoDbDoiRequestsServiceFactory serviceFactory;
+
+    @JacocoGenerated
+    public BulkUpdateDoiRequestStatusHandler() {
+        this(new Environment());
+    }
+
+    @JacocoGenerated
+    public BulkUpdateDoiRequestStatusHandler(Environment environment) {
+        this(environment, defaultStsClient(), DEFAULT_SERVICE_FACTORY);
+    }
+
+    public BulkUpdateDoiRequestStatusHandler(Environment environment,
+                                             AWSSecurityTokenService stsClient,
+                                             DynamoDbDoiRequestsServiceFactory serviceFactory) {
+        super(ApiBulkUpdateDoiRequest.class, environment, stsClient, LOGGER);
+        this.serviceFactory = serviceFactory;
+    }
+
+    @Override
+    protected Integer getSuccessStatusCode(ApiBulkUpdateDoiRequest input, BulkUpdateDoiRequestStatusResponse output) {
+        return HttpURLConnection.HTTP_OK;
+    }
+
+    @Override
+    protected BulkUpdateDoiRequestStatusResponse processInput(ApiBulkUpdateDoiRequest input, RequestInfo requestInfo,
+                                                              STSAssumeRoleSessionCredentialsProvider credentials,
+                                                              Context context) throws ApiGatewayException {
+        try {
+            return updateStatuses(input, requestInfo, credentials);
+        } finally {
+            EmbeddedMetrics.current().flush(getClass().getSimpleName());
+        }
+    }
+
+    private BulkUpdateDoiRequestStatusResponse updateStatuses(ApiBulkUpdateDoiRequest input,
+                                                              RequestInfo requestInfo,
+                                                              STSAssumeRoleSessionCredentialsProvider credentials)
+        throws ApiGatewayException {
+        input.validate();
+        String username = requestInfo.getFeideId().orElseThrow(ForbiddenException::new);
+        DoiRequestsService service = serviceFactory.getService(credentials, sessionTags(requestInfo));
+        List<DoiRequestStatusChange> results = service.updateDoiRequests(input.getPublicationIdentifiers(),
+            input.getDoiRequestStatus(), username, extractAccessRights(requestInfo));
+        return BulkUpdateDoiRequestStatusResponse.of(results);
+    }
+
+    private List<AccessRight> extractAccessRights(RequestInfo requestInfo) {
+        return requestInfo.getAccessRights()
+            .stream()
+            .map(AccessRight::fromString)
+            .collect(Collectors.toList());
+    }
+}
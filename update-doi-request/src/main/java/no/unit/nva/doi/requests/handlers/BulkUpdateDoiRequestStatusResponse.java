@@ -0,0 +1,51 @@
+package no.unit.nva.doi.requests.handlers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import no.unit.nva.doi.requests.model.DoiRequestStatusChange;
+import nva.commons.utils.JacocoGenerated;
+
+public class BulkUpdateDoiRequestStatusResponse {
+
+    private List<DoiRequestStatusChange> results = new ArrayList<>();
+
+    /**
+     * Creates BulkUpdateDoiRequestStatusResponse from the result of the change of each publication.
+     *
+     * @param results the result of each publication
+     * @return bulkUpdateDoiRequestStatusResponse
+     */
+    public static BulkUpdateDoiRequestStatusResponse of(List<DoiRequestStatusChange> results) {
+        BulkUpdateDoiRequestStatusResponse response = new BulkUpdateDoiRequestStatusResponse();
+        response.setResults(new ArrayList<>(results));
+        return response;
+    }
+
+    public List<DoiRequestStatusChange> getResults() {
+        return results;
+    }
+
+    public void setResults(List<DoiRequestStatusChange> results) {
+        this.results = results;
+    }
+
+    @Override
+    @JacocoGenerated
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BulkUpdateDoiRequestStatusResponse that = (BulkUpdateDoiRequestStatusResponse) o;
+        return Objects.equals(getResults(), that.getResults());
+    }
+
+    @Override
+    @JacocoGenerated
+    public int hashCode() {
+        return Objects.hash(getResults());
+    }
+}
@@ -10,6 +10,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import no.unit.nva.doi.requests.exception.BadRequestException;
+import no.unit.nva.doi.requests.metrics.EmbeddedMetrics;
 import no.unit.nva.doi.requests.service.impl.DynamoDBDoiRequestsService;
 import no.unit.nva.doi.requests.service.impl.DynamoDbDoiRequestsServiceFactory;
 import no.unit.nva.doi.requests.service.impl.UserInstance;
@@ -37,10 +38,10 @@ public class DoiRequestMessageHandler extends UpdateDoiRequestHandler<DoiRequest
         this(environment, defaultStsClient(), defaultServiceFactory(), LOGGER);
     }
 
-    protected DoiRequestMessageHandler(Environment environment,
-                                       AWSSecurityTokenService stsClient,
-                                       DynamoDbDoiRequestsServiceFactory serviceFactory,
-                                       Logger logger) {
+    public DoiRequestMessageHandler(Environment environment,
+                                    AWSSecurityTokenService stsClient,
+                                    DynamoDbDoiRequestsServiceFactory serviceFactory,
+                                    Logger logger) {
         super(DoiRequestMessageDto.class, environment, stsClient, logger);
         this.serviceFactory = serviceFactory;
     }
@@ -54,7 +55,17 @@ public class DoiRequestMessageHandler extends UpdateDoiRequestHandler<DoiRequest
     protected Void processInput(DoiRequestMessageDto input, RequestInfo requestInfo,
                                 STSAssumeRoleSessionCredentialsProvider credentialsProvider, Context context)
         throws ApiGatewayException {
-        DynamoDBDoiRequestsService service = serviceFactory.getService(credentialsProvider);
+        try {
+            return addMessage(input, requestInfo, credentialsProvider);
+        } finally {
+            EmbeddedMetrics.current().flush(getClass().getSimpleName());
+        }
+    }
+
+    private Void addMessage(DoiRequestMessageDto input, RequestInfo requestInfo,
+                            STSAssumeRoleSessionCredentialsProvider credentialsProvider)
+        throws ApiGatewayException {
+        DynamoDBDoiRequestsService service = serviceFactory.getService(credentialsProvider, sessionTags(requestInfo));
 
         String userId = getUserName(requestInfo);
         URI publisherId = requestInfo.getCustomerId().map(URI::create).orElse(null);
@@ -0,0 +1,66 @@
+package no.unit.nva.doi.requests.handlers;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import no.unit.nva.doi.requests.model.DoiRequestMessagesPage;
+import no.unit.nva.model.DoiRequestMessage;
+import nva.commons.utils.JacocoGenerated;
+
+public class DoiRequestMessagesResponse {
+
+    private List<DoiRequestMessage> messages = new ArrayList<>();
+    @JsonInclude(Include.NON_NULL)
+    private String nextCursor;
+
+    /**
+     * Creates DoiRequestMessagesResponse from a page of the message thread.
+     *
+     * @param page page of messages
+     * @return doiRequestMessagesResponse
+     */
+    public static DoiRequestMessagesResponse of(DoiRequestMessagesPage page) {
+        DoiRequestMessagesResponse response = new DoiRequestMessagesResponse();
+        response.setMessages(new ArrayList<>(page.getMessages()));
+        response.setNextCursor(page.getNextCursor().orElse(null));
+        return response;
+    }
+
+    public List<DoiRequestMessage> getMessages() {
+        return messages;
+    }
+
+    public void setMessages(List<DoiRequestMessage> messages) {
+        this.messages = messages;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    @JacocoGenerated
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DoiRequestMessagesResponse that = (DoiRequestMessagesResponse) o;
+        return Objects.equals(getMessages(), that.getMessages())
+            && Objects.equals(getNextCursor(), that.getNextCursor());
+    }
+
+    @Override
+    @JacocoGenerated
+    public int hashCode() {
+        return Objects.hash(getMessages(), getNextCursor());
+    }
+}
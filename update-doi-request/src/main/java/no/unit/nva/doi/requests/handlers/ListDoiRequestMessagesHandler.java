@@ -0,0 +1,97 @@
+package no.unit.nva.doi.requests.handlers;
+
+import static no.unit.nva.doi.requests.handlers.UpdateDoiRequestHandler.API_PUBLICATION_PATH_IDENTIFIER;
+import static no.unit.nva.doi.requests.handlers.UpdateDoiRequestHandler.INVALID_PUBLICATION_ID_ERROR;
+import static nva.commons.utils.attempt.Try.attempt;
+import com.amazonaws.auth.STSAssumeRoleSessionCredentialsProvider;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.securitytoken.AWSSecurityTokenService;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import no.unit.nva.doi.requests.exception.BadRequestException;
+import no.unit.nva.doi.requests.metrics.EmbeddedMetrics;
+import no.unit.nva.doi.requests.service.DoiRequestsService;
+import no.unit.nva.doi.requests.service.impl.DynamoDbDoiRequestsServiceFactory;
+import no.unit.nva.doi.requests.service.impl.UserInstance;
+import nva.commons.exceptions.ApiGatewayException;
+import nva.commons.handlers.RequestInfo;
+import nva.commons.utils.Environment;
+import nva.commons.utils.JacocoGenerated;
+import org.apache.http.HttpHeaders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Returns the message thread of a DOI request one page at a time, oldest message first. A client that already has the
+ * page, by its entity tag, is answered with 304 Not Modified and no body. The tag is made from the version of the
+ * thread, which is read before the messages, so the messages are not read to answer such a client.
+ */
+public class ListDoiRequestMessagesHandler
+    extends DoiRequestAuthorizedHandlerTemplate<Void, DoiRequestMessagesResponse> {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    private static final Logger LOGGER = LoggerFactory.getLogger(ListDoiRequestMessagesHandler.class);
+    private final DynamoDbDoiRequestsServiceFactory serviceFactory;
+
+    @JacocoGenerated
+    public ListDoiRequestMessagesHandler() {
+        this(new Environment());
+    }
+
+    @JacocoGenerated
+    public ListDoiRequestMessagesHandler(Environment environment) {
+        this(environment, defaultStsClient(), defaultServiceFactory());
+    }
+
+    public ListDoiRequestMessagesHandler(Environment environment,
+                                         AWSSecurityTokenService stsClient,
+                                         DynamoDbDoiRequestsServiceFactory serviceFactory) {
+        super(Void.class, environment, stsClient, LOGGER);
+        this.serviceFactory = serviceFactory;
+    }
+
+    @Override
+    protected Integer getSuccessStatusCode(Void input, DoiRequestMessagesResponse output) {
+        return output == null ? HttpURLConnection.HTTP_NOT_MODIFIED : HttpURLConnection.HTTP_OK;
+    }
+
+    @Override
+    protected DoiRequestMessagesResponse processInput(Void input, RequestInfo requestInfo,
+                                                      STSAssumeRoleSessionCredentialsProvider credentialsProvider,
+                                                      Context context) throws ApiGatewayException {
+        try {
+            return listMessages(requestInfo, credentialsProvider);
+        } finally {
+            EmbeddedMetrics.current().flush(getClass().getSimpleName());
+        }
+    }
+
+    private DoiRequestMessagesResponse listMessages(RequestInfo requestInfo,
+                                                    STSAssumeRoleSessionCredentialsProvider credentialsProvider)
+        throws ApiGatewayException {
+        setAdditionalHeadersSupplier(Collections::emptyMap);
+        UUID publicationIdentifier = getPublicationIdentifier(requestInfo);
+        int pageSize = getPageSize(requestInfo, DEFAULT_PAGE_SIZE);
+        String cursor = getOptionalQueryParameter(requestInfo, CURSOR).orElse(null);
+        DoiRequestsService service = serviceFactory.getService(credentialsProvider, sessionTags(requestInfo));
+        UserInstance user = userInstance(requestInfo);
+        List<Object> tagValues = new ArrayList<>(service.findMessageThreadVersion(publicationIdentifier, user));
+        tagValues.addAll(Arrays.asList(pageSize, cursor));
+        String entityTag = EntityTags.of(tagValues);
+        setAdditionalHeadersSupplier(() -> Collections.singletonMap(HttpHeaders.ETAG, entityTag));
+        if (EntityTags.isNotModified(requestInfo, entityTag)) {
+            return null;
+        }
+        return DoiRequestMessagesResponse.of(service.findMessages(publicationIdentifier, user, pageSize, cursor));
+    }
+
+    private UUID getPublicationIdentifier(RequestInfo requestInfo) throws BadRequestException {
+        String publicationIdentifierString = requestInfo.getPathParameter(API_PUBLICATION_PATH_IDENTIFIER);
+        return attempt(() -> UUID.fromString(publicationIdentifierString))
+            .orElseThrow(fail -> new BadRequestException(INVALID_PUBLICATION_ID_ERROR + publicationIdentifierString));
+    }
+}
@@ -0,0 +1,74 @@
+package no.unit.nva.doi.requests.handlers;
+
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
+import com.amazonaws.services.dynamodbv2.document.DynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.OperationType;
+import com.amazonaws.services.dynamodbv2.model.Record;
+import com.amazonaws.services.dynamodbv2.model.StreamRecord;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import java.util.Optional;
+import no.unit.nva.doi.requests.contants.ServiceConstants;
+import no.unit.nva.doi.requests.service.impl.CurrentVersionIndex;
+import no.unit.nva.doi.requests.service.impl.DynamoDbPublicationChangeFeed;
+import no.unit.nva.doi.requests.service.impl.MessageItemCodec;
+import no.unit.nva.doi.requests.service.impl.PublicationChangeFeed;
+import nva.commons.utils.Environment;
+import nva.commons.utils.JacocoGenerated;
+
+/**
+ * Consumes the DynamoDB stream of the publications table. When a version of a publication is added, the versions it
+ * supersedes are taken out of the DOI requests indexes, see {@link CurrentVersionIndex}, and the changes are then
+ * published to the {@link PublicationChangeFeed}, which is how the cached find results of every container learn about
+ * the writes of the other functions and services. A batch that fails is retried by the stream.
+ */
+public class PublicationChangesHandler implements RequestHandler<DynamodbEvent, Void> {
+
+    private final PublicationChangeFeed changeFeed;
+    private final CurrentVersionIndex currentVersionIndex;
+
+    @JacocoGenerated
+    public PublicationChangesHandler() {
+        this(new Environment(), new DynamoDB(AmazonDynamoDBClientBuilder.defaultClient()));
+    }
+
+    @JacocoGenerated
+    private PublicationChangesHandler(Environment environment, DynamoDB dynamoDb) {
+        this(new DynamoDbPublicationChangeFeed(dynamoDb.getTable(
+                environment.readEnv(ServiceConstants.PUBLICATION_CHANGES_TABLE_NAME_ENV_VARIABLE))),
+            new CurrentVersionIndex(dynamoDb.getTable(
+                environment.readEnv(ServiceConstants.PUBLICATIONS_TABLE_NAME_ENV_VARIABLE))));
+    }
+
+    public PublicationChangesHandler(PublicationChangeFeed changeFeed, CurrentVersionIndex currentVersionIndex) {
+        this.changeFeed = changeFeed;
+        this.currentVersionIndex = currentVersionIndex;
+    }
+
+    @Override
+    public Void handleRequest(DynamodbEvent event, Context context) {
+        event.getRecords()
+            .stream()
+            .map(PublicationChangesHandler::identifierOfAddedVersion)
+            .flatMap(Optional::stream)
+            .distinct()
+            .forEach(currentVersionIndex::removeSupersededVersions);
+        changeFeed.publishStreamRecords(event.getRecords());
+        return null;
+    }
+
+    private static Optional<String> identifierOfAddedVersion(Record record) {
+        return Optional.of(record)
+            .filter(insert -> OperationType.INSERT.toString().equals(insert.getEventName()))
+            .map(Record::getDynamodb)
+            .map(StreamRecord::getNewImage)
+            .filter(image -> image.containsKey(TABLE_SORT_KEY)
+                && !MessageItemCodec.isMessageKey(image.get(TABLE_SORT_KEY).getS()))
+            .map(image -> image.get(TABLE_HASH_KEY))
+            .map(AttributeValue::getS);
+    }
+}
@@ -10,6 +10,7 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 import no.unit.nva.doi.requests.contants.ServiceConstants;
 import no.unit.nva.doi.requests.exception.BadRequestException;
+import no.unit.nva.doi.requests.metrics.EmbeddedMetrics;
 import no.unit.nva.doi.requests.model.ApiUpdateDoiRequest;
 import no.unit.nva.doi.requests.service.impl.DynamoDBDoiRequestsService;
 import no.unit.nva.doi.requests.service.impl.DynamoDbDoiRequestsServiceFactory;
@@ -54,6 +55,17 @@ public class UpdateDoiRequestStatusHandler extends UpdateDoiRequestHandler<ApiUp
                                 STSAssumeRoleSessionCredentialsProvider credentials,
                                 Context context)
         throws ApiGatewayException {
+        try {
+            return updateStatus(input, requestInfo, credentials);
+        } finally {
+            EmbeddedMetrics.current().flush(getClass().getSimpleName());
+        }
+    }
+
+    private Void updateStatus(ApiUpdateDoiRequest input,
+                              RequestInfo requestInfo,
+                              STSAssumeRoleSessionCredentialsProvider credentials)
+        throws ApiGatewayException {
 
         String requestInfoJson = attempt(() -> JsonUtils.objectMapper.writeValueAsString(requestInfo)).orElseThrow();
         logger.info("RequestInfo:\n" + requestInfoJson);
@@ -85,7 +97,8 @@ public class UpdateDoiRequestStatusHandler extends UpdateDoiRequestHandler<ApiUp
 
         String username = getUserName(requestInfo);
         List<AccessRight> accessRights = extractAccessRights(requestInfo);
-        DynamoDBDoiRequestsService doiRequestService = doiRequestsServiceFactory.getService(credentials);
+        DynamoDBDoiRequestsService doiRequestService =
+            doiRequestsServiceFactory.getService(credentials, sessionTags(requestInfo));
         doiRequestService.updateDoiRequest(publicationIdentifier, input, username, accessRights);
     }
 
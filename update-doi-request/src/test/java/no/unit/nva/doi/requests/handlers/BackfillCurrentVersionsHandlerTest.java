@@ -0,0 +1,48 @@
+package no.unit.nva.doi.requests.handlers;
+
+import static no.unit.nva.doi.requests.util.PublicationGenerator.getPublicationWithDoiRequest;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import com.amazonaws.services.lambda.runtime.Context;
+import java.time.Clock;
+import java.time.Period;
+import java.util.Map;
+import no.unit.nva.doi.requests.service.impl.CompactionCheckpoint;
+import no.unit.nva.doi.requests.util.DoiRequestsDynamoDBLocal;
+import no.unit.nva.model.Publication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BackfillCurrentVersionsHandlerTest extends DoiRequestsDynamoDBLocal {
+
+    public static final int FIFTEEN_MINUTES = 900_000;
+
+    private BackfillCurrentVersionsHandler handler;
+    private Context context;
+
+    @BeforeEach
+    public void setUp() {
+        initializeDatabase();
+        handler = new BackfillCurrentVersionsHandler(getTable(NVA_RESOURCES_TABLE_NAME), Clock.systemUTC());
+        context = mock(Context.class);
+        when(context.getRemainingTimeInMillis()).thenReturn(FIFTEEN_MINUTES);
+    }
+
+    @Test
+    public void handleRequestReturnsCheckpointWithNumberOfVersionsRemovedFromTheIndex() throws Exception {
+        Publication publication = getPublicationWithDoiRequest();
+        Publication laterPublication = publication.copy()
+            .withModifiedDate(publication.getModifiedDate().plus(Period.ofDays(1)))
+            .build();
+        insertPublication(NVA_RESOURCES_TABLE_NAME, publication);
+        insertPublication(NVA_RESOURCES_TABLE_NAME, laterPublication);
+
+        CompactionCheckpoint checkpoint = handler.handleRequest(Map.of("totalSegments", 1), context);
+
+        assertThat(checkpoint.isComplete(), is(true));
+        assertThat(checkpoint.getCompactedVersions(), is(equalTo(1L)));
+    }
+}
@@ -0,0 +1,118 @@
+package no.unit.nva.doi.requests.handlers;
+
+import static no.unit.nva.doi.requests.service.impl.DynamoDbDoiRequestsServiceFactory.EMPTY_CREDENTIALS;
+import static no.unit.nva.doi.requests.util.MockEnvironment.mockEnvironment;
+import static no.unit.nva.model.DoiRequestStatus.APPROVED;
+import static no.unit.nva.useraccessmanagement.dao.AccessRight.APPROVE_DOI_REQUEST;
+import static no.unit.nva.useraccessmanagement.dao.AccessRight.REJECT_DOI_REQUEST;
+import static nva.commons.utils.JsonUtils.objectMapper;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.StringContains.containsString;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import no.unit.nva.doi.requests.model.ApiBulkUpdateDoiRequest;
+import no.unit.nva.doi.requests.model.DoiRequestStatusChange;
+import no.unit.nva.doi.requests.model.DoiRequestStatusChange.Result;
+import no.unit.nva.doi.requests.service.impl.DynamoDBDoiRequestsService;
+import no.unit.nva.doi.requests.service.impl.DynamoDbDoiRequestsServiceFactory;
+import no.unit.nva.model.Publication;
+import no.unit.nva.stubs.FakeContext;
+import no.unit.nva.stubs.FakeStsClient;
+import no.unit.nva.testutils.HandlerRequestBuilder;
+import nva.commons.exceptions.commonexceptions.NotFoundException;
+import nva.commons.handlers.GatewayResponse;
+import nva.commons.utils.Environment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zalando.problem.Problem;
+
+public class BulkUpdateDoiRequestStatusHandlerTest extends UpdateDoiTestUtils {
+
+    public static final String CURATOR = "curator@unit.no";
+    private final Environment environment = mockEnvironment();
+    private final Context context = new FakeContext();
+    private final FakeStsClient stsClient = new FakeStsClient();
+    private DynamoDBDoiRequestsService doiRequestsService;
+    private BulkUpdateDoiRequestStatusHandler handler;
+    private ByteArrayOutputStream outputStream;
+
+    @BeforeEach
+    public void init() {
+        initializeDatabase();
+        DynamoDbDoiRequestsServiceFactory serviceFactory = DynamoDbDoiRequestsServiceFactory
+            .serviceWithCustomClientWithoutCredentials(client, environment, mockClock);
+        doiRequestsService = serviceFactory.getService(EMPTY_CREDENTIALS);
+        outputStream = new ByteArrayOutputStream();
+        handler = new BulkUpdateDoiRequestStatusHandler(environment, stsClient, serviceFactory);
+    }
+
+    @Test
+    public void handleRequestReturnsTheResultOfEachPublication() throws IOException, NotFoundException {
+        Publication publication = insertPublicationWithDoiRequest(mockClock);
+        Publication publicationWithoutDoiRequest = insertPublicationWithoutDoiRequest(mockClock);
+        List<UUID> publicationIdentifiers = List.of(publication.getIdentifier(),
+            publicationWithoutDoiRequest.getIdentifier());
+
+        handler.handleRequest(request(bulkUpdate(publicationIdentifiers)), outputStream, context);
+
+        GatewayResponse<BulkUpdateDoiRequestStatusResponse> response = GatewayResponse.fromOutputStream(outputStream);
+        assertThat(response.getStatusCode(), is(equalTo(HttpURLConnection.HTTP_OK)));
+        assertThat(response.getBodyObject(BulkUpdateDoiRequestStatusResponse.class).getResults(), contains(
+            new DoiRequestStatusChange(publication.getIdentifier(), Result.UPDATED),
+            new DoiRequestStatusChange(publicationWithoutDoiRequest.getIdentifier(), Result.NO_DOI_REQUEST)));
+        Publication updatedPublication = doiRequestsService
+            .fetchDoiRequestByPublicationIdentifier(publication.getIdentifier())
+            .orElseThrow();
+        assertThat(updatedPublication.getDoiRequest().getStatus(), is(equalTo(APPROVED)));
+    }
+
+    @Test
+    public void handleRequestReturnsBadRequestWhenNoPublicationIsListed() throws IOException {
+        handler.handleRequest(request(bulkUpdate(Collections.emptyList())), outputStream, context);
+
+        GatewayResponse<Problem> response = GatewayResponse.fromOutputStream(outputStream);
+        assertThat(response.getStatusCode(), is(equalTo(HttpURLConnection.HTTP_BAD_REQUEST)));
+        assertThat(response.getBodyObject(Problem.class).getDetail(),
+            containsString(ApiBulkUpdateDoiRequest.NO_PUBLICATIONS_ERROR));
+    }
+
+    @Test
+    public void handleRequestReturnsForbiddenWhenUserMayNotApproveDoiRequests() throws IOException {
+        Publication publication = insertPublicationWithDoiRequest(mockClock);
+
+        handler.handleRequest(request(bulkUpdate(List.of(publication.getIdentifier())), REJECT_DOI_REQUEST.toString()),
+            outputStream, context);
+
+        GatewayResponse<Problem> response = GatewayResponse.fromOutputStream(outputStream);
+        assertThat(response.getStatusCode(), is(equalTo(HttpURLConnection.HTTP_FORBIDDEN)));
+    }
+
+    private static ApiBulkUpdateDoiRequest bulkUpdate(List<UUID> publicationIdentifiers) {
+        ApiBulkUpdateDoiRequest bulkUpdate = new ApiBulkUpdateDoiRequest();
+        bulkUpdate.setPublicationIdentifiers(publicationIdentifiers);
+        bulkUpdate.setDoiRequestStatus(APPROVED);
+        return bulkUpdate;
+    }
+
+    private InputStream request(ApiBulkUpdateDoiRequest body) throws JsonProcessingException {
+        return request(body, APPROVE_DOI_REQUEST.toString());
+    }
+
+    private InputStream request(ApiBulkUpdateDoiRequest body, String accessRight) throws JsonProcessingException {
+        return new HandlerRequestBuilder<ApiBulkUpdateDoiRequest>(objectMapper)
+            .withFeideId(CURATOR)
+            .withAccessRight(accessRight)
+            .withBody(body)
+            .build();
+    }
+}
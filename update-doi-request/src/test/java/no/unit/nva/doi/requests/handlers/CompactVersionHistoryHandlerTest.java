@@ -0,0 +1,49 @@
+package no.unit.nva.doi.requests.handlers;
+
+import static no.unit.nva.doi.requests.util.PublicationGenerator.getPublicationWithDoiRequest;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import com.amazonaws.services.lambda.runtime.Context;
+import java.time.Clock;
+import java.util.Map;
+import no.unit.nva.doi.requests.service.impl.CompactionCheckpoint;
+import no.unit.nva.doi.requests.util.DoiRequestsDynamoDBLocal;
+import no.unit.nva.doi.requests.util.PublicationGenerator;
+import no.unit.nva.model.Publication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CompactVersionHistoryHandlerTest extends DoiRequestsDynamoDBLocal {
+
+    public static final int FIFTEEN_MINUTES = 900_000;
+
+    private CompactVersionHistoryHandler handler;
+    private Context context;
+
+    @BeforeEach
+    public void setUp() {
+        initializeDatabase();
+        handler = new CompactVersionHistoryHandler(getTable(NVA_RESOURCES_TABLE_NAME), Clock.systemUTC());
+        context = mock(Context.class);
+        when(context.getRemainingTimeInMillis()).thenReturn(FIFTEEN_MINUTES);
+    }
+
+    @Test
+    public void handleRequestIsADryRunUnlessToldOtherwise() throws Exception {
+        for (Publication version : PublicationGenerator.getVersions(getPublicationWithDoiRequest(), 3)) {
+            insertPublication(NVA_RESOURCES_TABLE_NAME, version);
+        }
+
+        CompactionCheckpoint dryRun = handler.handleRequest(Map.of("versionsToKeep", 0), context);
+        CompactionCheckpoint run = handler.handleRequest(Map.of("versionsToKeep", 0, "dryRun", false), context);
+        CompactionCheckpoint secondRun = handler.handleRequest(Map.of("versionsToKeep", 0), context);
+
+        assertThat(dryRun.isComplete(), is(true));
+        assertThat(dryRun.getCompactedVersions(), is(equalTo(2L)));
+        assertThat(run.getCompactedVersions(), is(equalTo(2L)));
+        assertThat(secondRun.getScannedVersions(), is(equalTo(1L)));
+    }
+}
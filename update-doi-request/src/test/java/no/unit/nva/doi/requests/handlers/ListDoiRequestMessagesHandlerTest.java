@@ -0,0 +1,175 @@
+package no.unit.nva.doi.requests.handlers;
+
+import static no.unit.nva.doi.requests.handlers.UpdateDoiRequestHandler.API_PUBLICATION_PATH_IDENTIFIER;
+import static no.unit.nva.doi.requests.util.MockEnvironment.mockEnvironment;
+import static no.unit.nva.doi.requests.util.PublicationGenerator.OWNER;
+import static nva.commons.utils.JsonUtils.objectMapper;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.mockito.Mockito.mock;
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import no.unit.nva.doi.requests.service.DoiRequestsService;
+import no.unit.nva.doi.requests.service.impl.DynamoDbDoiRequestsServiceFactory;
+import no.unit.nva.doi.requests.service.impl.UserInstance;
+import no.unit.nva.doi.requests.util.PublicationGenerator;
+import no.unit.nva.model.DoiRequestMessage;
+import no.unit.nva.model.Publication;
+import no.unit.nva.stubs.FakeStsClient;
+import no.unit.nva.testutils.HandlerRequestBuilder;
+import no.unit.nva.useraccessmanagement.dao.AccessRight;
+import nva.commons.exceptions.ApiGatewayException;
+import nva.commons.handlers.GatewayResponse;
+import nva.commons.utils.Environment;
+import org.apache.http.HttpHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ListDoiRequestMessagesHandlerTest extends UpdateDoiTestUtils {
+
+    public static final AWSCredentialsProvider IGNORED_CREDENTIALS = null;
+    public static final String NOT_THE_OWNER = "not_the_owner";
+    public static final String FIRST_MESSAGE = "first message";
+    public static final String SECOND_MESSAGE = "second message";
+    public static final String THIRD_MESSAGE = "third message";
+    public static final String INVALID_LIMIT = "0";
+    private final FakeStsClient stsClient = new FakeStsClient();
+    private final Environment environment = mockEnvironment();
+    private final Context context = mock(Context.class);
+    private ListDoiRequestMessagesHandler handler;
+    private ByteArrayOutputStream outputStream;
+    private DoiRequestsService handlerService;
+
+    @BeforeEach
+    public void init() {
+        initializeDatabase();
+        DynamoDbDoiRequestsServiceFactory serviceFactory = DynamoDbDoiRequestsServiceFactory
+            .serviceWithCustomClientWithoutCredentials(client, environment);
+        handlerService = serviceFactory.getService(IGNORED_CREDENTIALS);
+        outputStream = new ByteArrayOutputStream();
+        handler = new ListDoiRequestMessagesHandler(environment, stsClient, serviceFactory);
+    }
+
+    @Test
+    public void handlerReturnsOnePageOfTheThreadWithCursorForTheNextPage() throws IOException, ApiGatewayException {
+        Publication publication = publicationWithMessages();
+
+        handler.handleRequest(ownerRequest(publication, Map.of(ListDoiRequestMessagesHandler.LIMIT, "1")),
+            outputStream, context);
+
+        GatewayResponse<DoiRequestMessagesResponse> response = GatewayResponse.fromOutputStream(outputStream);
+        assertThat(response.getStatusCode(), is(equalTo(HttpURLConnection.HTTP_OK)));
+        DoiRequestMessagesResponse body = response.getBodyObject(DoiRequestMessagesResponse.class);
+        assertThat(messageTexts(body), contains(FIRST_MESSAGE));
+        assertThat(body.getNextCursor(), is(notNullValue()));
+    }
+
+    @Test
+    public void handlerReturnsTheRestOfTheThreadWhenCursorIsGiven() throws IOException, ApiGatewayException {
+        Publication publication = publicationWithMessages();
+        String cursor = handlerService.findMessages(publication.getIdentifier(), owner(), 1, null)
+            .getNextCursor()
+            .orElseThrow();
+
+        handler.handleRequest(ownerRequest(publication, Map.of(ListDoiRequestMessagesHandler.CURSOR, cursor)),
+            outputStream, context);
+
+        GatewayResponse<DoiRequestMessagesResponse> response = GatewayResponse.fromOutputStream(outputStream);
+        assertThat(messageTexts(response.getBodyObject(DoiRequestMessagesResponse.class)),
+            contains(SECOND_MESSAGE));
+    }
+
+    @Test
+    public void handlerReturnsBadRequestWhenLimitIsOutOfRange() throws IOException, ApiGatewayException {
+        Publication publication = publicationWithMessages();
+
+        handler.handleRequest(ownerRequest(publication, Map.of(ListDoiRequestMessagesHandler.LIMIT, INVALID_LIMIT)),
+            outputStream, context);
+
+        GatewayResponse<?> response = GatewayResponse.fromOutputStream(outputStream);
+        assertThat(response.getStatusCode(), is(equalTo(HttpURLConnection.HTTP_BAD_REQUEST)));
+    }
+
+    @Test
+    public void handlerReturnsForbiddenWhenUserIsNotTheOwnerOrACuratorOfThePublisher()
+        throws IOException, ApiGatewayException {
+        Publication publication = publicationWithMessages();
+
+        handler.handleRequest(request(publication, NOT_THE_OWNER, Collections.emptyMap()), outputStream, context);
+
+        GatewayResponse<?> response = GatewayResponse.fromOutputStream(outputStream);
+        assertThat(response.getStatusCode(), is(equalTo(HttpURLConnection.HTTP_FORBIDDEN)));
+    }
+
+    @Test
+    public void handlerReturnsNotModifiedUntilAMessageIsAddedToTheThread() throws IOException, ApiGatewayException {
+        Publication publication = publicationWithMessages();
+        handler.handleRequest(ownerRequest(publication, Collections.emptyMap()), outputStream, context);
+        String entityTag = GatewayResponse.fromOutputStream(outputStream).getHeaders().get(HttpHeaders.ETAG);
+
+        GatewayResponse<?> unchangedThreadResponse = conditionalResponse(publication, entityTag);
+        handlerService.addMessage(publication.getIdentifier(), THIRD_MESSAGE, owner());
+        GatewayResponse<?> changedThreadResponse = conditionalResponse(publication, entityTag);
+
+        assertThat(unchangedThreadResponse.getStatusCode(), is(equalTo(HttpURLConnection.HTTP_NOT_MODIFIED)));
+        assertThat(changedThreadResponse.getStatusCode(), is(equalTo(HttpURLConnection.HTTP_OK)));
+    }
+
+    private GatewayResponse<?> conditionalResponse(Publication publication, String entityTag)
+        throws IOException {
+        InputStream request = new HandlerRequestBuilder<Void>(objectMapper)
+            .withFeideId(OWNER)
+            .withAccessRight(AccessRight.READ_DOI_REQUEST.toString())
+            .withHeaders(Map.of(HttpHeaders.IF_NONE_MATCH, entityTag))
+            .withPathParameters(Map.of(API_PUBLICATION_PATH_IDENTIFIER, publication.getIdentifier().toString()))
+            .build();
+        outputStream = new ByteArrayOutputStream();
+        handler.handleRequest(request, outputStream, context);
+        return GatewayResponse.fromOutputStream(outputStream);
+    }
+
+    private Publication publicationWithMessages() throws JsonProcessingException, ApiGatewayException {
+        Publication publication = insertPublicationWithDoiRequest(mockClock);
+        handlerService.addMessage(publication.getIdentifier(), FIRST_MESSAGE, owner());
+        handlerService.addMessage(publication.getIdentifier(), SECOND_MESSAGE, owner());
+        return publication;
+    }
+
+    private UserInstance owner() {
+        return new UserInstance(OWNER, PublicationGenerator.PUBLISHER_ID, Collections.emptySet());
+    }
+
+    private static List<String> messageTexts(DoiRequestMessagesResponse body) {
+        return body.getMessages()
+            .stream()
+            .map(DoiRequestMessage::getText)
+            .collect(Collectors.toList());
+    }
+
+    private InputStream ownerRequest(Publication publication, Map<String, String> queryParameters)
+        throws JsonProcessingException {
+        return request(publication, OWNER, queryParameters);
+    }
+
+    private InputStream request(Publication publication, String userId, Map<String, String> queryParameters)
+        throws JsonProcessingException {
+        return new HandlerRequestBuilder<Void>(objectMapper)
+            .withFeideId(userId)
+            .withAccessRight(AccessRight.READ_DOI_REQUEST.toString())
+            .withPathParameters(Map.of(API_PUBLICATION_PATH_IDENTIFIER, publication.getIdentifier().toString()))
+            .withQueryParameters(queryParameters)
+            .build();
+    }
+}
@@ -0,0 +1,100 @@
+package no.unit.nva.doi.requests.handlers;
+
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_INDEX_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.DOI_REQUEST_INDEX_SORT_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_HASH_KEY;
+import static no.unit.nva.doi.requests.contants.DatabaseConstants.TABLE_SORT_KEY;
+import static no.unit.nva.doi.requests.util.PublicationGenerator.PUBLISHER_ID;
+import static no.unit.nva.doi.requests.util.PublicationGenerator.getPublicationWithDoiRequest;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.Mockito.mock;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.Table;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.OperationType;
+import com.amazonaws.services.dynamodbv2.model.StreamRecord;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent.DynamodbStreamRecord;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import no.unit.nva.doi.requests.service.impl.CurrentVersionIndex;
+import no.unit.nva.doi.requests.service.impl.DynamoDbPublicationChangeFeed;
+import no.unit.nva.doi.requests.util.DoiRequestsDynamoDBLocal;
+import no.unit.nva.doi.requests.util.PublicationGenerator;
+import no.unit.nva.model.Publication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PublicationChangesHandlerTest extends DoiRequestsDynamoDBLocal {
+
+    public static final String MODIFIED_DATE = "2020-01-01T10:00:00Z";
+
+    private Table table;
+    private DynamoDbPublicationChangeFeed changeFeed;
+    private PublicationChangesHandler handler;
+
+    @BeforeEach
+    public void setUp() {
+        initializeDatabase();
+        changeFeed = new DynamoDbPublicationChangeFeed(getTable(PUBLICATION_CHANGES_TABLE_NAME));
+        table = getTable(NVA_RESOURCES_TABLE_NAME);
+        handler = new PublicationChangesHandler(changeFeed, new CurrentVersionIndex(table));
+    }
+
+    @Test
+    public void handleRequestAdvancesTheSequenceNumberOfAPublisherOncePerBatch() {
+        long sequenceNumber = changeFeed.sequenceNumber(PUBLISHER_ID);
+        DynamodbEvent event = new DynamodbEvent();
+        event.setRecords(List.of(versionRecord(OperationType.INSERT), versionRecord(OperationType.MODIFY)));
+
+        handler.handleRequest(event, mock(Context.class));
+        handler.handleRequest(event, mock(Context.class));
+
+        assertThat(sequenceNumber, is(equalTo(0L)));
+        assertThat(changeFeed.sequenceNumber(PUBLISHER_ID), is(equalTo(2L)));
+    }
+
+    @Test
+    public void handleRequestTakesTheVersionsSupersededByAnAddedVersionOutOfTheIndex() throws Exception {
+        List<Publication> versions = PublicationGenerator.getVersions(getPublicationWithDoiRequest(), 3);
+        for (Publication version : versions) {
+            insertPublication(NVA_RESOURCES_TABLE_NAME, version);
+        }
+        Publication latestVersion = versions.get(versions.size() - 1);
+        DynamodbEvent event = new DynamodbEvent();
+        event.setRecords(List.of(versionRecord(OperationType.INSERT, latestVersion.getIdentifier(),
+            latestVersion.getModifiedDate().toString())));
+
+        handler.handleRequest(event, mock(Context.class));
+
+        assertThat(isIndexed(versions.get(0)), is(false));
+        assertThat(isIndexed(versions.get(1)), is(false));
+        assertThat(isIndexed(latestVersion), is(true));
+    }
+
+    private boolean isIndexed(Publication publication) {
+        Item item = table.getItem(
+            TABLE_HASH_KEY, publication.getIdentifier().toString(),
+            TABLE_SORT_KEY, publication.getModifiedDate().toString());
+        return item.isPresent(DOI_REQUEST_INDEX_SORT_KEY);
+    }
+
+    private static DynamodbStreamRecord versionRecord(OperationType operationType) {
+        return versionRecord(operationType, UUID.randomUUID(), MODIFIED_DATE);
+    }
+
+    private static DynamodbStreamRecord versionRecord(OperationType operationType, UUID identifier,
+                                                      String modifiedDate) {
+        DynamodbStreamRecord record = new DynamodbStreamRecord();
+        record.withEventName(operationType)
+            .withDynamodb(new StreamRecord().withNewImage(Map.of(
+                TABLE_HASH_KEY, new AttributeValue(identifier.toString()),
+                TABLE_SORT_KEY, new AttributeValue(modifiedDate),
+                DOI_REQUEST_INDEX_HASH_KEY, new AttributeValue(PUBLISHER_ID.toString()))));
+        return record;
+    }
+}